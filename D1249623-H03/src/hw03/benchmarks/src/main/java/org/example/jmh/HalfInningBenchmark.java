@@ -0,0 +1,51 @@
+package org.example.jmh;
+
+import org.example.PlayByPlayAnnouncer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 單一半局模擬的時間與配置量，配置速率看 gc profiler 的 gc.alloc.rate.norm（每個半局的位元組數）
+// 事件迴圈本身不配置物件，剩下的是每個半局回傳的 InningSummary
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class HalfInningBenchmark {
+
+    // 三上三下
+    private final String[] quick = {"K", "F8", "6-3"};
+
+    // 保送、安打、得分與殘壘都有
+    private final String[] busy = {"BB", "1B", "K", "2B 1R", "E5", "HR 3R", "F8", "3B", "BB", "6-4-3"};
+
+    // 連續保送擠回分數，最後滿壘殘壘
+    private final String[] loaded = {"BB", "BB", "BB", "BB 1R", "2B 2R", "K", "BB", "BB", "K", "F9"};
+
+    @Benchmark
+    public PlayByPlayAnnouncer.InningSummary quickInning() {
+        return PlayByPlayAnnouncer.getInningSummary(quick);
+    }
+
+    @Benchmark
+    public PlayByPlayAnnouncer.InningSummary busyInning() {
+        return PlayByPlayAnnouncer.getInningSummary(busy);
+    }
+
+    @Benchmark
+    public PlayByPlayAnnouncer.InningSummary loadedInning() {
+        return PlayByPlayAnnouncer.getInningSummary(loaded);
+    }
+}
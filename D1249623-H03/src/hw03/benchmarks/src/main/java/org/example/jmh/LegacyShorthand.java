@@ -0,0 +1,36 @@
+package org.example.jmh;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 改用 ShorthandLexer 之前 PlayByPlayAnnouncer 解析速記的寫法，留在這裡當作比較基準
+final class LegacyShorthand {
+
+    private LegacyShorthand() {
+    }
+
+    static int extractRuns(String event) {
+        Matcher m = Pattern.compile("(\\d+)R").matcher(event);
+        return m.find() ? Integer.parseInt(m.group(1)) : 0;
+    }
+
+    static int outsFromGroundPlay(String event) {
+        String firstToken = event.split(" ")[0];
+        String digitsOnly = firstToken.replaceAll("[^0-9]", "");
+        int len = digitsOnly.length();
+        return Math.max(1, len - 1);
+    }
+
+    // 和 simulateHalfInning 原本的判斷順序相同；回傳推進壘包數、出局數與 Rn 的總和，讓結果不會被最佳化掉
+    static int decode(String event) {
+        int explicitRuns = extractRuns(event);
+        if (event.startsWith("BB") || event.startsWith("E")) return 1 + explicitRuns;
+        if (event.startsWith("1B")) return 1 + explicitRuns;
+        if (event.startsWith("2B")) return 2 + explicitRuns;
+        if (event.startsWith("3B")) return 3 + explicitRuns;
+        if (event.startsWith("HR")) return 4 + explicitRuns;
+        if (event.equals("K") || event.startsWith("F")) return 1;
+        if (event.matches("^[0-9].*?-.*")) return outsFromGroundPlay(event);
+        return -1;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.jmh;
+
+import org.example.GameResult;
+import org.example.SeasonSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// 整季模擬的吞吐量：每次呼叫模擬 GAMES 場比賽，分數就是每秒幾場比賽
+// parallelism 是 ForkJoinPool 的執行緒數，比較不同核心數下的擴展性
+// java -jar target/benchmarks.jar Season -p parallelism=1,4
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeasonSimulatorBenchmark {
+
+    private static final int GAMES = 10_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private SeasonSimulator simulator;
+    private String[][][] top;
+    private String[][][] bot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        simulator = new SeasonSimulator(pool);
+        // 固定 seed，每個 parallelism 模擬同一批比賽
+        Random random = new Random(2025L);
+        top = randomSeason(random);
+        bot = randomSeason(random);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public List<GameResult> simulateSeason() {
+        return simulator.simulate(top, bot);
+    }
+
+    private static String[][][] randomSeason(Random random) {
+        String[][][] season = new String[GAMES][][];
+        for (int g = 0; g < GAMES; g++) {
+            String[][] innings = new String[9][];
+            for (int i = 0; i < 9; i++) {
+                innings[i] = randomHalfInning(random);
+            }
+            season[g] = innings;
+        }
+        return season;
+    }
+
+    // 合法的半局：隨機事件直到 3 出局，不標示 Rn，避免速記錯誤寫入日誌
+    private static String[] randomHalfInning(Random random) {
+        String[] pool = {"BB", "1B", "2B", "3B", "HR", "E5", "K", "F8", "6-3", "6-4-3", "K", "F9", "4-3"};
+        String[] events = new String[32];
+        int n = 0;
+        int outs = 0;
+        while (outs < 3 && n < events.length) {
+            String event = pool[random.nextInt(pool.length)];
+            events[n++] = event;
+            if (event.equals("6-4-3")) outs += 2;
+            else if (event.equals("K") || event.startsWith("F") || event.contains("-")) outs++;
+        }
+        return Arrays.copyOf(events, n);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.jmh;
+
+import org.example.ShorthandLexer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 速記解析：原本的正規表示式 / startsWith / split 寫法對照 ShorthandLexer
+// 每次呼叫解析一整份常見速記，分數換算成每個事件的時間；配置速率由 BenchmarkMain 加上的 gc profiler 提供
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class ShorthandLexerBenchmark {
+
+    private static final int EVENTS = 16;
+
+    // 一場比賽常見的速記組合
+    private final String[] events = {
+            "BB", "1B", "K", "2B 1R", "F8", "6-3", "3B 1R", "HR 3R",
+            "E5", "6-4-3", "K", "BB 1R", "2B 2R", "F9", "4-3", "1B",
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int legacy_decode() {
+        int sum = 0;
+        for (String event : events) {
+            sum += LegacyShorthand.decode(event);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int lexer_decode() {
+        int sum = 0;
+        for (String event : events) {
+            int code = ShorthandLexer.lex(event);
+            sum += ShorthandLexer.baseAdvance(code) + ShorthandLexer.groundOuts(code) + ShorthandLexer.runs(code);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int legacy_extractRuns() {
+        int sum = 0;
+        for (String event : events) {
+            sum += LegacyShorthand.extractRuns(event);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int lexer_explicitRuns() {
+        int sum = 0;
+        for (String event : events) {
+            sum += ShorthandLexer.explicitRuns(event);
+        }
+        return sum;
+    }
+}
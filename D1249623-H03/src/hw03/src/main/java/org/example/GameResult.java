@@ -0,0 +1,109 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一場比賽的模擬結果，建立後不會再改變，可以在多個執行緒之間直接共用。
+ *  - 每局得分（記分板）與總分
+ *  - 比賽結束時兩隊下一棒的打序 index (0~8)
+ *  - 每個半局的 InningSummary；該半局沒有速記事件時為 null
+ *  - 模擬過程丟出例外時（見 SeasonSimulator），isFailed() 為 true，getError() 是當時的例外，
+ *    記分板為空、總分與下一棒打序都是 0
+ */
+public final class GameResult {
+
+    private final String awayName;
+    private final String homeName;
+    private final int[] awayLineScore;
+    private final int[] homeLineScore;
+    private final int awayRuns;
+    private final int homeRuns;
+    private final int awayNextBatter;
+    private final int homeNextBatter;
+    private final PlayByPlayAnnouncer.InningSummary[] awayHalfInnings;   // 局上
+    private final PlayByPlayAnnouncer.InningSummary[] homeHalfInnings;   // 局下
+    private final RuntimeException error;
+
+    GameResult(String awayName, String homeName,
+               int[] awayLineScore, int[] homeLineScore,
+               int awayNextBatter, int homeNextBatter,
+               PlayByPlayAnnouncer.InningSummary[] awayHalfInnings,
+               PlayByPlayAnnouncer.InningSummary[] homeHalfInnings) {
+        this.awayName = awayName;
+        this.homeName = homeName;
+        this.awayLineScore = awayLineScore.clone();
+        this.homeLineScore = homeLineScore.clone();
+        this.awayRuns = Arrays.stream(awayLineScore).sum();
+        this.homeRuns = Arrays.stream(homeLineScore).sum();
+        this.awayNextBatter = awayNextBatter;
+        this.homeNextBatter = homeNextBatter;
+        this.awayHalfInnings = awayHalfInnings.clone();
+        this.homeHalfInnings = homeHalfInnings.clone();
+        this.error = null;
+    }
+
+    private GameResult(String awayName, String homeName, RuntimeException error) {
+        this.awayName = awayName;
+        this.homeName = homeName;
+        this.awayLineScore = new int[0];
+        this.homeLineScore = new int[0];
+        this.awayRuns = 0;
+        this.homeRuns = 0;
+        this.awayNextBatter = 0;
+        this.homeNextBatter = 0;
+        this.awayHalfInnings = new PlayByPlayAnnouncer.InningSummary[0];
+        this.homeHalfInnings = new PlayByPlayAnnouncer.InningSummary[0];
+        this.error = error;
+    }
+
+    // 模擬失敗的比賽
+    static GameResult failed(String awayName, String homeName, RuntimeException error) {
+        return new GameResult(awayName, homeName, error);
+    }
+
+    public boolean isFailed() { return error != null; }
+
+    // 模擬失敗時的例外，成功時為 null
+    public RuntimeException getError() { return error; }
+
+    public String getAwayName() { return awayName; }
+
+    public String getHomeName() { return homeName; }
+
+    // 局數（含延長賽）
+    public int getInnings() { return awayLineScore.length; }
+
+    // 記分板，回傳複本
+    public int[] getAwayLineScore() { return awayLineScore.clone(); }
+
+    public int[] getHomeLineScore() { return homeLineScore.clone(); }
+
+    public int getAwayRuns() { return awayRuns; }
+
+    public int getHomeRuns() { return homeRuns; }
+
+    public int getAwayNextBatter() { return awayNextBatter; }
+
+    public int getHomeNextBatter() { return homeNextBatter; }
+
+    // 第 inning 局上（從 1 開始），沒有速記事件時為 null
+    public PlayByPlayAnnouncer.InningSummary getTopHalf(int inning) {
+        return awayHalfInnings[inning - 1];
+    }
+
+    // 第 inning 局下（從 1 開始），沒有速記事件時為 null
+    public PlayByPlayAnnouncer.InningSummary getBottomHalf(int inning) {
+        return homeHalfInnings[inning - 1];
+    }
+
+    // 所有局上的結果，不可修改；沒有速記事件的半局為 null
+    public List<PlayByPlayAnnouncer.InningSummary> getTopHalves() {
+        return Collections.unmodifiableList(Arrays.asList(awayHalfInnings.clone()));
+    }
+
+    public List<PlayByPlayAnnouncer.InningSummary> getBottomHalves() {
+        return Collections.unmodifiableList(Arrays.asList(homeHalfInnings.clone()));
+    }
+}
@@ -3,11 +3,6 @@ package org.example;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 public class PlayByPlayAnnouncer {
 
     // ========= Logger =========
@@ -42,12 +37,18 @@ public class PlayByPlayAnnouncer {
         public final String name;
         public final String[] lineup;   // 1~9 棒打序
         public int batterIndex = 0;     // 下一棒打者 index (0~8)
-        public final int[] inningRuns = new int[20]; // 每局得分（預留延長）
+        public final int[] inningRuns;  // 每局得分（含延長賽）
         public int totalRuns = 0;
 
         public TeamState(String name, String[] lineup) {
+            this(name, lineup, 20);
+        }
+
+        // innings：這場比賽的局數，延長賽打多久記分板就留多少格
+        public TeamState(String name, String[] lineup, int innings) {
             this.name = name;
             this.lineup = lineup;
+            this.inningRuns = new int[innings];
         }
     }
 
@@ -63,6 +64,9 @@ public class PlayByPlayAnnouncer {
     }
 
     // --- 球員名單設定 ---
+    static final String AWAY_NAME = "Dodgers";
+    static final String HOME_NAME = "Blue Jays";
+
     private static final String[] DODGERS_BATTERS_LIST = {
             "Shohei Ohtani", "Mookie Betts", "Freddie Freeman",
             "Will Smith", "Max Muncy", "Teo Hernandez",
@@ -124,87 +128,93 @@ public class PlayByPlayAnnouncer {
 
     // 從 "2B 1R" 抓出 1
     public static int extractRuns(String event) {
-        Matcher m = Pattern.compile("(\\d+)R").matcher(event);
-        return m.find() ? Integer.parseInt(m.group(1)) : 0;
+        return ShorthandLexer.explicitRuns(event);
+    }
+
+    // ========= 壘包狀態 =========
+    // 壘包用 3 個 bit 表示：bit0 = 一壘、bit1 = 二壘、bit2 = 三壘，8 種狀態都可以查表
+
+    // 8 種壘包狀態的描述，事先寫好，不用每個半局重組字串
+    private static final String[] BASE_STATE_DESC = {
+            "無人在壘",               // 000
+            "一壘有人",               // 001
+            "二壘有人",               // 010
+            "二壘、一壘有人",          // 011
+            "三壘有人",               // 100
+            "三壘、一壘有人",          // 101
+            "三壘、二壘有人",          // 110
+            "三壘、二壘、一壘有人",     // 111
+    };
+
+    // 事件造成的壘包變化，索引是 事件種類 << 3 | 壘包狀態，值是 新壘包狀態 | 自動得分 << 3
+    // 出局與無法解析的事件維持原本的壘包、不得分
+    private static final byte[] TRANSITIONS = buildTransitions();
+
+    private static byte[] buildTransitions() {
+        byte[] table = new byte[16 << 3];
+        for (int kind = 0; kind < 16; kind++) {
+            int baseAdvance = ShorthandLexer.baseAdvance(kind);   // 只有種類欄位的事件代碼就是種類本身
+            for (int bases = 0; bases < 8; bases++) {
+                table[kind << 3 | bases] = (byte) (baseAdvance == 0 ? bases : advanceRunners(bases, baseAdvance));
+            }
+        }
+        return table;
+    }
+
+    // 查表：回傳 新壘包狀態 | 自動得分 << 3
+    static int transition(int kind, int bases) {
+        return TRANSITIONS[kind << 3 | bases];
     }
 
     // 壘上狀態
-    private static String baseStateDesc(boolean[] bases) {
-        List<String> desc = new ArrayList<>();
-        if (bases[2]) desc.add("三壘");
-        if (bases[1]) desc.add("二壘");
-        if (bases[0]) desc.add("一壘");
-        return desc.isEmpty() ? "無人在壘" : String.join("、", desc) + "有人";
+    private static String baseStateDesc(int bases) {
+        return BASE_STATE_DESC[bases];
     }
 
     // 殘壘
-    private static int calculateLOB(boolean[] bases) {
-        int c = 0;
-        for (boolean b : bases) if (b) c++;
-        return c;
+    private static int calculateLOB(int bases) {
+        return Integer.bitCount(bases);
     }
 
     // 壘上目前有幾個跑者
-    private static int countRunnersOnBase(boolean[] bases) {
-        int c = 0;
-        for (boolean b : bases) if (b) c++;
-        return c;
+    private static int countRunnersOnBase(int bases) {
+        return Integer.bitCount(bases);
     }
 
     /**
-     * ✅ 進壘與得分（一般情況）
-     *  - baseAdvance = 1 → 1B / BB / E
+     * ✅ 進壘與得分（一般情況），只在建立 TRANSITIONS 時呼叫
+     *  - baseAdvance = 1 → 1B / BB / E（BB、E 打者固定上一壘，和 1B 相同）
      *  - baseAdvance = 2 → 2B
      *  - baseAdvance = 3 → 3B
      *  - baseAdvance = 4 → HR
      *
-     * @param bases       目前壘包狀態（index: 0=一壘,1=二壘,2=三壘）
+     * @param bases       目前壘包狀態（bit0=一壘, bit1=二壘, bit2=三壘）
      * @param baseAdvance 要前進幾個壘包
-     * @param isBBorE     是否為 BB / E（打者固定上一壘）
-     * @return 此事件在「自動跑壘」下產生的得分（不含 Rn）
+     * @return 新壘包狀態 | 此事件在「自動跑壘」下產生的得分（不含 Rn） << 3
      */
-    private static int advanceRunners(boolean[] bases, int baseAdvance, boolean isBBorE) {
+    private static int advanceRunners(int bases, int baseAdvance) {
         int autoRuns = 0;
-        boolean[] next = new boolean[3];
+        int next = 0;
 
         // 先處理原本壘上的跑者
         for (int i = 2; i >= 0; i--) {
-            if (!bases[i]) continue;
+            if ((bases & 1 << i) == 0) continue;
             int originBase = i + 1;
             int newBase = originBase + baseAdvance;
             if (newBase > 3) {
                 autoRuns++;
             } else {
-                next[newBase - 1] = true;
+                next |= 1 << (newBase - 1);
             }
         }
 
-        // 打者的去處
-        int batterDest;
+        // 打者的去處：全壘打直接得分，其他上 baseAdvance 壘
         if (baseAdvance == 4) {
-            batterDest = 4; // 全壘打
-        } else if (isBBorE) {
-            batterDest = 1; // 保送 / 失誤 → 上一壘
-        } else {
-            batterDest = baseAdvance;   // 1B / 2B / 3B
-        }
-
-        if (batterDest > 3) {
             autoRuns++;
-        } else if (batterDest >= 1) {
-            next[batterDest - 1] = true;
+        } else {
+            next |= 1 << (baseAdvance - 1);
         }
-
-        // 更新壘包
-        System.arraycopy(next, 0, bases, 0, 3);
-        return autoRuns;
-    }
-
-    private static int outsFromGroundPlay(String event) {
-        String firstToken = event.split(" ")[0];
-        String digitsOnly = firstToken.replaceAll("[^0-9]", "");
-        int len = digitsOnly.length();
-        return Math.max(1, len - 1);
+        return next | autoRuns << 3;
     }
 
     // ========= 單一半局模擬 =========
@@ -213,7 +223,7 @@ public class PlayByPlayAnnouncer {
                                                        int startingBatterIndex,
                                                        String[] events,
                                                        boolean logExtraAfter3Out) {
-        boolean[] bases = new boolean[]{false, false, false};
+        int bases = 0;   // 3 個 bit，見 TRANSITIONS
         int runs = 0;
         int hits = 0;
         int outs = 0;
@@ -232,37 +242,12 @@ public class PlayByPlayAnnouncer {
 
                 String batter = lineup[batterIndex % lineup.length];
 
-                int explicitRuns = extractRuns(event);
-                boolean isBB = event.startsWith("BB");
-                boolean isE = event.startsWith("E");
-                boolean isHitLike =
-                        event.startsWith("1B") ||
-                                event.startsWith("2B") ||
-                                event.startsWith("3B") ||
-                                event.startsWith("HR");
-                boolean advance = isBB || isE || isHitLike;
-
-                if (advance) {
-                    int baseAdvance = 0;
-                    boolean countAsHit = false;
-
-                    if (isBB || isE) {
-                        baseAdvance = 1; // BB、E 都視為前進一壘
-                    } else if (event.startsWith("1B")) {
-                        baseAdvance = 1;
-                        countAsHit = true;
-                    } else if (event.startsWith("2B")) {
-                        baseAdvance = 2;
-                        countAsHit = true;
-                    } else if (event.startsWith("3B")) {
-                        baseAdvance = 3;
-                        countAsHit = true;
-                    } else if (event.startsWith("HR")) {
-                        baseAdvance = 4;
-                        countAsHit = true;
-                    }
+                // 一次掃描解出種類、Rn 與滾地球出局數
+                int code = ShorthandLexer.lex(event);
+                int explicitRuns = ShorthandLexer.runs(code);
 
-                    if (countAsHit) {
+                if (ShorthandLexer.isAdvance(code)) {
+                    if (ShorthandLexer.isHit(code)) {
                         hits++;
                     }
 
@@ -271,14 +256,18 @@ public class PlayByPlayAnnouncer {
                     if (explicitRuns > 0) {
                         int maxPossibleRuns = runnersBefore + 1;   // 壘上所有跑者 + 打者
                         if (explicitRuns > maxPossibleRuns) {
+                            // 事件代碼裡的 Rn 有位數上限，訊息用原字串的完整數值
                             String msg = "異常速記：壘上僅有 " + runnersBefore +
-                                    " 人，事件 '" + event + "' 卻標示 " + explicitRuns + "R";
+                                    " 人，事件 '" + event + "' 卻標示 " + extractRuns(event) + "R";
                             logger.error(msg);
                             throw new ScoreNotationException(msg);
                         }
                     }
 
-                    int autoRuns = advanceRunners(bases, baseAdvance, isBB || isE);
+                    // BB、E 都視為前進一壘，打者固定上一壘；壘包變化與自動得分都查表
+                    int transition = transition(ShorthandLexer.kind(code), bases);
+                    bases = transition & 7;
+                    int autoRuns = transition >>> 3;
 
                     // Rn
                     int addRuns;
@@ -294,18 +283,16 @@ public class PlayByPlayAnnouncer {
                     batterIndex++;
 
                 } else {
-                    if (event.equals("K")) {
-                        outs = Math.min(3, outs + 1);
-                        batterIndex++;
-                    } else if (event.startsWith("F")) {
-                        outs = Math.min(3, outs + 1);
-                        batterIndex++;
-                    } else if (event.matches("^[0-9].*?-.*")) {
-                        int addOuts = outsFromGroundPlay(event);
-                        outs = Math.min(3, outs + addOuts);
-                        batterIndex++;
-                    } else {
-                        throw new ScoreNotationException(
+                    switch (ShorthandLexer.kind(code)) {
+                        case ShorthandLexer.STRIKEOUT, ShorthandLexer.FLY_OUT -> {
+                            outs = Math.min(3, outs + 1);
+                            batterIndex++;
+                        }
+                        case ShorthandLexer.GROUND_OUT -> {
+                            outs = Math.min(3, outs + ShorthandLexer.groundOuts(code));
+                            batterIndex++;
+                        }
+                        default -> throw new ScoreNotationException(
                                 "無法解析速記代碼: " + event + ", 打者: " + batter);
                     }
                 }
@@ -350,22 +337,39 @@ public class PlayByPlayAnnouncer {
      */
     public static void simulateGame(String[][] topEventsByInning,
                                     String[][] botEventsByInning) {
+        playGame(topEventsByInning, botEventsByInning, true);
+    }
 
-        TeamState away = new TeamState("Dodgers", DODGERS_BATTERS_LIST);
-        TeamState home = new TeamState("Blue Jays", BLUE_JAYS_BATTERS_LIST);
+    /**
+     * 模擬整場比賽但不輸出，回傳記分板、總分、下一棒打序與每個半局的結果。
+     * 只讀取傳入的速記陣列，不修改任何共用狀態，可以同時在多個執行緒呼叫（見 SeasonSimulator）。
+     */
+    public static GameResult playGame(String[][] topEventsByInning,
+                                      String[][] botEventsByInning) {
+        return playGame(topEventsByInning, botEventsByInning, false);
+    }
+
+    private static GameResult playGame(String[][] topEventsByInning,
+                                       String[][] botEventsByInning,
+                                       boolean print) {
 
         int innings = Math.max(
                 topEventsByInning == null ? 0 : topEventsByInning.length,
                 botEventsByInning == null ? 0 : botEventsByInning.length
         );
+        TeamState away = new TeamState(AWAY_NAME, DODGERS_BATTERS_LIST, innings);
+        TeamState home = new TeamState(HOME_NAME, BLUE_JAYS_BATTERS_LIST, innings);
 
-        System.out.println("\n========== 比賽開始 ==========\n");
+        InningSummary[] topHalves = new InningSummary[innings];
+        InningSummary[] botHalves = new InningSummary[innings];
+
+        if (print) System.out.println("\n========== 比賽開始 ==========\n");
 
         for (int i = 0; i < innings; i++) {
             int inningNo = i + 1;
 
             // ----- 局上：客隊 -----
-            System.out.println("----- 第 " + inningNo + " 局上：客隊 " + away.name + " 進攻 -----");
+            if (print) System.out.println("----- 第 " + inningNo + " 局上：客隊 " + away.name + " 進攻 -----");
             if (topEventsByInning != null && i < topEventsByInning.length
                     && topEventsByInning[i] != null) {
                 HalfInningResult r = simulateHalfInning(
@@ -373,13 +377,14 @@ public class PlayByPlayAnnouncer {
                 away.batterIndex = r.nextBatterIndex;
                 away.inningRuns[i] = r.summary.runs;
                 away.totalRuns += r.summary.runs;
-                show(r.summary);
+                topHalves[i] = r.summary;
+                if (print) show(r.summary);
             } else {
-                System.out.println("(本局無速記事件)");
+                if (print) System.out.println("(本局無速記事件)");
             }
 
             // ----- 局下：主隊 -----
-            System.out.println("----- 第 " + inningNo + " 局下：主隊 " + home.name + " 進攻 -----");
+            if (print) System.out.println("----- 第 " + inningNo + " 局下：主隊 " + home.name + " 進攻 -----");
             if (botEventsByInning != null && i < botEventsByInning.length
                     && botEventsByInning[i] != null) {
                 HalfInningResult r = simulateHalfInning(
@@ -387,14 +392,28 @@ public class PlayByPlayAnnouncer {
                 home.batterIndex = r.nextBatterIndex;
                 home.inningRuns[i] = r.summary.runs;
                 home.totalRuns += r.summary.runs;
-                show(r.summary);
+                botHalves[i] = r.summary;
+                if (print) show(r.summary);
             } else {
-                System.out.println("(本局無速記事件)");
+                if (print) System.out.println("(本局無速記事件)");
             }
 
-            System.out.println();
+            if (print) System.out.println();
         }
 
+        GameResult result = new GameResult(away.name, home.name,
+                away.inningRuns, home.inningRuns,
+                away.batterIndex, home.batterIndex, topHalves, botHalves);
+        if (print) showScoreboard(result);
+        return result;
+    }
+
+    // 記分板輸出
+    public static void showScoreboard(GameResult result) {
+        int innings = result.getInnings();
+        int[] awayRuns = result.getAwayLineScore();
+        int[] homeRuns = result.getHomeLineScore();
+
         System.out.println("========== 記分板 ==========");
         System.out.print("Inning : ");
         for (int i = 0; i < innings; i++) {
@@ -402,17 +421,17 @@ public class PlayByPlayAnnouncer {
         }
         System.out.println("| R");
 
-        System.out.print(away.name + " : ");
+        System.out.print(result.getAwayName() + " : ");
         for (int i = 0; i < innings; i++) {
-            System.out.print(away.inningRuns[i] + " ");
+            System.out.print(awayRuns[i] + " ");
         }
-        System.out.println("| " + away.totalRuns);
+        System.out.println("| " + result.getAwayRuns());
 
-        System.out.print(home.name + " : ");
+        System.out.print(result.getHomeName() + " : ");
         for (int i = 0; i < innings; i++) {
-            System.out.print(home.inningRuns[i] + " ");
+            System.out.print(homeRuns[i] + " ");
         }
-        System.out.println("| " + home.totalRuns);
+        System.out.println("| " + result.getHomeRuns());
         System.out.println("========== 比賽結束 ==========\n");
     }
 
@@ -0,0 +1,98 @@
+package org.example;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 一次模擬整季（或任意一批）比賽：以 fork-join 把比賽切成小段，分散到各個核心上執行。
+ *  - 每場比賽互相獨立，結果依輸入順序放進同一個陣列，不論平行度多少，結果都相同
+ *  - 每場比賽的結果是不可變的 GameResult
+ *  - 速記錯誤（ScoreNotationException）和 simulateGame 一樣寫入日誌並略過該半局剩下的事件
+ *  - 其他讓單場比賽無法模擬的例外（例如 Rn 超出 int 範圍、速記事件為 null）只讓那一場失敗：
+ *    寫入日誌，該場的 GameResult.isFailed() 為 true、getError() 是當時的例外，其他比賽照常模擬
+ */
+public class SeasonSimulator {
+
+    private static final Logger logger = LogManager.getLogger(SeasonSimulator.class);
+
+    // 每個工作至少模擬幾場比賽，太小的話切工作的成本會蓋過模擬本身
+    private static final int MIN_GAMES_PER_TASK = 64;
+
+    private final ForkJoinPool pool;
+
+    // 使用共用的 ForkJoinPool，平行度等於核心數
+    public SeasonSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public SeasonSimulator(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool 不可為 null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * topByGame[g] / botByGame[g]：第 g 場比賽的局上、局下速記，格式和 simulateGame 相同
+     * 回傳的 List 不可修改，順序和輸入相同
+     */
+    public List<GameResult> simulate(String[][][] topByGame, String[][][] botByGame) {
+        if (topByGame == null || botByGame == null) {
+            throw new IllegalArgumentException("比賽速記不可為 null");
+        }
+        if (topByGame.length != botByGame.length) {
+            throw new IllegalArgumentException(
+                    "局上與局下的比賽數量不一致: " + topByGame.length + " / " + botByGame.length);
+        }
+        GameResult[] results = new GameResult[topByGame.length];
+        int threshold = Math.max(MIN_GAMES_PER_TASK, topByGame.length / (pool.getParallelism() * 8));
+        pool.invoke(new GameTask(topByGame, botByGame, results, 0, results.length, threshold));
+        return List.of(results);
+    }
+
+    // 把 [from, to) 的比賽切成兩半，直到小於門檻才直接模擬
+    private static final class GameTask extends RecursiveAction {
+        private final String[][][] top;
+        private final String[][][] bot;
+        private final GameResult[] results;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        GameTask(String[][][] top, String[][][] bot, GameResult[] results, int from, int to, int threshold) {
+            this.top = top;
+            this.bot = bot;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int g = from; g < to; g++) {
+                    results[g] = playOne(g);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new GameTask(top, bot, results, from, mid, threshold),
+                    new GameTask(top, bot, results, mid, to, threshold));
+        }
+
+        // 一場比賽的例外不能往上丟，否則 pool.invoke 會放棄整批結果
+        private GameResult playOne(int g) {
+            try {
+                return PlayByPlayAnnouncer.playGame(top[g], bot[g]);
+            } catch (RuntimeException e) {
+                logger.error("第 " + (g + 1) + " 場比賽模擬失敗：" + e);
+                return GameResult.failed(PlayByPlayAnnouncer.AWAY_NAME, PlayByPlayAnnouncer.HOME_NAME, e);
+            }
+        }
+    }
+}
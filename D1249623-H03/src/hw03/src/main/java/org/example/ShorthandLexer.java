@@ -0,0 +1,186 @@
+package org.example;
+
+/**
+ * 速記代碼的手寫詞法分析器：從頭到尾只掃描一次字串，不用正規表示式、不切字串、不建立任何物件。
+ * 結果壓成一個 int（事件代碼），欄位配置如下：
+ *  - bit 0~3  ：事件種類（WALK、SINGLE、GROUND_OUT…），INVALID 表示無法解析
+ *  - bit 4~7  ：滾地球造成的出局數（只有 GROUND_OUT 有值，超過 15 以 15 計，反正一局最多 3 出局）
+ *  - bit 8~31 ：速記上標示的得分 Rn（超過 0xFFFFFF 以 0xFFFFFF 計）
+ *
+ * 判定規則和原本 PlayByPlayAnnouncer 的寫法完全相同：
+ *  - BB 開頭 → 保送；E 開頭 → 失誤；1B / 2B / 3B / HR 開頭 → 安打
+ *  - 剛好是 K → 三振；F 開頭 → 高飛接殺
+ *  - 數字開頭、第二個字元之後有 '-'、且沒有換行類字元 → 滾地球出局，
+ *    出局數 = 第一個空白前的數字個數 - 1，至少 1
+ *  - Rn：第一段「後面緊接 R」的連續數字，數值超出 int 時和 Integer.parseInt 一樣丟 NumberFormatException
+ */
+public final class ShorthandLexer {
+
+    // ========= 事件種類 =========
+    public static final int INVALID = 0;
+    public static final int WALK = 1;        // BB
+    public static final int ERROR = 2;       // E
+    public static final int SINGLE = 3;      // 1B
+    public static final int DOUBLE = 4;      // 2B
+    public static final int TRIPLE = 5;      // 3B
+    public static final int HOME_RUN = 6;    // HR
+    public static final int STRIKEOUT = 7;   // K
+    public static final int FLY_OUT = 8;     // F8
+    public static final int GROUND_OUT = 9;  // 6-4-3
+
+    private static final int KIND_MASK = 0xF;
+    private static final int OUTS_SHIFT = 4;
+    private static final int OUTS_MAX = 0xF;
+    private static final int RUNS_SHIFT = 8;
+    private static final int RUNS_MAX = 0xFFFFFF;
+
+    private ShorthandLexer() {
+    }
+
+    // ========= 解碼 =========
+
+    public static int kind(int code) {
+        return code & KIND_MASK;
+    }
+
+    // 滾地球的出局數，其他事件為 0
+    public static int groundOuts(int code) {
+        return (code >>> OUTS_SHIFT) & OUTS_MAX;
+    }
+
+    // 速記標示的得分，沒有標示為 0
+    public static int runs(int code) {
+        return code >>> RUNS_SHIFT;
+    }
+
+    // 保送、失誤、安打：打者上壘，壘上跑者推進
+    public static boolean isAdvance(int code) {
+        int kind = kind(code);
+        return kind >= WALK && kind <= HOME_RUN;
+    }
+
+    public static boolean isHit(int code) {
+        int kind = kind(code);
+        return kind >= SINGLE && kind <= HOME_RUN;
+    }
+
+    // 跑者推進的壘包數：BB / E / 1B 為 1，2B 為 2，3B 為 3，HR 為 4，其他為 0
+    public static int baseAdvance(int code) {
+        int kind = kind(code);
+        if (kind == WALK || kind == ERROR) return 1;
+        if (isHit(code)) return kind - SINGLE + 1;
+        return 0;
+    }
+
+    // ========= 編碼 =========
+
+    public static int lex(String event) {
+        int len = event.length();
+
+        // 前兩個字元就能決定大部分的種類
+        int kind = INVALID;
+        boolean groundCandidate = false;
+        if (len > 0) {
+            char c0 = event.charAt(0);
+            char c1 = len > 1 ? event.charAt(1) : 0;
+            switch (c0) {
+                case 'B' -> kind = c1 == 'B' ? WALK : INVALID;
+                case 'E' -> kind = ERROR;
+                case '1' -> kind = c1 == 'B' ? SINGLE : INVALID;
+                case '2' -> kind = c1 == 'B' ? DOUBLE : INVALID;
+                case '3' -> kind = c1 == 'B' ? TRIPLE : INVALID;
+                case 'H' -> kind = c1 == 'R' ? HOME_RUN : INVALID;
+                case 'K' -> kind = len == 1 ? STRIKEOUT : INVALID;
+                case 'F' -> kind = FLY_OUT;
+                default -> kind = INVALID;
+            }
+            groundCandidate = kind == INVALID && isDigit(c0);
+        }
+
+        // 一次掃描同時找 Rn 與滾地球需要的資訊
+        int runs = 0;
+        boolean runsFound = false;
+        int digitStart = -1;          // 目前這段連續數字的起點
+        int digitValue = 0;
+        boolean digitOverflow = false;
+
+        boolean dash = false;         // 第二個字元之後有沒有 '-'
+        boolean lineBreak = false;    // 正規表示式的 '.' 不接受換行類字元
+        boolean firstTokenDone = false;
+        int firstTokenDigits = 0;
+
+        for (int i = 0; i < len; i++) {
+            char c = event.charAt(i);
+            boolean digit = isDigit(c);
+
+            if (!runsFound) {
+                if (digit) {
+                    if (digitStart < 0) {
+                        digitStart = i;
+                        digitValue = 0;
+                        digitOverflow = false;
+                    }
+                    int d = c - '0';
+                    if (digitValue > (Integer.MAX_VALUE - d) / 10) {
+                        digitOverflow = true;
+                    } else {
+                        digitValue = digitValue * 10 + d;
+                    }
+                } else {
+                    if (c == 'R' && digitStart >= 0) {
+                        if (digitOverflow) {
+                            // 和原本一樣由 Integer.parseInt 丟出 NumberFormatException
+                            Integer.parseInt(event, digitStart, i, 10);
+                        }
+                        runs = digitValue;
+                        runsFound = true;
+                    }
+                    digitStart = -1;
+                }
+            }
+
+            if (groundCandidate) {
+                if (c == '-' && i > 0) dash = true;
+                if (isLineTerminator(c)) lineBreak = true;
+                if (!firstTokenDone) {
+                    if (c == ' ') firstTokenDone = true;
+                    else if (digit) firstTokenDigits++;
+                }
+            }
+        }
+
+        int outs = 0;
+        if (groundCandidate && dash && !lineBreak) {
+            kind = GROUND_OUT;
+            outs = Math.min(OUTS_MAX, Math.max(1, firstTokenDigits - 1));
+        }
+        return kind | outs << OUTS_SHIFT | Math.min(RUNS_MAX, runs) << RUNS_SHIFT;
+    }
+
+    // 速記上標示的得分，完整的 int 值，不受事件代碼的欄位寬度限制
+    public static int explicitRuns(String event) {
+        int len = event.length();
+        int digitStart = -1;
+        for (int i = 0; i < len; i++) {
+            char c = event.charAt(i);
+            if (isDigit(c)) {
+                if (digitStart < 0) digitStart = i;
+            } else {
+                if (c == 'R' && digitStart >= 0) {
+                    return Integer.parseInt(event, digitStart, i, 10);
+                }
+                digitStart = -1;
+            }
+        }
+        return 0;
+    }
+
+    // 正規表示式的 \d 與 [0-9] 只認 ASCII 數字
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -74,4 +74,52 @@ class PlayByPlayAnnouncerTest {
         assertEquals(2, s.outs);
         assertEquals(2, s.lob);
     }
+
+    // --- (6) 壘包狀態查表 ---
+
+    // 原本以 boolean[3] 推進跑者的寫法，回傳 {新壘包狀態 bit, 自動得分}
+    private static int[] referenceAdvance(int mask, int baseAdvance, boolean isBBorE) {
+        boolean[] bases = {(mask & 1) != 0, (mask & 2) != 0, (mask & 4) != 0};
+        int autoRuns = 0;
+        boolean[] next = new boolean[3];
+        for (int i = 2; i >= 0; i--) {
+            if (!bases[i]) continue;
+            int newBase = i + 1 + baseAdvance;
+            if (newBase > 3) autoRuns++;
+            else next[newBase - 1] = true;
+        }
+        int batterDest = baseAdvance == 4 ? 4 : isBBorE ? 1 : baseAdvance;
+        if (batterDest > 3) autoRuns++;
+        else next[batterDest - 1] = true;
+        int nextMask = (next[0] ? 1 : 0) | (next[1] ? 2 : 0) | (next[2] ? 4 : 0);
+        return new int[]{nextMask, autoRuns};
+    }
+
+    @Test
+    void testTransitionTable_matchesRunnerAdvance() {
+        int[] kinds = {ShorthandLexer.WALK, ShorthandLexer.ERROR, ShorthandLexer.SINGLE,
+                ShorthandLexer.DOUBLE, ShorthandLexer.TRIPLE, ShorthandLexer.HOME_RUN};
+        for (int kind : kinds) {
+            boolean isBBorE = kind == ShorthandLexer.WALK || kind == ShorthandLexer.ERROR;
+            for (int bases = 0; bases < 8; bases++) {
+                int[] expected = referenceAdvance(bases, ShorthandLexer.baseAdvance(kind), isBBorE);
+                int t = PlayByPlayAnnouncer.transition(kind, bases);
+                assertEquals(expected[0], t & 7, "kind=" + kind + " bases=" + bases);
+                assertEquals(expected[1], t >>> 3, "kind=" + kind + " bases=" + bases);
+            }
+        }
+        // 出局不改變壘包
+        for (int bases = 0; bases < 8; bases++) {
+            assertEquals(bases, PlayByPlayAnnouncer.transition(ShorthandLexer.STRIKEOUT, bases));
+            assertEquals(bases, PlayByPlayAnnouncer.transition(ShorthandLexer.GROUND_OUT, bases));
+        }
+    }
+
+    @Test
+    void testBaseStateDescription() {
+        assertEquals("三壘、二壘有人", PlayByPlayAnnouncer.getInningSummary(new String[]{"BB","1B","K","2B 1R","F8","6-3"}).baseState);
+        assertEquals("無人在壘", PlayByPlayAnnouncer.getInningSummary(new String[]{"K","K","K"}).baseState);
+        assertEquals("三壘、二壘、一壘有人", PlayByPlayAnnouncer.getInningSummary(new String[]{"BB","BB","BB","K","K","K"}).baseState);
+        assertEquals("三壘有人", PlayByPlayAnnouncer.getInningSummary(new String[]{"3B","K","K","K"}).baseState);
+    }
 }
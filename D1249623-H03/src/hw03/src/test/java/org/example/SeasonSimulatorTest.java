@@ -0,0 +1,187 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeasonSimulatorTest {
+
+    private static final String[] T01 = {"BB","1B","K","2B 1R","F8","6-3"};
+    private static final String[] T02 = {"K","K","K"};
+    private static final String[] T03 = {"BB","K","3B 1R","WTF","HR 3R"};
+    private static final String[] T04 = {"BB","BB","BB","BB 1R","2B 2R","K","BB","K"};
+
+    // 亂數產生合法的半局：隨機事件直到 3 出局
+    private static String[] randomHalfInning(Random random) {
+        String[] pool = {"BB", "1B", "2B", "3B", "HR", "E5", "K", "F8", "6-3", "6-4-3", "K", "F9", "4-3"};
+        String[] events = new String[32];
+        int n = 0;
+        int outs = 0;
+        while (outs < 3 && n < events.length) {
+            String event = pool[random.nextInt(pool.length)];
+            events[n++] = event;
+            if (event.equals("6-4-3")) outs += 2;
+            else if (event.equals("K") || event.startsWith("F") || event.contains("-")) outs++;
+        }
+        return Arrays.copyOf(events, n);
+    }
+
+    private static String[][][] randomSeason(long seed, int games, boolean top) {
+        Random random = new Random(seed + (top ? 0 : 1));
+        String[][][] season = new String[games][][];
+        for (int g = 0; g < games; g++) {
+            String[][] innings = new String[9][];
+            for (int i = 0; i < 9; i++) {
+                innings[i] = randomHalfInning(random);
+            }
+            season[g] = innings;
+        }
+        return season;
+    }
+
+    private static void assertSameSummary(PlayByPlayAnnouncer.InningSummary expected,
+                                          PlayByPlayAnnouncer.InningSummary actual) {
+        if (expected == null) {
+            assertNull(actual);
+            return;
+        }
+        assertEquals(expected.runs, actual.runs);
+        assertEquals(expected.hits, actual.hits);
+        assertEquals(expected.outs, actual.outs);
+        assertEquals(expected.lob, actual.lob);
+        assertEquals(expected.baseState, actual.baseState);
+    }
+
+    private static void assertSameGame(GameResult expected, GameResult actual) {
+        assertArrayEquals(expected.getAwayLineScore(), actual.getAwayLineScore());
+        assertArrayEquals(expected.getHomeLineScore(), actual.getHomeLineScore());
+        assertEquals(expected.getAwayRuns(), actual.getAwayRuns());
+        assertEquals(expected.getHomeRuns(), actual.getHomeRuns());
+        assertEquals(expected.getAwayNextBatter(), actual.getAwayNextBatter());
+        assertEquals(expected.getHomeNextBatter(), actual.getHomeNextBatter());
+        for (int i = 1; i <= expected.getInnings(); i++) {
+            assertSameSummary(expected.getTopHalf(i), actual.getTopHalf(i));
+            assertSameSummary(expected.getBottomHalf(i), actual.getBottomHalf(i));
+        }
+    }
+
+    @Test
+    void testPlayGame_lineScoreAndTotals() {
+        GameResult result = PlayByPlayAnnouncer.playGame(
+                new String[][]{T01, T02, T04}, new String[][]{T02, T03, T01});
+
+        assertEquals(3, result.getInnings());
+        assertArrayEquals(new int[]{1, 0, 4}, result.getAwayLineScore());
+        assertArrayEquals(new int[]{0, 1, 1}, result.getHomeLineScore());
+        assertEquals(5, result.getAwayRuns());
+        assertEquals(2, result.getHomeRuns());
+        // 客隊 6 + 3 + 8 棒、主隊 3 + 3（WTF 之後略過）+ 6 棒
+        assertEquals((6 + 3 + 8) % 9, result.getAwayNextBatter());
+        assertEquals((3 + 3 + 6) % 9, result.getHomeNextBatter());
+        assertSameSummary(PlayByPlayAnnouncer.getInningSummary(T04), result.getTopHalf(3));
+        assertSameSummary(PlayByPlayAnnouncer.getInningSummary(T03), result.getBottomHalf(2));
+    }
+
+    @Test
+    void testPlayGame_missingHalfInningIsNull() {
+        GameResult result = PlayByPlayAnnouncer.playGame(new String[][]{T01, T02}, new String[][]{T02});
+
+        assertEquals(2, result.getInnings());
+        assertNotNull(result.getBottomHalf(1));
+        assertNull(result.getBottomHalf(2));
+        assertArrayEquals(new int[]{0, 0}, result.getHomeLineScore());
+    }
+
+    @Test
+    void testSimulate_sameResultsForAnyParallelism() {
+        String[][][] top = randomSeason(2025L, 3_000, true);
+        String[][][] bot = randomSeason(2025L, 3_000, false);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            List<GameResult> sequential = new SeasonSimulator(single).simulate(top, bot);
+            List<GameResult> parallel = new SeasonSimulator(four).simulate(top, bot);
+            List<GameResult> common = new SeasonSimulator().simulate(top, bot);
+
+            assertEquals(3_000, sequential.size());
+            for (int g = 0; g < top.length; g++) {
+                GameResult expected = PlayByPlayAnnouncer.playGame(top[g], bot[g]);
+                assertSameGame(expected, sequential.get(g));
+                assertSameGame(expected, parallel.get(g));
+                assertSameGame(expected, common.get(g));
+            }
+        } finally {
+            single.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    void testResults_areImmutable() {
+        List<GameResult> results = new SeasonSimulator().simulate(
+                new String[][][]{{T01, T02}}, new String[][][]{{T04, T01}});
+        GameResult result = results.get(0);
+
+        result.getAwayLineScore()[0] = 99;
+        assertEquals(1, result.getAwayLineScore()[0]);
+        assertThrows(UnsupportedOperationException.class, () -> result.getTopHalves().set(0, null));
+        assertThrows(UnsupportedOperationException.class, () -> results.remove(0));
+    }
+
+    // 延長賽超過 20 局，記分板依實際局數配置
+    @Test
+    void testPlayGame_longExtraInnings() {
+        String[][] top = new String[25][];
+        String[][] bot = new String[25][];
+        Arrays.fill(top, T02);
+        Arrays.fill(bot, T02);
+        top[24] = T04;
+
+        GameResult result = PlayByPlayAnnouncer.playGame(top, bot);
+        assertEquals(25, result.getInnings());
+        assertEquals(4, result.getAwayLineScore()[24]);
+        assertEquals(4, result.getAwayRuns());
+        assertEquals(0, result.getHomeRuns());
+        assertFalse(result.isFailed());
+
+        List<GameResult> results = new SeasonSimulator().simulate(new String[][][]{top}, new String[][][]{bot});
+        assertSameGame(result, results.get(0));
+    }
+
+    // 單場比賽丟出的例外只讓那一場失敗，其他比賽照常模擬
+    @Test
+    void testSimulate_failedGameIsIsolated() {
+        String[][][] top = randomSeason(7L, 200, true);
+        String[][][] bot = randomSeason(7L, 200, false);
+        top[3] = new String[][]{T01, {"BB", "HR 99999999999R"}};
+        bot[150] = new String[][]{{"K", null, "K"}};
+
+        List<GameResult> results = new SeasonSimulator().simulate(top, bot);
+
+        assertEquals(200, results.size());
+        assertTrue(results.get(3).isFailed());
+        assertInstanceOf(NumberFormatException.class, results.get(3).getError());
+        assertTrue(results.get(150).isFailed());
+        assertInstanceOf(NullPointerException.class, results.get(150).getError());
+        assertEquals(0, results.get(150).getInnings());
+        for (int g = 0; g < top.length; g++) {
+            if (g == 3 || g == 150) continue;
+            assertFalse(results.get(g).isFailed());
+            assertNull(results.get(g).getError());
+            assertSameGame(PlayByPlayAnnouncer.playGame(top[g], bot[g]), results.get(g));
+        }
+    }
+
+    @Test
+    void testSimulate_mismatchedGameCount() {
+        SeasonSimulator simulator = new SeasonSimulator();
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.simulate(new String[][][]{{T01}}, new String[0][][]));
+    }
+}
@@ -0,0 +1,135 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShorthandLexerTest {
+
+    // --- 原本 PlayByPlayAnnouncer 的解析方式，當作對照組 ---
+
+    private static int legacyExtractRuns(String event) {
+        Matcher m = Pattern.compile("(\\d+)R").matcher(event);
+        return m.find() ? Integer.parseInt(m.group(1)) : 0;
+    }
+
+    private static int legacyOutsFromGroundPlay(String event) {
+        String firstToken = event.split(" ")[0];
+        String digitsOnly = firstToken.replaceAll("[^0-9]", "");
+        int len = digitsOnly.length();
+        return Math.max(1, len - 1);
+    }
+
+    // 回傳 {種類, 滾地球出局數, Rn}
+    private static int[] legacyDecode(String event) {
+        int explicitRuns = legacyExtractRuns(event);
+        int kind;
+        int outs = 0;
+        if (event.startsWith("BB")) kind = ShorthandLexer.WALK;
+        else if (event.startsWith("E")) kind = ShorthandLexer.ERROR;
+        else if (event.startsWith("1B")) kind = ShorthandLexer.SINGLE;
+        else if (event.startsWith("2B")) kind = ShorthandLexer.DOUBLE;
+        else if (event.startsWith("3B")) kind = ShorthandLexer.TRIPLE;
+        else if (event.startsWith("HR")) kind = ShorthandLexer.HOME_RUN;
+        else if (event.equals("K")) kind = ShorthandLexer.STRIKEOUT;
+        else if (event.startsWith("F")) kind = ShorthandLexer.FLY_OUT;
+        else if (event.matches("^[0-9].*?-.*")) {
+            kind = ShorthandLexer.GROUND_OUT;
+            outs = legacyOutsFromGroundPlay(event);
+        } else kind = ShorthandLexer.INVALID;
+        return new int[]{kind, outs, explicitRuns};
+    }
+
+    // 逐欄比對；出局數與 Rn 只比到事件代碼的欄位上限（出局數本來就會被截到 3）
+    private static void assertSameAsLegacy(String event) {
+        int[] expected;
+        try {
+            expected = legacyDecode(event);
+        } catch (NumberFormatException e) {
+            assertThrows(NumberFormatException.class, () -> ShorthandLexer.lex(event), event);
+            assertThrows(NumberFormatException.class, () -> ShorthandLexer.explicitRuns(event), event);
+            return;
+        }
+        int code = ShorthandLexer.lex(event);
+        assertEquals(expected[0], ShorthandLexer.kind(code), () -> "種類不同: " + event);
+        assertEquals(Math.min(15, expected[1]), ShorthandLexer.groundOuts(code), () -> "出局數不同: " + event);
+        assertEquals(Math.min(0xFFFFFF, expected[2]), ShorthandLexer.runs(code), () -> "Rn 不同: " + event);
+        assertEquals(expected[2], ShorthandLexer.explicitRuns(event), () -> "完整 Rn 不同: " + event);
+    }
+
+    @Test
+    void testScorebookShorthand() {
+        String[] events = {
+                "BB", "BB 1R", "1B", "2B", "2B 1R", "2B 2R", "3B 1R", "HR", "HR 3R", "E5", "E",
+                "K", "F8", "F", "6-3", "6-4-3", "5-4-3-2", "4-3 1R", "WTF", "", "KK", "K ", "B", "H",
+        };
+        for (String event : events) {
+            assertSameAsLegacy(event);
+        }
+    }
+
+    @Test
+    void testDecodedFields() {
+        int code = ShorthandLexer.lex("HR 3R");
+        assertEquals(ShorthandLexer.HOME_RUN, ShorthandLexer.kind(code));
+        assertEquals(4, ShorthandLexer.baseAdvance(code));
+        assertEquals(3, ShorthandLexer.runs(code));
+        assertTrue(ShorthandLexer.isHit(code));
+
+        code = ShorthandLexer.lex("6-4-3");
+        assertEquals(ShorthandLexer.GROUND_OUT, ShorthandLexer.kind(code));
+        assertEquals(2, ShorthandLexer.groundOuts(code));
+        assertFalse(ShorthandLexer.isAdvance(code));
+
+        code = ShorthandLexer.lex("BB");
+        assertTrue(ShorthandLexer.isAdvance(code));
+        assertFalse(ShorthandLexer.isHit(code));
+        assertEquals(1, ShorthandLexer.baseAdvance(code));
+        assertEquals(ShorthandLexer.INVALID, ShorthandLexer.kind(ShorthandLexer.lex("WTF")));
+    }
+
+    @Test
+    void testEdgeCases() {
+        String[] events = {
+                "1R", "12R", "1B 12R", "1B1R", "2B R", "HR 0R", "BB 00012R", "K 1R", "6-3\n", "6\n-3", "6-3 \u2028",
+                "6 -3", "6-", "-6", "66", "6-4 3-2", "1-", "1B-3", "3-1B", "E5 1R 2R", "F8 R1R",
+                "BB 2147483647R", "BB 2147483648R", "HR 99999999999R", "1B 99999999999 1R", "\u0663-3",
+        };
+        for (String event : events) {
+            assertSameAsLegacy(event);
+        }
+    }
+
+    // 亂數組合速記片段與個別字元，和原本的正規表示式寫法逐一比對
+    @Test
+    void testRandomShorthand_matchesLegacyParser() {
+        String[] fragments = {
+                "BB", "1B", "2B", "3B", "HR", "K", "F8", "E5", "6-4-3", "4-3", "-", " ", "R", "1R", "3R", "12R",
+                "9", "0", "B", "H", "E", "F", "\n", "\r", "\u2028", "99999999999",
+        };
+        String chars = "BEHKFR0123456789- x\n";
+        Random random = new Random(20241105L);
+        List<String> events = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int pieces = 1 + random.nextInt(4);
+            for (int p = 0; p < pieces; p++) {
+                if (random.nextBoolean()) {
+                    sb.append(fragments[random.nextInt(fragments.length)]);
+                } else {
+                    sb.append(chars.charAt(random.nextInt(chars.length())));
+                }
+            }
+            events.add(sb.toString());
+        }
+        for (String event : events) {
+            assertSameAsLegacy(event);
+        }
+    }
+}
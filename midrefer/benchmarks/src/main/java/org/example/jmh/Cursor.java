@@ -0,0 +1,28 @@
+package org.example.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.ThreadParams;
+
+// 每個執行緒輪流取用 ServiceState 裡的訂單
+// 多執行緒時各自只用 index % 執行緒數 == 自己編號的訂單，不會兩個執行緒同時推進同一張單
+@State(Scope.Thread)
+public class Cursor {
+
+    private int next;
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp(ThreadParams params) {
+        next = params.getThreadIndex();
+        step = params.getThreadCount();
+    }
+
+    int next() {
+        int index = next;
+        next = (next + step) & (ServiceState.ORDERS - 1);
+        return index;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.jmh;
+
+import org.example.exception.BusinessException;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.service.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// DeliveryService 熱點路徑，單一執行緒
+// 每個項目同時量測吞吐量與平均時間；配置速率由 BenchmarkMain 加上的 gc profiler 提供
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class DeliveryServiceBenchmark {
+
+    // --- acceptOrder ---
+    // 會推進狀態的項目每次都以 Order.restore 取一張新的 PENDING 訂單，和實際每張訂單都是新物件相同，
+    // 配置量因此多了一個 Order
+
+    @Benchmark
+    public OrderStatus acceptOrder_accepted(ServiceState s, Cursor c) throws BusinessException {
+        Order order = Order.restore(s.accepted[c.next()], OrderStatus.PENDING);
+        s.service.acceptOrder(order);
+        return order.getStatus();
+    }
+
+    @Benchmark
+    public Object acceptOrder_rejectedTooFar(ServiceState s, Cursor c) {
+        try {
+            s.service.acceptOrder(s.tooFar[c.next()]);
+            return null;
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object acceptOrder_rejectedClosed(ServiceState s, Cursor c) {
+        try {
+            s.service.acceptOrder(s.closed[c.next()]);
+            return null;
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+
+    // 不丟例外的接單路徑
+    @Benchmark
+    public ValidationResult tryAcceptOrder_rejectedTooFar(ServiceState s, Cursor c) {
+        return s.service.tryAcceptOrder(s.tooFar[c.next()]);
+    }
+
+    // --- 距離檢查 ---
+    // checkDeliveryDistance 是 private，透過 validate 量測；營業時間檢查只是一次位元運算，時間幾乎都在距離檢查
+
+    @Benchmark
+    public ValidationResult checkDeliveryDistance_withinRange(ServiceState s, Cursor c) {
+        return s.service.validate(s.accepted[c.next()]);
+    }
+
+    @Benchmark
+    public ValidationResult checkDeliveryDistance_tooFar(ServiceState s, Cursor c) {
+        return s.service.validate(s.tooFar[c.next()]);
+    }
+
+    // --- 完整流程 ---
+
+    @Benchmark
+    public boolean lifecycle_acceptPickupDeliver(ServiceState s, Cursor c) throws BusinessException {
+        Order order = Order.restore(s.accepted[c.next()], OrderStatus.PENDING);
+        s.service.acceptOrder(order);
+        s.service.pickupOrder(order);
+        return s.service.deliverOrder(order);
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.jmh;
+
+import org.openjdk.jmh.annotations.Threads;
+
+// 同樣的項目，四個執行緒共用同一個 DeliveryService、餐廳與日誌
+@Threads(4)
+public class DeliveryServiceContendedBenchmark extends DeliveryServiceBenchmark {
+}
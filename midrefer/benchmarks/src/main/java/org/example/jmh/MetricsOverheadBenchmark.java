@@ -0,0 +1,44 @@
+package org.example.jmh;
+
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.service.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 啟用監控前後的差異；日誌會蓋過監控的成本，執行時加上 -p logging=off
+// 會推進狀態的項目每次都以 Order.restore 取一張新的 PENDING 訂單，兩種設定多出的配置相同
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class MetricsOverheadBenchmark {
+
+    @Benchmark
+    public ValidationResult tryAcceptOrder_accepted(ServiceState s, MetricsState m, Cursor c) {
+        return s.service.tryAcceptOrder(Order.restore(s.accepted[c.next()], OrderStatus.PENDING));
+    }
+
+    @Benchmark
+    public ValidationResult tryAcceptOrder_rejectedTooFar(ServiceState s, MetricsState m, Cursor c) {
+        return s.service.tryAcceptOrder(s.tooFar[c.next()]);
+    }
+
+    @Benchmark
+    public boolean lifecycle_tryAcceptPickupDeliver(ServiceState s, MetricsState m, Cursor c) {
+        Order order = Order.restore(s.accepted[c.next()], OrderStatus.PENDING);
+        s.service.tryAcceptOrder(order);
+        s.service.pickupOrder(order);
+        return s.service.deliverOrder(order);
+    }
+}
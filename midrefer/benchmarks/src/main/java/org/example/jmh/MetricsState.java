@@ -0,0 +1,22 @@
+package org.example.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// 在 ServiceState 的服務上啟用或不啟用監控，每個 trial 都是新的服務
+@State(Scope.Benchmark)
+public class MetricsState {
+
+    @Param({"off", "on"})
+    public String metrics;
+
+    @Setup(Level.Trial)
+    public void setUp(ServiceState s) {
+        if ("on".equals(metrics)) {
+            s.service.enableMetrics();
+        }
+    }
+}
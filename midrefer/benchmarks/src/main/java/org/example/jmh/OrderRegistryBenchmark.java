@@ -0,0 +1,108 @@
+package org.example.jmh;
+
+import org.example.model.Order;
+import org.example.model.Restaurant;
+import org.example.service.OrderRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 依訂單編號查詢：OrderRegistry 對照 ConcurrentHashMap<Long, Order> 與 ConcurrentHashMap<String, Order>
+// 查詢的編號事先隨機打亂，避免連續存取讓快取命中率失真
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderRegistryBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private OrderRegistry registry;
+    private ConcurrentHashMap<Long, Order> byLong;
+    private ConcurrentHashMap<String, Order> byString;
+    private long[] hitIds;
+    private String[] hitStrings;
+    private long[] missIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Restaurant restaurant = new Restaurant(0, "R0", 1000, 2100, 0, 0);
+        registry = new OrderRegistry();
+        byLong = new ConcurrentHashMap<>();
+        byString = new ConcurrentHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Order order = new Order(String.valueOf(i), "C", restaurant, 1300, 1, 1);
+            registry.put(order);
+            byLong.put((long) i, order);
+            byString.put(order.getOrderId(), order);
+        }
+        Random rnd = new Random(42);
+        hitIds = new long[LOOKUPS];
+        hitStrings = new String[LOOKUPS];
+        missIds = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            hitIds[i] = rnd.nextInt(size);
+            hitStrings[i] = String.valueOf(hitIds[i]);   // 另外建立的字串，和外部輸入相同
+            missIds[i] = size + rnd.nextInt(size);
+        }
+    }
+
+    private int next() {
+        int i = next;
+        next = (i + 1) & (LOOKUPS - 1);
+        return i;
+    }
+
+    // --- 查得到 ---
+
+    @Benchmark
+    public Order registry_getHit() {
+        return registry.get(hitIds[next()]);
+    }
+
+    @Benchmark
+    public Order registry_getHitByString() {
+        return registry.get(hitStrings[next()]);
+    }
+
+    @Benchmark
+    public Order chmLong_getHit() {
+        return byLong.get(hitIds[next()]);
+    }
+
+    @Benchmark
+    public Order chmString_getHit() {
+        return byString.get(hitStrings[next()]);
+    }
+
+    // --- 查不到 ---
+
+    @Benchmark
+    public Order registry_getMiss() {
+        return registry.get(missIds[next()]);
+    }
+
+    @Benchmark
+    public Order chmLong_getMiss() {
+        return byLong.get(missIds[next()]);
+    }
+}
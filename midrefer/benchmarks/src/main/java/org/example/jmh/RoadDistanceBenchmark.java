@@ -0,0 +1,95 @@
+package org.example.jmh;
+
+import org.example.model.Order;
+import org.example.model.Restaurant;
+import org.example.service.DeliveryService;
+import org.example.service.ValidationResult;
+import org.example.spatial.GridRoadMap;
+import org.example.spatial.RoadDistanceProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 接單距離檢查的成本：直線距離（預設）、街道地圖 A* 不用快取、街道地圖加 LRU 快取
+// 地圖 400 x 400，兩成格子不能通行；50 間餐廳，每張訂單的顧客在餐廳周圍 ±8 格
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoadDistanceBenchmark {
+
+    private static final int SIZE = 400;
+    private static final int ORDERS = 1 << 18;
+
+    @Param({"euclidean", "road", "road+lru"})
+    public String distance;
+
+    private DeliveryService service;
+    private Order[] orders;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        List<String> rows = new ArrayList<>();
+        for (int y = 0; y < SIZE; y++) {
+            StringBuilder row = new StringBuilder();
+            for (int x = 0; x < SIZE; x++) {
+                row.append(rnd.nextInt(100) < 20 ? '#' : '.');
+            }
+            rows.add(row.toString());
+        }
+        GridRoadMap map = GridRoadMap.parse(rows, 0, 0);
+
+        List<Restaurant> restaurants = new ArrayList<>();
+        while (restaurants.size() < 50) {
+            int x = rnd.nextInt(SIZE);
+            int y = rnd.nextInt(SIZE);
+            if (map.isOpen(x, y)) {
+                restaurants.add(new Restaurant(restaurants.size(), "R" + restaurants.size(), 0, 2400, x, y));
+            }
+        }
+        LocalDate today = LocalDate.of(2025, 3, 3);
+        orders = new Order[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            Restaurant r = restaurants.get(rnd.nextInt(restaurants.size()));
+            orders[i] = new Order(String.valueOf(i), "C", r, today, 1200,
+                    r.getX() + rnd.nextInt(17) - 8, r.getY() + rnd.nextInt(17) - 8);
+        }
+
+        int maxSteps = (int) DeliveryService.MAX_DISTANCE;
+        service = new DeliveryService();
+        switch (distance) {
+            case "road" -> service.setDistanceProvider((restaurant, x, y) -> {
+                int steps = map.distance(restaurant.getX(), restaurant.getY(), x, y, maxSteps);
+                return steps < 0 ? Long.MAX_VALUE : (long) steps * steps;
+            });
+            case "road+lru" -> service.setDistanceProvider(new RoadDistanceProvider(map, maxSteps, 1 << 16));
+            default -> { }
+        }
+    }
+
+    @Benchmark
+    public ValidationResult validate() {
+        int i = next;
+        next = (i + 1) & (ORDERS - 1);
+        return service.validate(orders[i]);
+    }
+}
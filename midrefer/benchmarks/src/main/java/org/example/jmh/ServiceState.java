@@ -0,0 +1,55 @@
+package org.example.jmh;
+
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.model.Order;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+
+// 所有執行緒共用的服務與訂單
+// 三組訂單：可以接單、距離太遠、非營業時間，每組 ORDERS 張，分散在 64 間餐廳
+@State(Scope.Benchmark)
+public class ServiceState {
+
+    static final int ORDERS = 1 << 16;
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    // on：INFO 等級寫入檔案，和正式環境相同；off：關閉日誌
+    @Param({"off", "on"})
+    public String logging;
+
+    DeliveryService service;
+    Order[] accepted;
+    Order[] tooFar;
+    Order[] closed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Configurator.setRootLevel("on".equals(logging)
+                ? org.apache.logging.log4j.Level.INFO : org.apache.logging.log4j.Level.OFF);
+
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant[] restaurants = new Restaurant[64];
+        for (int i = 0; i < restaurants.length; i++) {
+            restaurants[i] = registry.register("R" + i, 1000, 2100, i * 10, i * 5);
+        }
+        service = new DeliveryService();
+        accepted = new Order[ORDERS];
+        tooFar = new Order[ORDERS];
+        closed = new Order[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            Restaurant r = restaurants[i % restaurants.length];
+            String customer = "C" + (i % 1000);
+            accepted[i] = new Order("A" + i, customer, r, MONDAY, 1300, r.getX() + 3, r.getY() + 4);
+            tooFar[i] = new Order("F" + i, customer, r, MONDAY, 1300, r.getX() + 15, r.getY() + 15);
+            closed[i] = new Order("C" + i, customer, r, MONDAY, 2200, r.getX() + 3, r.getY() + 4);
+        }
+    }
+}
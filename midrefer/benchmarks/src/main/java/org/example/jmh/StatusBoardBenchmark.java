@@ -0,0 +1,132 @@
+package org.example.jmh;
+
+import org.example.loadgen.LoadGenerator;
+import org.example.loadgen.LoadProfile;
+import org.example.loadgen.Workload;
+import org.example.metrics.RestaurantStatusBoard;
+import org.example.metrics.StatusBoardSnapshot;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.service.DeliveryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 每間餐廳狀態計數（RestaurantStatusBoard）的查詢與更新成本
+// 一百萬張訂單分到 1,000 間餐廳，四分之一停在 PENDING、ACCEPTED、PICKED_UP、DELIVERED 各一種狀態
+// scan 是沒有 board 時掃描所有訂單求單一餐廳計數的做法，當作對照
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatusBoardBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int RESTAURANTS = 1_000;
+
+    private RestaurantStatusBoard board;
+    private Order[] orders;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Workload workload = new LoadGenerator(LoadProfile.builder().orders(ORDERS).build()).generate();
+        DeliveryService service = new DeliveryService();
+        board = new RestaurantStatusBoard();
+        service.addListener(board);
+        orders = new Order[workload.size()];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = workload.getOrder(i);
+            service.orderCreated(orders[i]);
+            switch (i % 4) {
+                case 1 -> service.tryAcceptOrder(orders[i]);
+                case 2 -> {
+                    service.tryAcceptOrder(orders[i]);
+                    service.pickupOrder(orders[i]);
+                }
+                case 3 -> {
+                    service.tryAcceptOrder(orders[i]);
+                    service.pickupOrder(orders[i]);
+                    service.deliverOrder(orders[i]);
+                }
+                default -> { }
+            }
+        }
+    }
+
+    private int nextRestaurant() {
+        int i = next;
+        next = i + 1 == RESTAURANTS ? 0 : i + 1;
+        return i;
+    }
+
+    // --- 查詢 ---
+
+    @Benchmark
+    public long count() {
+        return board.count(nextRestaurant(), OrderStatus.ACCEPTED);
+    }
+
+    @Benchmark
+    public long total() {
+        return board.total(OrderStatus.PICKED_UP);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public StatusBoardSnapshot snapshot() {
+        return board.snapshot();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long scan() {
+        int restaurant = nextRestaurant();
+        long n = 0;
+        for (Order order : orders) {
+            if (order.getRestaurant().getId() == restaurant && order.getStatus() == OrderStatus.ACCEPTED) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    // --- 更新：一次狀態事件的成本 ---
+
+    @Benchmark
+    public void transition() {
+        Order order = orders[nextRestaurant()];
+        board.onTransition(order, OrderStatus.PENDING, OrderStatus.ACCEPTED);
+        board.onTransition(order, OrderStatus.ACCEPTED, OrderStatus.PENDING);
+    }
+
+    // --- 兩條執行緒持續更新時的 snapshot ---
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public void contended_writer() {
+        transition();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public StatusBoardSnapshot contended_snapshot() {
+        return board.snapshot();
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.jmh;
+
+import org.example.sla.Timeout;
+import org.example.sla.TimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 大量 SLA 期限的排程與取消：TimingWheel 對照每張訂單一個 ScheduledThreadPoolExecutor 工作
+// 期限在 15 到 45 分鐘之間，隨時有 pending 個期限在排程中；每次操作排一個新的期限並取消最舊的一個，
+// 和訂單按時送達時取消 SLA 的情況相同。時間不前進，量到的只有排程與取消本身
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimingWheelBenchmark {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final int DEADLINES = 1 << 16;
+
+    @Param({"100000", "1000000"})
+    public int pending;
+
+    private long[] deadlines;
+    private TimingWheel<Integer> wheel;
+    private Timeout<Integer>[] timeouts;
+    private ScheduledThreadPoolExecutor executor;
+    private ScheduledFuture<?>[] futures;
+    private final Integer payload = 0;
+    private final Runnable task = () -> { };
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Random rnd = new Random(42);
+        deadlines = new long[DEADLINES];
+        for (int i = 0; i < DEADLINES; i++) {
+            deadlines[i] = 15 * MINUTE + (long) (rnd.nextDouble() * 30 * MINUTE);
+        }
+        wheel = new TimingWheel<>(TICK, 0, t -> { });
+        timeouts = new Timeout[pending];
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        futures = new ScheduledFuture[pending];
+        for (int i = 0; i < pending; i++) {
+            timeouts[i] = wheel.schedule(payload, deadlines[i & (DEADLINES - 1)]);
+            futures[i] = executor.schedule(task, deadlines[i & (DEADLINES - 1)], TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private int next() {
+        int i = next;
+        next = i + 1 == pending ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public Timeout<Integer> wheel_scheduleAndCancel() {
+        int i = next();
+        timeouts[i].cancel();
+        return timeouts[i] = wheel.schedule(payload, deadlines[i & (DEADLINES - 1)]);
+    }
+
+    @Benchmark
+    public ScheduledFuture<?> executor_scheduleAndCancel() {
+        int i = next();
+        futures[i].cancel(false);
+        return futures[i] = executor.schedule(task, deadlines[i & (DEADLINES - 1)], TimeUnit.NANOSECONDS);
+    }
+}
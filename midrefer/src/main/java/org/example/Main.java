@@ -1,10 +1,23 @@
+import org.example.http.OrderHttpServer;
+import org.example.ingest.IngestionPipeline;
+import org.example.ingest.IngestionReport;
+import org.example.loadgen.LoadGenerator;
+import org.example.loadgen.LoadProfile;
 import org.example.model.Order;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.AcceptOutcome;
 import org.example.service.DeliveryService;
-import org.example.exception.BusinessException;
+import org.example.service.OrderRegistry;
 
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,33 +26,77 @@ public class Main {
 
     public static void main(String[] args) {
         DeliveryService service = new DeliveryService();
+        // 登錄餐廳，同一間餐廳的訂單共用營業時間與位置
+        RestaurantRegistry restaurants = new RestaurantRegistry();
+        Restaurant mcDonalds = restaurants.register("McDonalds", 1000, 2100, 2, 3);
+        Restaurant kfc = restaurants.register("KFC", 1000, 2100, 0, 0);
+        Restaurant subway = restaurants.register("Subway", 1000, 2100, 1, 1);
+
+        // Main loadgen [訂單數] [seed] [執行緒數]：以合成訂單做離線負載測試，印出吞吐量與拒絕統計
+        if (args.length > 0 && args[0].equals("loadgen")) {
+            LoadProfile.Builder profile = LoadProfile.builder();
+            if (args.length > 1) profile.orders(Integer.parseInt(args[1]));
+            if (args.length > 2) profile.seed(Long.parseLong(args[2]));
+            if (args.length > 3) profile.threads(Integer.parseInt(args[3]));
+            // 每次狀態變更都會寫一行 info 日誌，不關掉的話量到的是日誌輸出的速度
+            Configurator.setLevel("org.example", Level.ERROR);
+            System.out.print(new LoadGenerator(profile.build()).run(new DeliveryService()).format());
+            return;
+        }
+        // Main serve [port]：啟動訂單 HTTP API，直到程序結束
+        if (args.length > 0 && args[0].equals("serve")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+            // 關閉 Nagle，避免小回應和延遲 ACK 互等；必須在建立 HttpServer 之前設定，命令列已指定時不覆蓋
+            if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+                System.setProperty("sun.net.httpserver.nodelay", "true");
+            }
+            // 監控數據以 JMX 公開，每間餐廳的狀態計數由 GET /restaurants/{id}/orders 查詢
+            service.enableMetrics().registerMBean("serve");
+            service.enableStatusBoard();
+            try {
+                OrderHttpServer server = new OrderHttpServer(service, restaurants, new OrderRegistry(),
+                        new InetSocketAddress(port));
+                Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+                server.start();
+            } catch (IOException e) {
+                logger.error("無法啟動訂單 API：{}", e.getMessage());
+            }
+            return;
+        }
+        // 有指定訂單檔時改為串流匯入：Main <訂單檔.csv|.ndjson> [工作執行緒數]
+        // 檔案中的餐廳以上面登錄的 id 表示（0 McDonalds、1 KFC、2 Subway）
+        if (args.length > 0) {
+            int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+            IngestionReport report = new IngestionPipeline(service, restaurants, workers).ingest(Path.of(args[0]));
+            logger.info("匯入 {} 張訂單，每秒 {} 張。", report.getOrders(), String.format("%.0f", report.getOrdersPerSecond()));
+            return;
+        }
         // 建立訂單
         List<Order> orders = new ArrayList<>();
         // 訂單 001 : 正常訂單
         orders.add(new Order(
-                "001", "Andy", "McDonalds",
-                1000, 2100, 1300,
-                2, 3, 5, 6));
+                "001", "Andy", mcDonalds,
+                1300, 5, 6));
         // 訂單 002 : 超出距離
         orders.add(new Order(
-                "002", "Edward", "KFC",
-                1000, 2100, 1800,
-                0, 0, 15, 15));
+                "002", "Edward", kfc,
+                1800, 15, 15));
         // 訂單 003 : 非營業時間
         orders.add(new Order(
-                "003", "Walter", "Subway",
-                1000, 2100, 2200,
-                1, 1, 8, 5));
+                "003", "Walter", subway,
+                2200, 8, 5));
+        orders.forEach(service::orderCreated);
+        // 餐廳批次接單，被拒的訂單不會影響其他訂單
+        List<AcceptOutcome> outcomes = service.acceptOrders(orders);
         // 依序處理每一筆訂單
-        for (Order order : orders) {
-            try {
-                service.acceptOrder(order);  // 餐廳接受訂單
-            } catch (BusinessException e) {
-                logger.warn("Business Exception: {}", e.getMessage());
+        for (AcceptOutcome outcome : outcomes) {
+            if (!outcome.isAccepted()) {
+                logger.warn("Business Exception: {}", outcome.getRejectReason());
             }
-            service.pickupOrder(order);   // 外送員取餐
-            service.deliverOrder(order);  // 送達
+            service.pickupOrder(outcome.getOrder());   // 外送員取餐
+            service.deliverOrder(outcome.getOrder());  // 送達
         }
+        service.flushWarnings();
 
         logger.info("所有訂單處理完成。");
     }
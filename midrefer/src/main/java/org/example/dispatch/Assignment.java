@@ -0,0 +1,36 @@
+package org.example.dispatch;
+
+import org.example.model.OrderView;
+
+// 一次派單的結果：哪張訂單交給哪位外送員、等了多久、外送員離餐廳多遠
+public class Assignment {
+    private final OrderView order;
+    private final Courier courier;
+    private final long waitNanos;
+    private final double distance;
+
+    Assignment(OrderView order, Courier courier, long waitNanos, double distance) {
+        this.order = order;
+        this.courier = courier;
+        this.waitNanos = waitNanos;
+        this.distance = distance;
+    }
+
+    public OrderView getOrder() { return order; }
+    public Courier getCourier() { return courier; }
+
+    // 從進入派單佇列到被派出的時間
+    public long getWaitNanos() { return waitNanos; }
+
+    // 外送員到餐廳的距離
+    public double getDistance() { return distance; }
+
+    @Override
+    public String toString() {
+        return "Assignment{" +
+                "orderId='" + order.getOrderId() + '\'' +
+                ", courier=" + courier.getName() +
+                ", distance=" + String.format("%.1f", distance) +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.dispatch;
+
+// 外送員：位置、可同時攜帶的訂單數與目前手上的訂單數
+// 由 DispatchEngine 在派單時更新，其他執行緒只讀取
+public class Courier {
+
+    private final int id;
+    private final String name;
+    private final int capacity;
+    private volatile int x;
+    private volatile int y;
+    private volatile int load;
+
+    Courier(int id, String name, int capacity, int x, int y) {
+        this.id = id;
+        this.name = name;
+        this.capacity = capacity;
+        this.x = x;
+        this.y = y;
+    }
+
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public int getCapacity() { return capacity; }
+    public int getX() { return x; }
+    public int getY() { return y; }
+    public int getLoad() { return load; }
+
+    public boolean isFull() { return load >= capacity; }
+
+    void moveTo(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    void setLoad(int load) {
+        this.load = load;
+    }
+
+    @Override
+    public String toString() {
+        return "Courier{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", location=(" + x + ", " + y + ")" +
+                ", load=" + load + "/" + capacity +
+                '}';
+    }
+}
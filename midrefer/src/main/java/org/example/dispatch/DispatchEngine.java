@@ -0,0 +1,289 @@
+package org.example.dispatch;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.model.Restaurant;
+import org.example.service.DeliveryService;
+import org.example.service.OrderEventListener;
+import org.example.spatial.GridIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 派單引擎：把 ACCEPTED 的訂單分派給外送員，並代替外送員呼叫 pickupOrder
+// - 註冊為 DeliveryService 的監聽者：接單成功的訂單自動進入派單佇列，送達後釋放外送員的空位
+// - 每一輪把等待中的訂單一起處理：每張訂單從空間索引找最近的幾位外送員當候選，
+//   全部候選放進以成本排序的優先佇列，成本 = 外送員到餐廳的距離 - 等待秒數 * waitWeight，
+//   等越久的訂單越優先，由成本最低的組合開始分派
+// - 外送員位置與空位只在派單那一輪裡更新，由單一執行緒處理，不需要細部的鎖
+public class DispatchEngine implements OrderEventListener, AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(DispatchEngine.class);
+    private static final int CANDIDATES_PER_ORDER = 8;   // 每張訂單考慮的最近外送員數
+
+    private final DeliveryService service;
+    private final double waitWeight;   // 每等一秒相當於外送員近了多少距離
+
+    // 外送員，以 id 為索引；還有空位的外送員放在空間索引裡
+    private Courier[] couriers = new Courier[16];
+    private int courierCount;
+    private final GridIndex available;
+
+    // 其他執行緒送進來的事件，派單時才取出處理
+    private final Queue<Pending> incoming = new ConcurrentLinkedQueue<>();
+    private final Queue<OrderView> delivered = new ConcurrentLinkedQueue<>();
+    private final Map<String, Courier> assigned = new ConcurrentHashMap<>();
+
+    // 尚未派出的訂單，只在派單時存取
+    private final List<Pending> waiting = new ArrayList<>();
+
+    // 候選組合的最小堆積，跨輪重複使用
+    private double[] heapCost = new double[64];
+    private int[] heapOrder = new int[64];
+    private int[] heapCourier = new int[64];
+    private int heapSize;
+
+    private ScheduledExecutorService scheduler;
+
+    // 等待派單的訂單
+    private static final class Pending {
+        final OrderView order;
+        final long enqueuedAt;
+        boolean done;
+
+        Pending(OrderView order, long enqueuedAt) {
+            this.order = order;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    public DispatchEngine(DeliveryService service, int cellSize, double waitWeight) {
+        this.service = service;
+        this.available = new GridIndex(cellSize);
+        this.waitWeight = waitWeight;
+    }
+
+    // ========= 外送員 =========
+
+    // 新增一位外送員並配發 id
+    public synchronized Courier addCourier(String name, int x, int y, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("外送員容量必須大於 0: " + capacity);
+        }
+        if (courierCount == couriers.length) {
+            couriers = Arrays.copyOf(couriers, courierCount * 2);
+        }
+        Courier courier = new Courier(courierCount, name, capacity, x, y);
+        couriers[courierCount++] = courier;
+        available.insert(courier.getId(), x, y);
+        return courier;
+    }
+
+    // 更新外送員位置，例如 GPS 回報
+    public synchronized void moveCourier(int id, int x, int y) {
+        Courier courier = getCourier(id);
+        courier.moveTo(x, y);
+        if (available.contains(id)) {
+            available.move(id, x, y);
+        }
+    }
+
+    public synchronized Courier getCourier(int id) {
+        if (id < 0 || id >= courierCount) {
+            throw new IllegalArgumentException("外送員不存在: " + id);
+        }
+        return couriers[id];
+    }
+
+    public synchronized int courierCount() { return courierCount; }
+
+    // 還有空位的外送員數
+    public synchronized int availableCount() { return available.size(); }
+
+    // 等待派單的訂單數
+    public synchronized int waitingCount() { return waiting.size() + incoming.size(); }
+
+    // ========= 事件 =========
+
+    // 手動把一張 ACCEPTED 的訂單放進派單佇列
+    public void submit(OrderView order) {
+        incoming.add(new Pending(order, System.nanoTime()));
+    }
+
+    @Override
+    public void onTransition(OrderView order, OrderStatus from, OrderStatus to) {
+        if (to == OrderStatus.ACCEPTED) {
+            submit(order);
+        } else if (to == OrderStatus.DELIVERED) {
+            delivered.add(order);
+        }
+    }
+
+    @Override
+    public void onRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+        // 被拒絕的操作不影響派單
+    }
+
+    // ========= 派單 =========
+
+    // 執行一輪派單，回傳這一輪的分派結果；派不出去的訂單留到下一輪
+    public synchronized List<Assignment> runRound() {
+        long now = System.nanoTime();
+        releaseDelivered();
+        for (Pending p; (p = incoming.poll()) != null; ) {
+            waiting.add(p);
+        }
+
+        List<Assignment> result = new ArrayList<>();
+        // 候選外送員被別的訂單占滿時，再找一次新的候選
+        while (!waiting.isEmpty() && available.size() > 0) {
+            int before = result.size();
+            assignPass(now, result);
+            waiting.removeIf(p -> p.done);
+            if (result.size() == before) break;
+        }
+        if (!result.isEmpty()) {
+            logger.debug("派單完成：{} 張訂單，{} 張等待中。", result.size(), waiting.size());
+        }
+        return result;
+    }
+
+    private void assignPass(long now, List<Assignment> result) {
+        heapSize = 0;
+        for (int i = 0; i < waiting.size(); i++) {
+            Pending p = waiting.get(i);
+            if (p.order.getStatus() != OrderStatus.ACCEPTED) {
+                p.done = true;  // 已經被取餐或狀態不對，不需要派單
+                continue;
+            }
+            Restaurant r = p.order.getRestaurant();
+            double waited = (now - p.enqueuedAt) / 1e9;
+            for (int id : available.nearest(r.getX(), r.getY(), CANDIDATES_PER_ORDER)) {
+                push(Math.sqrt(r.distanceSquaredTo(couriers[id].getX(), couriers[id].getY())) - waitWeight * waited, i, id);
+            }
+        }
+
+        while (heapSize > 0) {
+            int orderIndex = heapOrder[0];
+            Courier courier = couriers[heapCourier[0]];
+            pop();
+            Pending p = waiting.get(orderIndex);
+            if (p.done || courier.isFull()) continue;
+
+            p.done = true;
+            if (!service.pickupOrder(p.order)) continue;
+            courier.setLoad(courier.getLoad() + 1);
+            assigned.put(p.order.getOrderId(), courier);
+            if (courier.isFull()) {
+                available.remove(courier.getId());
+            }
+            double distance = Math.sqrt(p.order.getRestaurant().distanceSquaredTo(courier.getX(), courier.getY()));
+            result.add(new Assignment(p.order, courier, System.nanoTime() - p.enqueuedAt, distance));
+        }
+    }
+
+    // 送達的訂單釋放外送員空位，外送員停在顧客位置
+    private void releaseDelivered() {
+        for (OrderView order; (order = delivered.poll()) != null; ) {
+            Courier courier = assigned.remove(order.getOrderId());
+            if (courier == null) continue;  // 不是這裡派出的訂單
+            courier.setLoad(courier.getLoad() - 1);
+            courier.moveTo(order.getCustomerX(), order.getCustomerY());
+            available.insert(courier.getId(), courier.getX(), courier.getY());
+        }
+    }
+
+    // 每 intervalMillis 毫秒在背景執行一輪派單
+    public synchronized void start(long intervalMillis) {
+        if (scheduler != null) {
+            throw new IllegalStateException("派單引擎已經啟動。");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dispatch-engine");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runRound();
+            } catch (RuntimeException e) {
+                logger.error("派單失敗：{}", e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        ScheduledExecutorService s;
+        synchronized (this) {
+            s = scheduler;
+            scheduler = null;
+        }
+        if (s == null) return;
+        s.shutdown();
+        try {
+            s.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========= 最小堆積 =========
+
+    private void push(double cost, int orderIndex, int courierId) {
+        if (heapSize == heapCost.length) {
+            heapCost = Arrays.copyOf(heapCost, heapSize * 2);
+            heapOrder = Arrays.copyOf(heapOrder, heapSize * 2);
+            heapCourier = Arrays.copyOf(heapCourier, heapSize * 2);
+        }
+        int i = heapSize++;
+        heapCost[i] = cost;
+        heapOrder[i] = orderIndex;
+        heapCourier[i] = courierId;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapCost[parent] <= heapCost[i]) break;
+            swap(parent, i);
+            i = parent;
+        }
+    }
+
+    private void pop() {
+        heapSize--;
+        heapCost[0] = heapCost[heapSize];
+        heapOrder[0] = heapOrder[heapSize];
+        heapCourier[0] = heapCourier[heapSize];
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= heapSize) break;
+            int smallest = left + 1 < heapSize && heapCost[left + 1] < heapCost[left] ? left + 1 : left;
+            if (heapCost[i] <= heapCost[smallest]) break;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double c = heapCost[a];
+        heapCost[a] = heapCost[b];
+        heapCost[b] = c;
+        int o = heapOrder[a];
+        heapOrder[a] = heapOrder[b];
+        heapOrder[b] = o;
+        int k = heapCourier[a];
+        heapCourier[a] = heapCourier[b];
+        heapCourier[b] = k;
+    }
+}
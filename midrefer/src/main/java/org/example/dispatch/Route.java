@@ -0,0 +1,44 @@
+package org.example.dispatch;
+
+import org.example.model.OrderView;
+import org.example.model.Restaurant;
+
+import java.util.List;
+
+// 一趟外送行程：依序到每間餐廳取餐，再依序送到每位顧客
+public class Route {
+    private final List<Restaurant> pickups;
+    private final List<OrderView> drops;
+    private final double length;
+    private final double maxRideDistance;
+
+    Route(List<Restaurant> pickups, List<OrderView> drops, double length, double maxRideDistance) {
+        this.pickups = pickups;
+        this.drops = drops;
+        this.length = length;
+        this.maxRideDistance = maxRideDistance;
+    }
+
+    // 取餐順序
+    public List<Restaurant> getPickups() { return pickups; }
+
+    // 送餐順序
+    public List<OrderView> getDrops() { return drops; }
+
+    public int size() { return drops.size(); }
+
+    // 從第一間餐廳到最後一位顧客的總距離
+    public double getLength() { return length; }
+
+    // 所有訂單中，從餐廳取餐後到送達顧客之間走的最長距離
+    public double getMaxRideDistance() { return maxRideDistance; }
+
+    @Override
+    public String toString() {
+        return "Route{" +
+                "pickups=" + pickups.size() +
+                ", drops=" + drops.size() +
+                ", length=" + String.format("%.1f", length) +
+                '}';
+    }
+}
@@ -0,0 +1,331 @@
+package org.example.dispatch;
+
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.Restaurant;
+import org.example.service.DeliveryService;
+import org.example.spatial.GridIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 把同一間或鄰近餐廳的 ACCEPTED 訂單合併成一趟外送行程
+// - 分組：以最早的訂單為起點，取餐廳在 pickupRadius 內最近的最多 maxDrops 張訂單
+// - 排序：先依最近鄰決定取餐與送餐順序，再在時間上限內用 2-opt 縮短送餐路線
+// - 限制：每張訂單從餐廳取餐到送達顧客之間，沿路線走的距離不能超過 DeliveryService.MAX_DISTANCE，
+//   和單張訂單的外送距離規則相同；超過的訂單移出這一趟，留給下一趟
+// 非執行緒安全，每個執行緒使用自己的 RouteBatcher
+public class RouteBatcher {
+
+    private static final double EPSILON = 1e-9;
+
+    private final int maxDrops;
+    private final double pickupRadius;
+    private final long timeBudgetNanos;   // 每一趟 2-opt 的時間上限
+    private List<Restaurant> solvedPickups;  // 最近一次 solve 的取餐順序
+
+    public RouteBatcher(int maxDrops, double pickupRadius, long timeBudgetNanos) {
+        if (maxDrops <= 0) {
+            throw new IllegalArgumentException("每趟訂單數必須大於 0: " + maxDrops);
+        }
+        this.maxDrops = maxDrops;
+        this.pickupRadius = pickupRadius;
+        this.timeBudgetNanos = timeBudgetNanos;
+    }
+
+    // 把 orders 中 ACCEPTED 的訂單排成多趟行程，每張訂單剛好出現在一趟裡
+    public List<Route> plan(Collection<? extends OrderView> orders) {
+        OrderView[] input = orders.stream()
+                .filter(o -> o.getStatus() == OrderStatus.ACCEPTED)
+                .toArray(OrderView[]::new);
+        GridIndex pool = new GridIndex(Math.max(1, (int) Math.ceil(pickupRadius)));
+        for (int i = 0; i < input.length; i++) {
+            Restaurant r = input[i].getRestaurant();
+            pool.insert(i, r.getX(), r.getY());
+        }
+
+        List<Route> routes = new ArrayList<>();
+        boolean[] isKept = new boolean[input.length];
+        int seed = 0;
+        while (pool.size() > 0) {
+            while (!pool.contains(seed)) seed++;
+            Restaurant origin = input[seed].getRestaurant();
+            int[] nearest = pool.nearest(origin.getX(), origin.getY(), maxDrops);
+            int count = 0;
+            while (count < nearest.length
+                    && origin.distanceSquaredTo(pool.getX(nearest[count]), pool.getY(nearest[count]))
+                    <= pickupRadius * pickupRadius) {
+                count++;
+            }
+            int[] members = Arrays.copyOf(nearest, count);
+            for (int m : members) {
+                pool.remove(m);
+            }
+
+            int[] kept = solve(input, members);
+            if (kept.length == 0) {
+                // 沒有任何訂單符合限制時，最近的一張自己一趟，確保每一輪都有進展
+                kept = new int[]{members[0]};
+                solvedPickups = List.of(input[members[0]].getRestaurant());
+            }
+            for (int k : kept) isKept[k] = true;
+            for (int m : members) {
+                if (!isKept[m]) {
+                    Restaurant r = input[m].getRestaurant();
+                    pool.insert(m, r.getX(), r.getY());
+                }
+            }
+            routes.add(buildRoute(input, kept, solvedPickups));
+        }
+        return routes;
+    }
+
+    // 排出 members 的行程，回傳符合距離限制的訂單，依送餐順序排列
+    private int[] solve(OrderView[] input, int[] members) {
+        int n = members.length;
+        List<Restaurant> pickups = pickupOrder(input, members);
+        double[] tail = pickupTails(input, members, pickups);
+        Restaurant last = pickups.get(pickups.size() - 1);
+        solvedPickups = pickups;
+
+        // 送餐點座標，以組內編號存取
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = input[members[i]].getCustomerX();
+            ys[i] = input[members[i]].getCustomerY();
+        }
+
+        int[] seq = nearestNeighbour(last.getX(), last.getY(), xs, ys);
+        twoOpt(seq, last.getX(), last.getY(), xs, ys, tail);
+
+        // 依送餐順序累計距離，留下符合限制的訂單
+        int[] kept = new int[n];
+        int count = 0;
+        double travelled = 0;
+        int px = last.getX();
+        int py = last.getY();
+        for (int s : seq) {
+            travelled += dist(px, py, xs[s], ys[s]);
+            px = xs[s];
+            py = ys[s];
+            if (tail[s] + travelled <= DeliveryService.MAX_DISTANCE + EPSILON) {
+                kept[count++] = members[s];
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+
+    // 取餐順序：從第一張訂單的餐廳開始，每次走到最近的下一間餐廳
+    private static List<Restaurant> pickupOrder(OrderView[] input, int[] members) {
+        Map<Restaurant, Boolean> distinct = new IdentityHashMap<>();
+        List<Restaurant> remaining = new ArrayList<>();
+        for (int m : members) {
+            if (distinct.put(input[m].getRestaurant(), Boolean.TRUE) == null) {
+                remaining.add(input[m].getRestaurant());
+            }
+        }
+        List<Restaurant> ordered = new ArrayList<>(remaining.size());
+        Restaurant current = remaining.remove(0);
+        ordered.add(current);
+        while (!remaining.isEmpty()) {
+            int best = 0;
+            for (int i = 1; i < remaining.size(); i++) {
+                if (current.distanceSquaredTo(remaining.get(i).getX(), remaining.get(i).getY())
+                        < current.distanceSquaredTo(remaining.get(best).getX(), remaining.get(best).getY())) {
+                    best = i;
+                }
+            }
+            current = remaining.remove(best);
+            ordered.add(current);
+        }
+        return ordered;
+    }
+
+    // 每張訂單取餐後，到最後一間餐廳之前還要走的距離
+    private static double[] pickupTails(OrderView[] input, int[] members, List<Restaurant> pickups) {
+        Map<Restaurant, Double> tailOf = new IdentityHashMap<>();
+        double tail = 0;
+        for (int k = pickups.size() - 1; k >= 0; k--) {
+            Restaurant r = pickups.get(k);
+            if (k < pickups.size() - 1) {
+                Restaurant next = pickups.get(k + 1);
+                tail += Math.sqrt(r.distanceSquaredTo(next.getX(), next.getY()));
+            }
+            tailOf.put(r, tail);
+        }
+        double[] tails = new double[members.length];
+        for (int i = 0; i < members.length; i++) {
+            tails[i] = tailOf.get(input[members[i]].getRestaurant());
+        }
+        return tails;
+    }
+
+    // 最近鄰：從 (x, y) 出發，每次走到最近的未送達顧客
+    private static int[] nearestNeighbour(int x, int y, int[] xs, int[] ys) {
+        int n = xs.length;
+        int[] seq = new int[n];
+        for (int i = 0; i < n; i++) seq[i] = i;
+        int px = x;
+        int py = y;
+        for (int pos = 0; pos < n; pos++) {
+            int best = pos;
+            long bestD = Long.MAX_VALUE;
+            for (int i = pos; i < n; i++) {
+                long d = dist2(px, py, xs[seq[i]], ys[seq[i]]);
+                if (d < bestD) {
+                    bestD = d;
+                    best = i;
+                }
+            }
+            int t = seq[pos];
+            seq[pos] = seq[best];
+            seq[best] = t;
+            px = xs[seq[pos]];
+            py = ys[seq[pos]];
+        }
+        return seq;
+    }
+
+    // 2-opt：反轉一段送餐順序能縮短路線就反轉，直到沒有改善或超過時間上限
+    // 會讓超過距離限制的訂單變多的反轉不接受，所以留下的訂單數不會比最近鄰少
+    // arrive[k] 是走到第 k 個送餐點時累計的距離，判斷反轉後的違規數只重算反轉的那一段：
+    // 反轉後路線變短，後面每一站都提早抵達，只可能少違規，只有這一段變差時才需要看後面
+    private void twoOpt(int[] seq, int startX, int startY, int[] xs, int[] ys, double[] tail) {
+        int n = seq.length;
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        double[] arrive = new double[n];
+        updateArrivals(seq, 0, startX, startY, xs, ys, arrive);
+        int steps = 0;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 0; i < n - 1; i++) {
+                if (System.nanoTime() > deadline) return;
+                int prevX = i == 0 ? startX : xs[seq[i - 1]];
+                int prevY = i == 0 ? startY : ys[seq[i - 1]];
+                for (int j = i + 1; j < n; j++) {
+                    // 每 256 次檢查一次時間，一組很大時單一個 i 的內層迴圈也不會超時太多
+                    if ((++steps & 0xFF) == 0 && System.nanoTime() > deadline) return;
+                    int a = seq[i];
+                    int b = seq[j];
+                    double before = dist(prevX, prevY, xs[a], ys[a]);
+                    double after = dist(prevX, prevY, xs[b], ys[b]);
+                    if (j + 1 < n) {
+                        int c = seq[j + 1];
+                        before += dist(xs[b], ys[b], xs[c], ys[c]);
+                        after += dist(xs[a], ys[a], xs[c], ys[c]);
+                    }
+                    if (after >= before - EPSILON) continue;
+
+                    int delta = segmentViolationDelta(seq, i, j, prevX, prevY, xs, ys, tail, arrive);
+                    if (delta > 0) {
+                        delta -= suffixViolationsFixed(seq, j + 1, after - before, tail, arrive);
+                        if (delta > 0) continue;
+                    }
+                    reverse(seq, i, j);
+                    updateArrivals(seq, i, prevX, prevY, xs, ys, arrive);
+                    improved = true;
+                }
+            }
+        }
+    }
+
+    // 反轉 [i, j] 之後這一段違規數的變化（之後減之前），不修改 seq
+    private static int segmentViolationDelta(int[] seq, int i, int j, int prevX, int prevY,
+                                             int[] xs, int[] ys, double[] tail, double[] arrive) {
+        int delta = 0;
+        double travelled = i == 0 ? 0 : arrive[i - 1];
+        int x = prevX;
+        int y = prevY;
+        for (int k = j; k >= i; k--) {
+            int s = seq[k];
+            travelled += dist(x, y, xs[s], ys[s]);
+            x = xs[s];
+            y = ys[s];
+            if (isViolation(tail[s], travelled)) delta++;
+            if (isViolation(tail[seq[i + j - k]], arrive[i + j - k])) delta--;
+        }
+        return delta;
+    }
+
+    // 反轉後 from 之後的每一站都提早 -shift 抵達，回傳因此不再違規的訂單數
+    private static int suffixViolationsFixed(int[] seq, int from, double shift, double[] tail, double[] arrive) {
+        int fixed = 0;
+        for (int k = from; k < seq.length; k++) {
+            if (isViolation(tail[seq[k]], arrive[k]) && !isViolation(tail[seq[k]], arrive[k] + shift)) fixed++;
+        }
+        return fixed;
+    }
+
+    // 從第 from 站開始重算累計距離，(x, y) 是第 from 站的前一站
+    private static void updateArrivals(int[] seq, int from, int x, int y, int[] xs, int[] ys, double[] arrive) {
+        double travelled = from == 0 ? 0 : arrive[from - 1];
+        for (int k = from; k < seq.length; k++) {
+            int s = seq[k];
+            travelled += dist(x, y, xs[s], ys[s]);
+            x = xs[s];
+            y = ys[s];
+            arrive[k] = travelled;
+        }
+    }
+
+    private static boolean isViolation(double tail, double travelled) {
+        return tail + travelled > DeliveryService.MAX_DISTANCE + EPSILON;
+    }
+
+    private static Route buildRoute(OrderView[] input, int[] kept, List<Restaurant> pickupOrder) {
+        List<OrderView> drops = new ArrayList<>(kept.length);
+        Map<Restaurant, Boolean> used = new IdentityHashMap<>();
+        for (int k : kept) {
+            drops.add(input[k]);
+            used.put(input[k].getRestaurant(), Boolean.TRUE);
+        }
+        List<Restaurant> pickups = new ArrayList<>(used.size());
+        for (Restaurant r : pickupOrder) {
+            if (used.containsKey(r)) pickups.add(r);
+        }
+        double[] tail = pickupTails(input, kept, pickups);
+
+        double length = 0;
+        for (int k = 1; k < pickups.size(); k++) {
+            Restaurant prev = pickups.get(k - 1);
+            length += Math.sqrt(prev.distanceSquaredTo(pickups.get(k).getX(), pickups.get(k).getY()));
+        }
+        Restaurant last = pickups.get(pickups.size() - 1);
+        int x = last.getX();
+        int y = last.getY();
+        double travelled = 0;
+        double maxRide = 0;
+        for (int i = 0; i < drops.size(); i++) {
+            OrderView o = drops.get(i);
+            travelled += dist(x, y, o.getCustomerX(), o.getCustomerY());
+            x = o.getCustomerX();
+            y = o.getCustomerY();
+            maxRide = Math.max(maxRide, tail[i] + travelled);
+        }
+        return new Route(List.copyOf(pickups), List.copyOf(drops), length + travelled, maxRide);
+    }
+
+    private static void reverse(int[] seq, int i, int j) {
+        while (i < j) {
+            int t = seq[i];
+            seq[i++] = seq[j];
+            seq[j--] = t;
+        }
+    }
+
+    private static long dist2(int x1, int y1, int x2, int y2) {
+        long dx = (long) x1 - x2;
+        long dy = (long) y1 - y2;
+        return dx * dx + dy * dy;
+    }
+
+    private static double dist(int x1, int y1, int x2, int y2) {
+        return Math.sqrt(dist2(x1, y1, x2, y2));
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// 精簡的 JSON 輸出：只支援一層物件的字串與整數欄位，直接寫成 UTF-8 位元組，不經過 String 或 StringBuilder
+// 同一個 JsonWriter 可以 reset 後重複使用
+final class JsonWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buf;
+    private int len;
+    private boolean first;
+
+    JsonWriter() {
+        this(256);
+    }
+
+    JsonWriter(int capacity) {
+        buf = new byte[capacity];
+    }
+
+    JsonWriter reset() {
+        len = 0;
+        return this;
+    }
+
+    JsonWriter beginObject() {
+        put((byte) '{');
+        first = true;
+        return this;
+    }
+
+    JsonWriter endObject() {
+        put((byte) '}');
+        return this;
+    }
+
+    JsonWriter field(String name, String value) {
+        name(name);
+        if (value == null) {
+            ascii("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    JsonWriter field(String name, long value) {
+        name(name);
+        if (value == Long.MIN_VALUE) {
+            ascii(Long.toString(value));
+            return this;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = len + digits - 1; i >= len; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        len += digits;
+        return this;
+    }
+
+    byte[] array() { return buf; }
+
+    int length() { return len; }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, len);
+    }
+
+    private void name(String name) {
+        if (!first) {
+            put((byte) ',');
+        }
+        first = false;
+        string(name);
+        put((byte) ':');
+    }
+
+    // 欄位名稱與數字只有 ASCII
+    private void ascii(String s) {
+        ensure(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            buf[len++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void string(String s) {
+        // 每個字元最多 6 個位元組（反斜線 u 加四位十六進位），加上兩個引號
+        ensure(s.length() * 6 + 2);
+        buf[len++] = '"';
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                buf[len++] = '\\';
+                buf[len++] = (byte) c;
+            } else if (c < 0x20) {
+                buf[len++] = '\\';
+                buf[len++] = 'u';
+                buf[len++] = '0';
+                buf[len++] = '0';
+                buf[len++] = HEX[c >> 4];
+                buf[len++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                buf[len++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[len++] = (byte) (0xC0 | (c >> 6));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[len++] = (byte) (0xF0 | (cp >> 18));
+                buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[len++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[len++] = '?';   // 不成對的代理字元，和 String.getBytes 一樣換成問號
+            } else {
+                buf[len++] = (byte) (0xE0 | (c >> 12));
+                buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buf[len++] = '"';
+    }
+
+    private void put(byte b) {
+        ensure(1);
+        buf[len++] = b;
+    }
+
+    private void ensure(int extra) {
+        if (len + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.example.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.ingest.OrderFormat;
+import org.example.metrics.RestaurantStatusBoard;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.example.service.OrderRegistry;
+import org.example.service.ValidationResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 內嵌的 HTTP API，使用 JDK 內建的 com.sun.net.httpserver，每個請求一條虛擬執行緒
+//   POST /orders                 建立訂單，內容與 NDJSON 訂單檔的一行相同，回傳 201
+//   GET  /orders/{id}            查詢訂單
+//   POST /orders/{id}/accept     接單
+//   POST /orders/{id}/pickup     取餐
+//   POST /orders/{id}/deliver    送達
+//   GET  /restaurants/{id}/orders  餐廳目前各狀態的訂單數，DeliveryService 沒有啟用 enableStatusBoard 時回傳 404
+// 狀態不允許或驗證不通過時回傳 409 與拒絕原因；找不到訂單 404；格式錯誤 400
+// 訂單以 OrderRegistry 依數字編號保存，送達後仍可查詢，需要時由呼叫端 removeDelivered 清理
+// 內建 HttpServer 預設沒有關閉 Nagle，小回應會和對方的延遲 ACK 互等約 40 ms；
+// 這是整個 JVM 共用的系統屬性，本類別不會自行修改，請在啟動時加上 -Dsun.net.httpserver.nodelay=true
+// （Main serve 在沒有指定時會先設定好）
+public class OrderHttpServer implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(OrderHttpServer.class);
+    private static final String PREFIX = "/orders";
+    private static final String RESTAURANTS = "/restaurants";
+    private static final int MAX_BODY = 64 * 1024;
+
+    private final DeliveryService service;
+    private final RestaurantRegistry restaurants;
+    private final OrderRegistry orders;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public OrderHttpServer(DeliveryService service, RestaurantRegistry restaurants, OrderRegistry orders,
+                           InetSocketAddress address) throws IOException {
+        this.service = service;
+        this.restaurants = restaurants;
+        this.orders = orders;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(address, 1024);
+        server.createContext(PREFIX, this::handle);
+        server.createContext(RESTAURANTS, this::handle);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        logger.info("訂單 API 已啟動於 {}。", getAddress());
+    }
+
+    // 實際綁定的位址，port 指定 0 時用來取得系統配發的 port
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public OrderRegistry getOrders() {
+        return orders;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        service.flushWarnings();
+        logger.info("訂單 API 已停止。");
+    }
+
+    // ========= 路由 =========
+
+    private void handle(HttpExchange exchange) throws IOException {
+        JsonWriter json = new JsonWriter();
+        int status;
+        try {
+            status = route(exchange, json);
+        } catch (IllegalArgumentException e) {
+            status = error(json, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("處理 {} {} 失敗：{}", exchange.getRequestMethod(), exchange.getRequestURI(), e.getMessage());
+            status = error(json, 500, "伺服器錯誤");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, json.length());
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json.array(), 0, json.length());
+        }
+    }
+
+    private int route(HttpExchange exchange, JsonWriter json) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getRawPath();
+        if (path.startsWith(RESTAURANTS)) {
+            return "GET".equals(method) ? restaurantCounts(path, json) : error(json, 405, "只接受 GET");
+        }
+        String rest = path.substring(PREFIX.length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            return "POST".equals(method) ? create(exchange, json) : error(json, 405, "只接受 POST");
+        }
+        if (rest.charAt(0) != '/') {
+            return error(json, 404, "找不到路徑 " + path);
+        }
+        int slash = rest.indexOf('/', 1);
+        String id = slash < 0 ? rest.substring(1) : rest.substring(1, slash);
+        String action = slash < 0 ? null : rest.substring(slash + 1);
+
+        Order order = orders.get(id);
+        if (order == null) {
+            return error(json, 404, "找不到訂單 " + id);
+        }
+        if (action == null) {
+            return "GET".equals(method) ? describe(order, json) : error(json, 405, "只接受 GET");
+        }
+        if (!"POST".equals(method)) {
+            return error(json, 405, "只接受 POST");
+        }
+        return switch (action) {
+            case "accept" -> accept(order, json);
+            case "pickup" -> transition(order, service.pickupOrder(order), "訂單尚未被餐廳接單，無法取餐。", json);
+            case "deliver" -> transition(order, service.deliverOrder(order), "訂單尚未被取餐，無法送達。", json);
+            default -> error(json, 404, "不支援的操作 " + action);
+        };
+    }
+
+    // ========= 操作 =========
+
+    private int create(HttpExchange exchange, JsonWriter json) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(MAX_BODY + 1);
+        }
+        if (body.length > MAX_BODY) {
+            return error(json, 413, "請求內容過大");
+        }
+        Order order = OrderFormat.NDJSON.parse(restaurants, body, 0, body.length);
+        if (OrderRegistry.parseId(order.getOrderId()) < 0) {
+            return error(json, 400, "訂單編號必須是不含前導 0 的數字: " + order.getOrderId());
+        }
+        if (orders.putIfAbsent(order) != null) {
+            return error(json, 409, "訂單 " + order.getOrderId() + " 已存在");
+        }
+        service.orderCreated(order);
+        state(order, json).endObject();
+        return 201;
+    }
+
+    // /restaurants/{id}/orders
+    private int restaurantCounts(String path, JsonWriter json) {
+        RestaurantStatusBoard board = service.getStatusBoard();
+        String rest = path.substring(RESTAURANTS.length());
+        int slash = rest.indexOf('/', 1);
+        if (board == null || !rest.startsWith("/") || slash < 0 || !rest.substring(slash).equals("/orders")) {
+            return error(json, 404, "找不到路徑 " + path);
+        }
+        int id;
+        try {
+            id = Integer.parseInt(rest, 1, slash, 10);
+        } catch (NumberFormatException e) {
+            return error(json, 400, "餐廳編號必須是數字: " + rest.substring(1, slash));
+        }
+        if (restaurants.get(id) == null) {
+            return error(json, 404, "找不到餐廳 " + id);
+        }
+        json.beginObject().field("restaurantId", id);
+        for (OrderStatus status : OrderStatus.values()) {
+            json.field(status.name(), board.count(id, status));
+        }
+        json.endObject();
+        return 200;
+    }
+
+    private int accept(Order order, JsonWriter json) {
+        ValidationResult result = service.tryAcceptOrder(order);
+        if (result.isAccepted()) {
+            state(order, json).endObject();
+            return 200;
+        }
+        return rejected(order, result.getReason(), result.getMessage(), json);
+    }
+
+    private int transition(Order order, boolean succeeded, String message, JsonWriter json) {
+        if (succeeded) {
+            state(order, json).endObject();
+            return 200;
+        }
+        return rejected(order, RejectionReason.WRONG_STATE, message, json);
+    }
+
+    private int describe(OrderView order, JsonWriter json) {
+        state(order, json)
+                .field("customerName", order.getCustomerName())
+                .field("restaurantId", order.getRestaurant().getId())
+                .field("restaurant", order.getRestaurant().getName())
+                .field("orderHour", order.getOrderHour())
+                .field("customerX", order.getCustomerX())
+                .field("customerY", order.getCustomerY())
+                .endObject();
+        return 200;
+    }
+
+    // ========= 回應 =========
+
+    private static JsonWriter state(OrderView order, JsonWriter json) {
+        return json.beginObject()
+                .field("orderId", order.getOrderId())
+                .field("status", order.getStatus().name());
+    }
+
+    private static int rejected(OrderView order, RejectionReason reason, String message, JsonWriter json) {
+        state(order, json)
+                .field("reason", reason.name())
+                .field("message", message)
+                .endObject();
+        return 409;
+    }
+
+    private static int error(JsonWriter json, int status, String message) {
+        json.reset().beginObject().field("error", message).endObject();
+        return status;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.ingest;
+
+import org.example.model.Order;
+import org.example.model.RestaurantRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+// CSV：orderId,customerName,restaurantId,orderDate,orderHour,customerX,customerY
+// 欄位可以用雙引號包起來，引號內的 "" 代表一個雙引號
+class CsvOrderParser extends OrderParser {
+
+    private static final int FIELDS = 7;
+    private static final byte[] HEADER = "orderId".getBytes(StandardCharsets.US_ASCII);
+
+    // 每個欄位在該行中的起訖位置，解析時重複使用
+    private final int[] starts = new int[FIELDS];
+    private final int[] ends = new int[FIELDS];
+    private final boolean[] quoted = new boolean[FIELDS];
+
+    CsvOrderParser(RestaurantRegistry registry) {
+        super(registry);
+    }
+
+    @Override
+    boolean isHeader(byte[] line, int from, int to) {
+        if (to - from < HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER.length; i++) {
+            if (line[from + i] != HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    Order parse(byte[] line, int from, int to) {
+        split(line, from, to);
+        String orderId = field(line, 0);
+        String customerName = field(line, 1);
+        int restaurantId = parseInt(line, starts[2], ends[2]);
+        LocalDate orderDate = parseDate(line, starts[3], ends[3]);
+        int orderHour = parseInt(line, starts[4], ends[4]);
+        int customerX = parseInt(line, starts[5], ends[5]);
+        int customerY = parseInt(line, starts[6], ends[6]);
+        return newOrder(orderId, customerName, restaurantId, orderDate, orderHour, customerX, customerY);
+    }
+
+    // 找出每個欄位的範圍；引號欄位記錄引號內的範圍
+    private void split(byte[] line, int from, int to) {
+        int field = 0;
+        int i = from;
+        while (true) {
+            if (field == FIELDS) {
+                throw new IllegalArgumentException("欄位數量應為 " + FIELDS);
+            }
+            if (i < to && line[i] == '"') {
+                int start = ++i;
+                while (true) {
+                    if (i >= to) {
+                        throw new IllegalArgumentException("引號沒有結束");
+                    }
+                    if (line[i] == '"') {
+                        if (i + 1 < to && line[i + 1] == '"') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                starts[field] = start;
+                ends[field] = i;
+                quoted[field] = true;
+                i++;
+                if (i < to && line[i] != ',') {
+                    throw new IllegalArgumentException("引號後面應該是逗號");
+                }
+            } else {
+                int start = i;
+                while (i < to && line[i] != ',') {
+                    i++;
+                }
+                starts[field] = start;
+                ends[field] = i;
+                quoted[field] = false;
+            }
+            field++;
+            if (i >= to) {
+                break;
+            }
+            i++;   // 略過逗號
+        }
+        if (field != FIELDS) {
+            throw new IllegalArgumentException("欄位數量應為 " + FIELDS + "，實際為 " + field);
+        }
+    }
+
+    private String field(byte[] line, int index) {
+        String value = text(line, starts[index], ends[index]);
+        return quoted[index] ? value.replace("\"\"", "\"") : value;
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.ingest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.exception.SystemException;
+import org.example.model.Order;
+import org.example.model.RejectionReason;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.example.service.ValidationResult;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 串流匯入訂單檔：呼叫端的執行緒讀檔解析，工作執行緒把每張訂單走完接單、取餐、送達
+// 兩邊以有界的佇列連接，每個元素是一批訂單；佇列滿了讀檔端就等待，記憶體用量不會隨檔案變大
+// 同一張訂單的整個流程都在同一個工作執行緒上，訂單處理完就不再持有
+public class IngestionPipeline {
+
+    private static final Logger logger = LogManager.getLogger(IngestionPipeline.class);
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;    // 佇列中最多幾批
+    public static final int DEFAULT_BATCH_SIZE = 512;       // 每批幾張訂單
+    private static final Order[] END = new Order[0];        // 通知工作執行緒結束
+    private static final int REJECTION_REASONS = RejectionReason.values().length;
+
+    private final DeliveryService service;
+    private final RestaurantRegistry registry;
+    private final int workers;
+    private final int queueCapacity;
+    private final int batchSize;
+
+    public IngestionPipeline(DeliveryService service, RestaurantRegistry registry, int workers) {
+        this(service, registry, workers, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    public IngestionPipeline(DeliveryService service, RestaurantRegistry registry,
+                             int workers, int queueCapacity, int batchSize) {
+        if (workers <= 0 || queueCapacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("工作執行緒數、佇列容量與批次大小都必須大於 0");
+        }
+        this.service = service;
+        this.registry = registry;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+    }
+
+    // 依副檔名判斷格式後匯入
+    public IngestionReport ingest(Path file) {
+        return ingest(file, OrderFormat.of(file));
+    }
+
+    public IngestionReport ingest(Path file, OrderFormat format) {
+        BlockingQueue<Order[]> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadIds = new AtomicInteger();
+        long start = System.nanoTime();
+        long orders = 0;
+        long blocked = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "ingest-worker-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        List<Future<long[]>> futures = new ArrayList<>(workers);
+        try (OrderFileReader reader = new OrderFileReader(file, format, registry)) {
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> work(queue)));
+            }
+
+            while (true) {
+                Order[] batch = new Order[batchSize];
+                int n = reader.read(batch);
+                if (n == 0) {
+                    break;
+                }
+                if (n < batch.length) {
+                    batch = Arrays.copyOf(batch, n);
+                }
+                orders += n;
+                blocked += put(queue, batch, futures);
+            }
+            for (int i = 0; i < workers; i++) {
+                blocked += put(queue, END, futures);
+            }
+            long[] totals = new long[2 + REJECTION_REASONS];
+            for (Future<long[]> future : futures) {
+                long[] counts = future.get();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += counts[i];
+                }
+            }
+            long[] rejections = Arrays.copyOfRange(totals, 2, totals.length);
+            IngestionReport report = new IngestionReport(workers, reader.getLines(), orders, reader.getMalformed(),
+                    totals[0], totals[1], rejections, System.nanoTime() - start, blocked);
+            logger.info("訂單檔 {} 匯入完成：{}", file, report);
+            return report;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("匯入訂單被中斷。");
+        } catch (ExecutionException e) {
+            throw new SystemException("匯入訂單失敗: " + e.getCause());
+        } finally {
+            // 正常結束時工作執行緒都已經返回；失敗時中斷還在等待佇列的執行緒
+            executor.shutdownNow();
+        }
+    }
+
+    // 放入佇列，佇列滿了就等待；等待期間有工作執行緒失敗就停止讀檔
+    // 回傳等待的時間
+    private static long put(BlockingQueue<Order[]> queue, Order[] batch, List<Future<long[]>> futures)
+            throws InterruptedException, ExecutionException {
+        if (queue.offer(batch)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        while (!queue.offer(batch, 50, TimeUnit.MILLISECONDS)) {
+            for (Future<long[]> future : futures) {
+                if (future.isDone()) {
+                    future.get();   // 工作執行緒失敗時在這裡丟出 ExecutionException
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    // 工作執行緒：回傳 [接單數, 送達數, 各拒絕原因的次數...]
+    private long[] work(BlockingQueue<Order[]> queue) throws InterruptedException {
+        long[] counts = new long[2 + REJECTION_REASONS];
+        while (true) {
+            Order[] batch = queue.take();
+            if (batch == END) {
+                return counts;
+            }
+            for (Order order : batch) {
+                service.orderCreated(order);
+                ValidationResult result = service.tryAcceptOrder(order);
+                if (!result.isAccepted()) {
+                    counts[2 + result.getReason().ordinal()]++;
+                    continue;
+                }
+                counts[0]++;
+                if (service.pickupOrder(order) && service.deliverOrder(order)) {
+                    counts[1]++;
+                }
+            }
+        }
+    }
+}
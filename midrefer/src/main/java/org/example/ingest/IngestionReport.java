@@ -0,0 +1,71 @@
+package org.example.ingest;
+
+import org.example.model.RejectionReason;
+
+// 一次匯入的統計結果
+public class IngestionReport {
+
+    private final int workers;
+    private final long lines;
+    private final long orders;
+    private final long malformed;
+    private final long accepted;
+    private final long delivered;
+    private final long[] rejections;     // 以 RejectionReason ordinal 為索引
+    private final long elapsedNanos;
+    private final long blockedNanos;
+
+    IngestionReport(int workers, long lines, long orders, long malformed, long accepted, long delivered,
+                    long[] rejections, long elapsedNanos, long blockedNanos) {
+        this.workers = workers;
+        this.lines = lines;
+        this.orders = orders;
+        this.malformed = malformed;
+        this.accepted = accepted;
+        this.delivered = delivered;
+        this.rejections = rejections;
+        this.elapsedNanos = elapsedNanos;
+        this.blockedNanos = blockedNanos;
+    }
+
+    public int getWorkers() { return workers; }
+
+    // 讀過的行數，包含標題、空行與格式錯誤的行
+    public long getLines() { return lines; }
+
+    // 成功解析並送進服務的訂單數
+    public long getOrders() { return orders; }
+
+    public long getMalformed() { return malformed; }
+    public long getAccepted() { return accepted; }
+    public long getDelivered() { return delivered; }
+    public long getRejections(RejectionReason reason) { return rejections[reason.ordinal()]; }
+
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    // 讀檔端因為佇列滿了而等待工作執行緒的時間，越高表示瓶頸在處理端
+    public long getBlockedNanos() { return blockedNanos; }
+
+    // 從開始讀檔到最後一張訂單處理完的整體吞吐量
+    public double getOrdersPerSecond() {
+        return elapsedNanos == 0 ? 0 : orders * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IngestionReport{");
+        sb.append("workers=").append(workers);
+        sb.append(", lines=").append(lines);
+        sb.append(", orders=").append(orders);
+        sb.append(", malformed=").append(malformed);
+        sb.append(", accepted=").append(accepted);
+        sb.append(", delivered=").append(delivered);
+        for (RejectionReason reason : RejectionReason.values()) {
+            sb.append(", ").append(reason).append('=').append(getRejections(reason));
+        }
+        sb.append(", elapsed=").append(String.format("%.1f ms", elapsedNanos / 1e6));
+        sb.append(", blocked=").append(String.format("%.1f ms", blockedNanos / 1e6));
+        sb.append(", orders/s=").append(String.format("%.0f", getOrdersPerSecond()));
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.ingest;
+
+import org.example.model.Order;
+import org.example.model.RestaurantRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// NDJSON：每行一個只有一層的 JSON 物件，欄位順序不限，未知的欄位會略過
+// 只支援字串與整數值，這是訂單檔會用到的全部型別
+class NdjsonOrderParser extends OrderParser {
+
+    private static final byte[][] KEYS = {
+            bytes("orderId"), bytes("customerName"), bytes("restaurantId"), bytes("orderDate"),
+            bytes("orderHour"), bytes("customerX"), bytes("customerY")};
+    private static final int ORDER_ID = 0, CUSTOMER_NAME = 1, RESTAURANT_ID = 2, ORDER_DATE = 3,
+            ORDER_HOUR = 4, CUSTOMER_X = 5, CUSTOMER_Y = 6;
+    private static final int ALL_FIELDS = (1 << KEYS.length) - 1;
+
+    // 目前解析到的位置與字串值的結尾，解析時重複使用
+    private int pos;
+    private int valueEnd;
+    private boolean escaped;
+
+    NdjsonOrderParser(RestaurantRegistry registry) {
+        super(registry);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    Order parse(byte[] line, int from, int to) {
+        String orderId = null;
+        String customerName = null;
+        LocalDate orderDate = null;
+        int restaurantId = 0, orderHour = 0, customerX = 0, customerY = 0;
+        int seen = 0;
+
+        pos = from;
+        skipWhitespace(line, to);
+        expect(line, to, '{');
+        skipWhitespace(line, to);
+        if (pos < to && line[pos] == '}') {
+            throw new IllegalArgumentException("缺少欄位");
+        }
+        while (true) {
+            skipWhitespace(line, to);
+            expect(line, to, '"');
+            int keyStart = pos;
+            scanString(line, to);
+            int key = keyOf(line, keyStart, valueEnd);
+            skipWhitespace(line, to);
+            expect(line, to, ':');
+            skipWhitespace(line, to);
+
+            int valueStart;
+            if (pos < to && line[pos] == '"') {
+                valueStart = ++pos;
+                scanString(line, to);
+                if (key == ORDER_ID) {
+                    orderId = string(line, valueStart, valueEnd);
+                } else if (key == CUSTOMER_NAME) {
+                    customerName = string(line, valueStart, valueEnd);
+                } else if (key == ORDER_DATE) {
+                    orderDate = parseDate(line, valueStart, valueEnd);
+                } else if (key >= 0) {
+                    throw new IllegalArgumentException(name(key) + " 應為數字");
+                }
+            } else {
+                valueStart = pos;
+                while (pos < to && line[pos] != ',' && line[pos] != '}' && line[pos] > ' ') {
+                    pos++;
+                }
+                switch (key) {
+                    case RESTAURANT_ID -> restaurantId = parseInt(line, valueStart, pos);
+                    case ORDER_HOUR -> orderHour = parseInt(line, valueStart, pos);
+                    case CUSTOMER_X -> customerX = parseInt(line, valueStart, pos);
+                    case CUSTOMER_Y -> customerY = parseInt(line, valueStart, pos);
+                    case -1 -> { }
+                    default -> throw new IllegalArgumentException(name(key) + " 應為字串");
+                }
+            }
+            if (key >= 0) {
+                seen |= 1 << key;
+            }
+
+            skipWhitespace(line, to);
+            if (pos < to && line[pos] == ',') {
+                pos++;
+                continue;
+            }
+            expect(line, to, '}');
+            break;
+        }
+        skipWhitespace(line, to);
+        if (pos != to) {
+            throw new IllegalArgumentException("物件結束後還有多餘的內容");
+        }
+        if (seen != ALL_FIELDS) {
+            int missing = Integer.numberOfTrailingZeros(~seen & ALL_FIELDS);
+            throw new IllegalArgumentException("缺少欄位 " + name(missing));
+        }
+        return newOrder(orderId, customerName, restaurantId, orderDate, orderHour, customerX, customerY);
+    }
+
+    private static String name(int key) {
+        return new String(KEYS[key], StandardCharsets.US_ASCII);
+    }
+
+    // JSON 的空白：空格、tab 與換行，HTTP 請求內容結尾常帶有 "\n" 或 "\r\n"
+    private void skipWhitespace(byte[] line, int to) {
+        while (pos < to && (line[pos] == ' ' || line[pos] == '\t' || line[pos] == '\n' || line[pos] == '\r')) {
+            pos++;
+        }
+    }
+
+    private void expect(byte[] line, int to, char c) {
+        if (pos >= to || line[pos] != c) {
+            throw new IllegalArgumentException("第 " + (pos + 1) + " 個字元應為 '" + c + "'");
+        }
+        pos++;
+    }
+
+    // pos 在開頭引號之後；掃到結尾引號，valueEnd 設為結尾引號的位置，pos 移到引號之後
+    private void scanString(byte[] line, int to) {
+        escaped = false;
+        while (pos < to) {
+            byte b = line[pos];
+            if (b == '"') {
+                valueEnd = pos++;
+                return;
+            }
+            if (b == '\\') {
+                escaped = true;
+                pos++;
+            }
+            pos++;
+        }
+        throw new IllegalArgumentException("字串沒有結束");
+    }
+
+    private int keyOf(byte[] line, int from, int to) {
+        if (!escaped) {
+            for (int k = 0; k < KEYS.length; k++) {
+                byte[] key = KEYS[k];
+                if (key.length == to - from && Arrays.equals(line, from, to, key, 0, key.length)) {
+                    return k;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // 沒有跳脫字元時直接解碼，有的話才逐字處理
+    private String string(byte[] line, int from, int to) {
+        if (!escaped) {
+            return text(line, from, to);
+        }
+        String raw = text(line, from, to);
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char e = raw.charAt(++i);
+            switch (e) {
+                case '"', '\\', '/' -> sb.append(e);
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (i + 4 >= raw.length()) {
+                        throw new IllegalArgumentException("不合法的 \\u 跳脫字元");
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(raw, i + 1, i + 5, 16));
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("不合法的 \\u 跳脫字元");
+                    }
+                    i += 4;
+                }
+                default -> throw new IllegalArgumentException("不合法的跳脫字元 \\" + e);
+            }
+        }
+        return sb.toString();
+    }
+}
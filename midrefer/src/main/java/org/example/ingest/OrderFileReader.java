@@ -0,0 +1,149 @@
+package org.example.ingest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.exception.SystemException;
+import org.example.model.Order;
+import org.example.model.RestaurantRegistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// 以固定大小的緩衝區逐段讀取訂單檔，不論檔案多大記憶體用量都固定
+// 每次 read 把解析好的訂單填進呼叫端給的陣列；格式錯誤的行寫入警告後略過
+// 只有一行比緩衝區還長時才會把緩衝區加倍
+public class OrderFileReader implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(OrderFileReader.class);
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final OrderParser parser;
+    private ByteBuffer buffer;
+    private byte[] bytes;
+    private int start;     // 下一行的開頭
+    private int scanned;   // start 之後已經確認沒有換行的位置
+    private int limit;     // 緩衝區中有效資料的結尾
+    private boolean eof;
+
+    private long lines;
+    private long malformed;
+
+    public OrderFileReader(Path file, OrderFormat format, RestaurantRegistry registry) {
+        this(file, format, registry, DEFAULT_BUFFER_SIZE);
+    }
+
+    public OrderFileReader(Path file, OrderFormat format, RestaurantRegistry registry, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("緩衝區大小必須大於 0");
+        }
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new SystemException("無法開啟訂單檔 " + file + ": " + e.getMessage());
+        }
+        this.parser = format.newParser(registry);
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.bytes = buffer.array();
+    }
+
+    // 讀取最多 batch.length 張訂單，回傳實際讀到的張數，檔案結束時回傳 0
+    public int read(Order[] batch) {
+        int n = 0;
+        while (n < batch.length) {
+            int newline = indexOfNewline();
+            int end;
+            if (newline >= 0) {
+                end = newline;
+            } else if (!eof) {
+                fill();
+                continue;
+            } else if (start < limit) {
+                end = limit;   // 最後一行沒有換行
+            } else {
+                break;
+            }
+
+            Order order = parseLine(start, end);
+            start = end + 1;
+            scanned = start;
+            if (order != null) {
+                batch[n++] = order;
+            }
+        }
+        return n;
+    }
+
+    private int indexOfNewline() {
+        for (int i = scanned; i < limit; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        scanned = limit;
+        return -1;
+    }
+
+    // 把還沒處理的部分移到緩衝區開頭，再從檔案讀入更多資料
+    private void fill() {
+        int remaining = limit - start;
+        if (start > 0) {
+            System.arraycopy(bytes, start, bytes, 0, remaining);
+            scanned -= start;
+            start = 0;
+            limit = remaining;
+        }
+        if (limit == bytes.length) {
+            ByteBuffer larger = ByteBuffer.allocate(bytes.length * 2);
+            larger.put(bytes, 0, limit);
+            buffer = larger;
+            bytes = larger.array();
+        }
+        buffer.limit(bytes.length).position(limit);
+        try {
+            int read = channel.read(buffer);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        } catch (IOException e) {
+            throw new SystemException("讀取訂單檔失敗: " + e.getMessage());
+        }
+    }
+
+    private Order parseLine(int from, int to) {
+        lines++;
+        if (to > from && bytes[to - 1] == '\r') {
+            to--;
+        }
+        if (to == from || (lines == 1 && parser.isHeader(bytes, from, to))) {
+            return null;
+        }
+        try {
+            return parser.parse(bytes, from, to);
+        } catch (IllegalArgumentException e) {
+            malformed++;
+            logger.warn("訂單檔第 {} 行格式錯誤，略過：{}", lines, e.getMessage());
+            return null;
+        }
+    }
+
+    // 目前讀過的行數，包含標題、空行與格式錯誤的行
+    public long getLines() { return lines; }
+
+    // 格式錯誤而略過的行數
+    public long getMalformed() { return malformed; }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new SystemException("關閉訂單檔失敗: " + e.getMessage());
+        }
+    }
+}
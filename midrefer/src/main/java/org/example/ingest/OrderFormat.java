@@ -0,0 +1,36 @@
+package org.example.ingest;
+
+import org.example.model.Order;
+import org.example.model.RestaurantRegistry;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+// 訂單檔的格式，每行一張訂單
+//   CSV   ：orderId,customerName,restaurantId,orderDate,orderHour,customerX,customerY，第一行可以是標題
+//   NDJSON：{"orderId":"001","customerName":"Andy","restaurantId":0,"orderDate":"2025-03-03",
+//            "orderHour":1300,"customerX":5,"customerY":6}
+// 餐廳以 RestaurantRegistry 的 id 表示，日期格式為 yyyy-MM-dd
+public enum OrderFormat {
+    CSV,
+    NDJSON;
+
+    // 依副檔名判斷格式，.ndjson / .jsonl / .json 為 NDJSON，其餘視為 CSV
+    public static OrderFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return NDJSON;
+        }
+        return CSV;
+    }
+
+    // 解析單獨一行，例如 HTTP 請求的內容；格式錯誤時丟出 IllegalArgumentException
+    // 大量資料請用 OrderFileReader，它會重複使用同一個解析器
+    public Order parse(RestaurantRegistry registry, byte[] line, int from, int to) {
+        return newParser(registry).parse(line, from, to);
+    }
+
+    OrderParser newParser(RestaurantRegistry registry) {
+        return this == CSV ? new CsvOrderParser(registry) : new NdjsonOrderParser(registry);
+    }
+}
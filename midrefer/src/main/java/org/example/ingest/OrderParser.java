@@ -0,0 +1,90 @@
+package org.example.ingest;
+
+import org.example.model.Order;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+// 把一行位元組直接解析成 Order，數字與日期在原本的緩衝區上解析，只有訂單編號與顧客名稱會建立字串
+// 格式錯誤時丟出 IllegalArgumentException，由 OrderFileReader 計數後略過
+// 解析器會快取上一個日期，不是執行緒安全的，每個 OrderFileReader 各用一個
+abstract class OrderParser {
+
+    private final RestaurantRegistry registry;
+
+    // 同一份檔案的訂單日期通常相同，記住上一個日期避免重複建立 LocalDate
+    private int cachedDateKey = -1;
+    private LocalDate cachedDate;
+
+    OrderParser(RestaurantRegistry registry) {
+        this.registry = registry;
+    }
+
+    // 解析 line[from, to)，不含換行字元
+    abstract Order parse(byte[] line, int from, int to);
+
+    // 第一行是否為標題，CSV 會略過標題
+    boolean isHeader(byte[] line, int from, int to) {
+        return false;
+    }
+
+    protected Order newOrder(String orderId, String customerName, int restaurantId,
+                             LocalDate orderDate, int orderHour, int customerX, int customerY) {
+        Restaurant restaurant = registry.get(restaurantId);
+        if (restaurant == null) {
+            throw new IllegalArgumentException("找不到餐廳 " + restaurantId);
+        }
+        return new Order(orderId, customerName, restaurant, orderDate, orderHour, customerX, customerY);
+    }
+
+    protected static int parseInt(byte[] b, int from, int to) {
+        if (from >= to) {
+            throw new IllegalArgumentException("數字欄位是空的");
+        }
+        boolean negative = b[from] == '-';
+        int i = negative ? from + 1 : from;
+        if (i == to || to - i > 10) {
+            throw new IllegalArgumentException("不合法的數字: " + text(b, from, to));
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = b[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("不合法的數字: " + text(b, from, to));
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value != (int) value) {
+            throw new IllegalArgumentException("數字超出範圍: " + text(b, from, to));
+        }
+        return (int) value;
+    }
+
+    // yyyy-MM-dd
+    protected LocalDate parseDate(byte[] b, int from, int to) {
+        if (to - from != 10 || b[from + 4] != '-' || b[from + 7] != '-') {
+            throw new IllegalArgumentException("日期格式應為 yyyy-MM-dd: " + text(b, from, to));
+        }
+        int year = parseInt(b, from, from + 4);
+        int month = parseInt(b, from + 5, from + 7);
+        int day = parseInt(b, from + 8, from + 10);
+        int key = (year * 100 + month) * 100 + day;
+        if (key != cachedDateKey) {
+            try {
+                cachedDate = LocalDate.of(year, month, day);
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("不合法的日期: " + text(b, from, to));
+            }
+            cachedDateKey = key;
+        }
+        return cachedDate;
+    }
+
+    protected static String text(byte[] b, int from, int to) {
+        return new String(b, from, to - from, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,258 @@
+package org.example.journal;
+
+import org.example.exception.SystemException;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.service.OrderEventListener;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 只能附加的二進位訂單事件日誌，透過 memory-mapped FileChannel 寫入
+// 每筆事件固定 48 bytes，寫入端用 AtomicLong 預約位置，不需要加鎖：
+//   0  int   提交標記（最後寫入，讀取端看到標記才算完整的一筆）
+//   4  byte  原狀態 ordinal（0xFF 表示無）
+//   5  byte  目標狀態 ordinal
+//   6  byte  拒絕原因 ordinal（0xFF 表示成功轉換）
+//   7  byte  訂單編號長度；最高位元為 1 表示編號超過 32 bytes，只存了前段
+//   8  long  時間戳記（epoch 毫秒）
+//   16 32 bytes 訂單編號（UTF-8，過長時在字元邊界截斷）
+// 檔案依固定大小切成多個 segment，寫滿自動換下一個檔案；背景執行緒定期把資料 force 到磁碟
+// 可以隨時用 setEnabled 開關，和 log4j2 的文字日誌互不影響
+public class EventJournal implements OrderEventListener, AutoCloseable {
+
+    static final int RECORD_SIZE = 48;
+    static final int COMMITTED = 0x4F455654;  // "OEVT"
+    static final int MAX_ID_BYTES = 32;
+    static final byte NONE = (byte) 0xFF;
+    static final int TRUNCATED = 0x80;         // 訂單編號長度欄位的截斷旗標
+    static final String SUFFIX = ".journal";
+
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final Path directory;
+    private final int segmentSize;
+    private final AtomicLong nextOffset;       // 跨 segment 的全域寫入位置
+    private final AtomicLong truncatedIds = new AtomicLong();
+    private final Thread flusher;
+
+    private volatile Segment current;
+    private volatile Segment previous;         // 換檔時仍可能有執行緒在寫上一個 segment 的尾端
+    private volatile boolean enabled = true;
+    private volatile boolean closed;
+
+    // 一個 segment 檔案和它的 mapping
+    private static final class Segment {
+        final long index;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final boolean detached;   // 為落後的寫入端臨時重新 map 的舊 segment，寫完就釋放
+
+        Segment(long index, FileChannel channel, MappedByteBuffer buffer, boolean detached) {
+            this.index = index;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.detached = detached;
+        }
+    }
+
+    public EventJournal(Path directory, int segmentSize, long flushIntervalMillis) {
+        if (segmentSize < RECORD_SIZE || segmentSize % RECORD_SIZE != 0) {
+            throw new IllegalArgumentException("segment 大小必須是 " + RECORD_SIZE + " 的倍數: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            long lastIndex = EventJournalReader.lastSegmentIndex(directory);
+            long index = Math.max(lastIndex, 0);
+            Segment segment = openSegment(index, false);
+            // 重新開啟時從最後一筆已提交事件之後接著寫
+            int resume = lastIndex < 0 ? 0 : committedEnd(segment.buffer, segmentSize);
+            this.current = segment;
+            this.nextOffset = new AtomicLong(index * segmentSize + resume);
+        } catch (IOException e) {
+            throw new SystemException("無法開啟事件日誌 " + directory + ": " + e.getMessage());
+        }
+
+        this.flusher = new Thread(() -> flushLoop(flushIntervalMillis), "event-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    // 關閉後事件直接略過，不影響文字日誌
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Path getDirectory() { return directory; }
+
+    // 訂單編號過長而被截斷記錄的事件數
+    public long getTruncatedIds() { return truncatedIds.get(); }
+
+    @Override
+    public void onTransition(OrderView order, OrderStatus from, OrderStatus to) {
+        append(order.getOrderId(), from, to, null, System.currentTimeMillis());
+    }
+
+    @Override
+    public void onRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+        append(order.getOrderId(), order.getStatus(), target, reason, System.currentTimeMillis());
+    }
+
+    // 寫入一筆事件，多執行緒同時呼叫時各自預約不同位置
+    // 會在 DeliveryService 的監聽者回呼中執行，此時狀態已經變更，不能丟例外：
+    // 過長的訂單編號只記錄前 32 bytes 並標記截斷
+    public void append(String orderId, OrderStatus from, OrderStatus to, RejectionReason reason, long timestamp) {
+        if (!enabled || closed) {
+            return;
+        }
+        byte[] id = orderId.getBytes(StandardCharsets.UTF_8);
+        int length = id.length;
+        int lengthField = length;
+        if (length > MAX_ID_BYTES) {
+            length = MAX_ID_BYTES;
+            while (length > 0 && (id[length] & 0xC0) == 0x80) {
+                length--;   // 不切在 UTF-8 多位元組字元的中間
+            }
+            lengthField = length | TRUNCATED;
+            truncatedIds.incrementAndGet();
+        }
+
+        long offset = nextOffset.getAndAdd(RECORD_SIZE);
+        long index = offset / segmentSize;
+        int pos = (int) (offset % segmentSize);
+        Segment segment = segmentFor(index);
+        MappedByteBuffer buffer = segment.buffer;
+
+        buffer.put(pos + 4, from == null ? NONE : (byte) from.ordinal());
+        buffer.put(pos + 5, to == null ? NONE : (byte) to.ordinal());
+        buffer.put(pos + 6, reason == null ? NONE : (byte) reason.ordinal());
+        buffer.put(pos + 7, (byte) lengthField);
+        buffer.putLong(pos + 8, timestamp);
+        buffer.put(pos + 16, id, 0, length);
+        INT.setRelease(buffer, pos, COMMITTED);  // 最後才寫提交標記
+
+        if (segment.detached) {
+            buffer.force();
+            closeQuietly(segment.channel);
+        }
+    }
+
+    // 立即把目前與上一個 segment 寫到磁碟
+    public void flush() {
+        Segment prev = previous;
+        if (prev != null) {
+            prev.buffer.force();
+        }
+        current.buffer.force();
+    }
+
+    // 取得指定 segment，寫滿時由第一個跨過邊界的執行緒建立下一個檔案
+    private Segment segmentFor(long index) {
+        Segment segment = current;
+        if (segment.index == index) {
+            return segment;
+        }
+        Segment prev = previous;
+        if (prev != null && prev.index == index) {
+            return prev;
+        }
+        synchronized (this) {
+            segment = current;
+            while (segment.index < index) {
+                Segment old = segment;
+                try {
+                    segment = openSegment(segment.index + 1, false);
+                } catch (IOException e) {
+                    throw new SystemException("無法建立事件日誌 segment: " + e.getMessage());
+                }
+                // 關閉 channel 不影響 mapping，落後的寫入端仍可寫完上一個 segment
+                closeQuietly(old.channel);
+                Segment dropped = previous;
+                if (dropped != null) {
+                    dropped.buffer.force();
+                }
+                previous = old;
+                current = segment;
+            }
+            if (segment.index == index) {
+                return segment;
+            }
+            prev = previous;
+            if (prev != null && prev.index == index) {
+                return prev;
+            }
+        }
+        // 寫入端拿到位置後被暫停到超過一整個 segment 才會發生：重新 map 那個檔案寫完這一筆
+        try {
+            return openSegment(index, true);
+        } catch (IOException e) {
+            throw new SystemException("無法重新開啟事件日誌 segment " + index + ": " + e.getMessage());
+        }
+    }
+
+    private Segment openSegment(long index, boolean detached) throws IOException {
+        Path file = directory.resolve(segmentName(index));
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        return new Segment(index, channel, buffer, detached);
+    }
+
+    static String segmentName(long index) {
+        return String.format("events-%010d%s", index, SUFFIX);
+    }
+
+    // 找到最後一筆已提交事件的結尾
+    private static int committedEnd(MappedByteBuffer buffer, int segmentSize) {
+        for (int pos = segmentSize - RECORD_SIZE; pos >= 0; pos -= RECORD_SIZE) {
+            if ((int) INT.getAcquire(buffer, pos) == COMMITTED) {
+                return pos + RECORD_SIZE;
+            }
+        }
+        return 0;
+    }
+
+    private void flushLoop(long intervalMillis) {
+        while (!closed) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!closed) {
+                flush();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flusher.interrupt();
+        flush();
+        closeQuietly(current.channel);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // mapping 仍然有效，關閉失敗不影響已寫入的資料
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.journal;
+
+import org.example.model.OrderStatus;
+import org.example.model.RejectionReason;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// 事件日誌中一筆事件的唯讀檢視，讀取端掃描時重複使用同一個物件，不會每筆都配置記憶體
+// 只在 visit 回呼期間有效，需要保留時請自行複製欄位
+public final class JournalRecord {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    private ByteBuffer buffer;
+    private int pos;
+
+    void moveTo(ByteBuffer buffer, int pos) {
+        this.buffer = buffer;
+        this.pos = pos;
+    }
+
+    public long getTimestamp() { return buffer.getLong(pos + 8); }
+
+    // 原狀態，沒有記錄時回傳 null
+    public OrderStatus getFrom() { return status(buffer.get(pos + 4)); }
+
+    public OrderStatus getTo() { return status(buffer.get(pos + 5)); }
+
+    // 成功的狀態轉換回傳 null
+    public RejectionReason getReason() {
+        byte b = buffer.get(pos + 6);
+        return b == EventJournal.NONE ? null : REASONS[b];
+    }
+
+    public boolean isRejected() { return buffer.get(pos + 6) != EventJournal.NONE; }
+
+    // 訂單編號，會建立新的字串；isOrderIdTruncated 時只有前段
+    public String getOrderId() {
+        int length = buffer.get(pos + 7) & ~EventJournal.TRUNCATED & 0xFF;
+        byte[] id = new byte[length];
+        buffer.get(pos + 16, id);
+        return new String(id, StandardCharsets.UTF_8);
+    }
+
+    // 原本的訂單編號超過 32 bytes，只記錄了前段
+    public boolean isOrderIdTruncated() {
+        return (buffer.get(pos + 7) & EventJournal.TRUNCATED) != 0;
+    }
+
+    private static OrderStatus status(byte b) {
+        return b == EventJournal.NONE ? null : STATUSES[b];
+    }
+
+    @Override
+    public String toString() {
+        return "JournalRecord{" +
+                "orderId='" + getOrderId() + '\'' +
+                ", from=" + getFrom() +
+                ", to=" + getTo() +
+                (isRejected() ? ", rejected=" + getReason() : "") +
+                ", timestamp=" + getTimestamp() +
+                '}';
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.loadgen;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 量測期間的 GC 暫停：建立時開始記錄，close() 移除通知
+// 次數與總時間取 GarbageCollectorMXBean 前後的差；最長一次暫停取自 GC 通知
+// 名稱含 Concurrent 或 Cycles 的收集器（G1 Concurrent GC、ZGC Cycles）與應用執行緒併行，不算暫停
+final class GcMonitor implements NotificationListener, AutoCloseable {
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .filter(GcMonitor::isPause)
+            .toList();
+    private final long startCount;
+    private final long startMillis;
+    private final AtomicLong maxPause = new AtomicLong();
+
+    GcMonitor() {
+        for (GarbageCollectorMXBean collector : collectors) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+            }
+        }
+        startCount = count();
+        startMillis = millis();
+    }
+
+    private static boolean isPause(GarbageCollectorMXBean collector) {
+        String name = collector.getName();
+        return !name.contains("Concurrent") && !name.contains("Cycles");
+    }
+
+    private long count() {
+        return collectors.stream().mapToLong(c -> Math.max(0, c.getCollectionCount())).sum();
+    }
+
+    private long millis() {
+        return collectors.stream().mapToLong(c -> Math.max(0, c.getCollectionTime())).sum();
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        long duration = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData())
+                .getGcInfo().getDuration();
+        maxPause.accumulateAndGet(duration, Math::max);
+    }
+
+    @Override
+    public void close() {
+        for (GarbageCollectorMXBean collector : collectors) {
+            if (collector instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (ListenerNotFoundException ignored) {
+                    // 已經移除
+                }
+            }
+        }
+    }
+
+    long getPauses() { return count() - startCount; }
+    long getPauseMillis() { return millis() - startMillis; }
+
+    // GC 通知是非同步送達，剛結束的那一次可能還沒算進來
+    long getMaxPauseMillis() { return maxPause.get(); }
+}
@@ -0,0 +1,226 @@
+package org.example.loadgen;
+
+import org.example.exception.SystemException;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.example.service.OrderEventListener;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+// 可重現的離線負載產生器：依 LoadProfile 產生餐廳與大量訂單，送進 DeliveryService 並量測
+// - 餐廳的位置與營業時間、每張訂單的距離、下單時間與操作順序都由同一個 seed 決定
+// - 產生訂單不計入量測時間；量測期間記錄吞吐量、拒絕原因、工作執行緒配置的記憶體與 GC 暫停
+// - 不需要網路或外部檔案，同一份設定可以在不同版本之間直接比較
+public class LoadGenerator {
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2025, 3, 3);
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int[] OPEN_HOURS = {700, 800, 1000, 1100};
+    private static final int[] CLOSE_HOURS = {1400, 2000, 2100, 2200};
+    private static final int CUSTOMER_NAMES = 1_000;
+    private static final long WARMUP_SALT = 0x5DEECE66DL;
+
+    private final LoadProfile profile;
+    private final RestaurantRegistry registry = new RestaurantRegistry();
+    private final Restaurant[] restaurants;
+    private final int[] openMinute;
+    private final int[] closeMinute;
+    private final String[] customerNames = new String[CUSTOMER_NAMES];
+
+    public LoadGenerator(LoadProfile profile) {
+        this.profile = profile;
+        SplittableRandom rnd = new SplittableRandom(profile.getSeed());
+        int n = profile.getRestaurants();
+        restaurants = new Restaurant[n];
+        openMinute = new int[n];
+        closeMinute = new int[n];
+        for (int i = 0; i < n; i++) {
+            int open = OPEN_HOURS[rnd.nextInt(OPEN_HOURS.length)];
+            int close = CLOSE_HOURS[rnd.nextInt(CLOSE_HOURS.length)];
+            restaurants[i] = registry.register("R" + i, open, close,
+                    rnd.nextInt(profile.getMapSize()), rnd.nextInt(profile.getMapSize()));
+            openMinute[i] = open / 100 * 60 + open % 100;
+            closeMinute[i] = close / 100 * 60 + close % 100;
+        }
+        for (int i = 0; i < CUSTOMER_NAMES; i++) {
+            customerNames[i] = "C" + i;
+        }
+    }
+
+    public LoadProfile getProfile() { return profile; }
+    public RestaurantRegistry getRestaurants() { return registry; }
+
+    // 產生正式量測用的訂單，同一個 LoadGenerator 每次呼叫都得到相同內容的新訂單
+    public Workload generate() {
+        return generate(profile.getOrders(), profile.getSeed());
+    }
+
+    Workload generate(int count, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        Order[] orders = new Order[count];
+        byte[] plans = new byte[count];
+        int tooFar = 0;
+        int closed = 0;
+        int invalid = 0;
+        for (int i = 0; i < count; i++) {
+            int r = rnd.nextInt(restaurants.length);
+            Restaurant restaurant = restaurants[r];
+
+            // 距離：範圍內的顧客最多 MAX_DISTANCE - 1，四捨五入到整數座標後仍在範圍內；範圍外至少多 1
+            double distance;
+            if (rnd.nextDouble() < profile.getTooFarRatio()) {
+                distance = DeliveryService.MAX_DISTANCE + 1 + rnd.nextDouble() * 2 * DeliveryService.MAX_DISTANCE;
+                tooFar++;
+            } else {
+                distance = rnd.nextDouble() * (DeliveryService.MAX_DISTANCE - 1);
+            }
+            double angle = rnd.nextDouble() * 2 * Math.PI;
+            int x = restaurant.getX() + (int) Math.round(distance * Math.cos(angle));
+            int y = restaurant.getY() + (int) Math.round(distance * Math.sin(angle));
+
+            // 下單時間：營業時段 [open, close) 之內或之外均勻分布
+            int minute;
+            int openLength = closeMinute[r] - openMinute[r];
+            if (rnd.nextDouble() < profile.getClosedRatio()) {
+                minute = (closeMinute[r] + rnd.nextInt(MINUTES_PER_DAY - openLength)) % MINUTES_PER_DAY;
+                closed++;
+            } else {
+                minute = openMinute[r] + rnd.nextInt(openLength);
+            }
+
+            byte plan = Workload.NORMAL;
+            if (rnd.nextDouble() < profile.getInvalidTransitionRatio()) {
+                plan = (byte) (1 + rnd.nextInt(3));
+                invalid++;
+            }
+            plans[i] = plan;
+            orders[i] = new Order(String.valueOf(i), customerNames[rnd.nextInt(CUSTOMER_NAMES)], restaurant,
+                    BASE_DATE.plusDays(rnd.nextInt(7)), minute / 60 * 100 + minute % 60, x, y);
+        }
+        return new Workload(orders, plans, tooFar, closed, invalid);
+    }
+
+    // 先暖身，再產生訂單並以 profile 的執行緒數送進 service，回傳量測結果
+    public LoadReport run(DeliveryService service) {
+        if (profile.getWarmupOrders() > 0) {
+            drive(service, generate(profile.getWarmupOrders(), profile.getSeed() ^ WARMUP_SALT));
+        }
+        Workload workload = generate();
+        Counter counter = new Counter();
+        service.addListener(counter);
+        try (GcMonitor gc = new GcMonitor()) {
+            long start = System.nanoTime();
+            long allocated = drive(service, workload);
+            long elapsed = System.nanoTime() - start;
+            return new LoadReport(profile, workload, counter.accepted.sum(), counter.delivered.sum(),
+                    counter.rejections(), elapsed, allocated,
+                    gc.getPauses(), gc.getPauseMillis(), gc.getMaxPauseMillis());
+        } finally {
+            service.removeListener(counter);
+        }
+    }
+
+    // 把訂單平均分給各執行緒，回傳所有工作執行緒配置的位元組數；JVM 不支援時回傳 -1
+    private long drive(DeliveryService service, Workload workload) {
+        int threads = profile.getThreads();
+        int size = workload.size();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int from = (int) ((long) size * t / threads);
+                int to = (int) ((long) size * (t + 1) / threads);
+                futures.add(executor.submit(() -> drive(service, workload, from, to)));
+            }
+            long allocated = 0;
+            for (Future<Long> future : futures) {
+                long bytes = future.get();
+                allocated = bytes < 0 || allocated < 0 ? -1 : allocated + bytes;
+            }
+            return allocated;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("負載測試被中斷。");
+        } catch (ExecutionException e) {
+            throw new SystemException("負載測試失敗: " + e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long drive(DeliveryService service, Workload workload, int from, int to) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = from; i < to; i++) {
+            Order order = workload.getOrder(i);
+            byte plan = workload.plan(i);
+            service.orderCreated(order);
+            if (plan == Workload.PICKUP_FIRST) {
+                service.pickupOrder(order);
+            }
+            if (!service.tryAcceptOrder(order).isAccepted()) {
+                continue;
+            }
+            if (plan == Workload.DOUBLE_ACCEPT) {
+                service.tryAcceptOrder(order);
+            } else if (plan == Workload.DELIVER_FIRST) {
+                service.deliverOrder(order);
+            }
+            service.pickupOrder(order);
+            service.deliverOrder(order);
+        }
+        long after = threads.getCurrentThreadAllocatedBytes();
+        return before < 0 || after < 0 ? -1 : after - before;
+    }
+
+    // 量測期間的狀態事件計數
+    private static final class Counter implements OrderEventListener {
+        private static final int REASONS = RejectionReason.values().length;
+
+        final LongAdder accepted = new LongAdder();
+        final LongAdder delivered = new LongAdder();
+        final LongAdder[] rejected = new LongAdder[OrderStatus.values().length * REASONS];
+
+        Counter() {
+            for (int i = 0; i < rejected.length; i++) {
+                rejected[i] = new LongAdder();
+            }
+        }
+
+        @Override
+        public void onTransition(OrderView order, OrderStatus from, OrderStatus to) {
+            if (to == OrderStatus.ACCEPTED) {
+                accepted.increment();
+            } else if (to == OrderStatus.DELIVERED) {
+                delivered.increment();
+            }
+        }
+
+        @Override
+        public void onRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+            rejected[target.ordinal() * REASONS + reason.ordinal()].increment();
+        }
+
+        long[] rejections() {
+            long[] counts = new long[rejected.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = rejected[i].sum();
+            }
+            return counts;
+        }
+    }
+}
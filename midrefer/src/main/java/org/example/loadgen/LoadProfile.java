@@ -0,0 +1,140 @@
+package org.example.loadgen;
+
+// 負載產生器的設定，不可修改，用 builder() 建立
+// 三種比例各自獨立抽樣：
+//   tooFarRatio            顧客放在最大外送距離之外的比例
+//   closedRatio            下單時間落在餐廳營業時間之外的比例
+//   invalidTransitionRatio 故意送出不合法狀態轉換的比例（先取餐、未取餐就送達、重複接單）
+// 同一個 seed 與設定一定產生完全相同的訂單與操作順序
+public class LoadProfile {
+
+    private final long seed;
+    private final int orders;
+    private final int restaurants;
+    private final int mapSize;
+    private final double tooFarRatio;
+    private final double closedRatio;
+    private final double invalidTransitionRatio;
+    private final int threads;
+    private final int warmupOrders;
+
+    private LoadProfile(Builder builder) {
+        this.seed = builder.seed;
+        this.orders = builder.orders;
+        this.restaurants = builder.restaurants;
+        this.mapSize = builder.mapSize;
+        this.tooFarRatio = builder.tooFarRatio;
+        this.closedRatio = builder.closedRatio;
+        this.invalidTransitionRatio = builder.invalidTransitionRatio;
+        this.threads = builder.threads;
+        this.warmupOrders = builder.warmupOrders;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getSeed() { return seed; }
+    public int getOrders() { return orders; }
+    public int getRestaurants() { return restaurants; }
+    public int getMapSize() { return mapSize; }
+    public double getTooFarRatio() { return tooFarRatio; }
+    public double getClosedRatio() { return closedRatio; }
+    public double getInvalidTransitionRatio() { return invalidTransitionRatio; }
+    public int getThreads() { return threads; }
+    public int getWarmupOrders() { return warmupOrders; }
+
+    @Override
+    public String toString() {
+        return "LoadProfile{seed=" + seed +
+                ", orders=" + orders +
+                ", restaurants=" + restaurants +
+                ", mapSize=" + mapSize +
+                ", tooFar=" + tooFarRatio +
+                ", closed=" + closedRatio +
+                ", invalidTransition=" + invalidTransitionRatio +
+                ", threads=" + threads +
+                ", warmup=" + warmupOrders +
+                '}';
+    }
+
+    public static class Builder {
+        private long seed = 42;
+        private int orders = 1_000_000;
+        private int restaurants = 1_000;
+        private int mapSize = 1_000;
+        private double tooFarRatio = 0.05;
+        private double closedRatio = 0.05;
+        private double invalidTransitionRatio = 0.02;
+        private int threads = 1;
+        private int warmupOrders = 200_000;
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder orders(int orders) {
+            this.orders = positive(orders, "訂單數");
+            return this;
+        }
+
+        public Builder restaurants(int restaurants) {
+            this.restaurants = positive(restaurants, "餐廳數");
+            return this;
+        }
+
+        // 餐廳座標落在 0 到 mapSize - 1 之間
+        public Builder mapSize(int mapSize) {
+            this.mapSize = positive(mapSize, "地圖大小");
+            return this;
+        }
+
+        public Builder tooFarRatio(double ratio) {
+            this.tooFarRatio = ratio(ratio, "距離過遠比例");
+            return this;
+        }
+
+        public Builder closedRatio(double ratio) {
+            this.closedRatio = ratio(ratio, "非營業時間比例");
+            return this;
+        }
+
+        public Builder invalidTransitionRatio(double ratio) {
+            this.invalidTransitionRatio = ratio(ratio, "不合法狀態轉換比例");
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = positive(threads, "執行緒數");
+            return this;
+        }
+
+        // 正式量測前先跑幾張不計入結果的訂單，讓 JIT 編譯完成；0 表示不暖身
+        public Builder warmupOrders(int warmupOrders) {
+            if (warmupOrders < 0) {
+                throw new IllegalArgumentException("暖身訂單數不可為負數: " + warmupOrders);
+            }
+            this.warmupOrders = warmupOrders;
+            return this;
+        }
+
+        public LoadProfile build() {
+            return new LoadProfile(this);
+        }
+
+        private static int positive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + "必須大於 0: " + value);
+            }
+            return value;
+        }
+
+        private static double ratio(double value, String name) {
+            if (!(value >= 0 && value <= 1)) {
+                throw new IllegalArgumentException(name + "必須介於 0 與 1 之間: " + value);
+            }
+            return value;
+        }
+    }
+}
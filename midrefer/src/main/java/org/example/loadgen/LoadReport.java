@@ -0,0 +1,111 @@
+package org.example.loadgen;
+
+import org.example.model.OrderStatus;
+import org.example.model.RejectionReason;
+
+// 一次負載測試的結果
+public class LoadReport {
+
+    private static final int REASONS = RejectionReason.values().length;
+
+    private final LoadProfile profile;
+    private final int orders;
+    private final int generatedTooFar;
+    private final int generatedClosed;
+    private final int generatedInvalid;
+    private final long accepted;
+    private final long delivered;
+    private final long[] rejections;   // 以 target.ordinal() * 原因數 + reason.ordinal() 為索引
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+    private final long gcPauses;
+    private final long gcPauseMillis;
+    private final long gcMaxPauseMillis;
+
+    LoadReport(LoadProfile profile, Workload workload, long accepted, long delivered, long[] rejections,
+               long elapsedNanos, long allocatedBytes, long gcPauses, long gcPauseMillis, long gcMaxPauseMillis) {
+        this.profile = profile;
+        this.orders = workload.size();
+        this.generatedTooFar = workload.getTooFar();
+        this.generatedClosed = workload.getClosed();
+        this.generatedInvalid = workload.getInvalidTransitions();
+        this.accepted = accepted;
+        this.delivered = delivered;
+        this.rejections = rejections;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcPauses = gcPauses;
+        this.gcPauseMillis = gcPauseMillis;
+        this.gcMaxPauseMillis = gcMaxPauseMillis;
+    }
+
+    public LoadProfile getProfile() { return profile; }
+    public int getOrders() { return orders; }
+    public long getAccepted() { return accepted; }
+    public long getDelivered() { return delivered; }
+
+    // 要轉換到 target 狀態時因為 reason 被拒絕的次數
+    public long getRejections(OrderStatus target, RejectionReason reason) {
+        return rejections[target.ordinal() * REASONS + reason.ordinal()];
+    }
+
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public double getOrdersPerSecond() {
+        return elapsedNanos == 0 ? 0 : orders * 1e9 / elapsedNanos;
+    }
+
+    // 工作執行緒配置的記憶體，JVM 不支援量測時為 -1；不含日誌、GC 等其他執行緒
+    public long getAllocatedBytes() { return allocatedBytes; }
+
+    public double getAllocatedBytesPerOrder() {
+        return allocatedBytes < 0 ? -1 : (double) allocatedBytes / orders;
+    }
+
+    public double getAllocationMegabytesPerSecond() {
+        return allocatedBytes < 0 || elapsedNanos == 0 ? -1 : allocatedBytes / 1e6 / (elapsedNanos / 1e9);
+    }
+
+    public long getGcPauses() { return gcPauses; }
+    public long getGcPauseMillis() { return gcPauseMillis; }
+    public long getGcMaxPauseMillis() { return gcMaxPauseMillis; }
+
+    // 多行的文字報表，方便不同版本之間直接比對
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(profile).append('\n');
+        sb.append(String.format("orders      %,d (generated: tooFar=%,d closed=%,d invalidTransition=%,d)%n",
+                orders, generatedTooFar, generatedClosed, generatedInvalid));
+        sb.append(String.format("throughput  %,.0f orders/s (%.1f ms)%n", getOrdersPerSecond(), elapsedNanos / 1e6));
+        sb.append(String.format("accepted    %,d%n", accepted));
+        sb.append(String.format("delivered   %,d%n", delivered));
+        sb.append("rejections\n");
+        for (OrderStatus target : OrderStatus.values()) {
+            for (RejectionReason reason : RejectionReason.values()) {
+                long count = getRejections(target, reason);
+                if (count > 0) {
+                    sb.append(String.format("  %-10s %-12s %,12d%n", target, reason, count));
+                }
+            }
+        }
+        if (allocatedBytes >= 0) {
+            sb.append(String.format("allocation  %,.1f MB, %.1f B/order, %,.1f MB/s%n",
+                    allocatedBytes / 1e6, getAllocatedBytesPerOrder(), getAllocationMegabytesPerSecond()));
+        } else {
+            sb.append("allocation  n/a\n");
+        }
+        sb.append(String.format("gc          %d pauses, %d ms total, %d ms max%n", gcPauses, gcPauseMillis, gcMaxPauseMillis));
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "LoadReport{orders=" + orders +
+                ", accepted=" + accepted +
+                ", delivered=" + delivered +
+                ", orders/s=" + String.format("%.0f", getOrdersPerSecond()) +
+                ", allocated=" + allocatedBytes +
+                ", gcPauses=" + gcPauses +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.loadgen;
+
+import org.example.model.Order;
+
+// 產生好的訂單與每張訂單要執行的操作，只能執行一次：執行後訂單狀態已經改變
+public class Workload {
+
+    // 每張訂單的操作順序
+    static final byte NORMAL = 0;           // 接單 → 取餐 → 送達
+    static final byte PICKUP_FIRST = 1;     // 先取餐（不合法），再照常接單 → 取餐 → 送達
+    static final byte DELIVER_FIRST = 2;    // 接單 → 送達（不合法）→ 取餐 → 送達
+    static final byte DOUBLE_ACCEPT = 3;    // 接單 → 接單（不合法）→ 取餐 → 送達
+
+    private final Order[] orders;
+    private final byte[] plans;
+    private final int tooFar;
+    private final int closed;
+    private final int invalidTransitions;
+
+    Workload(Order[] orders, byte[] plans, int tooFar, int closed, int invalidTransitions) {
+        this.orders = orders;
+        this.plans = plans;
+        this.tooFar = tooFar;
+        this.closed = closed;
+        this.invalidTransitions = invalidTransitions;
+    }
+
+    public int size() { return orders.length; }
+    public Order getOrder(int i) { return orders[i]; }
+
+    // 產生時刻意放在距離外、營業時間外、安排不合法轉換的訂單數
+    public int getTooFar() { return tooFar; }
+    public int getClosed() { return closed; }
+    public int getInvalidTransitions() { return invalidTransitions; }
+
+    Order[] orders() { return orders; }
+    byte plan(int i) { return plans[i]; }
+}
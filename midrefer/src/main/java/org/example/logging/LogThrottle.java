@@ -0,0 +1,83 @@
+package org.example.logging;
+
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// 重複警告的限流：每個時間窗最多放行 limit 次，其餘只計數
+// 下一個時間窗第一次呼叫 tryAcquire 時，補一行摘要說明上一段時間略過了幾次；
+// 之後不再有警告時摘要不會自己寫出，結束前或定期呼叫 flush() 寫出最後一段
+// 用法：if (throttle.tryAcquire()) { logger.warn(...); }
+// 時間窗編號與放行次數放在同一個 AtomicLong，換窗與計數是同一次 CAS，每個時間窗放行的次數不會超過 limit
+// 放行判斷只有原子操作，不配置記憶體，多執行緒可以同時呼叫
+public class LogThrottle {
+
+    private final Logger logger;
+    private final String name;
+    private final int limit;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    private final long origin;
+    private final AtomicLong state = new AtomicLong();       // 高 32 位：時間窗編號，低 32 位：這個時間窗已放行的次數
+    private final AtomicLong pending = new AtomicLong();      // 這個時間窗略過、還沒寫出摘要的次數
+    private final LongAdder suppressed = new LongAdder();     // 累計略過的次數
+
+    // name 會出現在摘要裡，用來辨識是哪一種警告
+    public LogThrottle(Logger logger, String name, int limit, Duration window) {
+        this(logger, name, limit, window, System::nanoTime);
+    }
+
+    LogThrottle(Logger logger, String name, int limit, Duration window, LongSupplier clock) {
+        if (limit <= 0 || window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("限流次數與時間窗都必須大於 0");
+        }
+        this.logger = logger;
+        this.name = name;
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    // 這一次要不要寫日誌
+    public boolean tryAcquire() {
+        // 時間窗編號只比較是否相同，超過 int 範圍時截斷不影響判斷
+        int window = (int) ((clock.getAsLong() - origin) / windowNanos);
+        while (true) {
+            long current = state.get();
+            int passed = (int) current;
+            if ((int) (current >>> 32) != window) {
+                // 新的時間窗：搶到換窗的執行緒補寫上一段的摘要，本身算第一次放行
+                if (state.compareAndSet(current, (long) window << 32 | 1)) {
+                    flush();
+                    return true;
+                }
+            } else if (passed >= limit) {
+                pending.incrementAndGet();
+                suppressed.increment();
+                return false;
+            } else if (state.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // 把目前累積的略過次數寫成一行摘要，回傳寫出的次數
+    public long flush() {
+        long dropped = pending.getAndSet(0);
+        if (dropped > 0) {
+            logger.warn("「{}」另有 {} 次相同警告未記錄（每 {} 毫秒最多記錄 {} 次）。",
+                    name, dropped, windowNanos / 1_000_000, limit);
+        }
+        return dropped;
+    }
+
+    // 累計略過的次數
+    public long getSuppressed() {
+        return suppressed.sum();
+    }
+}
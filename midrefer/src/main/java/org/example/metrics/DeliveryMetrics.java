@@ -0,0 +1,145 @@
+package org.example.metrics;
+
+import org.example.exception.SystemException;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.service.OrderEventListener;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+// DeliveryService 的內建監控數據
+// - 接單、取餐、送達各一個延遲直方圖，由 DeliveryService 直接記錄
+// - 每種拒絕原因一個 LongAdder 計數
+// - 每種 OrderStatus 目前的訂單數，新訂單由 DeliveryService.orderCreated 的 onCreated 事件計入，之後依狀態事件增減
+// 記錄路徑只有原子遞增，不配置記憶體；讀取時用 snapshot() 或 JMX
+// JMX 每個屬性各自呼叫 getter，所有屬性共用一份最多 JMX_REFRESH_MILLIS 前的快照，一次輪詢只複製一次直方圖
+public class DeliveryMetrics implements OrderEventListener, DeliveryMetricsMBean {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final long JMX_REFRESH_MILLIS = 1_000;
+
+    private final LatencyHistogram accept = new LatencyHistogram();
+    private final LatencyHistogram pickup = new LatencyHistogram();
+    private final LatencyHistogram deliver = new LatencyHistogram();
+    private final LongAdder[] rejections = adders(RejectionReason.values().length);
+    private final LongAdder[] statusCounts = adders(STATUSES.length);
+
+    private ObjectName objectName;
+    private volatile MetricsSnapshot jmxSnapshot;
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    // ========= 記錄 =========
+
+    public void recordAccept(long nanos) { accept.record(nanos); }
+    public void recordPickup(long nanos) { pickup.record(nanos); }
+    public void recordDeliver(long nanos) { deliver.record(nanos); }
+
+    @Override
+    public void onCreated(OrderView order) {
+        statusCounts[order.getStatus().ordinal()].increment();
+    }
+
+    @Override
+    public void onTransition(OrderView order, OrderStatus from, OrderStatus to) {
+        statusCounts[from.ordinal()].decrement();
+        statusCounts[to.ordinal()].increment();
+    }
+
+    @Override
+    public void onRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    // ========= 讀取 =========
+
+    public MetricsSnapshot snapshot() {
+        long[] rejected = new long[rejections.length];
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = rejections[i].sum();
+        }
+        long[] orders = new long[statusCounts.length];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = statusCounts[i].sum();   // 和狀態事件同時讀取時可能差幾張，事件停下後就是準確值
+        }
+        return new MetricsSnapshot(System.currentTimeMillis(),
+                accept.snapshot(), pickup.snapshot(), deliver.snapshot(), rejected, orders);
+    }
+
+    // ========= JMX =========
+
+    // 以 org.example:type=DeliveryMetrics,name=<name> 註冊到平台 MBeanServer
+    public synchronized void registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("org.example:type=DeliveryMetrics,name=" + name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.objectName = objectName;
+        } catch (JMException e) {
+            throw new SystemException("無法註冊監控 MBean " + name + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new SystemException("無法取消註冊監控 MBean " + objectName + ": " + e.getMessage());
+        } finally {
+            objectName = null;
+        }
+    }
+
+    // JMX 用的快照，超過 JMX_REFRESH_MILLIS 才重新取；同時有多個執行緒重取時各自取一份，不影響正確性
+    MetricsSnapshot jmxSnapshot() {
+        MetricsSnapshot cached = jmxSnapshot;
+        if (cached == null || System.currentTimeMillis() - cached.getTakenAt() >= JMX_REFRESH_MILLIS) {
+            cached = snapshot();
+            jmxSnapshot = cached;
+        }
+        return cached;
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1e3;
+    }
+
+    @Override public long getAcceptCount() { return jmxSnapshot().getAccept().getCount(); }
+    @Override public double getAcceptP50Micros() { return micros(jmxSnapshot().getAccept().getPercentileNanos(50)); }
+    @Override public double getAcceptP99Micros() { return micros(jmxSnapshot().getAccept().getPercentileNanos(99)); }
+    @Override public double getAcceptP999Micros() { return micros(jmxSnapshot().getAccept().getPercentileNanos(99.9)); }
+    @Override public double getAcceptMaxMicros() { return micros(jmxSnapshot().getAccept().getMaxNanos()); }
+
+    @Override public long getPickupCount() { return jmxSnapshot().getPickup().getCount(); }
+    @Override public double getPickupP50Micros() { return micros(jmxSnapshot().getPickup().getPercentileNanos(50)); }
+    @Override public double getPickupP99Micros() { return micros(jmxSnapshot().getPickup().getPercentileNanos(99)); }
+    @Override public double getPickupP999Micros() { return micros(jmxSnapshot().getPickup().getPercentileNanos(99.9)); }
+    @Override public double getPickupMaxMicros() { return micros(jmxSnapshot().getPickup().getMaxNanos()); }
+
+    @Override public long getDeliverCount() { return jmxSnapshot().getDeliver().getCount(); }
+    @Override public double getDeliverP50Micros() { return micros(jmxSnapshot().getDeliver().getPercentileNanos(50)); }
+    @Override public double getDeliverP99Micros() { return micros(jmxSnapshot().getDeliver().getPercentileNanos(99)); }
+    @Override public double getDeliverP999Micros() { return micros(jmxSnapshot().getDeliver().getPercentileNanos(99.9)); }
+    @Override public double getDeliverMaxMicros() { return micros(jmxSnapshot().getDeliver().getMaxNanos()); }
+
+    @Override public long getRejectedClosed() { return jmxSnapshot().getRejections(RejectionReason.CLOSED); }
+    @Override public long getRejectedTooFar() { return jmxSnapshot().getRejections(RejectionReason.TOO_FAR); }
+    @Override public long getRejectedWrongState() { return jmxSnapshot().getRejections(RejectionReason.WRONG_STATE); }
+
+    @Override public long getPendingOrders() { return jmxSnapshot().getOrders(OrderStatus.PENDING); }
+    @Override public long getAcceptedOrders() { return jmxSnapshot().getOrders(OrderStatus.ACCEPTED); }
+    @Override public long getPickedUpOrders() { return jmxSnapshot().getOrders(OrderStatus.PICKED_UP); }
+    @Override public long getDeliveredOrders() { return jmxSnapshot().getOrders(OrderStatus.DELIVERED); }
+}
@@ -0,0 +1,34 @@
+package org.example.metrics;
+
+// DeliveryMetrics 透過 JMX 公開的屬性，延遲單位為微秒
+// 所有屬性來自同一份快照，最多延遲 1 秒
+public interface DeliveryMetricsMBean {
+
+    long getAcceptCount();
+    double getAcceptP50Micros();
+    double getAcceptP99Micros();
+    double getAcceptP999Micros();
+    double getAcceptMaxMicros();
+
+    long getPickupCount();
+    double getPickupP50Micros();
+    double getPickupP99Micros();
+    double getPickupP999Micros();
+    double getPickupMaxMicros();
+
+    long getDeliverCount();
+    double getDeliverP50Micros();
+    double getDeliverP99Micros();
+    double getDeliverP999Micros();
+    double getDeliverMaxMicros();
+
+    long getRejectedClosed();
+    long getRejectedTooFar();
+    long getRejectedWrongState();
+
+    // 啟用監控之後經過 DeliveryService.orderCreated 的訂單，依目前狀態計數
+    long getPendingOrders();
+    long getAcceptedOrders();
+    long getPickedUpOrders();
+    long getDeliveredOrders();
+}
@@ -0,0 +1,60 @@
+package org.example.metrics;
+
+// LatencyHistogram 某一時刻的複本，不可修改
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long total;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long max) {
+        this.counts = counts;
+        long sum = 0;
+        for (long c : counts) {
+            sum += c;
+        }
+        this.total = sum;
+        this.max = max;
+    }
+
+    public long getCount() { return total; }
+
+    public long getMaxNanos() { return max; }
+
+    // 第 percentile 百分位的延遲（0 < percentile <= 100），沒有資料時回傳 0
+    public long getPercentileNanos(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    // 以每格的最大值估計的平均延遲
+    public double getMeanNanos() {
+        if (total == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                sum += (double) counts[i] * Math.min(LatencyHistogram.highestValueOf(i), max);
+            }
+        }
+        return sum / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+                total, getPercentileNanos(50) / 1e3, getPercentileNanos(99) / 1e3,
+                getPercentileNanos(99.9) / 1e3, max / 1e3);
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.metrics;
+
+import org.example.model.OrderStatus;
+import org.example.model.RejectionReason;
+
+// DeliveryMetrics 某一時刻的內容，拉取式 API 的回傳值
+public class MetricsSnapshot {
+
+    private final long takenAt;
+    private final HistogramSnapshot accept;
+    private final HistogramSnapshot pickup;
+    private final HistogramSnapshot deliver;
+    private final long[] rejections;     // 以 RejectionReason ordinal 為索引
+    private final long[] statusCounts;   // 以 OrderStatus ordinal 為索引
+
+    MetricsSnapshot(long takenAt, HistogramSnapshot accept, HistogramSnapshot pickup, HistogramSnapshot deliver,
+                    long[] rejections, long[] statusCounts) {
+        this.takenAt = takenAt;
+        this.accept = accept;
+        this.pickup = pickup;
+        this.deliver = deliver;
+        this.rejections = rejections;
+        this.statusCounts = statusCounts;
+    }
+
+    // 取得時間（epoch 毫秒）
+    public long getTakenAt() { return takenAt; }
+
+    public HistogramSnapshot getAccept() { return accept; }
+    public HistogramSnapshot getPickup() { return pickup; }
+    public HistogramSnapshot getDeliver() { return deliver; }
+
+    public long getRejections(RejectionReason reason) { return rejections[reason.ordinal()]; }
+
+    // 目前處於該狀態的訂單數
+    public long getOrders(OrderStatus status) { return statusCounts[status.ordinal()]; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MetricsSnapshot{");
+        sb.append("accept=[").append(accept).append(']');
+        sb.append(", pickup=[").append(pickup).append(']');
+        sb.append(", deliver=[").append(deliver).append(']');
+        for (RejectionReason reason : RejectionReason.values()) {
+            sb.append(", ").append(reason).append('=').append(getRejections(reason));
+        }
+        for (OrderStatus status : OrderStatus.values()) {
+            sb.append(", ").append(status).append('=').append(getOrders(status));
+        }
+        return sb.append('}').toString();
+    }
+}
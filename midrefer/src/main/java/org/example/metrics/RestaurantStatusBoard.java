@@ -0,0 +1,209 @@
+package org.example.metrics;
+
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.model.Restaurant;
+import org.example.service.OrderEventListener;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+// 每間餐廳、每種 OrderStatus 目前有幾張訂單，依狀態事件增量更新，查詢時不用掃描訂單
+// - 計數分成多個 stripe，依執行緒選 stripe，不同執行緒的狀態變更幾乎不會搶同一把鎖
+// - 一次狀態變更（from 減一、to 加一、全域計數）都在同一個 stripe 的寫鎖內完成
+// - 查詢使用 StampedLock 的樂觀讀取，不會擋住狀態變更；snapshot() 驗證所有 stripe 在複製期間都沒有被寫入，
+//   得到整個車隊在同一時刻的一致內容，寫入太頻繁一直驗證失敗時才短暫取得所有 stripe 的讀鎖
+// 新訂單由 DeliveryService.orderCreated 的 onCreated 事件計入；沒有登錄的餐廳（id -1）也有自己的一列
+// 同一張訂單的事件可能落在不同 stripe，單一 stripe 的計數可以是負數，加總才是實際的訂單數
+public class RestaurantStatusBoard implements OrderEventListener {
+
+    static final int STATUSES = OrderStatus.values().length;
+    private static final int OPTIMISTIC_ATTEMPTS = 8;
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        // 以 (restaurantId + 1) * STATUSES + status 為索引，只在寫鎖內修改或換成更大的陣列
+        long[] counts = new long[16 * STATUSES];
+        int rows;   // 寫入過的最大列加一，snapshot 只複製這個範圍
+        final long[] totals = new long[STATUSES];
+    }
+
+    public RestaurantStatusBoard() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    // stripes 會進位到 2 的次方
+    public RestaurantStatusBoard(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripe 數必須大於 0: " + stripes);
+        }
+        int n = 1;
+        while (n < stripes) {
+            n <<= 1;
+        }
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = n - 1;
+    }
+
+    private Stripe stripe() {
+        long id = Thread.currentThread().threadId();
+        return stripes[(int) (id ^ (id >>> 16)) & mask];
+    }
+
+    private static int row(Restaurant restaurant) {
+        return restaurant.getId() + 1;
+    }
+
+    // ========= 更新 =========
+
+    @Override
+    public void onCreated(OrderView order) {
+        update(row(order.getRestaurant()), null, order.getStatus());
+    }
+
+    @Override
+    public void onTransition(OrderView order, OrderStatus from, OrderStatus to) {
+        update(row(order.getRestaurant()), from, to);
+    }
+
+    @Override
+    public void onRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+    }
+
+    private void update(int row, OrderStatus from, OrderStatus to) {
+        Stripe stripe = stripe();
+        long stamp = stripe.lock.writeLock();
+        try {
+            long[] counts = stripe.counts;
+            int base = row * STATUSES;
+            if (base >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(counts.length * 2, base + STATUSES));
+                stripe.counts = counts;
+            }
+            if (row >= stripe.rows) {
+                stripe.rows = row + 1;
+            }
+            if (from != null) {
+                counts[base + from.ordinal()]--;
+                stripe.totals[from.ordinal()]--;
+            }
+            counts[base + to.ordinal()]++;
+            stripe.totals[to.ordinal()]++;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    // ========= 查詢 =========
+
+    // 某間餐廳目前處於 status 的訂單數，只讀每個 stripe 的一格，和餐廳數量無關
+    public long count(int restaurantId, OrderStatus status) {
+        int index = (restaurantId + 1) * STATUSES + status.ordinal();
+        long sum = 0;
+        for (Stripe stripe : stripes) {
+            sum += read(stripe, index);
+        }
+        return sum;
+    }
+
+    // 所有餐廳加總，目前處於 status 的訂單數
+    public long total(OrderStatus status) {
+        long sum = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.tryOptimisticRead();
+            long value = stripe.totals[status.ordinal()];
+            if (!stripe.lock.validate(stamp)) {
+                stamp = stripe.lock.readLock();
+                try {
+                    value = stripe.totals[status.ordinal()];
+                } finally {
+                    stripe.lock.unlockRead(stamp);
+                }
+            }
+            sum += value;
+        }
+        return sum;
+    }
+
+    // index 為負數（restaurantId 小於 -1）或超出目前的列數時都是 0
+    private static long read(Stripe stripe, int index) {
+        long stamp = stripe.lock.tryOptimisticRead();
+        long[] counts = stripe.counts;
+        long value = index >= 0 && index < counts.length ? counts[index] : 0;
+        if (stripe.lock.validate(stamp)) {
+            return value;
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            counts = stripe.counts;
+            return index >= 0 && index < counts.length ? counts[index] : 0;
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    // 所有餐廳、所有狀態在同一時刻的一致內容
+    public StatusBoardSnapshot snapshot() {
+        long[][] copies = new long[stripes.length][];
+        long[] stamps = new long[stripes.length];
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            for (int i = 0; i < stripes.length; i++) {
+                stamps[i] = stripes[i].lock.tryOptimisticRead();
+                copies[i] = copy(stripes[i]);
+            }
+            if (validateAll(stamps)) {
+                return merge(copies);
+            }
+        }
+        // 一直有寫入：依序取得所有讀鎖，期間的狀態變更會等到複製完成
+        for (int i = 0; i < stripes.length; i++) {
+            stamps[i] = stripes[i].lock.readLock();
+        }
+        try {
+            for (int i = 0; i < stripes.length; i++) {
+                copies[i] = copy(stripes[i]);
+            }
+        } finally {
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i].lock.unlockRead(stamps[i]);
+            }
+        }
+        return merge(copies);
+    }
+
+    // 樂觀讀取時陣列可能正被換掉，只讀一次參考，以它自己的長度複製
+    private static long[] copy(Stripe stripe) {
+        long[] counts = stripe.counts;
+        return Arrays.copyOf(counts, Math.min(counts.length, stripe.rows * STATUSES));
+    }
+
+    private boolean validateAll(long[] stamps) {
+        for (int i = 0; i < stripes.length; i++) {
+            if (!stripes[i].lock.validate(stamps[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static StatusBoardSnapshot merge(long[][] copies) {
+        int length = 0;
+        for (long[] copy : copies) {
+            length = Math.max(length, copy.length);
+        }
+        long[] counts = new long[length];
+        for (long[] copy : copies) {
+            for (int i = 0; i < copy.length; i++) {
+                counts[i] += copy[i];
+            }
+        }
+        return new StatusBoardSnapshot(System.currentTimeMillis(), counts);
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.metrics;
+
+import org.example.model.OrderStatus;
+
+// RestaurantStatusBoard 某一時刻的一致內容，不可修改
+public class StatusBoardSnapshot {
+
+    private static final int STATUSES = RestaurantStatusBoard.STATUSES;
+
+    private final long takenAt;
+    private final long[] counts;   // 以 (restaurantId + 1) * 狀態數 + status 為索引
+    private final long[] totals = new long[STATUSES];
+
+    StatusBoardSnapshot(long takenAt, long[] counts) {
+        this.takenAt = takenAt;
+        this.counts = counts;
+        for (int i = 0; i < counts.length; i++) {
+            totals[i % STATUSES] += counts[i];
+        }
+    }
+
+    // 取得時間（epoch 毫秒）
+    public long getTakenAt() { return takenAt; }
+
+    // 出現過的最大餐廳 id 加一，可以用來逐一列出餐廳
+    public int getRestaurantCount() {
+        return Math.max(0, counts.length / STATUSES - 1);
+    }
+
+    public long count(int restaurantId, OrderStatus status) {
+        int index = (restaurantId + 1) * STATUSES + status.ordinal();
+        return index >= 0 && index < counts.length ? counts[index] : 0;
+    }
+
+    public long total(OrderStatus status) {
+        return totals[status.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("StatusBoardSnapshot{restaurants=").append(getRestaurantCount());
+        for (OrderStatus status : OrderStatus.values()) {
+            sb.append(", ").append(status).append('=').append(total(status));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,231 @@
+package org.example.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.TreeSet;
+
+// 餐廳的每週營業時段，建立時一次編譯成「一週每分鐘是否營業」的位元表
+// - 一天可以有多個時段（午餐、晚餐分開）
+// - 打烊時間小於開店時間代表跨夜，例如 1800-0200
+// - 可以指定國定假日整天公休；公休看的是時段開始的那一天：
+//   公休日前一晚開始的跨夜時段照常營業到打烊，公休日晚上開始的跨夜時段隔天凌晨也不營業
+// 建好之後不可修改，查詢「T 時刻是否營業」只要一次位元運算，遇到公休日或公休日隔天才多看一張表
+public final class OpeningSchedule {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    private static final int WORDS = (MINUTES_PER_WEEK + 63) / 64;
+
+    private final long[] openMinutes;     // 一週 10080 分鐘，星期一 00:00 為第 0 分鐘
+    private final long[] ownMinutes;      // 當天開始的時段
+    private final long[] carriedMinutes;  // 前一天開始、跨夜延續過來的時段
+    private final long holidayBase;       // holidayBits 第 0 位元對應的 epoch day
+    private final long[] holidayBits;
+    private final List<Window> windows;   // 原始時段，組訊息時使用
+
+    // 原始設定的單一時段，時間為四位數字 HHMM
+    public record Window(DayOfWeek day, int open, int close) {
+    }
+
+    private OpeningSchedule(long[] ownMinutes, long[] carriedMinutes,
+                            long holidayBase, long[] holidayBits, List<Window> windows) {
+        this.ownMinutes = ownMinutes;
+        this.carriedMinutes = carriedMinutes;
+        this.openMinutes = new long[WORDS];
+        for (int w = 0; w < WORDS; w++) {
+            openMinutes[w] = ownMinutes[w] | carriedMinutes[w];
+        }
+        this.holidayBase = holidayBase;
+        this.holidayBits = holidayBits;
+        this.windows = windows;
+    }
+
+    // 每天同一個時段，對應原本的 [open, close)
+    public static OpeningSchedule daily(int openHour, int closeHour) {
+        return builder().daily(openHour, closeHour).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // 指定日期與時間（四位數字 HHMM）是否營業
+    public boolean isOpenAt(LocalDate date, int hhmm) {
+        return isOpenAt(date.toEpochDay(), hhmm);
+    }
+
+    // 同上，日期以 epoch day 表示，不需要建立 LocalDate
+    public boolean isOpenAt(long epochDay, int hhmm) {
+        int minute = minuteOfWeek(epochDay, hhmm);
+        return minute >= 0 && isOpenAtMinute(epochDay, minute);
+    }
+
+    // 同上，minuteOfWeek 已經由 minuteOfWeek(epochDay, hhmm) 算好，批次查詢時只算一次
+    public boolean isOpenAtMinute(long epochDay, int minuteOfWeek) {
+        int word = minuteOfWeek >>> 6;
+        long mask = 1L << minuteOfWeek;
+        if ((openMinutes[word] & mask) == 0) {
+            return false;
+        }
+        if (holidayBits.length == 0) {
+            return true;
+        }
+        boolean today = isHoliday(epochDay);
+        boolean yesterday = isHoliday(epochDay - 1);
+        if (!today && !yesterday) {
+            return true;
+        }
+        return (!today && (ownMinutes[word] & mask) != 0)
+                || (!yesterday && (carriedMinutes[word] & mask) != 0);
+    }
+
+    // 不看公休日，只看每週時段
+    public boolean isOpenAt(DayOfWeek day, int hhmm) {
+        int minuteOfDay = minuteOfDay(hhmm);
+        return minuteOfDay >= 0 && isOpenAtMinute((day.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay);
+    }
+
+    public boolean isOpenAtMinute(int minuteOfWeek) {
+        return (openMinutes[minuteOfWeek >>> 6] & (1L << minuteOfWeek)) != 0;
+    }
+
+    public boolean isHoliday(long epochDay) {
+        long offset = epochDay - holidayBase;
+        return offset >= 0 && offset < (long) holidayBits.length * 64
+                && (holidayBits[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    // 批次查詢：schedules[i] 在指定時刻營業時把 open 的第 i 位設為 1
+    // 位元表的位置只算一次，每間餐廳只剩一次陣列讀取
+    public static void openAmong(OpeningSchedule[] schedules, long epochDay, int hhmm, BitSet open) {
+        int minute = minuteOfWeek(epochDay, hhmm);
+        if (minute < 0) {
+            return;
+        }
+        for (int i = 0; i < schedules.length; i++) {
+            OpeningSchedule s = schedules[i];
+            if (s != null && s.isOpenAtMinute(epochDay, minute)) {
+                open.set(i);
+            }
+        }
+    }
+
+    // 建立時設定的全部時段，依設定順序排列；用同樣的時段與公休日重新建立會得到相同的位元表
+    public List<Window> getWindows() {
+        return windows;
+    }
+
+    // 全部公休日，以 epoch day 由小到大排列
+    public long[] getHolidays() {
+        long[] days = new long[(int) Arrays.stream(holidayBits).map(Long::bitCount).sum()];
+        int n = 0;
+        for (int w = 0; w < holidayBits.length; w++) {
+            for (long bits = holidayBits[w]; bits != 0; bits &= bits - 1) {
+                days[n++] = holidayBase + w * 64L + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return days;
+    }
+
+    // 某一天的營業時段描述，例如 "1100-1400, 1700-2100"
+    public String describe(DayOfWeek day) {
+        StringBuilder sb = new StringBuilder();
+        for (Window w : windows) {
+            if (w.day() != day) continue;
+            if (sb.length() > 0) sb.append(", ");
+            appendHhmm(sb, w.open()).append('-');
+            appendHhmm(sb, w.close());
+        }
+        return sb.length() == 0 ? "公休" : sb.toString();
+    }
+
+    // 補滿四位數，例如 200 顯示為 0200
+    private static StringBuilder appendHhmm(StringBuilder sb, int hhmm) {
+        for (int pad = 1000; pad > 1 && hhmm < pad; pad /= 10) {
+            sb.append('0');
+        }
+        return sb.append(hhmm);
+    }
+
+    public String describe(long epochDay) {
+        return isHoliday(epochDay) ? "公休" : describe(dayOfWeek(epochDay));
+    }
+
+    // 1970-01-01 是星期四
+    public static DayOfWeek dayOfWeek(long epochDay) {
+        return DayOfWeek.of((int) Math.floorMod(epochDay + 3, 7) + 1);
+    }
+
+    // 日期與 HHMM 轉成一週的第幾分鐘，不合法的時間回傳 -1
+    public static int minuteOfWeek(long epochDay, int hhmm) {
+        int minuteOfDay = minuteOfDay(hhmm);
+        if (minuteOfDay < 0) {
+            return -1;
+        }
+        return (int) Math.floorMod(epochDay + 3, 7) * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    // HHMM 轉成當天第幾分鐘，不合法的時間回傳 -1
+    private static int minuteOfDay(int hhmm) {
+        if (hhmm < 0 || hhmm >= 2400 || hhmm % 100 >= 60) {
+            return -1;
+        }
+        return hhmm / 100 * 60 + hhmm % 100;
+    }
+
+    public static class Builder {
+        private final long[] ownMinutes = new long[WORDS];
+        private final long[] carriedMinutes = new long[WORDS];
+        private final TreeSet<Long> holidays = new TreeSet<>();
+        private final List<Window> windows = new ArrayList<>();
+
+        // 每天都加上同一個時段
+        public Builder daily(int openHour, int closeHour) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                on(day, openHour, closeHour);
+            }
+            return this;
+        }
+
+        // 指定星期幾加上一個時段，打烊時間小於開店時間時延續到隔天
+        public Builder on(DayOfWeek day, int openHour, int closeHour) {
+            int open = minuteOfDay(openHour);
+            int close = closeHour == 2400 ? MINUTES_PER_DAY : minuteOfDay(closeHour);
+            if (open < 0 || close < 0) {
+                throw new IllegalArgumentException("不合法的營業時間: " + openHour + "-" + closeHour);
+            }
+            if (close < open) {
+                close += MINUTES_PER_DAY;  // 跨夜
+            }
+            int dayStart = (day.getValue() - 1) * MINUTES_PER_DAY;
+            int start = dayStart + open;
+            for (int m = start; m < start + (close - open); m++) {
+                int minute = m % MINUTES_PER_WEEK;  // 星期日跨夜會回到星期一
+                long[] target = m < dayStart + MINUTES_PER_DAY ? ownMinutes : carriedMinutes;
+                target[minute >>> 6] |= 1L << minute;
+            }
+            windows.add(new Window(day, openHour, closeHour));
+            return this;
+        }
+
+        // 指定日期整天公休
+        public Builder closedOn(LocalDate date) {
+            holidays.add(date.toEpochDay());
+            return this;
+        }
+
+        public OpeningSchedule build() {
+            long base = holidays.isEmpty() ? 0 : holidays.first();
+            long[] bits = new long[holidays.isEmpty() ? 0 : (int) ((holidays.last() - base) / 64 + 1)];
+            for (long day : holidays) {
+                long offset = day - base;
+                bits[(int) (offset >>> 6)] |= 1L << offset;
+            }
+            return new OpeningSchedule(ownMinutes.clone(), carriedMinutes.clone(), base, bits, List.copyOf(windows));
+        }
+    }
+}
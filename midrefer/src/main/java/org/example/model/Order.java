@@ -1,61 +1,113 @@
 package org.example.model;
 
-public class Order {
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Clock;
+import java.time.LocalDate;
+
+public class Order implements OrderView {
+    // 狀態欄位的 CAS 入口，讓多執行緒推進狀態不需要加鎖
+    private static final VarHandle STATUS;
+
+    static {
+        try {
+            STATUS = MethodHandles.lookup().findVarHandle(Order.class, "status", OrderStatus.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private String orderId;
     private String customerName;
-    private String restaurantName;
-    private OrderStatus status;
+    private Restaurant restaurant;   // 同一間餐廳的訂單共用同一筆餐廳資料
+    private volatile OrderStatus status;
 
     // 用四位數字表示時間，例如晚上九點半為 2100
-    private int restaurantOpenHour;
-    private int restaurantCloseHour;
     private int orderHour;
+    private long orderDay;           // 下單日期，以 epoch day 表示
 
     // 位置用座標表示
-    private int restaurantX;
-    private int restaurantY;
     private int customerX;
     private int customerY;
 
-    public Order(String orderId, String customerName, String restaurantName,
-                 int openHour, int closeHour, int orderHour,
-                 int restaurantX, int restaurantY, int customerX, int customerY) {
+    public Order(String orderId, String customerName, Restaurant restaurant,
+                 LocalDate orderDate, int orderHour, int customerX, int customerY) {
+        this(orderId, customerName, restaurant, orderDate.toEpochDay(), orderHour, customerX, customerY,
+                OrderStatus.PENDING);
+    }
+
+    private Order(String orderId, String customerName, Restaurant restaurant,
+                  long orderDay, int orderHour, int customerX, int customerY, OrderStatus status) {
         this.orderId = orderId;
         this.customerName = customerName;
-        this.restaurantName = restaurantName;
-        this.status = OrderStatus.PENDING;
+        this.restaurant = restaurant;
+        this.status = status;
 
-        this.restaurantOpenHour = openHour;
-        this.restaurantCloseHour = closeHour;
         this.orderHour = orderHour;
+        this.orderDay = orderDay;
 
-        this.restaurantX = restaurantX;
-        this.restaurantY = restaurantY;
         this.customerX = customerX;
         this.customerY = customerY;
     }
 
-    public int getRestaurantOpenHour() { return restaurantOpenHour; }
-    public int getRestaurantCloseHour() { return restaurantCloseHour; }
+    // 從快照等紀錄還原訂單，狀態直接是 status
+    // 只會建立新物件；已經在系統裡的訂單只能透過 compareAndSetStatus 一步一步推進
+    public static Order restore(String orderId, String customerName, Restaurant restaurant,
+                                LocalDate orderDate, int orderHour, int customerX, int customerY, OrderStatus status) {
+        return new Order(orderId, customerName, restaurant, orderDate.toEpochDay(), orderHour, customerX, customerY,
+                status);
+    }
+
+    // 同上，其餘欄位從 source 複製
+    public static Order restore(OrderView source, OrderStatus status) {
+        return new Order(source.getOrderId(), source.getCustomerName(), source.getRestaurant(), source.getOrderDay(),
+                source.getOrderHour(), source.getCustomerX(), source.getCustomerY(), status);
+    }
+
+    // 下單日期取 clock 的今天，測試或重播歷史訂單時傳入固定的 Clock
+    public Order(String orderId, String customerName, Restaurant restaurant,
+                 Clock clock, int orderHour, int customerX, int customerY) {
+        this(orderId, customerName, restaurant, LocalDate.now(clock), orderHour, customerX, customerY);
+    }
+
+    // 沒有指定日期時視為今天下單（系統時鐘、預設時區），營業時段與公休日都以這一天判斷；
+    // 結果會隨執行的日期改變，需要固定日期時請改用帶 LocalDate 或 Clock 的建構子
+    public Order(String orderId, String customerName, Restaurant restaurant,
+                 int orderHour, int customerX, int customerY) {
+        this(orderId, customerName, restaurant, Clock.systemDefaultZone(), orderHour, customerX, customerY);
+    }
+
+    public Restaurant getRestaurant() { return restaurant; }
+
     public int getOrderHour() { return orderHour; }
+    public long getOrderDay() { return orderDay; }
+    public LocalDate getOrderDate() { return LocalDate.ofEpochDay(orderDay); }
 
-    public int getRestaurantX() { return restaurantX; }
-    public int getRestaurantY() { return restaurantY; }
+    public int getRestaurantX() { return restaurant.getX(); }
+    public int getRestaurantY() { return restaurant.getY(); }
     public int getCustomerX() { return customerX; }
     public int getCustomerY() { return customerY; }
 
     public String getOrderId() { return orderId; }
     public String getCustomerName() { return customerName; }
-    public String getRestaurantName() { return restaurantName; }
+    public String getRestaurantName() { return restaurant.getName(); }
     public OrderStatus getStatus() { return status; }
-    public void setStatus(OrderStatus status) { this.status = status; }
+
+    // 原子地把狀態從 expected 推進到 next，只允許狀態機上相鄰的一步
+    // 同一步只有一個執行緒會成功，其餘回傳 false
+    public boolean compareAndSetStatus(OrderStatus expected, OrderStatus next) {
+        if (expected.next() != next) {
+            throw new IllegalArgumentException("不合法的狀態轉換: " + expected + " -> " + next);
+        }
+        return STATUS.compareAndSet(this, expected, next);
+    }
 
     @Override
     public String toString() {
         return "Order{" +
                 "orderId='" + orderId + '\'' +
                 ", customerName='" + customerName + '\'' +
-                ", restaurantName='" + restaurantName + '\'' +
+                ", restaurantName='" + restaurant.getName() + '\'' +
                 ", status=" + status +
                 '}';
     }
@@ -4,7 +4,15 @@ public enum OrderStatus {
     PENDING,    // 等待餐廳取餐
     ACCEPTED,   // 訂單已被餐廳接受
     PICKED_UP,  // 外送員已取餐
-    DELIVERED   // 餐點已送達
+    DELIVERED;  // 餐點已送達
+
+    private static final OrderStatus[] VALUES = values();
+
+    // 狀態機的下一個狀態，DELIVERED 是終點所以回傳 null
+    public OrderStatus next() {
+        int i = ordinal() + 1;
+        return i < VALUES.length ? VALUES[i] : null;
+    }
 }
 
 
@@ -0,0 +1,181 @@
+package org.example.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 大量進行中訂單的欄式儲存：每個欄位一個原始型別陣列（struct-of-arrays），不再每張訂單一個物件
+// - 整數欄位放在 IntBuffer，可以選擇放在 heap 或 off-heap（direct ByteBuffer）
+//   專案以 Java 23 編譯，MemorySegment 已是正式 API，但它的 heap 與 off-heap 版本要分開配置，
+//   off-heap 還要自己管理 Arena 的關閉時機；IntBuffer 兩種都是同一個型別，direct buffer 也跟著表格一起被 GC 回收
+// - 餐廳只存 id，營業時間與位置從 RestaurantRegistry 的共用資料讀取
+// - 顧客名稱重複很多，以字典編碼成 int
+// - 狀態用一個 byte 表示，透過 VarHandle 做 CAS，和 Order 一樣不需要加鎖
+// 新增訂單需由單一執行緒進行；已新增的列可以被多執行緒同時推進狀態
+public class OrderTable {
+
+    private static final VarHandle STATUS = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    // 整數欄位的編號
+    private static final int RESTAURANT_ID = 0;
+    private static final int ORDER_HOUR = 1;
+    private static final int CUSTOMER_X = 2;
+    private static final int CUSTOMER_Y = 3;
+    private static final int ORDER_DAY = 4;
+    private static final int INT_COLUMNS = 5;
+
+    private final RestaurantRegistry restaurants;
+    private final int capacity;
+    private final boolean offHeap;
+    private final IntBuffer[] intColumns = new IntBuffer[INT_COLUMNS];
+    private final int[] customerNameIds;
+    private final String[] orderIds;
+    private final byte[] statuses;
+    private int size;
+
+    // 名稱字典
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    public OrderTable(RestaurantRegistry restaurants, int capacity, boolean offHeap) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("容量必須大於 0: " + capacity);
+        }
+        this.restaurants = restaurants;
+        this.capacity = capacity;
+        this.offHeap = offHeap;
+        for (int c = 0; c < INT_COLUMNS; c++) {
+            intColumns[c] = offHeap
+                    ? ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer()
+                    : IntBuffer.allocate(capacity);
+        }
+        this.customerNameIds = new int[capacity];
+        this.orderIds = new String[capacity];
+        this.statuses = new byte[capacity];
+    }
+
+    public int size() { return size; }
+    public int capacity() { return capacity; }
+    public boolean isOffHeap() { return offHeap; }
+
+    // 新增一張今天下單的 PENDING 訂單，回傳列編號
+    public int add(String orderId, String customerName, Restaurant restaurant,
+                   int orderHour, int customerX, int customerY) {
+        return add(orderId, customerName, restaurant, LocalDate.now().toEpochDay(), orderHour, customerX, customerY);
+    }
+
+    // 新增一張 PENDING 訂單，回傳列編號
+    // 餐廳必須已經登錄在這個表格使用的 RestaurantRegistry，下單日期以 epoch day 表示
+    public int add(String orderId, String customerName, Restaurant restaurant,
+                   long orderDay, int orderHour, int customerX, int customerY) {
+        if (restaurants.get(restaurant.getId()) != restaurant) {
+            throw new IllegalArgumentException("餐廳尚未登錄: " + restaurant.getName());
+        }
+        if (size == capacity) {
+            throw new IllegalStateException("訂單表已滿，容量: " + capacity);
+        }
+        int row = size;
+        orderIds[row] = orderId;
+        customerNameIds[row] = nameId(customerName);
+        intColumns[RESTAURANT_ID].put(row, restaurant.getId());
+        intColumns[ORDER_HOUR].put(row, orderHour);
+        intColumns[ORDER_DAY].put(row, Math.toIntExact(orderDay));
+        intColumns[CUSTOMER_X].put(row, customerX);
+        intColumns[CUSTOMER_Y].put(row, customerY);
+        STATUS.setVolatile(statuses, row, (byte) OrderStatus.PENDING.ordinal());
+        size = row + 1;
+        return row;
+    }
+
+    // 把一個 Order 物件複製進表格，狀態也一併帶入
+    public int add(Order order) {
+        int row = add(order.getOrderId(), order.getCustomerName(), order.getRestaurant(),
+                order.getOrderDay(), order.getOrderHour(), order.getCustomerX(), order.getCustomerY());
+        STATUS.setVolatile(statuses, row, (byte) order.getStatus().ordinal());
+        return row;
+    }
+
+    // 取得第 row 列的輕量檢視，本身不複製任何欄位
+    public Row row(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("列編號超出範圍: " + row);
+        }
+        return new Row(row);
+    }
+
+    // 直接讀取狀態欄位，掃描大量訂單時不用建立 Row
+    public OrderStatus statusAt(int row) {
+        return STATUSES[(byte) STATUS.getVolatile(statuses, row)];
+    }
+
+    private int intAt(int column, int row) {
+        return intColumns[column].get(row);
+    }
+
+    private int nameId(String name) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            nameIds.put(name, id);
+        }
+        return id;
+    }
+
+    // 表格中一列的 flyweight，欄位都直接讀寫表格的欄位陣列
+    public final class Row implements OrderView {
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        public int index() { return row; }
+
+        @Override
+        public String getOrderId() { return orderIds[row]; }
+        @Override
+        public String getCustomerName() { return names.get(customerNameIds[row]); }
+        @Override
+        public Restaurant getRestaurant() { return restaurants.get(intAt(RESTAURANT_ID, row)); }
+
+        @Override
+        public int getOrderHour() { return intAt(ORDER_HOUR, row); }
+        @Override
+        public long getOrderDay() { return intAt(ORDER_DAY, row); }
+
+        @Override
+        public int getCustomerX() { return intAt(CUSTOMER_X, row); }
+        @Override
+        public int getCustomerY() { return intAt(CUSTOMER_Y, row); }
+
+        @Override
+        public OrderStatus getStatus() { return statusAt(row); }
+
+        @Override
+        public boolean compareAndSetStatus(OrderStatus expected, OrderStatus next) {
+            if (expected.next() != next) {
+                throw new IllegalArgumentException("不合法的狀態轉換: " + expected + " -> " + next);
+            }
+            return STATUS.compareAndSet(statuses, row, (byte) expected.ordinal(), (byte) next.ordinal());
+        }
+
+        @Override
+        public String toString() {
+            return "Order{" +
+                    "orderId='" + getOrderId() + '\'' +
+                    ", customerName='" + getCustomerName() + '\'' +
+                    ", restaurantName='" + getRestaurant().getName() + '\'' +
+                    ", status=" + getStatus() +
+                    '}';
+        }
+    }
+}
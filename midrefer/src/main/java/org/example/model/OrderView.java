@@ -0,0 +1,20 @@
+package org.example.model;
+
+// DeliveryService 需要的訂單欄位，Order 物件和 OrderTable 的列都可以當成訂單來處理
+public interface OrderView {
+    String getOrderId();
+    String getCustomerName();
+
+    // 營業時間與餐廳位置都從共用的餐廳資料讀取
+    Restaurant getRestaurant();
+
+    int getOrderHour();
+    long getOrderDay();   // 下單日期，以 epoch day 表示
+    int getCustomerX();
+    int getCustomerY();
+
+    OrderStatus getStatus();
+
+    // 原子地把狀態從 expected 推進到 next，只允許狀態機上相鄰的一步
+    boolean compareAndSetStatus(OrderStatus expected, OrderStatus next);
+}
@@ -0,0 +1,8 @@
+package org.example.model;
+
+// 訂單被拒絕的原因，依照接單時的檢查順序排列
+public enum RejectionReason {
+    CLOSED,       // 非營業時間
+    TOO_FAR,      // 超出合理外送距離
+    WRONG_STATE   // 訂單狀態不允許這個操作
+}
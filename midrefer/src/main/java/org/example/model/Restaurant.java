@@ -0,0 +1,76 @@
+package org.example.model;
+
+// 餐廳資料：同一間餐廳的所有訂單共用這一筆，修改營業時間或位置只要改這裡
+// 營業時段是不可修改的 OpeningSchedule，座標打包成一個 volatile long，更新時讀取端不會讀到一半新一半舊的值
+public class Restaurant {
+
+    // 沒有登錄在 RestaurantRegistry 的餐廳使用的 id
+    public static final int UNREGISTERED = -1;
+
+    private final int id;
+    private final String name;
+    private volatile OpeningSchedule schedule;
+    private volatile long location;  // 高 32 位元為 X，低 32 位元為 Y
+
+    public Restaurant(int id, String name, OpeningSchedule schedule, int x, int y) {
+        this.id = id;
+        this.name = name;
+        this.schedule = schedule;
+        this.location = pack(x, y);
+    }
+
+    // 每天同一個營業時段
+    public Restaurant(int id, String name, int openHour, int closeHour, int x, int y) {
+        this(id, name, OpeningSchedule.daily(openHour, closeHour), x, y);
+    }
+
+    public int getId() { return id; }
+    public String getName() { return name; }
+
+    public OpeningSchedule getSchedule() { return schedule; }
+
+    public int getX() { return high(location); }
+    public int getY() { return low(location); }
+
+    public void setSchedule(OpeningSchedule schedule) {
+        this.schedule = schedule;
+    }
+
+    // 改成每天同一個營業時段，時間用四位數字表示，例如晚上九點半為 2100
+    public void updateHours(int openHour, int closeHour) {
+        this.schedule = OpeningSchedule.daily(openHour, closeHour);
+    }
+
+    public void moveTo(int x, int y) {
+        this.location = pack(x, y);
+    }
+
+    // 指定日期（epoch day）與時間是否營業
+    public boolean isOpenAt(long epochDay, int hhmm) {
+        return schedule.isOpenAt(epochDay, hhmm);
+    }
+
+    // 餐廳到 (x, y) 的距離平方
+    public long distanceSquaredTo(int x, int y) {
+        long loc = location;
+        long dx = (long) high(loc) - x;
+        long dy = (long) low(loc) - y;
+        return dx * dx + dy * dy;
+    }
+
+    private static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    private static int high(long packed) { return (int) (packed >> 32); }
+    private static int low(long packed) { return (int) packed; }
+
+    @Override
+    public String toString() {
+        return "Restaurant{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", location=(" + getX() + ", " + getY() + ")" +
+                '}';
+    }
+}
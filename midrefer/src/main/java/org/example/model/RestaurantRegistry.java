@@ -0,0 +1,58 @@
+package org.example.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// 以 id 登錄餐廳，id 從 0 開始連續配發，查詢只是一次陣列存取
+// 登錄時加鎖，查詢不加鎖
+public class RestaurantRegistry {
+
+    private volatile Restaurant[] restaurants = new Restaurant[16];
+    private int size;
+
+    // 登錄一間新餐廳並配發 id
+    public Restaurant register(String name, int openHour, int closeHour, int x, int y) {
+        return register(name, OpeningSchedule.daily(openHour, closeHour), x, y);
+    }
+
+    // 同上，營業時段不是每天相同時使用
+    public synchronized Restaurant register(String name, OpeningSchedule schedule, int x, int y) {
+        Restaurant[] current = restaurants;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        Restaurant restaurant = new Restaurant(size, name, schedule, x, y);
+        current[size++] = restaurant;
+        restaurants = current;  // volatile 寫入，讓查詢端看到新登錄的餐廳
+        return restaurant;
+    }
+
+    // 依 id 查詢餐廳，不存在時回傳 null
+    public Restaurant get(int id) {
+        Restaurant[] current = restaurants;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    // 批次查詢指定時刻有哪些餐廳營業，回傳以餐廳 id 為位置的 BitSet
+    public BitSet openAt(long epochDay, int hhmm) {
+        BitSet open = new BitSet();
+        int minute = OpeningSchedule.minuteOfWeek(epochDay, hhmm);
+        if (minute < 0) {
+            return open;
+        }
+        Restaurant[] current = restaurants;
+        for (int id = 0; id < current.length; id++) {
+            Restaurant r = current[id];
+            if (r == null) break;
+            OpeningSchedule s = r.getSchedule();
+            if (s.isOpenAtMinute(epochDay, minute)) {
+                open.set(id);
+            }
+        }
+        return open;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.service;
+
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+
+// 批次接單中單一訂單的結果：成功接單，或被拒絕及原因
+public class AcceptOutcome {
+    private final OrderView order;
+    private final ValidationResult result;
+
+    AcceptOutcome(OrderView order, ValidationResult result) {
+        this.order = order;
+        this.result = result;
+    }
+
+    public OrderView getOrder() { return order; }
+    public ValidationResult getResult() { return result; }
+    public boolean isAccepted() { return result.isAccepted(); }
+    public RejectionReason getReason() { return result.getReason(); }
+
+    // 拒絕訊息在呼叫時才組出來，接單成功時為 null
+    public String getRejectReason() {
+        return result.isAccepted() ? null : result.getMessage();
+    }
+
+    @Override
+    public String toString() {
+        return "AcceptOutcome{" +
+                "orderId='" + order.getOrderId() + '\'' +
+                ", " + (isAccepted() ? "accepted" : "rejected=" + result.getReason()) +
+                '}';
+    }
+}
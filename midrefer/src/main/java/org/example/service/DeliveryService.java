@@ -1,93 +1,313 @@
 package org.example.service;
 
-import org.example.model.Order;
+import org.example.model.OpeningSchedule;
+import org.example.model.OrderView;
 import org.example.model.OrderStatus;
+import org.example.model.RejectionReason;
 import org.example.exception.BusinessException;
+import org.example.exception.SystemException;
+import org.example.logging.LogThrottle;
+import org.example.metrics.DeliveryMetrics;
+import org.example.metrics.RestaurantStatusBoard;
+import org.example.spatial.DistanceProvider;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class DeliveryService {
 
     private static final Logger logger = LogManager.getLogger(DeliveryService.class);
-    private static final double MAX_DISTANCE = 10.0;  // 最大外送距離
+    public static final double MAX_DISTANCE = 10.0;   // 最大外送距離
+    private static final int MIN_BATCH_CHUNK = 256;    // 批次接單時每個虛擬執行緒至少處理幾張單
+
+    // 狀態不對的取餐、送達可能大量重複，每種警告每秒最多記錄 10 行，其餘只計數，
+    // 下一秒再出現同樣的警告時補一行摘要；最後一段的摘要要由 flushWarnings() 寫出
+    private static final String NOT_ACCEPTED = "訂單尚未被餐廳接單，無法取餐。";
+    private static final String NOT_PICKED_UP = "訂單尚未被取餐，無法送達。";
+    private static final int WARNINGS_PER_SECOND = 10;
+    private final LogThrottle pickupWarnings = new LogThrottle(logger, NOT_ACCEPTED, WARNINGS_PER_SECOND, Duration.ofSeconds(1));
+    private final LogThrottle deliverWarnings = new LogThrottle(logger, NOT_PICKED_UP, WARNINGS_PER_SECOND, Duration.ofSeconds(1));
+
+    // 狀態事件監聽者，寫入時複製整個陣列，發送事件時不用加鎖
+    private volatile OrderEventListener[] listeners = new OrderEventListener[0];
+
+    public synchronized void addListener(OrderEventListener listener) {
+        OrderEventListener[] current = listeners;
+        OrderEventListener[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = listener;
+        listeners = next;
+    }
+
+    public synchronized void removeListener(OrderEventListener listener) {
+        listeners = Arrays.stream(listeners).filter(l -> l != listener).toArray(OrderEventListener[]::new);
+    }
+
+    // 監控數據，沒有啟用時是 null，接單、取餐、送達都不會多量時間
+    private volatile DeliveryMetrics metrics;
+
+    // 啟用監控：建立 DeliveryMetrics 並登記為事件監聽者，重複呼叫回傳同一份
+    public synchronized DeliveryMetrics enableMetrics() {
+        if (metrics == null) {
+            DeliveryMetrics created = new DeliveryMetrics();
+            addListener(created);
+            metrics = created;
+        }
+        return metrics;
+    }
+
+    // 目前的監控數據，沒有啟用時回傳 null
+    public DeliveryMetrics getMetrics() {
+        return metrics;
+    }
+
+    // 每間餐廳各狀態的訂單數，沒有啟用時是 null
+    private volatile RestaurantStatusBoard statusBoard;
+
+    // 啟用每間餐廳的狀態計數：建立 RestaurantStatusBoard 並登記為事件監聽者，重複呼叫回傳同一份
+    // 啟用之前已經建立的訂單不會被計入
+    public synchronized RestaurantStatusBoard enableStatusBoard() {
+        if (statusBoard == null) {
+            RestaurantStatusBoard created = new RestaurantStatusBoard();
+            addListener(created);
+            statusBoard = created;
+        }
+        return statusBoard;
+    }
+
+    // 目前的狀態計數，沒有啟用時回傳 null
+    public RestaurantStatusBoard getStatusBoard() {
+        return statusBoard;
+    }
+
+    // 外送距離的算法，預設是直線距離；換成 RoadDistanceProvider 就依街道地圖計算
+    private volatile DistanceProvider distanceProvider = DistanceProvider.EUCLIDEAN;
+
+    public void setDistanceProvider(DistanceProvider distanceProvider) {
+        this.distanceProvider = Objects.requireNonNull(distanceProvider);
+    }
+
+    public DistanceProvider getDistanceProvider() {
+        return distanceProvider;
+    }
+
+    // 新訂單進入系統時呼叫，通知監聽者計入這張訂單；要在第一次接單、取餐、送達之前呼叫
+    public void orderCreated(OrderView order) {
+        for (OrderEventListener listener : listeners) {
+            listener.onCreated(order);
+        }
+    }
+
+    private void fireTransition(OrderView order, OrderStatus from, OrderStatus to) {
+        for (OrderEventListener listener : listeners) {
+            listener.onTransition(order, from, to);
+        }
+    }
+
+    private void fireRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+        for (OrderEventListener listener : listeners) {
+            listener.onRejected(order, target, reason);
+        }
+    }
 
     // 檢查是否在營業時間內
-    private void checkOpenClose(Order order) throws BusinessException {
+    private ValidationResult checkOpenClose(OrderView order) {
+        // 先取出營業時段，判定與組訊息都用同一份
+        OpeningSchedule schedule = order.getRestaurant().getSchedule();
+        long day = order.getOrderDay();
         int hour = order.getOrderHour();
-        if(hour < order.getRestaurantOpenHour() || hour >= order.getRestaurantCloseHour()) {
-            throw new BusinessException(
-                    "目前非 " + order.getRestaurantName() + " 營業時間 (營業時間: " +
-                            order.getRestaurantOpenHour() + "-" + order.getRestaurantCloseHour() +
-                            "，訂單時間: " + hour + ")。"
-            );
+        if(!schedule.isOpenAt(day, hour)) {
+            return ValidationResult.closed(order, schedule, day, hour);
         }
-        logger.info("餐廳 {} 營業中，可接單。", order.getRestaurantName());
+        return ValidationResult.ACCEPTED;
     }
 
 
-    // 檢查餐廳和顧客距離是否合理
-    private void checkDeliveryDistance(Order order) throws BusinessException {
-        double distance = Math.sqrt(Math.pow(order.getRestaurantX() - order.getCustomerX(), 2)
-                + Math.pow(order.getRestaurantY() - order.getCustomerY(), 2));
-        if (distance > MAX_DISTANCE) {
-            throw new BusinessException(
-                    // 距離顯示到小數點後一位就好
-                    String.format("餐廳 %s 與顧客 %s 距離 %.1f km 超出合理外送距離。",
-                            order.getRestaurantName(), order.getCustomerName(), distance)
-            );
+    // 檢查餐廳和顧客距離是否合理，直接比較距離平方，省掉開根號
+    // 先用直線距離篩選：其他算法的距離不會比直線短，直線已經太遠就不用再查地圖
+    private ValidationResult checkDeliveryDistance(OrderView order) {
+        long distanceSquared = order.getRestaurant().distanceSquaredTo(order.getCustomerX(), order.getCustomerY());
+        if (distanceSquared > MAX_DISTANCE * MAX_DISTANCE) {
+            return ValidationResult.tooFar(order, distanceSquared);
         }
-        String distanceStr = String.format("%.1f", distance);  // 距離顯示到小數點後一位就好
-        logger.info("餐廳 {} 與顧客 {} 距離 {} km，在合理範圍內。",
-                order.getRestaurantName(), order.getCustomerName(), distanceStr);
+        DistanceProvider provider = distanceProvider;
+        if (provider != DistanceProvider.EUCLIDEAN) {
+            distanceSquared = provider.distanceSquared(order.getRestaurant(), order.getCustomerX(), order.getCustomerY());
+            if (distanceSquared > MAX_DISTANCE * MAX_DISTANCE) {
+                return ValidationResult.tooFar(order, distanceSquared);
+            }
+        }
+        return ValidationResult.ACCEPTED;
     }
 
-    // 餐廳接單
-    public void acceptOrder(Order order) throws BusinessException {
-        logger.info("餐廳 {} 正在接受訂單 {}。", order.getRestaurantName(), order.getOrderId());
+    // 檢查訂單能不能接：營業時間、距離，不丟例外也不寫日誌
+    public ValidationResult validate(OrderView order) {
+        ValidationResult result = checkOpenClose(order);  // 檢查營業時間
+        if (!result.isAccepted()) {
+            return result;
+        }
+        return checkDeliveryDistance(order);               // 檢查距離
+    }
 
-        checkOpenClose(order);         // 檢查營業時間
-        checkDeliveryDistance(order);  // 檢查距離
+    // 接單的快速路徑：驗證通過就把狀態推進到 ACCEPTED，被拒時回傳原因而不是丟例外
+    public ValidationResult tryAcceptOrder(OrderView order) {
+        DeliveryMetrics metrics = this.metrics;
+        if (metrics == null) {
+            return doTryAcceptOrder(order);
+        }
+        long start = System.nanoTime();
+        ValidationResult result = doTryAcceptOrder(order);
+        metrics.recordAccept(System.nanoTime() - start);
+        return result;
+    }
+
+    private ValidationResult doTryAcceptOrder(OrderView order) {
+        ValidationResult result = validate(order);
+        if (!result.isAccepted()) {
+            fireRejected(order, OrderStatus.ACCEPTED, result.getReason());
+            return result;
+        }
 
-        if(order.getStatus() != OrderStatus.PENDING) {
-            throw new BusinessException("只能接 PENDING 狀態的訂單。");
+        // 用 CAS 推進狀態，多個執行緒同時接同一張單時只有一個會成功
+        if(!order.compareAndSetStatus(OrderStatus.PENDING, OrderStatus.ACCEPTED)) {
+            fireRejected(order, OrderStatus.ACCEPTED, RejectionReason.WRONG_STATE);
+            return ValidationResult.wrongState(order);
         }
 
-        order.setStatus(OrderStatus.ACCEPTED);
         // 訂單狀態有更新就在日誌中紀錄
-        logger.info("訂單 {} 狀態變更為 {}。", order.getOrderId(), order.getStatus());
+        logger.info("訂單 {} 狀態變更為 {}。", order.getOrderId(), OrderStatus.ACCEPTED);
+        fireTransition(order, OrderStatus.PENDING, OrderStatus.ACCEPTED);
+        return ValidationResult.ACCEPTED;
     }
 
-    // 外送員取餐
-    public void pickupOrder(Order order) {
-        try {
-            // 訂單要先被餐廳接受才能被外送員取餐
-            if(order.getStatus() != OrderStatus.ACCEPTED) {
-                throw new BusinessException("訂單尚未被餐廳接單，無法取餐。");
+    // 餐廳接單：包在 tryAcceptOrder 外面，被拒時才組訊息丟出 BusinessException
+    public void acceptOrder(OrderView order) throws BusinessException {
+        logger.info("餐廳 {} 正在接受訂單 {}。", order.getRestaurant().getName(), order.getOrderId());
+
+        ValidationResult result = tryAcceptOrder(order);
+        RejectionReason reason = result.getReason();
+
+        // 檢查依序進行，只記錄有通過的檢查
+        if (reason != RejectionReason.CLOSED) {
+            logger.info("餐廳 {} 營業中，可接單。", order.getRestaurant().getName());
+        }
+        if (reason != RejectionReason.CLOSED && reason != RejectionReason.TOO_FAR && logger.isInfoEnabled()) {
+            // 距離顯示到小數點後一位就好；Unbox 使用執行緒自己的緩衝區，不會產生 String.format 的暫存物件
+            double distance = Math.round(distance(order) * 10) / 10.0;
+            logger.info("餐廳 {} 與顧客 {} 距離 {} km，在合理範圍內。",
+                    order.getRestaurant().getName(), order.getCustomerName(), Unbox.box(distance));
+        }
+
+        if (!result.isAccepted()) {
+            throw new BusinessException(result.getMessage());
+        }
+    }
+
+    private double distance(OrderView order) {
+        return Math.sqrt(distanceProvider.distanceSquared(order.getRestaurant(), order.getCustomerX(), order.getCustomerY()));
+    }
+
+    // 批次接單：在虛擬執行緒上平行驗證，每張訂單各自回傳結果，不會因為某一張被拒就中斷
+    // 回傳的結果順序和輸入順序相同
+    public List<AcceptOutcome> acceptOrders(Collection<? extends OrderView> orders) {
+        OrderView[] input = orders.toArray(new OrderView[0]);
+        AcceptOutcome[] results = new AcceptOutcome[input.length];
+
+        // 依核心數切塊，避免一張單一個執行緒的排程成本蓋過驗證本身
+        int chunks = Runtime.getRuntime().availableProcessors() * 4;
+        int chunkSize = Math.max(MIN_BATCH_CHUNK, (input.length + chunks - 1) / chunks);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = 0; from < input.length; from += chunkSize) {
+                int start = from;
+                int end = Math.min(input.length, from + chunkSize);
+                futures.add(executor.submit(() -> {
+                    for (int i = start; i < end; i++) {
+                        results[i] = new AcceptOutcome(input[i], tryAcceptOrder(input[i]));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("批次接單被中斷。");
+        } catch (ExecutionException e) {
+            throw new SystemException("批次接單失敗: " + e.getCause());
+        }
+        return Arrays.asList(results);
+    }
 
-            order.setStatus(OrderStatus.PICKED_UP);
-            // 訂單狀態有更新就在日誌中紀錄
-            logger.info("{} 狀態變更為 {}。", order.getOrderId(), order.getStatus());
+    // 把限流略過、還沒寫出摘要的警告次數寫成摘要，回傳寫出的次數；結束前或定期呼叫
+    public long flushWarnings() {
+        return pickupWarnings.flush() + deliverWarnings.flush();
+    }
 
-        } catch (BusinessException e) {
-            logger.warn("{}", e.getMessage());
+    // 外送員取餐，成功取餐回傳 true
+    public boolean pickupOrder(OrderView order) {
+        DeliveryMetrics metrics = this.metrics;
+        if (metrics == null) {
+            return doPickupOrder(order);
         }
+        long start = System.nanoTime();
+        boolean picked = doPickupOrder(order);
+        metrics.recordPickup(System.nanoTime() - start);
+        return picked;
     }
 
-    // 訂單送達
-    public void deliverOrder(Order order) {
-        try {
-            // 訂單要先被外送員取餐才能送餐
-            if(order.getStatus() != OrderStatus.PICKED_UP) {
-                throw new BusinessException("訂單尚未被取餐，無法送達。");
+    private boolean doPickupOrder(OrderView order) {
+        // 訂單要先被餐廳接受才能被外送員取餐，兩個外送員搶同一張單只有一個會成功
+        if(!order.compareAndSetStatus(OrderStatus.ACCEPTED, OrderStatus.PICKED_UP)) {
+            if (pickupWarnings.tryAcquire()) {
+                logger.warn(NOT_ACCEPTED);
             }
+            fireRejected(order, OrderStatus.PICKED_UP, RejectionReason.WRONG_STATE);
+            return false;
+        }
 
-            order.setStatus(OrderStatus.DELIVERED);
-            // 訂單狀態有更新就在日誌中紀錄
-            logger.info("訂單 {} 狀態變更為 {}。", order.getOrderId(), order.getStatus());
+        // 訂單狀態有更新就在日誌中紀錄
+        logger.info("{} 狀態變更為 {}。", order.getOrderId(), OrderStatus.PICKED_UP);
+        fireTransition(order, OrderStatus.ACCEPTED, OrderStatus.PICKED_UP);
+        return true;
+    }
+
+    // 訂單送達，成功送達回傳 true
+    public boolean deliverOrder(OrderView order) {
+        DeliveryMetrics metrics = this.metrics;
+        if (metrics == null) {
+            return doDeliverOrder(order);
+        }
+        long start = System.nanoTime();
+        boolean delivered = doDeliverOrder(order);
+        metrics.recordDeliver(System.nanoTime() - start);
+        return delivered;
+    }
 
-        } catch (BusinessException e) {
-            logger.warn("{}", e.getMessage());
+    private boolean doDeliverOrder(OrderView order) {
+        // 訂單要先被外送員取餐才能送餐
+        if(!order.compareAndSetStatus(OrderStatus.PICKED_UP, OrderStatus.DELIVERED)) {
+            if (deliverWarnings.tryAcquire()) {
+                logger.warn(NOT_PICKED_UP);
+            }
+            fireRejected(order, OrderStatus.DELIVERED, RejectionReason.WRONG_STATE);
+            return false;
         }
+
+        // 訂單狀態有更新就在日誌中紀錄
+        logger.info("訂單 {} 狀態變更為 {}。", order.getOrderId(), OrderStatus.DELIVERED);
+        fireTransition(order, OrderStatus.PICKED_UP, OrderStatus.DELIVERED);
+        return true;
     }
 }
@@ -0,0 +1,21 @@
+package org.example.service;
+
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+
+// 訂單狀態事件的監聽者，DeliveryService 每次新增訂單、狀態變更或拒絕操作時呼叫
+// 會在處理訂單的執行緒上同步呼叫，實作必須是執行緒安全且要夠快
+public interface OrderEventListener {
+
+    // 新訂單進入系統，目前處於 order.getStatus()（新建立的訂單是 PENDING，從快照還原的可能已經推進過）
+    // 同一張訂單的 onCreated 一定在它的 onTransition 之前；只關心狀態變更的監聽者不用實作
+    default void onCreated(OrderView order) {
+    }
+
+    // 狀態成功從 from 推進到 to
+    void onTransition(OrderView order, OrderStatus from, OrderStatus to);
+
+    // 想把訂單推進到 target 但被拒絕
+    void onRejected(OrderView order, OrderStatus target, RejectionReason reason);
+}
@@ -0,0 +1,265 @@
+package org.example.service;
+
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+// 以數字訂單編號查詢 Order，long 鍵的開放定址雜湊表，不裝箱
+// - 線性探測，鍵與值各放在一個陣列，每筆只佔一個 long 與一個參考
+// - 寫入（put / remove）加鎖；查詢不加鎖，寫入的同時也可以查詢
+// - 刪除只把位置標成墓碑，不會搬動其他位置，查詢中的執行緒不會漏掉資料
+// - 墓碑和資料加起來超過七成時重建成新的表，再以 volatile 發布
+// 登記為 DeliveryService 的監聽者後，訂單送達時會自動移除
+public class OrderRegistry implements OrderEventListener {
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Order[].class);
+
+    // 訂單編號只接受非負數，負數拿來當作空位與墓碑
+    private static final long EMPTY = -1;
+    private static final long TOMBSTONE = -2;
+    private static final int MIN_CAPACITY = 16;
+    private static final double MAX_LOAD = 0.7;
+
+    // 一份固定大小的表，建立之後只有 OrderRegistry 在鎖內修改它的位置
+    private static final class Table {
+        final long[] keys;
+        final Order[] values;
+        final int mask;
+        final int shift;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Order[capacity];
+            mask = capacity - 1;
+            shift = Long.numberOfLeadingZeros(capacity) + 1;
+            Arrays.fill(keys, EMPTY);
+        }
+
+        // Fibonacci hashing：乘上黃金比例後取最高幾位，連續的訂單編號也會均勻分散
+        int slot(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+        }
+    }
+
+    private volatile Table table;
+    private int size;
+    private int used;   // 資料加上墓碑，決定何時重建
+
+    public OrderRegistry() {
+        this(MIN_CAPACITY);
+    }
+
+    // expectedSize：預計同時存放的訂單數，事先配置避免重建
+    public OrderRegistry(int expectedSize) {
+        table = new Table(capacityFor(expectedSize));
+    }
+
+    private static int capacityFor(int entries) {
+        long needed = Math.max(MIN_CAPACITY, (long) Math.ceil(entries / 0.5));
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("訂單數量過多: " + entries);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    // 把訂單編號轉成數字鍵，只接受 0 到 Long.MAX_VALUE 的十進位數字，不是數字時回傳 -1
+    // 有前導 0 的編號（"01"、"001"）也回傳 -1，否則 "1" 和 "001" 會被當成同一張訂單
+    public static long parseId(String orderId) {
+        int length = orderId.length();
+        if (length == 0 || length > 19 || (length > 1 && orderId.charAt(0) == '0')) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = orderId.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+            if (value < 0) {
+                return -1;   // 溢位
+            }
+        }
+        return value;
+    }
+
+    // ========= 查詢 =========
+
+    // 依數字編號查詢，不存在時回傳 null
+    public Order get(long id) {
+        if (id < 0) {
+            return null;
+        }
+        Table t = table;
+        int i = t.slot(id);
+        while (true) {
+            long key = (long) KEYS.getAcquire(t.keys, i);
+            if (key == id) {
+                return (Order) VALUES.getAcquire(t.values, i);
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+            i = (i + 1) & t.mask;
+        }
+    }
+
+    // 依原本的字串編號查詢，例如 "1024"
+    public Order get(String orderId) {
+        return get(parseId(orderId));
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // ========= 寫入 =========
+
+    // 登記訂單，編號已存在時取代並回傳舊的訂單
+    public synchronized Order put(Order order) {
+        return put(order, true);
+    }
+
+    // 編號不存在時才登記，已存在時不修改並回傳現有的訂單
+    public synchronized Order putIfAbsent(Order order) {
+        return put(order, false);
+    }
+
+    private Order put(Order order, boolean replace) {
+        long id = parseId(order.getOrderId());
+        if (id < 0) {
+            throw new IllegalArgumentException("訂單編號必須是不含前導 0 的數字: " + order.getOrderId());
+        }
+        Table t = table;
+        int i = t.slot(id);
+        while (true) {
+            long key = t.keys[i];
+            if (key == id) {
+                Order previous = t.values[i];
+                if (replace) {
+                    VALUES.setRelease(t.values, i, order);
+                }
+                return previous;
+            }
+            if (key == EMPTY) {
+                break;
+            }
+            i = (i + 1) & t.mask;
+        }
+        // 不重用墓碑：先寫值再寫鍵，查詢端看到鍵時一定看得到值
+        VALUES.setRelease(t.values, i, order);
+        KEYS.setRelease(t.keys, i, id);
+        size++;
+        if (++used > t.keys.length * MAX_LOAD) {
+            rebuild();
+        }
+        return null;
+    }
+
+    // 移除並回傳訂單，不存在時回傳 null
+    public synchronized Order remove(long id) {
+        if (id < 0) {
+            return null;
+        }
+        Table t = table;
+        int i = t.slot(id);
+        while (true) {
+            long key = t.keys[i];
+            if (key == id) {
+                Order previous = t.values[i];
+                removeAt(t, i);
+                return previous;
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+            i = (i + 1) & t.mask;
+        }
+    }
+
+    public Order remove(String orderId) {
+        return remove(parseId(orderId));
+    }
+
+    // 只有目前登記的正好是 expected 這個物件時才移除，編號已經被新的訂單取代時不動
+    public synchronized boolean remove(long id, OrderView expected) {
+        if (id < 0) {
+            return false;
+        }
+        Table t = table;
+        int i = t.slot(id);
+        while (true) {
+            long key = t.keys[i];
+            if (key == id) {
+                if (t.values[i] != expected) {
+                    return false;
+                }
+                removeAt(t, i);
+                return true;
+            }
+            if (key == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & t.mask;
+        }
+    }
+
+    // 一次移除所有已送達的訂單，回傳移除的數量；沒有登記為監聽者時用來定期清理
+    public synchronized int removeDelivered() {
+        Table t = table;
+        int removed = 0;
+        for (int i = 0; i < t.keys.length; i++) {
+            Order order = t.values[i];
+            if (order != null && order.getStatus() == OrderStatus.DELIVERED) {
+                removeAt(t, i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // 先清掉值再標成墓碑，查詢端最多看到 null
+    private void removeAt(Table t, int i) {
+        VALUES.setRelease(t.values, i, null);
+        KEYS.setRelease(t.keys, i, TOMBSTONE);
+        size--;
+    }
+
+    // 重建成新的表，去掉墓碑；舊的表不再修改，正在查詢舊表的執行緒仍然看到一致的內容
+    private void rebuild() {
+        Table old = table;
+        Table next = new Table(capacityFor(size + 1));
+        for (int i = 0; i < old.keys.length; i++) {
+            long key = old.keys[i];
+            if (key >= 0) {
+                int j = next.slot(key);
+                while (next.keys[j] != EMPTY) {
+                    j = (j + 1) & next.mask;
+                }
+                next.keys[j] = key;
+                next.values[j] = old.values[i];
+            }
+        }
+        used = size;
+        table = next;   // volatile 寫入，發布整張新表
+    }
+
+    // ========= 事件 =========
+
+    @Override
+    public void onTransition(OrderView order, OrderStatus from, OrderStatus to) {
+        if (to == OrderStatus.DELIVERED) {
+            remove(parseId(order.getOrderId()), order);
+        }
+    }
+
+    @Override
+    public void onRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+    }
+}
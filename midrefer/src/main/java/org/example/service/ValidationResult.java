@@ -0,0 +1,78 @@
+package org.example.service;
+
+import org.example.model.OpeningSchedule;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.spatial.DistanceProvider;
+
+// 接單驗證結果：只保存拒絕原因和相關的數值，訊息字串等到真的需要時才組出來
+// 驗證通過時一律回傳同一個 ACCEPTED 物件，不會額外配置記憶體
+public final class ValidationResult {
+
+    public static final ValidationResult ACCEPTED = new ValidationResult(null, null, null, 0L, 0, 0L);
+
+    private final RejectionReason reason;  // 通過時為 null
+    private final OrderView order;
+    private final OpeningSchedule schedule; // 判定時使用的營業時段
+    private final long orderDay;
+    private final int orderHour;
+    private final long distanceSquared;    // 距離平方，需要時才開根號
+
+    private ValidationResult(RejectionReason reason, OrderView order, OpeningSchedule schedule,
+                             long orderDay, int orderHour, long distanceSquared) {
+        this.reason = reason;
+        this.order = order;
+        this.schedule = schedule;
+        this.orderDay = orderDay;
+        this.orderHour = orderHour;
+        this.distanceSquared = distanceSquared;
+    }
+
+    static ValidationResult closed(OrderView order, OpeningSchedule schedule, long orderDay, int orderHour) {
+        return new ValidationResult(RejectionReason.CLOSED, order, schedule, orderDay, orderHour, 0L);
+    }
+
+    static ValidationResult tooFar(OrderView order, long distanceSquared) {
+        return new ValidationResult(RejectionReason.TOO_FAR, order, null, 0L, 0, distanceSquared);
+    }
+
+    static ValidationResult wrongState(OrderView order) {
+        return new ValidationResult(RejectionReason.WRONG_STATE, order, null, 0L, 0, 0L);
+    }
+
+    public boolean isAccepted() { return reason == null; }
+    public RejectionReason getReason() { return reason; }
+    public OpeningSchedule getSchedule() { return schedule; }
+    public long getOrderDay() { return orderDay; }
+    public int getOrderHour() { return orderHour; }
+    public double getDistance() {
+        return distanceSquared == DistanceProvider.UNREACHABLE ? Double.POSITIVE_INFINITY : Math.sqrt(distanceSquared);
+    }
+
+    // 人看得懂的拒絕訊息，和原本 BusinessException 的內容一致
+    public String getMessage() {
+        if (reason == null) {
+            return "訂單可接單。";
+        }
+        switch (reason) {
+            case CLOSED:
+                return "目前非 " + order.getRestaurant().getName() + " 營業時間 (營業時間: " +
+                        schedule.describe(orderDay) + "，訂單時間: " + orderHour + ")。";
+            case TOO_FAR:
+                if (distanceSquared == DistanceProvider.UNREACHABLE) {
+                    return String.format("餐廳 %s 與顧客 %s 之間沒有合理外送距離內的道路。",
+                            order.getRestaurant().getName(), order.getCustomerName());
+                }
+                // 距離顯示到小數點後一位就好
+                return String.format("餐廳 %s 與顧客 %s 距離 %.1f km 超出合理外送距離。",
+                        order.getRestaurant().getName(), order.getCustomerName(), getDistance());
+            default:
+                return "只能接 PENDING 狀態的訂單。";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResult{" + (reason == null ? "ACCEPTED" : reason) + '}';
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.shard;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// 多生產者、單一消費者的無鎖佇列（Vyukov 的鏈結串列版本）
+// 生產者以一次 getAndSet 搶到尾端再接上 next，不需要 CAS 重試；消費者只讀 head，不和生產者競爭
+// 同一個生產者依序放入的元素會依序取出
+final class MpscQueue<E> {
+
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(MpscQueue.class, "tail", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    static final class Node<E> {
+        E value;
+        volatile Node<E> next;
+
+        Node(E value) {
+            this.value = value;
+        }
+    }
+
+    @SuppressWarnings("unused")   // 透過 TAIL 存取
+    private volatile Node<E> tail;
+    private Node<E> head;         // 只有消費者存取，指向已取出的最後一個節點
+
+    MpscQueue() {
+        Node<E> stub = new Node<>(null);
+        head = stub;
+        tail = stub;
+    }
+
+    // 任何執行緒都可以呼叫
+    @SuppressWarnings("unchecked")
+    void offer(E value) {
+        Node<E> node = new Node<>(value);
+        Node<E> previous = (Node<E>) TAIL.getAndSet(this, node);
+        NEXT.setVolatile(previous, node);
+    }
+
+    // 只有消費者可以呼叫；空的時候回傳 null
+    // 生產者搶到尾端但還沒接上 next 的短暫期間也會回傳 null，該生產者接上之後會再喚醒消費者
+    E poll() {
+        Node<E> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        E value = next.value;
+        next.value = null;
+        head = next;
+        return value;
+    }
+
+    // 只有消費者可以呼叫
+    boolean isEmpty() {
+        return head.next == null;
+    }
+}
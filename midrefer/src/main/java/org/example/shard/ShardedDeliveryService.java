@@ -0,0 +1,243 @@
+package org.example.shard;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.exception.SystemException;
+import org.example.model.OrderView;
+import org.example.model.Restaurant;
+import org.example.service.DeliveryService;
+import org.example.service.ValidationResult;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToIntFunction;
+
+// 依餐廳把訂單分到 N 個分片，每個分片由一條執行緒獨自處理，同一張訂單永遠只有一條執行緒在推進
+// - 每個分片有自己的 MpscQueue，呼叫端把接單、取餐、送達的指令放進佇列後立即拿到 CompletableFuture
+// - 分片執行緒依序取出指令呼叫 DeliveryService，結果在分片執行緒上完成 future，
+//   所以 thenApply 等後續動作也會在分片執行緒上執行，耗時的工作請改用 thenApplyAsync
+// - 同一條執行緒對同一張訂單送出的指令會依送出順序執行，可以連續送出接單、取餐、送達不必等待
+// - 佇列空了分片執行緒會先短暫自旋再 park，放入指令時才喚醒
+public class ShardedDeliveryService implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(ShardedDeliveryService.class);
+    private static final int SPIN_BEFORE_PARK = 200;
+
+    private enum Kind { CREATE, ACCEPT, PICKUP, DELIVER }
+
+    private static final class Command {
+        private static final VarHandle CLAIMED;
+
+        static {
+            try {
+                CLAIMED = MethodHandles.lookup().findVarHandle(Command.class, "claimed", boolean.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        final Kind kind;
+        final OrderView order;
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile boolean claimed;
+
+        Command(Kind kind, OrderView order) {
+            this.kind = kind;
+            this.order = order;
+        }
+
+        // 執行或放棄指令前先搶下它，分片執行緒、關閉時清佇列、送出後發現已關閉三方只會有一方成功
+        boolean claim() {
+            return CLAIMED.compareAndSet(this, false, true);
+        }
+
+        void reject(String message) {
+            if (claim()) {
+                future.completeExceptionally(new SystemException(message));
+            }
+        }
+    }
+
+    private final class Shard implements Runnable {
+        final MpscQueue<Command> queue = new MpscQueue<>();
+        final Thread thread;
+        volatile boolean sleeping;
+        volatile long executed;   // 只有分片執行緒寫入，volatile 讓 executedPerShard 一定讀得到
+
+        Shard(int index) {
+            thread = new Thread(this, "delivery-shard-" + index);
+            thread.setDaemon(true);
+        }
+
+        void submit(Command command) {
+            queue.offer(command);
+            // 先放入再檢查 sleeping；分片執行緒先設 sleeping 再檢查佇列，兩邊至少有一邊會看到對方
+            if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (running) {
+                Command command = queue.poll();
+                if (command != null) {
+                    if (command.claim()) {
+                        execute(command);
+                        executed++;
+                    }
+                    idle = 0;
+                    continue;
+                }
+                if (++idle < SPIN_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                sleeping = true;
+                if (queue.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                sleeping = false;
+                idle = 0;
+            }
+        }
+
+        // 分片執行緒結束後由關閉的執行緒呼叫，仍然只有一個消費者
+        void failPending() {
+            Command command;
+            while ((command = queue.poll()) != null) {
+                command.reject("分片已關閉，指令未執行。");
+            }
+        }
+    }
+
+    private final DeliveryService service;
+    private final ToIntFunction<OrderView> partitionKey;
+    private final Shard[] shards;
+    private volatile boolean running = true;
+
+    // 依餐廳分片
+    public ShardedDeliveryService(DeliveryService service, int shardCount) {
+        this(service, shardCount, ShardedDeliveryService::restaurantKey);
+    }
+
+    // 自訂分片依據，例如以顧客所在的網格；同一張訂單每次都必須得到相同的值
+    public ShardedDeliveryService(DeliveryService service, int shardCount, ToIntFunction<OrderView> partitionKey) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("分片數必須大於 0");
+        }
+        this.service = service;
+        this.partitionKey = partitionKey;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+        logger.info("已啟動 {} 個訂單分片。", shardCount);
+    }
+
+    // 登錄過的餐廳用 id，未登錄的餐廳用物件本身的雜湊
+    private static int restaurantKey(OrderView order) {
+        Restaurant restaurant = order.getRestaurant();
+        int id = restaurant.getId();
+        return id >= 0 ? id : System.identityHashCode(restaurant);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    // 訂單所屬的分片編號
+    public int shardOf(OrderView order) {
+        int key = partitionKey.applyAsInt(order);
+        return Math.floorMod(key * 0x9E3779B9, shards.length);
+    }
+
+    // ========= 指令 =========
+
+    // 新訂單進入系統，在分片執行緒上呼叫 DeliveryService.orderCreated；同一條執行緒接著送出的接單會排在它後面
+    public CompletableFuture<Void> create(OrderView order) {
+        return submit(Kind.CREATE, order);
+    }
+
+    // 接單，結果和 DeliveryService.tryAcceptOrder 相同
+    public CompletableFuture<ValidationResult> accept(OrderView order) {
+        return submit(Kind.ACCEPT, order);
+    }
+
+    // 取餐，結果和 DeliveryService.pickupOrder 相同
+    public CompletableFuture<Boolean> pickup(OrderView order) {
+        return submit(Kind.PICKUP, order);
+    }
+
+    // 送達，結果和 DeliveryService.deliverOrder 相同
+    public CompletableFuture<Boolean> deliver(OrderView order) {
+        return submit(Kind.DELIVER, order);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> submit(Kind kind, OrderView order) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new SystemException("分片已關閉，無法接受新的指令。"));
+        }
+        Command command = new Command(kind, order);
+        shards[shardOf(order)].submit(command);
+        // 檢查 running 之後、放入佇列之前可能剛好被關閉，這時 close 的 failPending 已經清過佇列，
+        // 指令會一直留在佇列裡；放入後再檢查一次，由這裡結束它（分片執行緒已經執行過的話 claim 會失敗）
+        if (!running) {
+            command.reject("分片已關閉，無法接受新的指令。");
+        }
+        return (CompletableFuture<T>) (CompletableFuture<?>) command.future;
+    }
+
+    private void execute(Command command) {
+        try {
+            Object result = switch (command.kind) {
+                case CREATE -> {
+                    service.orderCreated(command.order);
+                    yield null;
+                }
+                case ACCEPT -> service.tryAcceptOrder(command.order);
+                case PICKUP -> service.pickupOrder(command.order);
+                case DELIVER -> service.deliverOrder(command.order);
+            };
+            command.future.complete(result);
+        } catch (RuntimeException e) {
+            logger.error("分片執行指令失敗：{}", e.getMessage());
+            command.future.completeExceptionally(e);
+        }
+    }
+
+    // 各分片執行過的指令數，用來觀察分片是否平均
+    public long[] executedPerShard() {
+        long[] counts = new long[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            counts[i] = shards[i].executed;
+        }
+        return counts;
+    }
+
+    // 停止所有分片；已經在佇列裡但還沒執行的指令會以 SystemException 結束
+    @Override
+    public void close() {
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            shard.failPending();
+        }
+        service.flushWarnings();
+    }
+}
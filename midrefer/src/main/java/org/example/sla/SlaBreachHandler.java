@@ -0,0 +1,14 @@
+package org.example.sla;
+
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+
+// 訂單超過 SLA 期限時的回呼，例如重新派單、通知客服或取消訂單
+// 在 SlaMonitor 的計時執行緒上呼叫，耗時的工作請交給其他執行緒
+@FunctionalInterface
+public interface SlaBreachHandler {
+
+    // stuckIn：到期時訂單停留的狀態（ACCEPTED 表示沒有按時取餐，PICKED_UP 表示沒有按時送達）
+    // overdueNanos：回呼時已經超過期限多久，最多約一個 tick
+    void onBreach(OrderView order, OrderStatus stuckIn, long overdueNanos);
+}
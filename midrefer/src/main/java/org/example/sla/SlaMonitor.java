@@ -0,0 +1,227 @@
+package org.example.sla;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.service.OrderEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// 追蹤每張進行中訂單的 SLA 期限，登記為 DeliveryService 的監聽者後自動運作：
+// - ACCEPTED：開始計時，接單後 pickupWithin 內必須取餐
+// - PICKED_UP：取消取餐期限，改為接單後 deliverWithin 內必須送達
+// - DELIVERED：取消期限
+// 期限放在同一個 TimingWheel 裡，不是每張訂單一個排程工作；到期時呼叫 SlaBreachHandler
+// 以訂單編號追蹤：OrderTable 每次 row() 都回傳新的 Row，不能拿檢視物件本身當鍵
+public class SlaMonitor implements OrderEventListener, AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(SlaMonitor.class);
+
+    private final long pickupWithinNanos;
+    private final long deliverWithinNanos;
+    private final SlaBreachHandler handler;
+    private final LongSupplier clock;
+    private final TimingWheel<Tracked> wheel;
+
+    // 每張追蹤中訂單的接單時間與目前的期限，以訂單編號為鍵；同一張訂單的更新都在 compute 內進行
+    private final Map<String, Tracked> tracked = new ConcurrentHashMap<>();
+    private final AtomicInteger lingering = new AtomicInteger();   // 取餐逾時後等待清除的計時項目數
+    private final LongAdder pickupBreaches = new LongAdder();
+    private final LongAdder deliveryBreaches = new LongAdder();
+
+    private ScheduledExecutorService scheduler;
+
+    // tick：檢查期限的間隔，也是到期通知最多延遲的時間
+    public SlaMonitor(Duration pickupWithin, Duration deliverWithin, Duration tick, SlaBreachHandler handler) {
+        this(pickupWithin, deliverWithin, tick, handler, System::nanoTime);
+    }
+
+    // 測試時注入時鐘，搭配 advance() 手動推進
+    SlaMonitor(Duration pickupWithin, Duration deliverWithin, Duration tick, SlaBreachHandler handler,
+               LongSupplier clock) {
+        if (pickupWithin.compareTo(deliverWithin) > 0) {
+            throw new IllegalArgumentException("取餐期限不能晚於送達期限");
+        }
+        this.pickupWithinNanos = pickupWithin.toNanos();
+        this.deliverWithinNanos = deliverWithin.toNanos();
+        this.handler = handler;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(tick.toNanos(), clock.getAsLong(), this::expire);
+    }
+
+    // 一張追蹤中的訂單；接單時間獨立記錄，不從期限推算
+    private static final class Tracked {
+        final OrderView order;
+        final long acceptedAt;
+        Timeout<Tracked> timeout;   // 目前的期限
+        boolean lingering;          // 取餐已逾時、尚未取餐：只等送達期限到時清除，不再通報
+
+        Tracked(OrderView order, long acceptedAt) {
+            this.order = order;
+            this.acceptedAt = acceptedAt;
+        }
+    }
+
+    private void arm(Tracked t, long deadlineNanos, boolean lingering) {
+        t.timeout = wheel.schedule(t, deadlineNanos);
+        t.lingering = lingering;
+        if (lingering) {
+            this.lingering.incrementAndGet();
+        }
+    }
+
+    private void disarm(Tracked t) {
+        if (t.timeout != null && t.timeout.cancel() && t.lingering) {
+            lingering.decrementAndGet();
+        }
+        t.timeout = null;
+        t.lingering = false;
+    }
+
+    // ========= 事件 =========
+
+    @Override
+    public void onTransition(OrderView order, OrderStatus from, OrderStatus to) {
+        switch (to) {
+            case ACCEPTED -> {
+                long now = clock.getAsLong();
+                tracked.compute(order.getOrderId(), (id, previous) -> {
+                    if (previous != null) {
+                        disarm(previous);   // 同一張訂單重新接單，例如重設狀態後重跑
+                    }
+                    Tracked t = new Tracked(order, now);
+                    arm(t, now + pickupWithinNanos, false);
+                    return t;
+                });
+            }
+            case PICKED_UP -> {
+                // 送達期限從接單時開始算；取餐期限已經逾時過也一樣
+                // 沒看到接單事件（例如監控晚於接單才登記）時只能從現在開始算
+                long now = clock.getAsLong();
+                tracked.compute(order.getOrderId(), (id, t) -> {
+                    if (t == null) {
+                        t = new Tracked(order, now);
+                    } else {
+                        disarm(t);
+                    }
+                    arm(t, t.acceptedAt + deliverWithinNanos, false);
+                    return t;
+                });
+            }
+            case DELIVERED -> tracked.computeIfPresent(order.getOrderId(), (id, t) -> {
+                disarm(t);
+                return null;
+            });
+            default -> { }
+        }
+    }
+
+    @Override
+    public void onRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+    }
+
+    // 到期：只有仍是該訂單目前的期限才算違約，狀態剛好在到期前變更的舊期限直接忽略
+    private void expire(Timeout<Tracked> timeout) {
+        Tracked t = timeout.getPayload();
+        OrderView order = t.order;
+        OrderStatus[] breached = new OrderStatus[1];
+        tracked.computeIfPresent(order.getOrderId(), (id, current) -> {
+            if (current != t || current.timeout != timeout) {
+                return current;
+            }
+            current.timeout = null;
+            if (current.lingering) {
+                // 送達期限也過了仍未取餐：已經通報過取餐逾時，停止追蹤
+                lingering.decrementAndGet();
+                return null;
+            }
+            OrderStatus status = order.getStatus();
+            if (status == OrderStatus.DELIVERED) {
+                return null;
+            }
+            breached[0] = status;
+            if (status == OrderStatus.ACCEPTED) {
+                // 保留接單時間，之後取餐時送達期限仍從接單算；到送達期限還沒取餐就清除
+                arm(current, current.acceptedAt + deliverWithinNanos, true);
+                return current;
+            }
+            return null;
+        });
+        OrderStatus status = breached[0];
+        if (status == null) {
+            return;
+        }
+        if (status == OrderStatus.ACCEPTED) {
+            pickupBreaches.increment();
+        } else {
+            deliveryBreaches.increment();
+        }
+        try {
+            handler.onBreach(order, status, clock.getAsLong() - timeout.getDeadlineNanos());
+        } catch (RuntimeException e) {
+            logger.error("訂單 {} 的 SLA 回呼失敗：{}", order.getOrderId(), e.getMessage());
+        }
+    }
+
+    // ========= 推進 =========
+
+    // 推進到目前時間並觸發到期的回呼，回傳這次到期的數量
+    public int advance() {
+        return wheel.advance(clock.getAsLong());
+    }
+
+    // 在背景每個 tick 推進一次
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sla-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        long tick = wheel.getTickNanos();
+        scheduler.scheduleAtFixedRate(this::backgroundAdvance, tick, tick, TimeUnit.NANOSECONDS);
+    }
+
+    private void backgroundAdvance() {
+        try {
+            advance();
+        } catch (RuntimeException e) {
+            logger.error("SLA 計時失敗：{}", e.getMessage());
+        }
+    }
+
+    // 正在計時的訂單數，不含取餐逾時後只等待清除的訂單
+    public int trackedCount() {
+        return wheel.size() - lingering.get();
+    }
+
+    public long getPickupBreaches() { return pickupBreaches.sum(); }
+
+    public long getDeliveryBreaches() { return deliveryBreaches.sum(); }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.sla;
+
+// TimingWheel 中的一個計時項目，本身就是時間輪格子裡雙向串列的節點，排程時只配置這一個物件
+// 欄位只在 TimingWheel 的鎖內修改
+public final class Timeout<T> {
+
+    static final int PENDING = 0;
+    static final int EXPIRED = 1;
+    static final int CANCELLED = 2;
+
+    private final TimingWheel<T> wheel;
+    private final T payload;
+    final long deadlineTick;
+    final long deadlineNanos;
+
+    int state = PENDING;
+    Timeout<T> prev;
+    Timeout<T> next;
+    int level = -1;   // 目前所在的層與格子，-1 表示不在任何格子裡
+    int slot;
+
+    Timeout(TimingWheel<T> wheel, T payload, long deadlineNanos, long deadlineTick) {
+        this.wheel = wheel;
+        this.payload = payload;
+        this.deadlineNanos = deadlineNanos;
+        this.deadlineTick = deadlineTick;
+    }
+
+    public T getPayload() { return payload; }
+
+    public long getDeadlineNanos() { return deadlineNanos; }
+
+    // 取消計時，已經到期或已經取消時回傳 false
+    public boolean cancel() {
+        return wheel.cancel(this);
+    }
+
+    public boolean isExpired() {
+        synchronized (wheel) {
+            return state == EXPIRED;
+        }
+    }
+
+    public boolean isCancelled() {
+        synchronized (wheel) {
+            return state == CANCELLED;
+        }
+    }
+}
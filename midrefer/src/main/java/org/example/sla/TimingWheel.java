@@ -0,0 +1,180 @@
+package org.example.sla;
+
+import java.util.function.Consumer;
+
+// 階層式時間輪：4 層，每層 64 格，第 0 層每格一個 tick，第 n 層每格 64^n 個 tick
+// - 排程：依到期 tick 與目前 tick 的差距選層，直接掛到該格的雙向串列，O(1)
+// - 取消：從串列拆下，O(1)，不會留下要等到期才清掉的空殼
+// - 推進：每個 tick 處理第 0 層的一格；第 0 層轉完一圈時把上一層對應的格子重新分配到下層
+// 超過 64^4 個 tick 的期限先放在最上層最遠的格子，輪到時再重新分配
+// 所有操作在時間輪的鎖內完成；到期回呼在鎖外、由呼叫 advance 的執行緒依序執行，回呼裡可以再排程
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Consumer<? super Timeout<T>> onExpire;
+
+    // wheel[level][slot] 是該格串列的第一個節點
+    @SuppressWarnings("unchecked")
+    private final Timeout<T>[][] wheel = new Timeout[LEVELS][SLOTS];
+    private long currentTick;   // 已經處理完的最後一個 tick
+    private int size;
+
+    // tickNanos：時間精度；到期最多晚一個 tick 才觸發
+    public TimingWheel(long tickNanos, long startNanos, Consumer<? super Timeout<T>> onExpire) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tick 必須大於 0");
+        }
+        this.tickNanos = tickNanos;
+        this.startNanos = startNanos;
+        this.onExpire = onExpire;
+    }
+
+    public long getTickNanos() { return tickNanos; }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // ========= 排程與取消 =========
+
+    // 在 deadlineNanos（與 startNanos 同一個時鐘）到期時以 payload 回呼；已經過期的期限在下一個 tick 觸發
+    public synchronized Timeout<T> schedule(T payload, long deadlineNanos) {
+        long tick = Math.max(currentTick + 1, ceilDiv(deadlineNanos - startNanos, tickNanos));
+        Timeout<T> timeout = new Timeout<>(this, payload, deadlineNanos, tick);
+        place(timeout, currentTick + 1);
+        size++;
+        return timeout;
+    }
+
+    synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.state != Timeout.PENDING) {
+            return false;
+        }
+        unlink(timeout);
+        timeout.state = Timeout.CANCELLED;
+        size--;
+        return true;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return -Math.floorDiv(-a, b);
+    }
+
+    // 依到期 tick 選擇最低能容納的層：到期所在的區塊與下一個要處理的 tick 所在的區塊相差不到 64 格
+    private void place(Timeout<T> timeout, long nextTick) {
+        long deadline = timeout.deadlineTick;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * SLOT_BITS;
+            if ((deadline >>> shift) - (nextTick >>> shift) < SLOTS) {
+                link(timeout, level, (int) ((deadline >>> shift) & (SLOTS - 1)));
+                return;
+            }
+        }
+        // 超出範圍：放在最上層最遠的一格
+        int shift = (LEVELS - 1) * SLOT_BITS;
+        link(timeout, LEVELS - 1, (int) (((nextTick >>> shift) + SLOTS - 1) & (SLOTS - 1)));
+    }
+
+    private void link(Timeout<T> timeout, int level, int slot) {
+        Timeout<T> head = wheel[level][slot];
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        wheel[level][slot] = timeout;
+        timeout.level = level;
+        timeout.slot = slot;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            wheel[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    // ========= 推進 =========
+
+    // 推進到 nowNanos，回傳這次到期的數量；到期回呼在這個方法返回前執行完
+    public int advance(long nowNanos) {
+        Timeout<T> expired = collectExpired(Math.floorDiv(nowNanos - startNanos, tickNanos));
+        int count = 0;
+        // 到期的節點依到期 tick 用 next 串成一條，回呼時不用另外配置清單
+        while (expired != null) {
+            Timeout<T> next = expired.next;
+            expired.next = null;
+            count++;
+            onExpire.accept(expired);
+            expired = next;
+        }
+        return count;
+    }
+
+    private synchronized Timeout<T> collectExpired(long targetTick) {
+        Timeout<T> expired = null;
+        Timeout<T> last = null;
+        if (size == 0) {
+            // 沒有計時項目時不必逐格走
+            currentTick = Math.max(currentTick, targetTick);
+            return null;
+        }
+        while (currentTick < targetTick) {
+            long tick = currentTick + 1;
+            cascade(tick);
+            int slot = (int) (tick & (SLOTS - 1));
+            Timeout<T> t = wheel[0][slot];
+            wheel[0][slot] = null;
+            while (t != null) {
+                Timeout<T> next = t.next;
+                t.prev = null;
+                t.level = -1;
+                t.state = Timeout.EXPIRED;
+                t.next = null;
+                if (last == null) {
+                    expired = t;
+                } else {
+                    last.next = t;
+                }
+                last = t;
+                size--;
+                t = next;
+            }
+            currentTick = tick;
+            if (size == 0) {
+                currentTick = targetTick;
+            }
+        }
+        return expired;
+    }
+
+    // tick 是某一層區塊的開頭時，把該層對應格子的節點重新分配到下層；由高層往低層處理
+    private void cascade(long tick) {
+        int top = 0;
+        while (top + 1 < LEVELS && (tick & ((1L << ((top + 1) * SLOT_BITS)) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            int slot = (int) ((tick >>> (level * SLOT_BITS)) & (SLOTS - 1));
+            Timeout<T> t = wheel[level][slot];
+            wheel[level][slot] = null;
+            while (t != null) {
+                Timeout<T> next = t.next;
+                place(t, tick);
+                t = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package org.example.snapshot;
+
+import org.example.exception.SystemException;
+import org.example.model.OpeningSchedule;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// 進行中訂單（ACCEPTED、PICKED_UP）的二進位快照，重新啟動時用來還原訂單與餐廳
+// 檔案格式（big-endian）：
+//   int 檔頭標記、int 版本、long 建立時間（epoch 毫秒）
+//   餐廳：已登錄的依 id 排列，接著是訂單引用到但沒有登錄的餐廳；每間餐廳存名稱、座標、營業時段與公休日
+//   顧客名稱字典
+//   訂單：編號、名稱字典編號、餐廳編號、下單日期、時間、顧客座標、狀態
+//   long 前面全部內容的 CRC32
+// 先寫到暫存檔再以 atomic move 取代舊檔，寫到一半中止時舊快照仍然完整
+public class OrderSnapshot {
+
+    static final int MAGIC = 0x4F534E50;  // "OSNP"
+    static final int VERSION = 1;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final long createdAt;
+    private final RestaurantRegistry restaurants;
+    private final List<Order> orders;
+
+    private OrderSnapshot(long createdAt, RestaurantRegistry restaurants, List<Order> orders) {
+        this.createdAt = createdAt;
+        this.restaurants = restaurants;
+        this.orders = orders;
+    }
+
+    public long getCreatedAt() { return createdAt; }
+
+    // 還原出來的餐廳，id 和寫入快照時相同
+    public RestaurantRegistry getRestaurants() { return restaurants; }
+
+    // 還原出來的進行中訂單，狀態和寫入快照時相同
+    public List<Order> getOrders() { return orders; }
+
+    // 把 orders 中仍在進行中的訂單寫成快照，回傳寫入的訂單數
+    // 每張訂單的狀態只讀一次，寫入期間其他執行緒可以繼續推進狀態
+    public static int write(Path file, RestaurantRegistry registry, Collection<? extends OrderView> orders) {
+        // 先決定要寫哪些訂單，訂單數才會固定
+        List<OrderView> live = new ArrayList<>(orders.size());
+        List<OrderStatus> statuses = new ArrayList<>(orders.size());
+        for (OrderView order : orders) {
+            OrderStatus status = order.getStatus();
+            if (status == OrderStatus.ACCEPTED || status == OrderStatus.PICKED_UP) {
+                live.add(order);
+                statuses.add(status);
+            }
+        }
+
+        // 餐廳編號：已登錄的沿用 id，其餘接在後面
+        // 只有 id 小於 registered 的餐廳會寫進已登錄的區塊，寫入期間才登錄的餐廳當成未登錄的另外存一份
+        int registered = registry.size();
+        Map<Restaurant, Integer> unregistered = new IdentityHashMap<>();
+        List<Restaurant> extras = new ArrayList<>();
+        Map<String, Integer> nameIds = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] restaurantRefs = new int[live.size()];
+        int[] nameRefs = new int[live.size()];
+        for (int i = 0; i < live.size(); i++) {
+            OrderView order = live.get(i);
+            Restaurant r = order.getRestaurant();
+            if (r.getId() < registered && registry.get(r.getId()) == r) {
+                restaurantRefs[i] = r.getId();
+            } else {
+                restaurantRefs[i] = unregistered.computeIfAbsent(r, k -> {
+                    extras.add(k);
+                    return registered + extras.size() - 1;
+                });
+            }
+            nameRefs[i] = nameIds.computeIfAbsent(order.getCustomerName(), k -> {
+                names.add(k);
+                return names.size() - 1;
+            });
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            // 緩衝放在 CRC 外層，檢查碼以整塊資料計算
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+
+            out.writeInt(registered);
+            for (int id = 0; id < registered; id++) {
+                writeRestaurant(out, registry.get(id));
+            }
+            out.writeInt(extras.size());
+            for (Restaurant r : extras) {
+                writeRestaurant(out, r);
+            }
+
+            out.writeInt(names.size());
+            for (String name : names) {
+                writeString(out, name);
+            }
+
+            out.writeInt(live.size());
+            for (int i = 0; i < live.size(); i++) {
+                OrderView order = live.get(i);
+                writeString(out, order.getOrderId());
+                out.writeInt(nameRefs[i]);
+                out.writeInt(restaurantRefs[i]);
+                out.writeInt(Math.toIntExact(order.getOrderDay()));
+                out.writeInt(order.getOrderHour());
+                out.writeInt(order.getCustomerX());
+                out.writeInt(order.getCustomerY());
+                out.writeByte(statuses.get(i).ordinal());
+            }
+            out.flush();
+            // CRC 本身不算在檢查範圍內，直接寫到底層
+            out = new DataOutputStream(Channels.newOutputStream(channel));
+            out.writeLong(crc.getValue());
+            out.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            throw new SystemException("無法寫入快照 " + tmp + ": " + e.getMessage());
+        }
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new SystemException("無法取代快照 " + file + ": " + e.getMessage());
+        }
+        return live.size();
+    }
+
+    // 讀取快照，內容不完整或檢查碼不符時丟出 SystemException
+    public static OrderSnapshot read(Path file) {
+        ByteBuffer in;
+        try {
+            in = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new SystemException("無法讀取快照 " + file + ": " + e.getMessage());
+        }
+        if (in.remaining() < 24) {
+            throw new SystemException("快照檔已損毀 " + file + ": 長度不足");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(in.array(), 0, in.limit() - Long.BYTES);
+        if (crc.getValue() != in.getLong(in.limit() - Long.BYTES)) {
+            throw new SystemException("快照檔已損毀 " + file + ": 檢查碼不符");
+        }
+        if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new SystemException("不支援的快照格式 " + file);
+        }
+        long createdAt = in.getLong();
+
+        RestaurantRegistry registry = new RestaurantRegistry();
+        int registered = in.getInt();
+        List<Restaurant> restaurants = new ArrayList<>(registered);
+        for (int i = 0; i < registered; i++) {
+            restaurants.add(registry.register(readString(in), readSchedule(in), in.getInt(), in.getInt()));
+        }
+        int extraCount = in.getInt();
+        for (int i = 0; i < extraCount; i++) {
+            String name = readString(in);
+            OpeningSchedule schedule = readSchedule(in);
+            restaurants.add(new Restaurant(Restaurant.UNREGISTERED, name, schedule, in.getInt(), in.getInt()));
+        }
+
+        String[] names = new String[in.getInt()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = readString(in);
+        }
+
+        int count = in.getInt();
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String orderId = readString(in);
+            String customer = names[in.getInt()];
+            Restaurant restaurant = restaurants.get(in.getInt());
+            LocalDate day = LocalDate.ofEpochDay(in.getInt());
+            orders.add(Order.restore(orderId, customer, restaurant, day, in.getInt(), in.getInt(), in.getInt(),
+                    STATUSES[in.get()]));
+        }
+        return new OrderSnapshot(createdAt, registry, orders);
+    }
+
+    // 營業時段存原始時段與公休日，讀取時重新編譯位元表
+    private static void writeRestaurant(DataOutputStream out, Restaurant r) throws IOException {
+        writeString(out, r.getName());
+        OpeningSchedule schedule = r.getSchedule();
+        List<OpeningSchedule.Window> windows = schedule.getWindows();
+        out.writeInt(windows.size());
+        for (OpeningSchedule.Window w : windows) {
+            out.writeByte(w.day().getValue());
+            out.writeShort(w.open());
+            out.writeShort(w.close());
+        }
+        long[] holidays = schedule.getHolidays();
+        out.writeInt(holidays.length);
+        for (long day : holidays) {
+            out.writeLong(day);
+        }
+        out.writeInt(r.getX());
+        out.writeInt(r.getY());
+    }
+
+    private static OpeningSchedule readSchedule(ByteBuffer in) {
+        OpeningSchedule.Builder builder = OpeningSchedule.builder();
+        int windows = in.getInt();
+        for (int i = 0; i < windows; i++) {
+            builder.on(DayOfWeek.of(in.get()), in.getShort(), in.getShort());
+        }
+        int holidays = in.getInt();
+        for (int i = 0; i < holidays; i++) {
+            builder.closedOn(LocalDate.ofEpochDay(in.getLong()));
+        }
+        return builder.build();
+    }
+
+    // 字串存成 UTF-8，前面加上 short 長度
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("字串過長，無法寫入快照: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        String s = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return s;
+    }
+}
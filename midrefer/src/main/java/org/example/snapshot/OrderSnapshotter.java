@@ -0,0 +1,100 @@
+package org.example.snapshot;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.model.RestaurantRegistry;
+import org.example.service.OrderEventListener;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 追蹤進行中的訂單，並在背景定期寫成 OrderSnapshot
+// 註冊為 DeliveryService 的監聽者：接單成功時加入、送達時移除
+// 快照由背景執行緒寫入，處理訂單的執行緒只多一次 ConcurrentHashMap 操作，不會被暫停
+public class OrderSnapshotter implements OrderEventListener, AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(OrderSnapshotter.class);
+
+    private final RestaurantRegistry registry;
+    private final Path file;
+    private final Map<String, OrderView> live = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public OrderSnapshotter(RestaurantRegistry registry, Path file, long intervalMillis) {
+        this.registry = registry;
+        this.file = file;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "order-snapshotter");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::backgroundSnapshot, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Path getFile() { return file; }
+
+    // 目前追蹤中的訂單數
+    public int liveCount() { return live.size(); }
+
+    // 重新啟動時把快照還原的訂單交回來繼續追蹤
+    public void trackAll(Collection<? extends OrderView> orders) {
+        for (OrderView order : orders) {
+            live.put(order.getOrderId(), order);
+        }
+    }
+
+    @Override
+    public void onTransition(OrderView order, OrderStatus from, OrderStatus to) {
+        if (to == OrderStatus.ACCEPTED) {
+            live.put(order.getOrderId(), order);
+            // 其他執行緒可能在這個事件送達前就已經把訂單送達
+            if (order.getStatus() == OrderStatus.DELIVERED) {
+                live.remove(order.getOrderId(), order);
+            }
+        } else if (to == OrderStatus.DELIVERED) {
+            live.remove(order.getOrderId());
+        }
+    }
+
+    @Override
+    public void onRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+        // 被拒絕的操作不影響進行中的訂單
+    }
+
+    // 立即寫一份快照，回傳寫入的訂單數；同一時間只會有一份快照在寫
+    public synchronized int snapshotNow() {
+        long start = System.nanoTime();
+        int count = OrderSnapshot.write(file, registry, live.values());
+        logger.debug("快照完成：{} 張進行中訂單，耗時 {} ms。", count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    private void backgroundSnapshot() {
+        try {
+            snapshotNow();
+        } catch (RuntimeException e) {
+            // 背景寫入失敗不能讓排程停止，下一輪再試
+            logger.error("快照寫入失敗：{}", e.getMessage());
+        }
+    }
+
+    // 停止定期快照並寫入最後一份
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotNow();
+    }
+}
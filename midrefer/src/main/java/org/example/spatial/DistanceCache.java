@@ -0,0 +1,167 @@
+package org.example.spatial;
+
+// 有容量上限的 LRU 快取，long 鍵對 int 值，查詢與寫入都不配置記憶體
+// 依雜湊值分成多段，每段各自加鎖並維持自己的 LRU 順序，多執行緒查詢時不會搶同一把鎖
+// 每段是固定大小的陣列：開放定址的索引表指向項目，項目之間以 prev / next 串成最近使用的順序
+final class DistanceCache {
+
+    static final int MISS = Integer.MIN_VALUE;
+
+    private static final int SEGMENTS = 16;
+    private static final int SEGMENT_BITS = 4;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    DistanceCache(int capacity) {
+        if (capacity < SEGMENTS) {
+            throw new IllegalArgumentException("快取容量至少要 " + SEGMENTS + ": " + capacity);
+        }
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(capacity / SEGMENTS);
+        }
+    }
+
+    // Fibonacci hashing，最高 4 位選段，接下來的位元選段內的位置
+    private static long hash(long key) {
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    // 查詢並標記為最近使用，不存在時回傳 MISS
+    int get(long key) {
+        long h = hash(key);
+        return segments[(int) (h >>> (64 - SEGMENT_BITS))].get(key, h);
+    }
+
+    // 寫入，滿了就淘汰最久沒用到的項目
+    void put(long key, int value) {
+        long h = hash(key);
+        segments[(int) (h >>> (64 - SEGMENT_BITS))].put(key, value, h);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static final class Segment {
+        private static final int NONE = -1;
+
+        private final long[] keys;
+        private final int[] values;
+        private final int[] prev;
+        private final int[] next;
+        private final int[] index;    // 雜湊位置 -> 項目編號 + 1，0 表示空位
+        private final int mask;
+        private final int shift;
+        private int size;
+        private int head = NONE;      // 最近使用
+        private int tail = NONE;      // 最久沒用，滿了先淘汰
+
+        Segment(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            prev = new int[capacity];
+            next = new int[capacity];
+            // 索引表至少是容量的兩倍，負載不超過一半
+            int slots = Integer.highestOneBit(capacity) << 2;
+            index = new int[slots];
+            mask = slots - 1;
+            shift = 64 - SEGMENT_BITS - Integer.numberOfTrailingZeros(slots);
+        }
+
+        private int home(long h) {
+            return (int) (h >>> shift) & mask;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized int get(long key, long h) {
+            int slot = find(key, h);
+            if (slot < 0) {
+                return MISS;
+            }
+            int entry = index[slot] - 1;
+            moveToHead(entry);
+            return values[entry];
+        }
+
+        synchronized void put(long key, int value, long h) {
+            int slot = find(key, h);
+            if (slot >= 0) {
+                int entry = index[slot] - 1;
+                values[entry] = value;
+                moveToHead(entry);
+                return;
+            }
+            int entry;
+            if (size < keys.length) {
+                entry = size++;
+            } else {
+                entry = tail;
+                unlink(entry);
+                removeSlot(find(keys[entry], hash(keys[entry])));
+            }
+            keys[entry] = key;
+            values[entry] = value;
+            int i = home(h);
+            while (index[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            index[i] = entry + 1;
+            linkHead(entry);
+        }
+
+        // key 所在的雜湊位置，不存在時回傳 -1
+        private int find(long key, long h) {
+            for (int i = home(h); index[i] != 0; i = (i + 1) & mask) {
+                if (keys[index[i] - 1] == key) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // 線性探測的刪除：把後面探測鏈上的項目往前搬，不留墓碑
+        private void removeSlot(int i) {
+            for (int j = (i + 1) & mask; index[j] != 0; j = (j + 1) & mask) {
+                int h = home(hash(keys[index[j] - 1]));
+                if (((j - h) & mask) >= ((j - i) & mask)) {
+                    index[i] = index[j];
+                    i = j;
+                }
+            }
+            index[i] = 0;
+        }
+
+        private void moveToHead(int entry) {
+            if (entry != head) {
+                unlink(entry);
+                linkHead(entry);
+            }
+        }
+
+        private void unlink(int entry) {
+            int p = prev[entry];
+            int n = next[entry];
+            if (p == NONE) head = n; else next[p] = n;
+            if (n == NONE) tail = p; else prev[n] = p;
+        }
+
+        private void linkHead(int entry) {
+            prev[entry] = NONE;
+            next[entry] = head;
+            if (head != NONE) {
+                prev[head] = entry;
+            }
+            head = entry;
+            if (tail == NONE) {
+                tail = entry;
+            }
+        }
+    }
+}
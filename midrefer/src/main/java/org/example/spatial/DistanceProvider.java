@@ -0,0 +1,17 @@
+package org.example.spatial;
+
+import org.example.model.Restaurant;
+
+// 餐廳到顧客的外送距離，DeliveryService 接單時用來判斷是否太遠
+// 回傳距離平方，和 Restaurant.distanceSquaredTo 一樣直接比較平方就好，不用開根號
+// 實作回傳的距離不可以小於直線距離：DeliveryService 會先用直線距離篩掉一定太遠的訂單
+public interface DistanceProvider {
+
+    // 到不了的地點
+    long UNREACHABLE = Long.MAX_VALUE;
+
+    // 直線距離，不需要地圖，是 DeliveryService 預設的檢查方式
+    DistanceProvider EUCLIDEAN = Restaurant::distanceSquaredTo;
+
+    long distanceSquared(Restaurant restaurant, int customerX, int customerY);
+}
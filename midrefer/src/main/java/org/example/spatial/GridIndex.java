@@ -0,0 +1,461 @@
+package org.example.spatial;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// 均勻網格空間索引：用整數座標存放餐廳、外送員、顧客等點，支援半徑查詢與 k 近鄰查詢
+// 每個點用呼叫端給的非負整數 id 表示，外送員移動時可以直接 move 而不用重建索引
+// 非執行緒安全，多執行緒使用時由呼叫端負責同步
+public class GridIndex {
+
+    private static final int NOT_INDEXED = -1;
+
+    private final int cellSize;
+
+    // 以 id 為索引的點資料
+    private int[] xs = new int[16];
+    private int[] ys = new int[16];
+    private int[] slots = filled(16);       // 點在所屬格子裡的位置，NOT_INDEXED 表示不在索引中
+    private Cell[] cellOf = new Cell[16];
+    private int size;
+
+    // 格子座標 -> 格子，開放定址雜湊表；格子空了就移除，外送員跑過的格子不會一直留著
+    private long[] cellKeys = new long[64];
+    private Cell[] cells = new Cell[64];
+    private int cellCount;
+
+    // 目前有點的格子範圍，k 近鄰查詢往外擴張時用來判斷何時停止
+    // 邊界上的格子被移除時只標記，下一次查詢再從現有的格子重算
+    private int minCx = Integer.MAX_VALUE;
+    private int maxCx = Integer.MIN_VALUE;
+    private int minCy = Integer.MAX_VALUE;
+    private int maxCy = Integer.MIN_VALUE;
+    private boolean boundsStale;
+
+    public GridIndex(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("格子大小必須大於 0: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    // 單一格子：一段可增長的 id 陣列，刪除時用最後一個元素補位
+    private static final class Cell {
+        final int cx;
+        final int cy;
+        int[] ids = new int[4];
+        int count;
+
+        Cell(int cx, int cy) {
+            this.cx = cx;
+            this.cy = cy;
+        }
+    }
+
+    public int size() { return size; }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < slots.length && slots[id] != NOT_INDEXED;
+    }
+
+    public int getX(int id) { return xs[id]; }
+    public int getY(int id) { return ys[id]; }
+
+    // 新增一個點，id 已存在時等同 move
+    public void insert(int id, int x, int y) {
+        if (id < 0) {
+            throw new IllegalArgumentException("id 必須為非負整數: " + id);
+        }
+        ensureIdCapacity(id + 1);
+        if (slots[id] != NOT_INDEXED) {
+            move(id, x, y);
+            return;
+        }
+        xs[id] = x;
+        ys[id] = y;
+        addToCell(id, cellFor(x, y));
+        size++;
+    }
+
+    // 移除一個點，不存在時回傳 false
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        removeFromCell(id);
+        size--;
+        return true;
+    }
+
+    // 更新點的位置，還在同一格時只改座標
+    public void move(int id, int x, int y) {
+        if (!contains(id)) {
+            insert(id, x, y);
+            return;
+        }
+        Cell target = cellFor(x, y);
+        if (target != cellOf[id]) {
+            removeFromCell(id);
+            addToCell(id, target);
+        }
+        xs[id] = x;
+        ys[id] = y;
+    }
+
+    // 半徑查詢：對距離 (x, y) 不超過 radius 的每個點呼叫 consumer
+    public void forEachWithin(int x, int y, double radius, IntConsumer consumer) {
+        if (radius < 0 || size == 0) {
+            return;
+        }
+        refreshBounds();
+        double r2 = radius * radius;
+        // 半徑很大時 int 會溢位，格子範圍用 long 算再夾到目前有點的範圍
+        long reach = (long) Math.ceil(Math.min(radius, 1L << 40));
+        long fromCx = Math.max(Math.floorDiv(x - reach, cellSize), minCx);
+        long toCx = Math.min(Math.floorDiv(x + reach, cellSize), maxCx);
+        long fromCy = Math.max(Math.floorDiv(y - reach, cellSize), minCy);
+        long toCy = Math.min(Math.floorDiv(y + reach, cellSize), maxCy);
+        if (fromCx > toCx || fromCy > toCy) {
+            return;
+        }
+        // 要探的格子比有點的格子多時，直接走過所有有點的格子
+        long width = toCx - fromCx + 1;
+        long height = toCy - fromCy + 1;
+        if (width > cellCount || width * height > cellCount) {
+            for (Cell cell : cells) {
+                if (cell != null && cell.cx >= fromCx && cell.cx <= toCx && cell.cy >= fromCy && cell.cy <= toCy) {
+                    acceptWithin(cell, x, y, r2, consumer);
+                }
+            }
+            return;
+        }
+        for (int cx = (int) fromCx; cx <= toCx; cx++) {
+            for (int cy = (int) fromCy; cy <= toCy; cy++) {
+                Cell cell = findCell(cx, cy);
+                if (cell != null) {
+                    acceptWithin(cell, x, y, r2, consumer);
+                }
+            }
+        }
+    }
+
+    private void acceptWithin(Cell cell, int x, int y, double r2, IntConsumer consumer) {
+        for (int i = 0; i < cell.count; i++) {
+            int id = cell.ids[i];
+            if (distanceSquared(id, x, y) <= r2) {
+                consumer.accept(id);
+            }
+        }
+    }
+
+    // 半徑查詢，回傳符合的 id（順序不固定）
+    public int[] within(int x, int y, double radius) {
+        IdBuffer buffer = new IdBuffer();
+        forEachWithin(x, y, radius, buffer);
+        return buffer.toArray();
+    }
+
+    // k 近鄰查詢：回傳離 (x, y) 最近的最多 k 個 id，由近到遠排列
+    public int[] nearest(int x, int y, int k) {
+        if (k <= 0 || size == 0) {
+            return new int[0];
+        }
+        refreshBounds();
+        int limit = Math.min(k, size);
+        Heap heap = new Heap(limit);
+
+        int centerCx = cellCoord(x);
+        int centerCy = cellCoord(y);
+        long maxRing = Math.max(
+                Math.max(Math.abs((long) centerCx - minCx), Math.abs((long) maxCx - centerCx)),
+                Math.max(Math.abs((long) centerCy - minCy), Math.abs((long) maxCy - centerCy)));
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // 已經探過的格子數超過有點的格子數時，剩下的圈改成直接走過所有有點的格子，
+            // 點很少但分得很開時不會一圈一圈探過整個範圍
+            long probed = (2L * ring - 1) * (2L * ring - 1);
+            if (ring > 0 && probed > cellCount) {
+                for (Cell cell : cells) {
+                    if (cell != null && ringOf(cell, centerCx, centerCy) >= ring) {
+                        offerAll(heap, cell, x, y);
+                    }
+                }
+                break;
+            }
+            for (int cx = centerCx - ring; cx <= centerCx + ring; cx++) {
+                // 只走這一圈的邊界格子
+                boolean edgeColumn = cx == centerCx - ring || cx == centerCx + ring;
+                int step = edgeColumn ? 1 : Math.max(1, 2 * ring);
+                for (int cy = centerCy - ring; cy <= centerCy + ring; cy += step) {
+                    Cell cell = findCell(cx, cy);
+                    if (cell != null) {
+                        offerAll(heap, cell, x, y);
+                    }
+                }
+            }
+            // 下一圈的格子離查詢點至少 ring * cellSize，已經不可能更近就停止
+            long minNext = (long) ring * cellSize;
+            if (heap.size == limit && heap.dist[0] <= minNext * minNext) {
+                break;
+            }
+        }
+        return heap.drain();
+    }
+
+    private void offerAll(Heap heap, Cell cell, int x, int y) {
+        for (int i = 0; i < cell.count; i++) {
+            int id = cell.ids[i];
+            heap.offer(id, distanceSquared(id, x, y));
+        }
+    }
+
+    // 格子離中心格子的圈數（切比雪夫距離）
+    private static long ringOf(Cell cell, int centerCx, int centerCy) {
+        return Math.max(Math.abs((long) cell.cx - centerCx), Math.abs((long) cell.cy - centerCy));
+    }
+
+    private long distanceSquared(int id, int x, int y) {
+        long dx = (long) xs[id] - x;
+        long dy = (long) ys[id] - y;
+        return dx * dx + dy * dy;
+    }
+
+    private int cellCoord(int v) {
+        return Math.floorDiv(v, cellSize);
+    }
+
+    private void addToCell(int id, Cell cell) {
+        if (cell.count == cell.ids.length) {
+            cell.ids = Arrays.copyOf(cell.ids, cell.count * 2);
+        }
+        slots[id] = cell.count;
+        cell.ids[cell.count++] = id;
+        cellOf[id] = cell;
+    }
+
+    private void removeFromCell(int id) {
+        Cell cell = cellOf[id];
+        int slot = slots[id];
+        int last = cell.ids[--cell.count];
+        cell.ids[slot] = last;
+        slots[last] = slot;
+        slots[id] = NOT_INDEXED;
+        cellOf[id] = null;
+        if (cell.count == 0) {
+            dropCell(cell);
+        }
+    }
+
+    private void ensureIdCapacity(int capacity) {
+        if (capacity <= xs.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, xs.length * 2);
+        int oldLength = xs.length;
+        xs = Arrays.copyOf(xs, newLength);
+        ys = Arrays.copyOf(ys, newLength);
+        cellOf = Arrays.copyOf(cellOf, newLength);
+        slots = Arrays.copyOf(slots, newLength);
+        Arrays.fill(slots, oldLength, newLength, NOT_INDEXED);
+    }
+
+    // ========= 格子雜湊表 =========
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private Cell findCell(int cx, int cy) {
+        long key = key(cx, cy);
+        int mask = cells.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            Cell cell = cells[i];
+            if (cell == null) return null;
+            if (cellKeys[i] == key) return cell;
+        }
+    }
+
+    private Cell cellFor(int x, int y) {
+        int cx = cellCoord(x);
+        int cy = cellCoord(y);
+        Cell cell = findCell(cx, cy);
+        if (cell != null) {
+            return cell;
+        }
+        if ((cellCount + 1) * 2 > cells.length) {
+            rehash(cells.length * 2);
+        }
+        cell = new Cell(cx, cy);
+        putCell(key(cx, cy), cell);
+        cellCount++;
+        minCx = Math.min(minCx, cx);
+        maxCx = Math.max(maxCx, cx);
+        minCy = Math.min(minCy, cy);
+        maxCy = Math.max(maxCy, cy);
+        return cell;
+    }
+
+    // 從雜湊表移除空的格子，後面同一串探測的格子往前補位，查詢時不會在空位提早停下
+    private void dropCell(Cell cell) {
+        int mask = cells.length - 1;
+        int i = hash(key(cell.cx, cell.cy)) & mask;
+        while (cells[i] != cell) {
+            i = (i + 1) & mask;
+        }
+        for (int j = (i + 1) & mask; cells[j] != null; j = (j + 1) & mask) {
+            int home = hash(cellKeys[j]) & mask;
+            // home 不在 (i, j] 之間時，這個格子可以搬到空出來的 i
+            boolean between = i <= j ? i < home && home <= j : i < home || home <= j;
+            if (!between) {
+                cellKeys[i] = cellKeys[j];
+                cells[i] = cells[j];
+                i = j;
+            }
+        }
+        cellKeys[i] = 0;
+        cells[i] = null;
+        cellCount--;
+        if (cell.cx == minCx || cell.cx == maxCx || cell.cy == minCy || cell.cy == maxCy) {
+            boundsStale = true;
+        }
+    }
+
+    private void refreshBounds() {
+        if (!boundsStale) {
+            return;
+        }
+        minCx = Integer.MAX_VALUE;
+        maxCx = Integer.MIN_VALUE;
+        minCy = Integer.MAX_VALUE;
+        maxCy = Integer.MIN_VALUE;
+        for (Cell cell : cells) {
+            if (cell != null) {
+                minCx = Math.min(minCx, cell.cx);
+                maxCx = Math.max(maxCx, cell.cx);
+                minCy = Math.min(minCy, cell.cy);
+                maxCy = Math.max(maxCy, cell.cy);
+            }
+        }
+        boundsStale = false;
+    }
+
+    // 目前的格子數，測試用
+    int cellCount() {
+        return cellCount;
+    }
+
+    private void putCell(long key, Cell cell) {
+        int mask = cells.length - 1;
+        int i = hash(key) & mask;
+        while (cells[i] != null) {
+            i = (i + 1) & mask;
+        }
+        cellKeys[i] = key;
+        cells[i] = cell;
+    }
+
+    private void rehash(int newLength) {
+        Cell[] old = cells;
+        cellKeys = new long[newLength];
+        cells = new Cell[newLength];
+        for (Cell cell : old) {
+            if (cell != null) putCell(key(cell.cx, cell.cy), cell);
+        }
+    }
+
+    // ========= 最大堆積 =========
+
+    // 以陣列實作的最大堆積，堆頂是目前第 limit 近的點
+    private static final class Heap {
+        final long[] dist;
+        final int[] ids;
+        int size;
+
+        Heap(int limit) {
+            dist = new long[limit];
+            ids = new int[limit];
+        }
+
+        void offer(int id, long d) {
+            if (size < dist.length) {
+                dist[size] = d;
+                ids[size] = id;
+                siftUp(dist, ids, size++);
+            } else if (d < dist[0]) {
+                dist[0] = d;
+                ids[0] = id;
+                siftDown(dist, ids, size);
+            }
+        }
+
+        // 依序取出即為由遠到近，回傳由近到遠的 id
+        int[] drain() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = ids[0];
+                size--;
+                dist[0] = dist[size];
+                ids[0] = ids[size];
+                siftDown(dist, ids, size);
+            }
+            return result;
+        }
+    }
+
+    private static void siftUp(long[] dist, int[] ids, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (dist[parent] >= dist[i]) break;
+            swap(dist, ids, parent, i);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] dist, int[] ids, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int largest = left + 1 < size && dist[left + 1] > dist[left] ? left + 1 : left;
+            if (dist[i] >= dist[largest]) break;
+            swap(dist, ids, i, largest);
+            i = largest;
+        }
+    }
+
+    private static void swap(long[] dist, int[] ids, int a, int b) {
+        long d = dist[a];
+        dist[a] = dist[b];
+        dist[b] = d;
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+
+    private static int[] filled(int length) {
+        int[] a = new int[length];
+        Arrays.fill(a, NOT_INDEXED);
+        return a;
+    }
+
+    // 收集查詢結果用的小緩衝區
+    private static final class IdBuffer implements IntConsumer {
+        int[] ids = new int[16];
+        int count;
+
+        @Override
+        public void accept(int id) {
+            if (count == ids.length) ids = Arrays.copyOf(ids, count * 2);
+            ids[count++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, count);
+        }
+    }
+}
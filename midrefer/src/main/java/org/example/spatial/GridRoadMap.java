@@ -0,0 +1,189 @@
+package org.example.spatial;
+
+import org.example.exception.SystemException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+// 棋盤狀街道地圖：每個整數座標是一格，只能往上下左右走到相鄰的可通行格子，每步距離 1
+// 地圖檔每行一列，'#' 表示無法通行（建築、河流），其餘字元表示道路；第一行是 y = originY
+// 每一列的長度必須相同，空白行會被忽略
+// 建立之後不可修改，多執行緒可以同時查詢
+public class GridRoadMap {
+
+    private static final char BLOCKED = '#';
+    private static final int UNVISITED = Integer.MAX_VALUE;
+
+    private final int originX;
+    private final int originY;
+    private final int width;
+    private final int height;
+    private final boolean[] blocked;   // 以 (y - originY) * width + (x - originX) 為索引
+
+    private GridRoadMap(int originX, int originY, int width, int height, boolean[] blocked) {
+        this.originX = originX;
+        this.originY = originY;
+        this.width = width;
+        this.height = height;
+        this.blocked = blocked;
+    }
+
+    public static GridRoadMap load(Path file) {
+        return load(file, 0, 0);
+    }
+
+    // 讀取地圖檔，地圖左上角的格子座標為 (originX, originY)
+    public static GridRoadMap load(Path file, int originX, int originY) {
+        try {
+            return parse(Files.readAllLines(file, StandardCharsets.UTF_8), originX, originY);
+        } catch (IOException e) {
+            throw new SystemException("無法讀取地圖檔 " + file + ": " + e.getMessage());
+        }
+    }
+
+    public static GridRoadMap parse(List<String> rows, int originX, int originY) {
+        List<String> lines = rows.stream().filter(row -> !row.isBlank()).toList();
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("地圖是空的");
+        }
+        int width = lines.get(0).length();
+        boolean[] blocked = new boolean[width * lines.size()];
+        for (int y = 0; y < lines.size(); y++) {
+            String line = lines.get(y);
+            if (line.length() != width) {
+                throw new IllegalArgumentException("地圖第 " + (y + 1) + " 列的長度應為 " + width + "，實際為 " + line.length());
+            }
+            for (int x = 0; x < width; x++) {
+                blocked[y * width + x] = line.charAt(x) == BLOCKED;
+            }
+        }
+        return new GridRoadMap(originX, originY, width, lines.size(), blocked);
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    // 格子編號，不在地圖內時回傳 -1；可以當作快取的鍵
+    public int cellOf(int x, int y) {
+        long cx = (long) x - originX;
+        long cy = (long) y - originY;
+        if (cx < 0 || cy < 0 || cx >= width || cy >= height) {
+            return -1;
+        }
+        return (int) (cy * width + cx);
+    }
+
+    // (x, y) 在地圖內而且可以通行
+    public boolean isOpen(int x, int y) {
+        int cell = cellOf(x, y);
+        return cell >= 0 && !blocked[cell];
+    }
+
+    // 兩格之間的最短步數，超過 limit 步或到不了時回傳 -1
+    // A* 搜尋，以曼哈頓距離為估計值；只搜尋起點周圍 limit 步的範圍，工作陣列依範圍大小配置，
+    // 不共用狀態，多執行緒可以同時呼叫
+    public int distance(int fromX, int fromY, int toX, int toY, int limit) {
+        if (!isOpen(fromX, fromY) || !isOpen(toX, toY) || manhattan(fromX, fromY, toX, toY) > limit) {
+            return -1;
+        }
+        // 搜尋視窗：起點周圍 limit 步，再切掉地圖外的部分
+        int minX = (int) Math.max(originX, (long) fromX - limit);
+        int maxX = (int) Math.min(originX + width - 1L, (long) fromX + limit);
+        int minY = (int) Math.max(originY, (long) fromY - limit);
+        int maxY = (int) Math.min(originY + height - 1L, (long) fromY + limit);
+        int w = maxX - minX + 1;
+        int cells = w * (maxY - minY + 1);
+
+        int[] g = new int[cells];
+        Arrays.fill(g, UNVISITED);
+        // 二元堆積，每個元素是 (f << 32) | 視窗內的格子編號；同一格可能放入多次，取出時略過過期的
+        // 起始只配 64 格（視窗更小時按視窗算），放不下再加倍，短路徑不必為整個視窗配置
+        long[] heap = new long[Math.min(cells * 4, 64)];
+        int heapSize = 0;
+
+        int start = (fromY - minY) * w + (fromX - minX);
+        int goal = (toY - minY) * w + (toX - minX);
+        g[start] = 0;
+        heap[heapSize++] = ((long) manhattan(fromX, fromY, toX, toY) << 32) | start;
+
+        while (heapSize > 0) {
+            long top = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize);
+            int cell = (int) top;
+            int f = (int) (top >>> 32);
+            int x = cell % w + minX;
+            int y = cell / w + minY;
+            int cost = g[cell];
+            if (f != cost + manhattan(x, y, toX, toY)) {
+                continue;   // 已經有更短的路徑
+            }
+            if (cell == goal) {
+                return cost;
+            }
+            for (int dir = 0; dir < 4; dir++) {
+                int nx = x + (dir == 0 ? 1 : dir == 1 ? -1 : 0);
+                int ny = y + (dir == 2 ? 1 : dir == 3 ? -1 : 0);
+                if (nx < minX || nx > maxX || ny < minY || ny > maxY || blocked[cellOf(nx, ny)]) {
+                    continue;
+                }
+                int next = (ny - minY) * w + (nx - minX);
+                int nf = cost + 1 + manhattan(nx, ny, toX, toY);
+                if (cost + 1 >= g[next] || nf > limit) {
+                    continue;
+                }
+                g[next] = cost + 1;
+                if (heapSize == heap.length) {
+                    heap = Arrays.copyOf(heap, heapSize * 2);
+                }
+                heap[heapSize] = ((long) nf << 32) | next;
+                siftUp(heap, heapSize++);
+            }
+        }
+        return -1;
+    }
+
+    private static int manhattan(int x1, int y1, int x2, int y2) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.abs((long) x1 - x2) + Math.abs((long) y1 - y2));
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        long value = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        long value = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= value) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+}
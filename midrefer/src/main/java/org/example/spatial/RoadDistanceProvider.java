@@ -0,0 +1,58 @@
+package org.example.spatial;
+
+import org.example.model.Restaurant;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// 依街道地圖計算外送距離：GridRoadMap 的 A* 最短步數，結果放進 LRU 快取
+// 快取以 (餐廳所在格子, 顧客所在格子) 為鍵，餐廳搬家後自然換成新的鍵；地圖不可修改，快取不需要失效
+// 只搜尋 maxSteps 步以內，超過或到不了都回傳 UNREACHABLE；maxSteps 通常設成最大外送距離
+// 步數不會小於直線距離，符合 DistanceProvider 的要求
+public class RoadDistanceProvider implements DistanceProvider {
+
+    private final GridRoadMap map;
+    private final int maxSteps;
+    private final DistanceCache cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RoadDistanceProvider(GridRoadMap map, int maxSteps, int cacheCapacity) {
+        if (maxSteps < 0) {
+            throw new IllegalArgumentException("最大步數不可為負數: " + maxSteps);
+        }
+        this.map = map;
+        this.maxSteps = maxSteps;
+        this.cache = new DistanceCache(cacheCapacity);
+    }
+
+    @Override
+    public long distanceSquared(Restaurant restaurant, int customerX, int customerY) {
+        int steps = steps(restaurant.getX(), restaurant.getY(), customerX, customerY);
+        return steps < 0 ? UNREACHABLE : (long) steps * steps;
+    }
+
+    // 最短步數，超過 maxSteps 或到不了時回傳 -1
+    public int steps(int fromX, int fromY, int toX, int toY) {
+        int from = map.cellOf(fromX, fromY);
+        int to = map.cellOf(toX, toY);
+        if (from < 0 || to < 0) {
+            return -1;   // 地圖外，不佔快取
+        }
+        long key = ((long) from << 32) | (to & 0xFFFFFFFFL);
+        int steps = cache.get(key);
+        if (steps != DistanceCache.MISS) {
+            hits.increment();
+            return steps;
+        }
+        misses.increment();
+        steps = map.distance(fromX, fromY, toX, toY, maxSteps);
+        cache.put(key, steps);
+        return steps;
+    }
+
+    public GridRoadMap getMap() { return map; }
+    public int getMaxSteps() { return maxSteps; }
+    public long getCacheHits() { return hits.sum(); }
+    public long getCacheMisses() { return misses.sum(); }
+    public int getCacheSize() { return cache.size(); }
+}
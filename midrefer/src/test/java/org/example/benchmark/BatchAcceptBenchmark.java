@@ -0,0 +1,87 @@
+package org.example.benchmark;
+
+import org.example.exception.BusinessException;
+import org.example.model.Order;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.AcceptOutcome;
+import org.example.service.DeliveryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 比較逐筆 acceptOrder 與批次 acceptOrders 的接單速度。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.BatchAcceptBenchmark
+ */
+public class BatchAcceptBenchmark {
+
+    private static final int ORDERS = 200_000;
+    private static final int WARMUP = 3;
+    private static final int MEASURE = 5;
+
+    // 約三成訂單會因為距離或營業時間被拒，接近尖峰時段的比例
+    private static List<Order> newOrders(long seed) {
+        Random rnd = new Random(seed);
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant[] restaurants = new Restaurant[100];
+        for (int r = 0; r < restaurants.length; r++) {
+            restaurants[r] = registry.register("Restaurant" + r, 1000, 2100, 0, 0);
+        }
+        List<Order> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            int orderHour = rnd.nextInt(10) < 2 ? 2200 : 1300;
+            int customerX = rnd.nextInt(10) < 1 ? 15 : rnd.nextInt(8);
+            orders.add(new Order(String.valueOf(i), "Customer" + i, restaurants[i % restaurants.length],
+                    orderHour, customerX, rnd.nextInt(6)));
+        }
+        return orders;
+    }
+
+    private static long runLoop(DeliveryService service, List<Order> orders) {
+        long start = System.nanoTime();
+        int accepted = 0;
+        for (Order order : orders) {
+            try {
+                service.acceptOrder(order);
+                accepted++;
+            } catch (BusinessException e) {
+                // 被拒的訂單照常略過
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (accepted == 0) throw new IllegalStateException("沒有任何訂單被接受");
+        return elapsed;
+    }
+
+    private static long runBatch(DeliveryService service, List<Order> orders) {
+        long start = System.nanoTime();
+        List<AcceptOutcome> outcomes = service.acceptOrders(orders);
+        long elapsed = System.nanoTime() - start;
+        if (outcomes.size() != orders.size()) throw new IllegalStateException("批次結果數量不符");
+        return elapsed;
+    }
+
+    public static void main(String[] args) {
+        DeliveryService service = new DeliveryService();
+
+        for (int i = 0; i < WARMUP; i++) {
+            runLoop(service, newOrders(i));
+            runBatch(service, newOrders(i));
+        }
+
+        long loopNanos = Long.MAX_VALUE;
+        long batchNanos = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE; i++) {
+            loopNanos = Math.min(loopNanos, runLoop(service, newOrders(100 + i)));
+            batchNanos = Math.min(batchNanos, runBatch(service, newOrders(100 + i)));
+        }
+
+        System.out.printf("orders=%d cores=%d%n", ORDERS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("loop  : %8.1f ms  %,12.0f orders/s%n", loopNanos / 1e6, ORDERS * 1e9 / loopNanos);
+        System.out.printf("batch : %8.1f ms  %,12.0f orders/s%n", batchNanos / 1e6, ORDERS * 1e9 / batchNanos);
+        System.out.printf("speedup: %.2fx%n", (double) loopNanos / batchNanos);
+    }
+}
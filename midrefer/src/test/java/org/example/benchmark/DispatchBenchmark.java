@@ -0,0 +1,85 @@
+package org.example.benchmark;
+
+import org.example.dispatch.Assignment;
+import org.example.dispatch.DispatchEngine;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 派單引擎在不同外送員人數下的派單量與延遲。
+ * 每一輪送進 BATCH 張已接單的訂單，執行一輪派單，再把這一輪取餐的訂單全部送達。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.DispatchBenchmark
+ */
+public class DispatchBenchmark {
+
+    private static final int AREA = 2_000;
+    private static final int RESTAURANTS = 1_000;
+    private static final int BATCH = 256;
+    private static final int ROUNDS = 800;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int[] POOL_SIZES = {100, 1_000, 10_000, 50_000};
+
+    public static void main(String[] args) {
+        Random rnd = new Random(42);
+        RestaurantRegistry registry = new RestaurantRegistry();
+        for (int i = 0; i < RESTAURANTS; i++) {
+            registry.register("R" + i, 0, 2400, rnd.nextInt(AREA), rnd.nextInt(AREA));
+        }
+        LocalDate today = LocalDate.now();
+
+        for (int pool : POOL_SIZES) {
+            DeliveryService service = new DeliveryService();
+            DispatchEngine engine = new DispatchEngine(service, 32, 10);
+            service.addListener(engine);
+            for (int i = 0; i < pool; i++) {
+                engine.addCourier("C" + i, rnd.nextInt(AREA), rnd.nextInt(AREA), 3);
+            }
+
+            long[] roundNanos = new long[ROUNDS];
+            long[] waitNanos = new long[ROUNDS * BATCH];
+            int waits = 0;
+            long assigned = 0;
+            long measuredNanos = 0;
+            int seq = 0;
+            for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+                for (int i = 0; i < BATCH; i++) {
+                    Restaurant r = registry.get(rnd.nextInt(RESTAURANTS));
+                    engine.submit(Order.restore(String.valueOf(seq++), "C", r, today, 1200, r.getX() + 3, r.getY() + 4,
+                            OrderStatus.ACCEPTED));
+                }
+                long start = System.nanoTime();
+                List<Assignment> result = engine.runRound();
+                long elapsed = System.nanoTime() - start;
+                for (Assignment a : result) {
+                    service.deliverOrder(a.getOrder());
+                }
+                if (round >= 0) {
+                    roundNanos[round] = elapsed;
+                    measuredNanos += elapsed;
+                    assigned += result.size();
+                    for (Assignment a : result) {
+                        if (waits < waitNanos.length) waitNanos[waits++] = a.getWaitNanos();
+                    }
+                }
+            }
+
+            Arrays.sort(roundNanos);
+            long[] w = Arrays.copyOf(waitNanos, waits);
+            Arrays.sort(w);
+            System.out.printf("couriers=%,6d  assignments/s=%,10.0f  round p50=%6.0f us p99=%6.0f us  "
+                            + "wait p99=%6.2f ms  backlog=%,d%n",
+                    pool, assigned * 1e9 / measuredNanos,
+                    roundNanos[ROUNDS / 2] / 1e3, roundNanos[ROUNDS * 99 / 100] / 1e3,
+                    w.length == 0 ? 0 : w[w.length * 99 / 100] / 1e6, engine.waitingCount());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.benchmark;
+
+import org.example.journal.EventJournal;
+import org.example.journal.EventJournalReader;
+import org.example.model.OrderStatus;
+import org.example.model.RejectionReason;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 事件日誌寫入與讀取速度。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.EventJournalBenchmark
+ */
+public class EventJournalBenchmark {
+
+    private static final int EVENTS = 5_000_000;
+    private static final int SEGMENT_SIZE = 48 * 1_000_000;  // 每個 segment 一百萬筆
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("event-journal-bench");
+        try {
+            String[] ids = new String[10_000];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = String.format("%06d", i);
+            }
+
+            long start = System.nanoTime();
+            try (EventJournal journal = new EventJournal(dir, SEGMENT_SIZE, 100)) {
+                for (int i = 0; i < EVENTS; i++) {
+                    RejectionReason reason = i % 5 == 0 ? RejectionReason.TOO_FAR : null;
+                    journal.append(ids[i % ids.length], OrderStatus.PENDING, OrderStatus.ACCEPTED, reason, i);
+                }
+            }
+            long writeNanos = System.nanoTime() - start;
+
+            long[] rejected = new long[1];
+            start = System.nanoTime();
+            long count = new EventJournalReader(dir).scan(r -> {
+                if (r.isRejected()) rejected[0]++;
+            });
+            long readNanos = System.nanoTime() - start;
+
+            System.out.printf("write: %,d events in %.0f ms (%,.0f events/s, including final force)%n",
+                    EVENTS, writeNanos / 1e6, EVENTS * 1e9 / writeNanos);
+            System.out.printf("read : %,d events in %.0f ms (%,.0f events/s), rejected=%,d%n",
+                    count, readNanos / 1e6, count * 1e9 / readNanos, rejected[0]);
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+}
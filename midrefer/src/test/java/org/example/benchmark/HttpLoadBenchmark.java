@@ -0,0 +1,115 @@
+package org.example.benchmark;
+
+import org.example.http.OrderHttpServer;
+import org.example.metrics.HistogramSnapshot;
+import org.example.metrics.LatencyHistogram;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.example.service.OrderRegistry;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 訂單 HTTP API 的負載測試：在本機啟動 OrderHttpServer，
+ * 以 1 / 4 / 16 / 64 / 256 個並行使用者（各一條虛擬執行緒）反覆執行
+ * 建立 → 接單 → 取餐 → 送達 → 查詢，回報每秒請求數與 p50 / p99 / p999 延遲。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.HttpLoadBenchmark
+ */
+public class HttpLoadBenchmark {
+
+    private static final int[] CONCURRENCY = {1, 4, 16, 64, 256};
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long MEASURE_MILLIS = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        // 和 Main serve 相同，關閉 Nagle 後再建立 HttpServer
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        RestaurantRegistry restaurants = new RestaurantRegistry();
+        restaurants.register("McDonalds", 0, 2400, 0, 0);
+        OrderRegistry orders = new OrderRegistry(1 << 16);
+        try (OrderHttpServer server = new OrderHttpServer(new DeliveryService(), restaurants, orders,
+                new InetSocketAddress("127.0.0.1", 0))) {
+            server.start();
+            String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/orders";
+            // 伺服器只支援 HTTP/1.1，避免用戶端每個連線先嘗試 h2c 升級
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            AtomicLong ids = new AtomicLong();
+
+            run(client, base, ids, orders, 16, WARMUP_MILLIS, null);
+            for (int users : CONCURRENCY) {
+                LatencyHistogram latency = new LatencyHistogram();
+                long start = System.nanoTime();
+                long requests = run(client, base, ids, orders, users, MEASURE_MILLIS, latency);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                HistogramSnapshot s = latency.snapshot();
+                System.out.printf("users=%3d  req/s=%,8.0f  p50=%7.1f us  p99=%8.1f us  p999=%8.1f us  max=%8.1f us%n",
+                        users, requests / seconds, s.getPercentileNanos(50) / 1e3, s.getPercentileNanos(99) / 1e3,
+                        s.getPercentileNanos(99.9) / 1e3, s.getMaxNanos() / 1e3);
+            }
+        }
+    }
+
+    // 以 users 個虛擬執行緒持續送出請求 millis 毫秒，回傳完成的請求數
+    private static long run(HttpClient client, String base, AtomicLong ids, OrderRegistry orders,
+                            int users, long millis, LatencyHistogram latency) throws Exception {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        List<Future<Long>> futures = new ArrayList<>(users);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                futures.add(executor.submit(() -> {
+                    long done = 0;
+                    while (System.nanoTime() < deadline) {
+                        String id = Long.toString(ids.incrementAndGet());
+                        String body = "{\"orderId\":\"" + id + "\",\"customerName\":\"Andy\",\"restaurantId\":0,"
+                                + "\"orderDate\":\"2025-03-03\",\"orderHour\":1200,\"customerX\":3,\"customerY\":4}";
+                        send(client, latency, HttpRequest.newBuilder(URI.create(base))
+                                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), 201);
+                        String path = base + "/" + id;
+                        for (String action : new String[]{"/accept", "/pickup", "/deliver"}) {
+                            send(client, latency, HttpRequest.newBuilder(URI.create(path + action))
+                                    .POST(HttpRequest.BodyPublishers.noBody()).build(), 200);
+                        }
+                        send(client, latency, HttpRequest.newBuilder(URI.create(path)).GET().build(), 200);
+                        done += 5;
+                    }
+                    return done;
+                }));
+            }
+        }
+        long total = 0;
+        for (Future<Long> future : futures) {
+            total += future.get();
+        }
+        orders.removeDelivered();   // 避免登記表隨測試不斷變大
+        return total;
+    }
+
+    private static void send(HttpClient client, LatencyHistogram latency, HttpRequest request, int expected)
+            throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (latency != null) {
+            latency.record(System.nanoTime() - start);
+        }
+        if (response.statusCode() != expected) {
+            throw new IllegalStateException(request.uri() + " 回傳 " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+    }
+}
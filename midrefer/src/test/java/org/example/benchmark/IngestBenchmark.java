@@ -0,0 +1,104 @@
+package org.example.benchmark;
+
+import org.example.ingest.IngestionPipeline;
+import org.example.ingest.IngestionReport;
+import org.example.ingest.OrderFileReader;
+import org.example.ingest.OrderFormat;
+import org.example.model.Order;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * 串流匯入的端到端吞吐量：產生 200 萬張訂單的 CSV 與 NDJSON 檔，
+ * 先量只讀檔解析的速度，再以 1 / 2 / 4 個工作執行緒跑完接單、取餐、送達。
+ * 另外印出各記憶體區的峰值，確認記憶體用量不隨檔案大小增加。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.IngestBenchmark
+ */
+public class IngestBenchmark {
+
+    private static final int ORDERS = 2_000_000;
+    private static final int RESTAURANTS = 200;
+    private static final int[] WORKERS = {1, 2, 4};
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("ingest-bench");
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Random rnd = new Random(42);
+        for (int i = 0; i < RESTAURANTS; i++) {
+            registry.register("R" + i, 1000, 2100, rnd.nextInt(1000), rnd.nextInt(1000));
+        }
+        Path csv = dir.resolve("orders.csv");
+        Path ndjson = dir.resolve("orders.ndjson");
+        generate(csv, ndjson, registry, rnd);
+
+        try {
+            for (Path file : new Path[]{csv, ndjson}) {
+                long size = Files.size(file);
+                System.out.printf("%s (%,d MB)%n", file.getFileName(), size >> 20);
+                parseOnly(file, registry);   // 暖身
+                long start = System.nanoTime();
+                long parsed = parseOnly(file, registry);
+                long nanos = System.nanoTime() - start;
+                System.out.printf("  parse only       : %,10.0f orders/s  %,6.0f MB/s%n",
+                        parsed * 1e9 / nanos, size / 1e6 * 1e9 / nanos);
+                for (int workers : WORKERS) {
+                    IngestionReport report = new IngestionPipeline(new DeliveryService(), registry, workers).ingest(file);
+                    System.out.printf("  workers=%d        : %,10.0f orders/s  accepted=%,d delivered=%,d blocked=%.0f ms%n",
+                            workers, report.getOrdersPerSecond(), report.getAccepted(), report.getDelivered(),
+                            report.getBlockedNanos() / 1e6);
+                }
+            }
+            long peak = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+            System.out.printf("peak memory across pools: %,d MB (files total %,d MB)%n",
+                    peak >> 20, (Files.size(csv) + Files.size(ndjson)) >> 20);
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(ndjson);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static long parseOnly(Path file, RestaurantRegistry registry) {
+        long count = 0;
+        try (OrderFileReader reader = new OrderFileReader(file, OrderFormat.of(file), registry)) {
+            Order[] batch = new Order[512];
+            int n;
+            while ((n = reader.read(batch)) > 0) {
+                count += n;
+            }
+        }
+        return count;
+    }
+
+    // 兩個檔案內容相同，約 7 成可接單，其餘太遠或非營業時間
+    private static void generate(Path csv, Path ndjson, RestaurantRegistry registry, Random rnd) throws IOException {
+        try (BufferedWriter c = Files.newBufferedWriter(csv); BufferedWriter j = Files.newBufferedWriter(ndjson)) {
+            c.write("orderId,customerName,restaurantId,orderDate,orderHour,customerX,customerY\n");
+            for (int i = 0; i < ORDERS; i++) {
+                int restaurant = rnd.nextInt(RESTAURANTS);
+                int spread = rnd.nextInt(10) < 8 ? 6 : 40;
+                int x = registry.get(restaurant).getX() + rnd.nextInt(spread) - spread / 2;
+                int y = registry.get(restaurant).getY() + rnd.nextInt(spread) - spread / 2;
+                int hour = rnd.nextInt(10) == 0 ? 2230 : 1000 + rnd.nextInt(11) * 100;
+                String id = "O" + i;
+                String customer = "C" + rnd.nextInt(100_000);
+                c.write(id + "," + customer + "," + restaurant + ",2025-03-03," + hour + "," + x + "," + y + "\n");
+                j.write("{\"orderId\":\"" + id + "\",\"customerName\":\"" + customer + "\",\"restaurantId\":" + restaurant
+                        + ",\"orderDate\":\"2025-03-03\",\"orderHour\":" + hour + ",\"customerX\":" + x
+                        + ",\"customerY\":" + y + "}\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.benchmark;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.example.exception.BusinessException;
+import org.example.loadgen.LoadGenerator;
+import org.example.loadgen.LoadProfile;
+import org.example.loadgen.Workload;
+import org.example.model.Order;
+import org.example.service.DeliveryService;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 日誌設定對吞吐量的影響：用和 Main 相同的流程（acceptOrder、取餐、送達，被拒的單也照樣取餐送達）
+ * 處理合成訂單，每張單 3 到 6 行日誌，狀態不對的取餐、送達警告已經限流，比較：
+ *   current    目前的 log4j2.xml：同步 Console + File
+ *   production log4j2-production.xml：不寫 Console，RandomAccessFile 緩衝寫入，不產生暫存物件
+ *   async      同一個檔案 appender 包在 &lt;Async&gt; appender 裡
+ *   off        完全不寫日誌，當作上限
+ * Console 導向到丟棄輸出的串流，實際終端機只會更慢；檔案寫在暫存目錄。
+ * 「含排空」把切換設定時等待非同步佇列寫完的時間也算進去。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.LoggingBenchmark
+ */
+public class LoggingBenchmark {
+
+    private static final Logger logger = LogManager.getLogger(LoggingBenchmark.class);
+    private static final int ORDERS = 200_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        PrintStream out = System.out;
+        Path dir = Files.createTempDirectory("logging-benchmark");
+        System.setProperty("app.logDir", dir.toString());
+
+        // 目前的設定把 app.log 寫在工作目錄，改寫到暫存目錄再載入
+        String current;
+        try (InputStream in = LoggingBenchmark.class.getResourceAsStream("/log4j2.xml")) {
+            current = new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("fileName=\"app.log\"", "fileName=\"" + dir.resolve("current.log") + "\"")
+                    .replace("target=\"SYSTEM_OUT\"", "target=\"SYSTEM_OUT\" follow=\"true\"");
+        }
+        Path currentConfig = Files.writeString(dir.resolve("log4j2-current.xml"), current);
+        // 正式設定滿 256 MB 會在背景壓縮舊檔，量測時調大上限，避免壓縮和量測搶 CPU、也避免刪檔時還在壓縮
+        Path productionConfig = Files.writeString(dir.resolve("log4j2-production.xml"), Files.readString(
+                Path.of(LoggingBenchmark.class.getResource("/log4j2-production.xml").toURI()))
+                .replace("size=\"256 MB\"", "size=\"4 GB\""));
+        // 同一個檔案 appender 包在 <Async> appender 裡，沒有 disruptor 時唯一的非同步做法
+        Path asyncConfig = Files.writeString(dir.resolve("log4j2-async.xml"), Files.readString(productionConfig)
+                .replace("<AppenderRef ref=\"FileLogger\"/>", "<AppenderRef ref=\"Async\"/>")
+                .replace("</Appenders>", "<Async name=\"Async\" bufferSize=\"65536\"><AppenderRef ref=\"FileLogger\"/></Async></Appenders>")
+                .replace("/app.log", "/async.log").replace("/app-%d", "/async-%d"));
+        Path offConfig = Files.writeString(dir.resolve("log4j2-off.xml"),
+                "<Configuration status=\"WARN\"><Loggers><Root level=\"off\"/></Loggers></Configuration>");
+
+        LoadGenerator generator = new LoadGenerator(LoadProfile.builder().orders(ORDERS).build());
+        System.setOut(new PrintStream(PrintStream.nullOutputStream(), false, StandardCharsets.UTF_8));
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                for (String name : new String[]{"current", "production", "async", "off"}) {
+                    Path config = switch (name) {
+                        case "current" -> currentConfig;
+                        case "production" -> productionConfig;
+                        case "async" -> asyncConfig;
+                        default -> offConfig;
+                    };
+                    LoggerContext context = LoggerContext.getContext(false);
+                    context.setConfigLocation(config.toUri());
+                    Workload workload = generator.generate();
+                    DeliveryService service = new DeliveryService();
+
+                    com.sun.management.ThreadMXBean threads =
+                            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                    long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                    long start = System.nanoTime();
+                    for (int i = 0; i < workload.size(); i++) {
+                        process(service, workload.getOrder(i));
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                    context.setConfigLocation(offConfig.toUri());   // 停掉舊設定，等非同步佇列寫完
+                    long drained = System.nanoTime() - start;
+
+                    out.printf("round %d  %-10s %,10.0f orders/s  (incl. drain %,10.0f orders/s)  %6.0f B/order%n",
+                            round, name, ORDERS * 1e9 / elapsed, ORDERS * 1e9 / drained, (double) allocated / ORDERS);
+                }
+            }
+        } finally {
+            System.setOut(out);
+        }
+        // 日誌檔有好幾百 MB，印出大小後刪掉
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                if (file.getFileName().toString().endsWith(".log")) {
+                    out.printf("%s %,d bytes%n", file.getFileName(), Files.size(file));
+                }
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    // 和 Main 相同：被拒的訂單記一行警告，照樣嘗試取餐與送達
+    private static void process(DeliveryService service, Order order) {
+        try {
+            service.acceptOrder(order);
+        } catch (BusinessException e) {
+            logger.warn("Business Exception: {}", e.getMessage());
+        }
+        service.pickupOrder(order);
+        service.deliverOrder(order);
+    }
+}
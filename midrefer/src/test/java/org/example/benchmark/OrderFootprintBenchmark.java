@@ -0,0 +1,91 @@
+package org.example.benchmark;
+
+import org.example.model.Order;
+import org.example.model.OrderTable;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.ref.Reference;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 比較 N 張進行中訂單用 Order 物件與 OrderTable 存放時的記憶體用量。
+ * 名稱字串每張訂單各自建立，模擬從外部輸入解析出來的情況。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.OrderFootprintBenchmark
+ */
+public class OrderFootprintBenchmark {
+
+    private static final int ORDERS = 3_000_000;
+    private static final int CUSTOMERS = 200_000;
+    private static final int RESTAURANTS = 5_000;
+
+    public static void main(String[] args) {
+        RestaurantRegistry restaurants = new RestaurantRegistry();
+        Restaurant[] byIndex = new Restaurant[RESTAURANTS];
+        for (int i = 0; i < RESTAURANTS; i++) {
+            byIndex[i] = restaurants.register("Restaurant" + i, 1000, 2100, i % 1000, i % 997);
+        }
+
+        // 對照：每張訂單各自帶一份未登錄的餐廳資料（含自己的營業時段位元表）
+        long base = usedHeap();
+        List<Order> objects = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            Restaurant own = new Restaurant(Restaurant.UNREGISTERED, "Restaurant" + (i % RESTAURANTS),
+                    1000, 2100, i % 1000, i % 997);
+            objects.add(new Order(String.valueOf(i), "Customer" + (i % CUSTOMERS), own, 1300, i % 991, i % 983));
+        }
+        report("Order (own data)", usedHeap() - base, 0);
+        Reference.reachabilityFence(objects);
+        objects = null;
+
+        // 共用登錄的餐廳資料
+        base = usedHeap();
+        objects = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            objects.add(new Order(String.valueOf(i), "Customer" + (i % CUSTOMERS), byIndex[i % RESTAURANTS],
+                    1300, i % 991, i % 983));
+        }
+        report("Order (registry)", usedHeap() - base, 0);
+        Reference.reachabilityFence(objects);
+        objects = null;
+
+        for (boolean offHeap : new boolean[]{false, true}) {
+            base = usedHeap();
+            long directBase = directMemory();
+            OrderTable table = new OrderTable(restaurants, ORDERS, offHeap);
+            for (int i = 0; i < ORDERS; i++) {
+                table.add(String.valueOf(i), "Customer" + (i % CUSTOMERS), byIndex[i % RESTAURANTS],
+                        1300, i % 991, i % 983);
+            }
+            long heapBytes = usedHeap() - base;
+            long directBytes = directMemory() - directBase;
+            report(offHeap ? "OrderTable off-heap" : "OrderTable heap", heapBytes, directBytes);
+            Reference.reachabilityFence(table);
+        }
+    }
+
+    private static void report(String name, long heapBytes, long directBytes) {
+        System.out.printf("%-20s heap %7.1f MB  direct %6.1f MB  %6.1f bytes/order%n",
+                name, heapBytes / 1e6, directBytes / 1e6, (double) (heapBytes + directBytes) / ORDERS);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static long directMemory() {
+        long used = 0;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) used += pool.getMemoryUsed();
+        }
+        return used;
+    }
+}
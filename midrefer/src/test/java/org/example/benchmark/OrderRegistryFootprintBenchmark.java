@@ -0,0 +1,68 @@
+package org.example.benchmark;
+
+import org.example.model.Order;
+import org.example.model.Restaurant;
+import org.example.service.OrderRegistry;
+
+import java.lang.ref.Reference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 以訂單編號建立索引時每筆額外佔用的記憶體，不含 Order 本身：
+ * OrderRegistry 對照 ConcurrentHashMap&lt;Long, Order&gt; 與 ConcurrentHashMap&lt;String, Order&gt;（鍵用訂單自己的字串）。
+ * 需要加上 -Xmx2g 以上。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.OrderRegistryFootprintBenchmark
+ */
+public class OrderRegistryFootprintBenchmark {
+
+    private static final int ORDERS = 3_000_000;
+
+    public static void main(String[] args) {
+        Restaurant restaurant = new Restaurant(0, "R0", 1000, 2100, 0, 0);
+        Order[] orders = new Order[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            orders[i] = new Order(String.valueOf(i), "C", restaurant, 1300, 1, 1);
+        }
+
+        long base = usedHeap();
+        OrderRegistry registry = new OrderRegistry();
+        for (Order order : orders) {
+            registry.put(order);
+        }
+        report("OrderRegistry", usedHeap() - base);
+        Reference.reachabilityFence(registry);
+        registry = null;
+
+        base = usedHeap();
+        Map<Long, Order> byLong = new ConcurrentHashMap<>();
+        for (int i = 0; i < ORDERS; i++) {
+            byLong.put((long) i, orders[i]);
+        }
+        report("CHM<Long, Order>", usedHeap() - base);
+        Reference.reachabilityFence(byLong);
+        byLong = null;
+
+        base = usedHeap();
+        Map<String, Order> byString = new ConcurrentHashMap<>();
+        for (Order order : orders) {
+            byString.put(order.getOrderId(), order);
+        }
+        report("CHM<String, Order>", usedHeap() - base);
+        Reference.reachabilityFence(byString);
+        Reference.reachabilityFence(orders);
+    }
+
+    private static void report(String name, long bytes) {
+        System.out.printf("%-20s %7.1f MB  %5.1f bytes/order%n", name, bytes / 1e6, (double) bytes / ORDERS);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.benchmark;
+
+import org.example.dispatch.Route;
+import org.example.dispatch.RouteBatcher;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 合併外送行程的品質與計算時間：每批 10 / 100 / 1000 張訂單。
+ * 品質以「每張訂單的趟數」與「每張訂單走的距離」表示，和每張訂單各跑一趟比較；
+ * 另外比較只用最近鄰與加上 2-opt 的路線長度。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.RouteBatchBenchmark
+ */
+public class RouteBatchBenchmark {
+
+    private static final int[] BATCH_SIZES = {10, 100, 1_000};
+    private static final int MAX_DROPS = 12;
+    private static final double PICKUP_RADIUS = 5;
+    private static final long TIME_BUDGET_NANOS = 2_000_000;   // 每趟 2 ms
+    private static final int REPEATS = 30;
+
+    public static void main(String[] args) {
+        Random rnd = new Random(42);
+        RestaurantRegistry registry = new RestaurantRegistry();
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            restaurants.add(registry.register("R" + i, 0, 2400, rnd.nextInt(60), rnd.nextInt(60)));
+        }
+        LocalDate today = LocalDate.now();
+
+        for (int size : BATCH_SIZES) {
+            List<Order> orders = new ArrayList<>(size);
+            double direct = 0;
+            for (int i = 0; i < size; i++) {
+                Restaurant r = restaurants.get(rnd.nextInt(restaurants.size()));
+                Order order = Order.restore(String.valueOf(i), "C", r, today, 1200,
+                        r.getX() + rnd.nextInt(9) - 4, r.getY() + rnd.nextInt(9) - 4, OrderStatus.ACCEPTED);
+                orders.add(order);
+                direct += Math.sqrt(r.distanceSquaredTo(order.getCustomerX(), order.getCustomerY()));
+            }
+
+            RouteBatcher nnOnly = new RouteBatcher(MAX_DROPS, PICKUP_RADIUS, 0);
+            RouteBatcher twoOpt = new RouteBatcher(MAX_DROPS, PICKUP_RADIUS, TIME_BUDGET_NANOS);
+            for (int i = 0; i < 5; i++) {
+                nnOnly.plan(orders);
+                twoOpt.plan(orders);
+            }
+            long[] nnNanos = new long[REPEATS];
+            long[] optNanos = new long[REPEATS];
+            List<Route> nnRoutes = null;
+            List<Route> optRoutes = null;
+            for (int i = 0; i < REPEATS; i++) {
+                long start = System.nanoTime();
+                nnRoutes = nnOnly.plan(orders);
+                nnNanos[i] = System.nanoTime() - start;
+                start = System.nanoTime();
+                optRoutes = twoOpt.plan(orders);
+                optNanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nnNanos);
+            Arrays.sort(optNanos);
+
+            double nnLength = nnRoutes.stream().mapToDouble(Route::getLength).sum();
+            double optLength = optRoutes.stream().mapToDouble(Route::getLength).sum();
+            double maxRide = optRoutes.stream().mapToDouble(Route::getMaxRideDistance).max().orElse(0);
+            System.out.printf("orders=%,5d  trips/order: unbatched=1.00 nn=%.2f nn+2opt=%.2f"
+                            + "  distance/order: unbatched=%.2f nn=%.2f nn+2opt=%.2f"
+                            + "  max ride=%.1f  solve p50: nn=%.2f ms nn+2opt=%.2f ms%n",
+                    size, (double) nnRoutes.size() / size, (double) optRoutes.size() / size,
+                    direct / size, nnLength / size, optLength / size,
+                    maxRide, nnNanos[REPEATS / 2] / 1e6, optNanos[REPEATS / 2] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.benchmark;
+
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.example.shard.ShardedDeliveryService;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分片數從 1 到 32 時的吞吐量：每張訂單送出接單、取餐、送達三個指令，
+ * 由 4 條生產者執行緒送出，等全部送達後計算每秒完成的訂單數。
+ * 可以線性成長的上限是機器的核心數，超過之後只會看到排程成本。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.ShardScalingBenchmark
+ */
+public class ShardScalingBenchmark {
+
+    private static final int[] SHARDS = {1, 2, 4, 8, 16, 32};
+    private static final int ORDERS = 500_000;
+    private static final int RESTAURANTS = 1_024;
+    private static final int PRODUCERS = 4;
+    private static final int REPEATS = 3;
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    public static void main(String[] args) throws Exception {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant[] restaurants = new Restaurant[RESTAURANTS];
+        for (int i = 0; i < RESTAURANTS; i++) {
+            restaurants[i] = registry.register("R" + i, 1000, 2100, i % 100, i / 100);
+        }
+        Order[] orders = new Order[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            Restaurant r = restaurants[i % RESTAURANTS];
+            orders[i] = new Order(String.valueOf(i), "C", r, MONDAY, 1200, r.getX() + 1, r.getY() + 1);
+        }
+
+        System.out.printf("cores=%d producers=%d orders=%,d%n",
+                Runtime.getRuntime().availableProcessors(), PRODUCERS, ORDERS);
+        double base = 0;
+        for (int shards : SHARDS) {
+            run(orders, shards);   // 暖身
+            double best = 0;
+            for (int r = 0; r < REPEATS; r++) {
+                best = Math.max(best, run(orders, shards));
+            }
+            if (base == 0) {
+                base = best;
+            }
+            System.out.printf("shards=%2d  %,12.0f orders/s  speedup %.2fx%n", shards, best, best / base);
+        }
+    }
+
+    private static double run(Order[] orders, int shards) throws Exception {
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = Order.restore(orders[i], OrderStatus.PENDING);
+        }
+        CompletableFuture<?>[] done = new CompletableFuture<?>[orders.length];
+        try (ShardedDeliveryService sharded = new ShardedDeliveryService(new DeliveryService(), shards)) {
+            long start = System.nanoTime();
+            Thread[] producers = new Thread[PRODUCERS];
+            for (int p = 0; p < PRODUCERS; p++) {
+                int first = p;
+                producers[p] = new Thread(() -> {
+                    for (int i = first; i < orders.length; i += PRODUCERS) {
+                        sharded.create(orders[i]);
+                        sharded.accept(orders[i]);
+                        sharded.pickup(orders[i]);
+                        done[i] = sharded.deliver(orders[i]);
+                    }
+                });
+                producers[p].start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            CompletableFuture.allOf(done).get(120, TimeUnit.SECONDS);
+            return orders.length * 1e9 / (System.nanoTime() - start);
+        }
+    }
+}
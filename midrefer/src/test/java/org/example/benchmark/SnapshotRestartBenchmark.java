@@ -0,0 +1,70 @@
+package org.example.benchmark;
+
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.snapshot.OrderSnapshot;
+import org.example.snapshot.OrderSnapshotter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 一百萬張進行中訂單的快照寫入與重新啟動載入時間。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.SnapshotRestartBenchmark
+ */
+public class SnapshotRestartBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int RESTAURANTS = 2_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        Random rnd = new Random(42);
+        RestaurantRegistry registry = new RestaurantRegistry();
+        for (int i = 0; i < RESTAURANTS; i++) {
+            registry.register("R" + i, 1000, 2100, rnd.nextInt(1000), rnd.nextInt(1000));
+        }
+        LocalDate today = LocalDate.now();
+        List<Order> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            Restaurant r = registry.get(rnd.nextInt(RESTAURANTS));
+            orders.add(Order.restore(String.format("%08d", i), "C" + rnd.nextInt(50_000), r, today, 1300,
+                    r.getX() + rnd.nextInt(7), r.getY() + rnd.nextInt(7),
+                    i % 3 == 0 ? OrderStatus.PICKED_UP : OrderStatus.ACCEPTED));
+        }
+
+        Path dir = Files.createTempDirectory("snapshot-bench");
+        Path file = dir.resolve("orders.snapshot");
+        try {
+            OrderSnapshotter snapshotter = new OrderSnapshotter(registry, file, Long.MAX_VALUE / 2);
+            snapshotter.trackAll(orders);
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                int written = snapshotter.snapshotNow();
+                long writeNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                OrderSnapshot snapshot = OrderSnapshot.read(file);
+                long readNanos = System.nanoTime() - start;
+                OrderSnapshotter restarted = new OrderSnapshotter(snapshot.getRestaurants(), file, Long.MAX_VALUE / 2);
+                restarted.trackAll(snapshot.getOrders());
+                long restartNanos = System.nanoTime() - start;
+
+                System.out.printf("round %d: write %,d orders %.0f ms (%.1f MB) | load %.0f ms, restart incl. tracking %.0f ms (%,d orders)%n",
+                        round, written, writeNanos / 1e6, Files.size(file) / 1e6,
+                        readNanos / 1e6, restartNanos / 1e6, restarted.liveCount());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.benchmark;
+
+import org.example.service.DeliveryService;
+import org.example.spatial.GridIndex;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * GridIndex 與線性掃描在不同點數下的查詢時間，點數放大十倍時索引查詢時間應該幾乎不變。
+ * 執行方式：
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.benchmark.SpatialIndexBenchmark
+ */
+public class SpatialIndexBenchmark {
+
+    private static final int AREA = 10_000;    // 座標範圍 0 ~ AREA
+    private static final int QUERIES = 2_000;
+    private static final int K = 10;
+
+    private static volatile long sink;         // 避免 JIT 把查詢結果優化掉
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %14s %14s %14s %14s%n",
+                "points", "grid radius", "scan radius", "grid kNN", "scan kNN");
+        for (int points : new int[]{10_000, 100_000, 1_000_000, 2_000_000}) {
+            run(points);
+        }
+    }
+
+    private static void run(int points) {
+        Random rnd = new Random(points);
+        int[] xs = new int[points];
+        int[] ys = new int[points];
+        GridIndex index = new GridIndex(10);
+        for (int i = 0; i < points; i++) {
+            xs[i] = rnd.nextInt(AREA);
+            ys[i] = rnd.nextInt(AREA);
+            index.insert(i, xs[i], ys[i]);
+        }
+        int[] qx = new int[QUERIES];
+        int[] qy = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            qx[i] = rnd.nextInt(AREA);
+            qy[i] = rnd.nextInt(AREA);
+        }
+
+        // 線性掃描太慢，點數大時只取部分查詢來估平均
+        int scanQueries = Math.max(20, QUERIES * 10_000 / points);
+
+        for (int warmup = 0; warmup < 3; warmup++) {
+            gridRadius(index, qx, qy, QUERIES);
+            gridNearest(index, qx, qy, QUERIES);
+        }
+
+        double gridRadius = gridRadius(index, qx, qy, QUERIES);
+        double scanRadius = scanRadius(xs, ys, qx, qy, scanQueries);
+        double gridKnn = gridNearest(index, qx, qy, QUERIES);
+        double scanKnn = scanNearest(xs, ys, qx, qy, scanQueries);
+
+        System.out.printf("%,10d %11.2f us %11.2f us %11.2f us %11.2f us%n",
+                points, gridRadius, scanRadius, gridKnn, scanKnn);
+    }
+
+    // 回傳每次查詢的平均微秒數
+    private static double gridRadius(GridIndex index, int[] qx, int[] qy, int queries) {
+        long start = System.nanoTime();
+        long found = 0;
+        for (int q = 0; q < queries; q++) {
+            found += index.within(qx[q], qy[q], DeliveryService.MAX_DISTANCE).length;
+        }
+        sink = found;
+        return (System.nanoTime() - start) / 1e3 / queries;
+    }
+
+    private static double gridNearest(GridIndex index, int[] qx, int[] qy, int queries) {
+        long start = System.nanoTime();
+        long found = 0;
+        for (int q = 0; q < queries; q++) {
+            found += index.nearest(qx[q], qy[q], K)[0];
+        }
+        sink = found;
+        return (System.nanoTime() - start) / 1e3 / queries;
+    }
+
+    private static double scanRadius(int[] xs, int[] ys, int[] qx, int[] qy, int queries) {
+        long start = System.nanoTime();
+        long found = 0;
+        double r2 = DeliveryService.MAX_DISTANCE * DeliveryService.MAX_DISTANCE;
+        for (int q = 0; q < queries; q++) {
+            for (int i = 0; i < xs.length; i++) {
+                long dx = xs[i] - qx[q];
+                long dy = ys[i] - qy[q];
+                if (dx * dx + dy * dy <= r2) found++;
+            }
+        }
+        sink = found;
+        return (System.nanoTime() - start) / 1e3 / queries;
+    }
+
+    // 線性掃描的 k 近鄰：維護一個長度 K 的有序陣列
+    private static double scanNearest(int[] xs, int[] ys, int[] qx, int[] qy, int queries) {
+        long start = System.nanoTime();
+        long found = 0;
+        long[] best = new long[K];
+        for (int q = 0; q < queries; q++) {
+            Arrays.fill(best, Long.MAX_VALUE);
+            for (int i = 0; i < xs.length; i++) {
+                long dx = xs[i] - qx[q];
+                long dy = ys[i] - qy[q];
+                long d = dx * dx + dy * dy;
+                if (d < best[K - 1]) {
+                    int j = K - 1;
+                    while (j > 0 && best[j - 1] > d) {
+                        best[j] = best[j - 1];
+                        j--;
+                    }
+                    best[j] = d;
+                }
+            }
+            found += best[0];
+        }
+        sink = found;
+        return (System.nanoTime() - start) / 1e3 / queries;
+    }
+}
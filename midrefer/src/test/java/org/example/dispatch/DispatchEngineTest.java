@@ -0,0 +1,146 @@
+package org.example.dispatch;
+
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DispatchEngineTest {
+
+    private static Order acceptedOrder(String id, Restaurant r) {
+        return Order.restore(new Order(id, "Andy", r, 1300, r.getX() + 3, r.getY() + 4), OrderStatus.ACCEPTED);
+    }
+
+    // --- 派給誰 ---
+
+    @Test
+    void testNearestCourier_getsTheOrder() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant r = registry.register("McDonalds", 1000, 2100, 100, 100);
+        DispatchEngine engine = new DispatchEngine(new DeliveryService(), 16, 0);
+        engine.addCourier("far", 160, 100, 3);
+        Courier near = engine.addCourier("near", 95, 98, 3);
+        Order order = acceptedOrder("001", r);
+
+        engine.submit(order);
+        List<Assignment> round = engine.runRound();
+
+        assertEquals(1, round.size());
+        assertSame(near, round.get(0).getCourier());
+        assertEquals(Math.sqrt(29), round.get(0).getDistance(), 1e-9);
+        assertEquals(OrderStatus.PICKED_UP, order.getStatus());
+        assertEquals(1, near.getLoad());
+    }
+
+    @Test
+    void testLongerWait_winsContendedCourier() throws InterruptedException {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant farAway = registry.register("KFC", 1000, 2100, 0, 30);
+        Restaurant nextDoor = registry.register("Subway", 1000, 2100, 0, 5);
+        // 每等一秒相當於近 1000 單位，等了 0.1 秒以上的訂單會贏過近 25 單位的新訂單
+        DispatchEngine engine = new DispatchEngine(new DeliveryService(), 16, 1000);
+        Courier only = engine.addCourier("only", 0, 0, 1);
+        Order old = acceptedOrder("old", farAway);
+        Order fresh = acceptedOrder("fresh", nextDoor);
+
+        engine.submit(old);
+        Thread.sleep(150);
+        engine.submit(fresh);
+        List<Assignment> round = engine.runRound();
+
+        assertEquals(1, round.size());
+        assertSame(old, round.get(0).getOrder());
+        assertTrue(round.get(0).getWaitNanos() >= 150_000_000L);
+        assertSame(only, round.get(0).getCourier());
+        assertEquals(OrderStatus.ACCEPTED, fresh.getStatus());
+        assertEquals(1, engine.waitingCount());
+    }
+
+    // --- 容量 ---
+
+    @Test
+    void testCapacity_freedOnDelivery() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant r = registry.register("McDonalds", 1000, 2100, 10, 10);
+        DeliveryService service = new DeliveryService();
+        DispatchEngine engine = new DispatchEngine(service, 16, 0);
+        service.addListener(engine);
+        Courier courier = engine.addCourier("Jesse", 0, 0, 2);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            orders.add(new Order("00" + i, "Andy", r, 1300, 13, 14));
+            service.tryAcceptOrder(orders.get(i));
+        }
+
+        assertEquals(2, engine.runRound().size());
+        assertTrue(courier.isFull());
+        assertEquals(0, engine.availableCount());
+        assertEquals(1, engine.waitingCount());
+
+        Order first = orders.stream().filter(o -> o.getStatus() == OrderStatus.PICKED_UP).findFirst().orElseThrow();
+        assertTrue(service.deliverOrder(first));
+        List<Assignment> next = engine.runRound();
+
+        assertEquals(1, next.size());
+        assertEquals(OrderStatus.PICKED_UP, next.get(0).getOrder().getStatus());
+        assertEquals(13, courier.getX());
+        assertEquals(14, courier.getY());
+        assertEquals(0, engine.waitingCount());
+    }
+
+    // --- 和 DeliveryService 一起在背景執行 ---
+
+    @Test
+    void testBackgroundRounds_dispatchAcceptedOrdersOnly() throws InterruptedException {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            restaurants.add(registry.register("R" + i, 1000, 2100, i * 50, i * 20));
+        }
+        DeliveryService service = new DeliveryService();
+        DispatchEngine engine = new DispatchEngine(service, 32, 1);
+        service.addListener(engine);
+        for (int i = 0; i < 30; i++) {
+            engine.addCourier("C" + i, i * 30, 200, 5);
+        }
+        engine.start(5);
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Restaurant r = restaurants.get(i % restaurants.size());
+            // 每 10 張有一張超出距離會被拒絕
+            int dx = i % 10 == 0 ? 50 : 3;
+            Order order = new Order(String.valueOf(i), "Andy", r, 1300, r.getX() + dx, r.getY());
+            orders.add(order);
+            service.tryAcceptOrder(order);
+            if (i % 3 == 0) {
+                // 外送員陸續把手上的訂單送達
+                for (Order o : orders) {
+                    if (o.getStatus() == OrderStatus.PICKED_UP) service.deliverOrder(o);
+                }
+            }
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (orders.stream().anyMatch(o -> o.getStatus() == OrderStatus.ACCEPTED)) {
+            orders.stream().filter(o -> o.getStatus() == OrderStatus.PICKED_UP).forEach(service::deliverOrder);
+            assertTrue(System.currentTimeMillis() < deadline, "派單逾時");
+            Thread.sleep(5);
+        }
+        engine.close();
+
+        for (int i = 0; i < orders.size(); i++) {
+            OrderStatus expected = i % 10 == 0 ? OrderStatus.PENDING : OrderStatus.DELIVERED;
+            if (expected == OrderStatus.DELIVERED && orders.get(i).getStatus() == OrderStatus.PICKED_UP) {
+                service.deliverOrder(orders.get(i));
+            }
+            assertEquals(expected, orders.get(i).getStatus(), orders.get(i).getOrderId());
+        }
+    }
+}
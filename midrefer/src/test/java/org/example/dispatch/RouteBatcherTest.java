@@ -0,0 +1,134 @@
+package org.example.dispatch;
+
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteBatcherTest {
+
+    private static Order accepted(String id, Restaurant r, int cx, int cy) {
+        return Order.restore(new Order(id, "Andy", r, 1300, cx, cy), OrderStatus.ACCEPTED);
+    }
+
+    private static List<Order> randomOrders(RestaurantRegistry registry, int count, long seed) {
+        Random rnd = new Random(seed);
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            restaurants.add(registry.register("R" + i, 0, 2400, rnd.nextInt(40), rnd.nextInt(40)));
+        }
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Restaurant r = restaurants.get(rnd.nextInt(restaurants.size()));
+            orders.add(accepted(String.valueOf(i), r, r.getX() + rnd.nextInt(9) - 4, r.getY() + rnd.nextInt(9) - 4));
+        }
+        return orders;
+    }
+
+    @Test
+    void testSameRestaurant_dropsInLineOrder() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant r = registry.register("McDonalds", 1000, 2100, 0, 0);
+        List<Order> orders = List.of(
+                accepted("far", r, 6, 0), accepted("near", r, 2, 0), accepted("mid", r, 4, 0));
+
+        List<Route> routes = new RouteBatcher(10, 3, 1_000_000).plan(orders);
+
+        assertEquals(1, routes.size());
+        Route route = routes.get(0);
+        assertEquals(List.of("near", "mid", "far"), route.getDrops().stream().map(OrderView::getOrderId).toList());
+        assertEquals(List.of(r), route.getPickups());
+        assertEquals(6.0, route.getLength(), 1e-9);
+        assertEquals(6.0, route.getMaxRideDistance(), 1e-9);
+    }
+
+    @Test
+    void testRideDistance_limitSplitsTrip() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant r = registry.register("McDonalds", 1000, 2100, 0, 0);
+        // 兩位顧客在相反方向各 8 單位，一趟送完其中一位要走 24 > MAX_DISTANCE
+        List<Order> orders = List.of(accepted("east", r, 8, 0), accepted("west", r, -8, 0));
+
+        List<Route> routes = new RouteBatcher(10, 3, 1_000_000).plan(orders);
+
+        assertEquals(2, routes.size());
+        for (Route route : routes) {
+            assertEquals(1, route.size());
+            assertEquals(8.0, route.getMaxRideDistance(), 1e-9);
+        }
+    }
+
+    @Test
+    void testRandomOrders_coveredOnceWithinLimits() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        List<Order> orders = randomOrders(registry, 500, 42);
+        Order pending = new Order("pending", "Andy", registry.get(0), 1300, 1, 1);
+        List<Order> input = new ArrayList<>(orders);
+        input.add(pending);
+
+        List<Route> routes = new RouteBatcher(6, 5, 2_000_000).plan(input);
+
+        Set<String> seen = new HashSet<>();
+        for (Route route : routes) {
+            assertTrue(route.size() <= 6);
+            assertTrue(route.getMaxRideDistance() <= DeliveryService.MAX_DISTANCE + 1e-9, route.toString());
+            for (OrderView o : route.getDrops()) {
+                assertTrue(seen.add(o.getOrderId()), o.getOrderId());
+                assertTrue(route.getPickups().contains(o.getRestaurant()));
+            }
+        }
+        assertEquals(orders.size(), seen.size());
+        assertFalse(seen.contains("pending"));
+        assertTrue(routes.size() < orders.size() / 2, "合併後的趟數: " + routes.size());
+    }
+
+    @Test
+    void testTwoOpt_neverLongerThanNearestNeighbour() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant r = registry.register("McDonalds", 1000, 2100, 0, 0);
+        Random rnd = new Random(3);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            orders.add(accepted(String.valueOf(i), r, rnd.nextInt(5) - 2, rnd.nextInt(3) - 1));
+        }
+
+        List<Route> nn = new RouteBatcher(12, 1, 0).plan(orders);
+        List<Route> improved = new RouteBatcher(12, 1, 50_000_000).plan(orders);
+
+        assertEquals(1, nn.size());
+        assertEquals(1, improved.size());
+        assertTrue(improved.get(0).getLength() <= nn.get(0).getLength() + 1e-9);
+    }
+
+    // 一組很大時內層迴圈也要檢查時間上限；反轉後留下的訂單數不比最近鄰少
+    @Test
+    void testTwoOpt_largeGroupRespectsBudget() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant r = registry.register("McDonalds", 1000, 2100, 0, 0);
+        Random rnd = new Random(11);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            orders.add(accepted(String.valueOf(i), r, rnd.nextInt(13) - 6, rnd.nextInt(13) - 6));
+        }
+
+        List<Route> nn = new RouteBatcher(3_000, 1, 0).plan(orders);
+        long start = System.nanoTime();
+        List<Route> improved = new RouteBatcher(3_000, 1, 20_000_000).plan(orders);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(improved.get(0).size() >= nn.get(0).size());
+        assertTrue(improved.get(0).getMaxRideDistance() <= DeliveryService.MAX_DISTANCE + 1e-9);
+        assertTrue(elapsedMillis < 5_000, "規劃花了 " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.http;
+
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.example.service.OrderRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderHttpServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private OrderHttpServer server;
+    private String root;
+    private String base;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        RestaurantRegistry restaurants = new RestaurantRegistry();
+        restaurants.register("McDonalds", 1000, 2100, 0, 0);
+        DeliveryService service = new DeliveryService();
+        service.enableStatusBoard();
+        server = new OrderHttpServer(service, restaurants, new OrderRegistry(),
+                new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        root = "http://127.0.0.1:" + server.getAddress().getPort();
+        base = root + "/orders";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private static String order(String id, int hour, int x, int y) {
+        return "{\"orderId\":\"" + id + "\",\"customerName\":\"Andy\",\"restaurantId\":0,"
+                + "\"orderDate\":\"2025-03-03\",\"orderHour\":" + hour
+                + ",\"customerX\":" + x + ",\"customerY\":" + y + "}";
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<String> getRestaurant(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(root + "/restaurants" + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFullLifecycle() throws Exception {
+        HttpResponse<String> created = post("", order("1", 1300, 3, 4));
+        assertEquals(201, created.statusCode());
+        assertEquals("{\"orderId\":\"1\",\"status\":\"PENDING\"}", created.body());
+        assertEquals("application/json; charset=utf-8", created.headers().firstValue("Content-Type").orElse(""));
+
+        assertEquals("{\"orderId\":\"1\",\"status\":\"ACCEPTED\"}", post("/1/accept", "").body());
+        assertEquals("{\"orderId\":\"1\",\"status\":\"PICKED_UP\"}", post("/1/pickup", "").body());
+        assertEquals("{\"orderId\":\"1\",\"status\":\"DELIVERED\"}", post("/1/deliver", "").body());
+
+        HttpResponse<String> status = get("/1");
+        assertEquals(200, status.statusCode());
+        assertEquals("{\"orderId\":\"1\",\"status\":\"DELIVERED\",\"customerName\":\"Andy\",\"restaurantId\":0,"
+                + "\"restaurant\":\"McDonalds\",\"orderHour\":1300,\"customerX\":3,\"customerY\":4}", status.body());
+    }
+
+    @Test
+    void testRejectedAccept_returnsConflictWithReason() throws Exception {
+        post("", order("2", 2200, 3, 4));
+        HttpResponse<String> response = post("/2/accept", "");
+        assertEquals(409, response.statusCode());
+        assertTrue(response.body().startsWith("{\"orderId\":\"2\",\"status\":\"PENDING\",\"reason\":\"CLOSED\""),
+                response.body());
+
+        post("", order("3", 1300, 30, 40));
+        assertTrue(post("/3/accept", "").body().contains("\"reason\":\"TOO_FAR\""));
+    }
+
+    @Test
+    void testWrongState_returnsConflict() throws Exception {
+        post("", order("4", 1300, 3, 4));
+        HttpResponse<String> response = post("/4/deliver", "");
+        assertEquals(409, response.statusCode());
+        assertEquals("{\"orderId\":\"4\",\"status\":\"PENDING\",\"reason\":\"WRONG_STATE\","
+                + "\"message\":\"訂單尚未被取餐，無法送達。\"}", response.body());
+    }
+
+    @Test
+    void testErrors() throws Exception {
+        assertEquals(400, post("", "{\"orderId\":\"5\"}").statusCode());
+        assertEquals(400, post("", order("A5", 1300, 3, 4)).statusCode());
+        assertEquals(201, post("", order("5", 1300, 3, 4)).statusCode());
+        assertEquals(409, post("", order("5", 1300, 3, 4)).statusCode());
+        assertEquals(404, get("/999").statusCode());
+        assertEquals(404, post("/5/cancel", "").statusCode());
+        assertEquals(405, get("").statusCode());
+        assertEquals(405, get("/5/accept").statusCode());
+        assertEquals(413, post("", " ".repeat(70_000)).statusCode());
+    }
+
+    @Test
+    void testTrailingNewline_isAccepted() throws Exception {
+        assertEquals(201, post("", order("6", 1300, 3, 4) + "\n").statusCode());
+        assertEquals(201, post("", order("7", 1300, 3, 4) + "\r\n").statusCode());
+        assertEquals(201, post("", "\r\n  " + order("8", 1300, 3, 4) + " \t\r\n\r\n").statusCode());
+        assertEquals(400, post("", order("9", 1300, 3, 4) + "\r\nx").statusCode());
+    }
+
+    // 建立訂單會計入餐廳的狀態計數
+    @Test
+    void testRestaurantCounts() throws Exception {
+        post("", order("1", 1300, 3, 4));
+        post("", order("2", 1300, 3, 4));
+        post("", order("3", 1300, 3, 4));
+        post("/1/accept", "");
+        post("/2/accept", "");
+        post("/2/pickup", "");
+
+        HttpResponse<String> counts = getRestaurant("/0/orders");
+        assertEquals(200, counts.statusCode());
+        assertEquals("{\"restaurantId\":0,\"PENDING\":1,\"ACCEPTED\":1,\"PICKED_UP\":1,\"DELIVERED\":0}",
+                counts.body());
+        assertEquals(404, getRestaurant("/9/orders").statusCode());
+        assertEquals(400, getRestaurant("/x/orders").statusCode());
+        assertEquals(404, getRestaurant("/0").statusCode());
+    }
+
+    @Test
+    void testJsonWriter_escapesStrings() {
+        JsonWriter json = new JsonWriter();
+        json.beginObject().field("a", "\"q\"\\\n\u0001中文").field("n", -42).field("m", Long.MIN_VALUE).endObject();
+        assertEquals("{\"a\":\"\\\"q\\\"\\\\\\u000a\\u0001中文\",\"n\":-42,\"m\":" + Long.MIN_VALUE + "}",
+                new String(json.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
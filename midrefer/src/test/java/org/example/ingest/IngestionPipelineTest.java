@@ -0,0 +1,189 @@
+package org.example.ingest;
+
+import org.example.exception.SystemException;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.example.service.OrderEventListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestionPipelineTest {
+
+    @TempDir
+    Path dir;
+
+    private static RestaurantRegistry newRegistry() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        registry.register("McDonalds", 1000, 2100, 2, 3);
+        registry.register("KFC", 1000, 2100, 0, 0);
+        return registry;
+    }
+
+    private static List<Order> readAll(Path file, RestaurantRegistry registry, int bufferSize) {
+        List<Order> orders = new ArrayList<>();
+        try (OrderFileReader reader = new OrderFileReader(file, OrderFormat.of(file), registry, bufferSize)) {
+            Order[] batch = new Order[3];
+            int n;
+            while ((n = reader.read(batch)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    orders.add(batch[i]);
+                }
+            }
+        }
+        return orders;
+    }
+
+    // --- 解析 ---
+
+    @Test
+    void testCsv_headerQuotesAndCrlf() throws IOException {
+        Path file = dir.resolve("orders.csv");
+        Files.writeString(file,
+                "orderId,customerName,restaurantId,orderDate,orderHour,customerX,customerY\r\n"
+                        + "001,Andy,0,2025-03-03,1300,5,6\r\n"
+                        + "\"002\",\"Lin, \"\"Ed\"\"\",1,2025-03-04,1800,-15,15\n");
+        List<Order> orders = readAll(file, newRegistry(), 16);
+
+        assertEquals(2, orders.size());
+        Order first = orders.get(0);
+        assertEquals("001", first.getOrderId());
+        assertEquals("Andy", first.getCustomerName());
+        assertEquals("McDonalds", first.getRestaurantName());
+        assertEquals(LocalDate.of(2025, 3, 3), first.getOrderDate());
+        assertEquals(1300, first.getOrderHour());
+        assertEquals(6, first.getCustomerY());
+        Order second = orders.get(1);
+        assertEquals("Lin, \"Ed\"", second.getCustomerName());
+        assertEquals("KFC", second.getRestaurantName());
+        assertEquals(-15, second.getCustomerX());
+    }
+
+    @Test
+    void testNdjson_anyKeyOrderEscapesAndUnknownKeys() throws IOException {
+        Path file = dir.resolve("orders.ndjson");
+        Files.writeString(file, """
+                {"orderId":"001","customerName":"Andy","restaurantId":0,"orderDate":"2025-03-03","orderHour":1300,"customerX":5,"customerY":6}
+                { "customerY" : 2, "note": "x", "customerX": 1, "orderHour": 900, "orderDate": "2025-03-03", "restaurantId": 1, "customerName": "Sam \\"\\u00e9\\"", "orderId": "002" }
+                """, StandardCharsets.UTF_8);
+        List<Order> orders = readAll(file, newRegistry(), 32);
+
+        assertEquals(2, orders.size());
+        assertEquals("Andy", orders.get(0).getCustomerName());
+        assertEquals("002", orders.get(1).getOrderId());
+        assertEquals("Sam \"é\"", orders.get(1).getCustomerName());
+        assertEquals(900, orders.get(1).getOrderHour());
+        assertEquals("KFC", orders.get(1).getRestaurantName());
+    }
+
+    @Test
+    void testMalformedLines_skippedAndCounted() throws IOException {
+        Path file = dir.resolve("orders.csv");
+        Files.writeString(file, """
+                001,Andy,0,2025-03-03,1300,5,6
+                002,Bob,9,2025-03-03,1300,5,6
+                003,Cat,0,2025-02-30,1300,5,6
+                004,Dan,0,2025-03-03,13x0,5,6
+                005,Eve,0,2025-03-03,1300,5
+
+                006,Fay,1,2025-03-03,1300,1,1""");
+        try (OrderFileReader reader = new OrderFileReader(file, OrderFormat.CSV, newRegistry())) {
+            Order[] batch = new Order[10];
+            assertEquals(2, reader.read(batch));
+            assertEquals("001", batch[0].getOrderId());
+            assertEquals("006", batch[1].getOrderId());
+            assertEquals(0, reader.read(batch));
+            assertEquals(7, reader.getLines());
+            assertEquals(4, reader.getMalformed());
+        }
+    }
+
+    @Test
+    void testLineLongerThanBuffer_bufferGrows() throws IOException {
+        Path file = dir.resolve("orders.csv");
+        String longName = "N".repeat(5_000);
+        Files.writeString(file, "001," + longName + ",0,2025-03-03,1300,5,6\n002,Bob,0,2025-03-03,1300,5,6\n");
+        List<Order> orders = readAll(file, newRegistry(), 64);
+        assertEquals(2, orders.size());
+        assertEquals(longName, orders.get(0).getCustomerName());
+    }
+
+    // --- 匯入流程 ---
+
+    @Test
+    void testIngest_countsEveryOutcome() throws IOException {
+        Path file = dir.resolve("day.csv");
+        int count = 20_000;
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("orderId,customerName,restaurantId,orderDate,orderHour,customerX,customerY\n");
+            for (int i = 0; i < count; i++) {
+                // 每五張中一張太遠、一張打烊後下單
+                int x = i % 5 == 1 ? 40 : 3;
+                int hour = i % 5 == 2 ? 2300 : 1200;
+                out.write(i + ",C" + (i % 100) + "," + (i % 2) + ",2025-03-03," + hour + "," + x + ",4\n");
+            }
+            out.write("bad line\n");
+        }
+
+        DeliveryService service = new DeliveryService();
+        // 小佇列、小批次，讓讀檔端一定會遇到佇列滿的情況
+        IngestionReport report = new IngestionPipeline(service, newRegistry(), 3, 2, 16).ingest(file);
+
+        assertEquals(count + 2, report.getLines());
+        assertEquals(count, report.getOrders());
+        assertEquals(1, report.getMalformed());
+        assertEquals(count / 5 * 3, report.getAccepted());
+        assertEquals(count / 5 * 3, report.getDelivered());
+        assertEquals(count / 5, report.getRejections(RejectionReason.TOO_FAR));
+        assertEquals(count / 5, report.getRejections(RejectionReason.CLOSED));
+        assertEquals(0, report.getRejections(RejectionReason.WRONG_STATE));
+        assertTrue(report.getOrdersPerSecond() > 0);
+    }
+
+    @Test
+    void testIngest_ndjsonUsesSameStateMachine() throws IOException {
+        Path file = dir.resolve("day.jsonl");
+        Files.writeString(file, """
+                {"orderId":"1","customerName":"A","restaurantId":0,"orderDate":"2025-03-03","orderHour":1300,"customerX":5,"customerY":6}
+                {"orderId":"2","customerName":"B","restaurantId":1,"orderDate":"2025-03-03","orderHour":1300,"customerX":50,"customerY":6}
+                """);
+        DeliveryService service = new DeliveryService();
+        List<OrderStatus> transitions = new ArrayList<>();
+        service.addListener(new OrderEventListener() {
+            @Override
+            public void onTransition(OrderView order, OrderStatus from, OrderStatus to) {
+                transitions.add(to);
+            }
+
+            @Override
+            public void onRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+            }
+        });
+        IngestionReport report = new IngestionPipeline(service, newRegistry(), 1).ingest(file);
+
+        assertEquals(2, report.getOrders());
+        assertEquals(1, report.getDelivered());
+        assertEquals(List.of(OrderStatus.ACCEPTED, OrderStatus.PICKED_UP, OrderStatus.DELIVERED), transitions);
+    }
+
+    @Test
+    void testIngest_missingFile() {
+        IngestionPipeline pipeline = new IngestionPipeline(new DeliveryService(), newRegistry(), 2);
+        assertThrows(SystemException.class, () -> pipeline.ingest(dir.resolve("missing.csv")));
+        assertThrows(IllegalArgumentException.class, () -> new IngestionPipeline(new DeliveryService(), newRegistry(), 0));
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.journal;
+
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.RejectionReason;
+import org.example.model.Restaurant;
+import org.example.service.DeliveryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventJournalTest {
+
+    // 沒有登錄的餐廳，同一間餐廳的訂單共用一份
+    private static final Restaurant MCDONALDS = new Restaurant(Restaurant.UNREGISTERED, "McDonalds", 1000, 2100, 2, 3);
+    private static final Restaurant KFC = new Restaurant(Restaurant.UNREGISTERED, "KFC", 1000, 2100, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    private static List<JournalRecordCopy> readAll(Path dir) {
+        List<JournalRecordCopy> records = new ArrayList<>();
+        new EventJournalReader(dir).scan(r -> records.add(new JournalRecordCopy(r)));
+        return records;
+    }
+
+    // 測試用：把只在回呼期間有效的 JournalRecord 複製下來
+    private record JournalRecordCopy(String orderId, OrderStatus from, OrderStatus to, RejectionReason reason) {
+        JournalRecordCopy(JournalRecord r) {
+            this(r.getOrderId(), r.getFrom(), r.getTo(), r.getReason());
+        }
+    }
+
+    @Test
+    void testServiceTransitions_areJournaled() {
+        DeliveryService service = new DeliveryService();
+        try (EventJournal journal = new EventJournal(dir, 48 * 1024, 50)) {
+            service.addListener(journal);
+            Order ok = new Order("001", "Andy", MCDONALDS, 1300, 5, 6);
+            Order far = new Order("002", "Edward", KFC, 1800, 15, 15);
+
+            service.tryAcceptOrder(ok);
+            service.pickupOrder(ok);
+            service.deliverOrder(ok);
+            service.tryAcceptOrder(far);
+            service.pickupOrder(far);
+        }
+
+        List<JournalRecordCopy> records = readAll(dir);
+
+        assertEquals(List.of(
+                new JournalRecordCopy("001", OrderStatus.PENDING, OrderStatus.ACCEPTED, null),
+                new JournalRecordCopy("001", OrderStatus.ACCEPTED, OrderStatus.PICKED_UP, null),
+                new JournalRecordCopy("001", OrderStatus.PICKED_UP, OrderStatus.DELIVERED, null),
+                new JournalRecordCopy("002", OrderStatus.PENDING, OrderStatus.ACCEPTED, RejectionReason.TOO_FAR),
+                new JournalRecordCopy("002", OrderStatus.PENDING, OrderStatus.PICKED_UP, RejectionReason.WRONG_STATE)
+        ), records);
+    }
+
+    // 監聽者在狀態變更之後才被呼叫，過長的編號不能讓 DeliveryService 丟例外或中斷批次
+    @Test
+    void testLongOrderId_isTruncatedNotThrown() throws Exception {
+        String longId = "1234567890123456789012345678901234567890";          // 40 bytes
+        String wideId = "訂單編號訂單編號訂單編號訂單";                        // 14 個中文字，42 bytes
+        DeliveryService service = new DeliveryService();
+        try (EventJournal journal = new EventJournal(dir, 48 * 1024, 50)) {
+            service.addListener(journal);
+            Order order = new Order(longId, "Andy", MCDONALDS, 1300, 5, 6);
+            Order wide = new Order(wideId, "Andy", MCDONALDS, 1300, 5, 6);
+
+            service.acceptOrder(order);
+            assertTrue(service.pickupOrder(order));
+            assertTrue(service.deliverOrder(order));
+            assertTrue(service.acceptOrders(List.of(wide)).get(0).isAccepted());
+            assertEquals(4, journal.getTruncatedIds());
+        }
+
+        List<String> ids = new ArrayList<>();
+        List<Boolean> truncated = new ArrayList<>();
+        new EventJournalReader(dir).scan(r -> {
+            ids.add(r.getOrderId());
+            truncated.add(r.isOrderIdTruncated());
+        });
+        assertEquals(List.of(longId.substring(0, 32), longId.substring(0, 32), longId.substring(0, 32),
+                wideId.substring(0, 10)), ids);
+        assertEquals(List.of(true, true, true, true), truncated);
+    }
+
+    @Test
+    void testConcurrentAppend_rollsOverSegments() throws Exception {
+        int threads = 4;
+        int perThread = 2_500;
+        // 每個 segment 只放 100 筆，強迫頻繁換檔
+        try (EventJournal journal = new EventJournal(dir, 48 * 100, 10)) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append(String.valueOf(base + i), OrderStatus.PENDING, OrderStatus.ACCEPTED,
+                                null, System.currentTimeMillis());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+        }
+
+        Set<String> ids = new HashSet<>();
+        long count = new EventJournalReader(dir).scan(r -> ids.add(r.getOrderId()));
+
+        assertEquals(threads * perThread, count);
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void testReopen_appendsAfterLastEvent() {
+        try (EventJournal journal = new EventJournal(dir, 48 * 8, 10)) {
+            for (int i = 0; i < 5; i++) {
+                journal.append("A" + i, OrderStatus.PENDING, OrderStatus.ACCEPTED, null, i);
+            }
+        }
+        try (EventJournal journal = new EventJournal(dir, 48 * 8, 10)) {
+            for (int i = 0; i < 6; i++) {
+                journal.append("B" + i, OrderStatus.ACCEPTED, OrderStatus.PICKED_UP, null, i);
+            }
+        }
+
+        List<JournalRecordCopy> records = readAll(dir);
+
+        assertEquals(11, records.size());
+        assertEquals("A4", records.get(4).orderId());
+        assertEquals("B0", records.get(5).orderId());
+        assertEquals("B5", records.get(10).orderId());
+    }
+
+    @Test
+    void testDisabled_writesNothing() {
+        DeliveryService service = new DeliveryService();
+        try (EventJournal journal = new EventJournal(dir, 48 * 8, 10)) {
+            service.addListener(journal);
+            journal.setEnabled(false);
+            service.tryAcceptOrder(new Order("001", "Andy", MCDONALDS, 1300, 5, 6));
+        }
+
+        assertEquals(0, new EventJournalReader(dir).scan(r -> { }));
+    }
+}
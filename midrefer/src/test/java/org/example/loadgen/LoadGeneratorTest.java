@@ -0,0 +1,83 @@
+package org.example.loadgen;
+
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.RejectionReason;
+import org.example.service.DeliveryService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    private static LoadProfile.Builder small() {
+        return LoadProfile.builder().orders(20_000).restaurants(50).warmupOrders(0);
+    }
+
+    @Test
+    void testGenerate_sameSeedSameWorkload() {
+        Workload a = new LoadGenerator(small().seed(7).build()).generate();
+        Workload b = new LoadGenerator(small().seed(7).build()).generate();
+        Workload c = new LoadGenerator(small().seed(8).build()).generate();
+        int differences = 0;
+        for (int i = 0; i < a.size(); i++) {
+            Order x = a.getOrder(i);
+            Order y = b.getOrder(i);
+            assertEquals(x.getRestaurant().getX(), y.getRestaurant().getX());
+            assertEquals(x.getCustomerX(), y.getCustomerX());
+            assertEquals(x.getCustomerY(), y.getCustomerY());
+            assertEquals(x.getOrderDay(), y.getOrderDay());
+            assertEquals(x.getOrderHour(), y.getOrderHour());
+            assertEquals(a.plan(i), b.plan(i));
+            if (x.getCustomerX() != c.getOrder(i).getCustomerX()) {
+                differences++;
+            }
+        }
+        assertTrue(differences > a.size() / 2);
+    }
+
+    @Test
+    void testRun_validWorkloadIsFullyDelivered() {
+        LoadReport report = new LoadGenerator(small().tooFarRatio(0).closedRatio(0).invalidTransitionRatio(0).build())
+                .run(new DeliveryService());
+        assertEquals(20_000, report.getAccepted());
+        assertEquals(20_000, report.getDelivered());
+        for (OrderStatus target : OrderStatus.values()) {
+            for (RejectionReason reason : RejectionReason.values()) {
+                assertEquals(0, report.getRejections(target, reason));
+            }
+        }
+    }
+
+    @Test
+    void testRun_rejectionBreakdownMatchesProfile() {
+        LoadGenerator generator = new LoadGenerator(small().tooFarRatio(0.1).closedRatio(0.2).invalidTransitionRatio(0.3)
+                .threads(4).build());
+        Workload workload = generator.generate();
+        assertEquals(0.1, workload.getTooFar() / 20_000.0, 0.01);
+        assertEquals(0.2, workload.getClosed() / 20_000.0, 0.01);
+        assertEquals(0.3, workload.getInvalidTransitions() / 20_000.0, 0.01);
+
+        LoadReport report = generator.run(new DeliveryService());
+        // 營業時間先檢查，所以 CLOSED 恰好等於產生的數量；距離過遠的訂單有些也在營業時間外
+        assertEquals(workload.getClosed(), report.getRejections(OrderStatus.ACCEPTED, RejectionReason.CLOSED));
+        long tooFar = report.getRejections(OrderStatus.ACCEPTED, RejectionReason.TOO_FAR);
+        assertTrue(tooFar <= workload.getTooFar() && tooFar >= workload.getTooFar() * 0.7, "tooFar=" + tooFar);
+        long wrongState = report.getRejections(OrderStatus.ACCEPTED, RejectionReason.WRONG_STATE)
+                + report.getRejections(OrderStatus.PICKED_UP, RejectionReason.WRONG_STATE)
+                + report.getRejections(OrderStatus.DELIVERED, RejectionReason.WRONG_STATE);
+        assertTrue(wrongState <= workload.getInvalidTransitions() && wrongState > 0);
+        assertEquals(report.getAccepted(), report.getDelivered());
+        assertEquals(20_000 - report.getAccepted(),
+                report.getRejections(OrderStatus.ACCEPTED, RejectionReason.CLOSED) + tooFar);
+        assertTrue(report.format().contains("ACCEPTED   CLOSED"));
+    }
+
+    @Test
+    void testBuilder_rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.builder().orders(0));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.builder().closedRatio(1.5));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.builder().tooFarRatio(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.builder().warmupOrders(-1));
+    }
+}
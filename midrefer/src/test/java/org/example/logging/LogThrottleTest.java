@@ -0,0 +1,91 @@
+package org.example.logging;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogThrottleTest {
+
+    private static final Logger logger = LogManager.getLogger(LogThrottleTest.class);
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final long[] now = {0};
+    private final LogThrottle throttle = new LogThrottle(logger, "測試警告", 3, Duration.ofSeconds(1), () -> now[0]);
+
+    private int acquire(int times) {
+        int passed = 0;
+        for (int i = 0; i < times; i++) {
+            if (throttle.tryAcquire()) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    @Test
+    void testLimitPerWindow() {
+        assertEquals(3, acquire(10));
+        assertEquals(7, throttle.getSuppressed());
+
+        now[0] += SECOND / 2;
+        assertEquals(0, acquire(5));   // 同一個時間窗
+        assertEquals(12, throttle.getSuppressed());
+
+        now[0] += SECOND;
+        assertEquals(3, acquire(4));
+        assertEquals(13, throttle.getSuppressed());
+    }
+
+    @Test
+    void testFlush_reportsPendingOnce() {
+        acquire(10);
+        assertEquals(7, throttle.flush());
+        assertEquals(0, throttle.flush());
+
+        acquire(2);
+        now[0] += SECOND;
+        throttle.tryAcquire();          // 新的時間窗先補寫上一段的摘要
+        assertEquals(0, throttle.flush());
+        assertEquals(9, throttle.getSuppressed());
+    }
+
+    // 換窗的同時有其他執行緒在計數，每個時間窗放行的次數仍然剛好是 limit
+    @Test
+    void testConcurrentWindows_neverExceedLimit() throws InterruptedException {
+        long[] clock = {0};
+        LogThrottle shared = new LogThrottle(logger, "測試警告", 5, Duration.ofSeconds(1), () -> clock[0]);
+        for (int window = 0; window < 50; window++) {
+            clock[0] = window * SECOND;
+            int[] passed = new int[4];
+            Thread[] threads = new Thread[passed.length];
+            for (int t = 0; t < threads.length; t++) {
+                int id = t;
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (shared.tryAcquire()) {
+                            passed[id]++;
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+            int total = 0;
+            for (int t = 0; t < threads.length; t++) {
+                threads[t].join();
+                total += passed[t];
+            }
+            assertEquals(5, total, "第 " + window + " 個時間窗");
+        }
+        assertEquals(50 * (4_000 - 5), shared.getSuppressed());
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new LogThrottle(logger, "x", 0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new LogThrottle(logger, "x", 1, Duration.ZERO));
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.metrics;
+
+import org.example.loadgen.LoadGenerator;
+import org.example.loadgen.LoadProfile;
+import org.example.loadgen.LoadReport;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.RejectionReason;
+import org.example.model.Restaurant;
+import org.example.service.DeliveryService;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliveryMetricsTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    // --- 直方圖 ---
+
+    @Test
+    void testHistogram_percentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random rnd = new Random(7);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 100 + (long) (rnd.nextDouble() * rnd.nextDouble() * 5_000_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(values.length, snapshot.getCount());
+        assertEquals(values[values.length - 1], snapshot.getMaxNanos());
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(values.length * p / 100.0) - 1];
+            long reported = snapshot.getPercentileNanos(p);
+            assertTrue(reported >= exact, "p" + p + " 不應低於實際值");
+            assertTrue(reported <= exact * 1.04, "p" + p + " 誤差超過 4%: " + reported + " vs " + exact);
+        }
+    }
+
+    @Test
+    void testHistogram_bucketBoundaries() {
+        for (long v : new long[]{0, 1, 31, 32, 63, 64, 65, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(v);
+            assertTrue(bucket < LatencyHistogram.BUCKETS);
+            assertTrue(LatencyHistogram.highestValueOf(bucket) >= v);
+            if (bucket > 0) {
+                assertTrue(LatencyHistogram.highestValueOf(bucket - 1) < v);
+            }
+        }
+    }
+
+    @Test
+    void testHistogram_recordDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 先暖身，讓 JIT 編譯完成
+        for (int i = 0; i < 200_000; i++) {
+            histogram.record(i);
+        }
+        long tid = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < 1_000_000; i++) {
+            histogram.record(i * 31L);
+        }
+        long allocated = threads.getThreadAllocatedBytes(tid) - before;
+        // 量測本身可能配置少量記憶體，一百萬次記錄仍應遠低於每次 1 byte
+        assertTrue(allocated < 64 * 1024, "記錄時配置了 " + allocated + " bytes");
+    }
+
+    // --- 透過 DeliveryService 記錄 ---
+
+    @Test
+    void testService_countsStagesRejectionsAndStatuses() {
+        DeliveryService service = new DeliveryService();
+        DeliveryMetrics metrics = service.enableMetrics();
+        assertSame(metrics, service.enableMetrics());
+
+        Restaurant open = new Restaurant(0, "McDonalds", 1000, 2100, 0, 0);
+        Order ok1 = newOrder(open, 1200, 3, 4);
+        Order ok2 = newOrder(open, 1200, 1, 1);
+        Order tooFar = newOrder(open, 1200, 30, 40);
+        Order closed = newOrder(open, 2300, 1, 1);
+        for (Order order : new Order[]{ok1, ok2, tooFar, closed}) {
+            service.orderCreated(order);
+            service.tryAcceptOrder(order);
+        }
+        service.tryAcceptOrder(ok1);       // 重複接單
+        service.pickupOrder(ok1);
+        service.pickupOrder(tooFar);       // 沒被接單就取餐
+        service.deliverOrder(ok1);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(5, snapshot.getAccept().getCount());
+        assertEquals(2, snapshot.getPickup().getCount());
+        assertEquals(1, snapshot.getDeliver().getCount());
+        assertEquals(1, snapshot.getRejections(RejectionReason.CLOSED));
+        assertEquals(1, snapshot.getRejections(RejectionReason.TOO_FAR));
+        assertEquals(2, snapshot.getRejections(RejectionReason.WRONG_STATE));
+        assertEquals(2, snapshot.getOrders(OrderStatus.PENDING));
+        assertEquals(1, snapshot.getOrders(OrderStatus.ACCEPTED));
+        assertEquals(0, snapshot.getOrders(OrderStatus.PICKED_UP));
+        assertEquals(1, snapshot.getOrders(OrderStatus.DELIVERED));
+        assertTrue(snapshot.getAccept().getMaxNanos() > 0);
+    }
+
+    @Test
+    void testService_withoutMetrics() {
+        DeliveryService service = new DeliveryService();
+        assertNull(service.getMetrics());
+        Order order = newOrder(new Restaurant(0, "McDonalds", 1000, 2100, 0, 0), 1200, 1, 1);
+        assertTrue(service.tryAcceptOrder(order).isAccepted());
+        assertTrue(service.pickupOrder(order));
+        assertTrue(service.deliverOrder(order));
+    }
+
+    // 負載產生器建立的訂單都經過 orderCreated，狀態計數和量測結果一致，不需要以 0 為下限
+    @Test
+    void testService_statusGaugesFollowCreatedOrders() {
+        DeliveryService service = new DeliveryService();
+        DeliveryMetrics metrics = service.enableMetrics();
+
+        LoadReport report = new LoadGenerator(LoadProfile.builder()
+                .orders(5_000).threads(4).warmupOrders(0).build()).run(service);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(report.getOrders() - report.getAccepted(), snapshot.getOrders(OrderStatus.PENDING));
+        assertEquals(report.getDelivered(), snapshot.getOrders(OrderStatus.DELIVERED));
+        assertEquals(report.getOrders(), Arrays.stream(OrderStatus.values()).mapToLong(snapshot::getOrders).sum());
+    }
+
+    // --- JMX ---
+
+    @Test
+    void testMBean_attributesReadable() throws Exception {
+        DeliveryService service = new DeliveryService();
+        DeliveryMetrics metrics = service.enableMetrics();
+        metrics.registerMBean("test");
+        try {
+            Restaurant open = new Restaurant(0, "McDonalds", 1000, 2100, 0, 0);
+            for (Order order : new Order[]{newOrder(open, 1200, 1, 1), newOrder(open, 1200, 50, 50)}) {
+                service.orderCreated(order);
+                service.tryAcceptOrder(order);
+            }
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("org.example:type=DeliveryMetrics,name=test");
+            assertEquals(2L, server.getAttribute(name, "AcceptCount"));
+            assertEquals(1L, server.getAttribute(name, "RejectedTooFar"));
+            assertEquals(1L, server.getAttribute(name, "AcceptedOrders"));
+            assertEquals(1L, server.getAttribute(name, "PendingOrders"));
+            assertTrue((Double) server.getAttribute(name, "AcceptMaxMicros") > 0);
+            assertEquals(0.0, server.getAttribute(name, "PickupP999Micros"));
+            assertEquals(0.0, server.getAttribute(name, "DeliverP999Micros"));
+            // 同一次輪詢的屬性共用一份快照
+            assertSame(metrics.jmxSnapshot(), metrics.jmxSnapshot());
+        } finally {
+            metrics.unregisterMBean();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer()
+                .isRegistered(new ObjectName("org.example:type=DeliveryMetrics,name=test")));
+    }
+
+    private static Order newOrder(Restaurant restaurant, int hour, int x, int y) {
+        return new Order("O" + x + "-" + y + "-" + hour, "Alice", restaurant, MONDAY, hour, x, y);
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.metrics;
+
+import org.example.loadgen.LoadGenerator;
+import org.example.loadgen.LoadProfile;
+import org.example.loadgen.LoadReport;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.Restaurant;
+import org.example.service.DeliveryService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantStatusBoardTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final OrderStatus[] ACTIVE = {OrderStatus.PENDING, OrderStatus.ACCEPTED, OrderStatus.PICKED_UP};
+
+    private final DeliveryService service = new DeliveryService();
+    private final RestaurantStatusBoard board = new RestaurantStatusBoard(4);
+
+    {
+        service.addListener(board);
+    }
+
+    private Order newOrder(String id, Restaurant restaurant) {
+        Order order = new Order(id, "Andy", restaurant, MONDAY, 1200, restaurant.getX() + 1, restaurant.getY());
+        service.orderCreated(order);
+        return order;
+    }
+
+    @Test
+    void testCounts_perRestaurantAndGlobal() {
+        Restaurant mcdonalds = new Restaurant(0, "McDonalds", 1000, 2100, 0, 0);
+        Restaurant kfc = new Restaurant(7, "KFC", 1000, 2100, 5, 5);
+        Order a = newOrder("1", mcdonalds);
+        Order b = newOrder("2", mcdonalds);
+        Order c = newOrder("3", kfc);
+
+        service.tryAcceptOrder(a);
+        service.tryAcceptOrder(b);
+        service.pickupOrder(b);
+        service.tryAcceptOrder(c);
+        service.pickupOrder(c);
+        service.deliverOrder(c);
+
+        assertEquals(0, board.count(0, OrderStatus.PENDING));
+        assertEquals(1, board.count(0, OrderStatus.ACCEPTED));
+        assertEquals(1, board.count(0, OrderStatus.PICKED_UP));
+        assertEquals(1, board.count(7, OrderStatus.DELIVERED));
+        assertEquals(0, board.count(3, OrderStatus.ACCEPTED));
+        assertEquals(0, board.count(1_000, OrderStatus.ACCEPTED));
+        assertEquals(0, board.count(-5, OrderStatus.ACCEPTED));
+        assertEquals(0, board.snapshot().count(-5, OrderStatus.ACCEPTED));
+        assertEquals(1, board.total(OrderStatus.ACCEPTED));
+        assertEquals(1, board.total(OrderStatus.DELIVERED));
+
+        StatusBoardSnapshot snapshot = board.snapshot();
+        assertEquals(8, snapshot.getRestaurantCount());
+        assertEquals(1, snapshot.count(0, OrderStatus.PICKED_UP));
+        assertEquals(1, snapshot.count(7, OrderStatus.DELIVERED));
+        assertEquals(1, snapshot.total(OrderStatus.PICKED_UP));
+        assertEquals(0, snapshot.total(OrderStatus.PENDING));
+    }
+
+    @Test
+    void testUnregisteredRestaurant_hasItsOwnRow() {
+        Restaurant unregistered = new Restaurant(Restaurant.UNREGISTERED, "McDonalds", 1000, 2100, 0, 0);
+        Order legacy = new Order("1", "Andy", unregistered, 1200, 1, 1);
+        service.orderCreated(legacy);
+        assertEquals(1, board.count(Restaurant.UNREGISTERED, OrderStatus.PENDING));
+        service.tryAcceptOrder(legacy);
+        assertEquals(1, board.count(Restaurant.UNREGISTERED, OrderStatus.ACCEPTED));
+        assertEquals(1, board.snapshot().count(Restaurant.UNREGISTERED, OrderStatus.ACCEPTED));
+    }
+
+    // 負載產生器建立的每張訂單都會經過 orderCreated，啟用後的計數和量測結果一致
+    @Test
+    void testEnableStatusBoard_countsEveryCreatedOrder() {
+        DeliveryService service = new DeliveryService();
+        RestaurantStatusBoard board = service.enableStatusBoard();
+        assertSame(board, service.enableStatusBoard());
+
+        LoadReport report = new LoadGenerator(LoadProfile.builder()
+                .orders(5_000).threads(4).warmupOrders(0).build()).run(service);
+
+        assertEquals(report.getDelivered(), board.total(OrderStatus.DELIVERED));
+        assertEquals(report.getOrders() - report.getAccepted(), board.total(OrderStatus.PENDING));
+        assertEquals(report.getAccepted() - report.getDelivered(),
+                board.total(OrderStatus.ACCEPTED) + board.total(OrderStatus.PICKED_UP));
+        StatusBoardSnapshot snapshot = board.snapshot();
+        long sum = 0;
+        for (int r = 0; r < snapshot.getRestaurantCount(); r++) {
+            for (OrderStatus status : OrderStatus.values()) {
+                assertTrue(snapshot.count(r, status) >= 0);
+                sum += snapshot.count(r, status);
+            }
+        }
+        assertEquals(report.getOrders(), sum);
+    }
+
+    @Test
+    void testSnapshot_isConsistentUnderConcurrentTransitions() throws Exception {
+        int restaurants = 50;
+        int perRestaurant = 400;
+        List<Order> orders = new ArrayList<>();
+        for (int r = 0; r < restaurants; r++) {
+            Restaurant restaurant = new Restaurant(r, "R" + r, 0, 2400, r, r);
+            for (int i = 0; i < perRestaurant; i++) {
+                orders.add(newOrder(r + "-" + i, restaurant));
+            }
+        }
+
+        int writers = 4;
+        Thread[] threads = new Thread[writers];
+        for (int w = 0; w < writers; w++) {
+            int first = w;
+            threads[w] = new Thread(() -> {
+                for (int i = first; i < orders.size(); i += writers) {
+                    service.tryAcceptOrder(orders.get(i));
+                    service.pickupOrder(orders.get(i));
+                    service.deliverOrder(orders.get(i));
+                }
+            });
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        List<String> violations = new ArrayList<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                StatusBoardSnapshot snapshot = board.snapshot();
+                for (int r = 0; r < restaurants; r++) {
+                    long sum = snapshot.count(r, OrderStatus.DELIVERED);
+                    for (OrderStatus status : ACTIVE) {
+                        sum += snapshot.count(r, status);
+                    }
+                    if (sum != perRestaurant) {
+                        violations.add("restaurant " + r + " sum=" + sum);
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        done.set(true);
+        reader.join();
+
+        assertEquals(List.of(), violations);
+        for (int r = 0; r < restaurants; r++) {
+            assertEquals(perRestaurant, board.count(r, OrderStatus.DELIVERED));
+        }
+        assertEquals((long) restaurants * perRestaurant, board.total(OrderStatus.DELIVERED));
+        assertEquals(0, board.total(OrderStatus.PENDING));
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.model;
+
+import org.example.service.DeliveryService;
+import org.example.service.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningScheduleTest {
+
+    // 2025-11-03 是星期一
+    private static final LocalDate MONDAY = LocalDate.of(2025, 11, 3);
+
+    @Test
+    void testDaily_sameAsOldComparison() {
+        OpeningSchedule s = OpeningSchedule.daily(1000, 2100);
+
+        // 原本的判斷：hour < open || hour >= close 就是非營業時間
+        for (int hour = 0; hour < 2400; hour++) {
+            if (hour % 100 >= 60) continue;
+            boolean expected = !(hour < 1000 || hour >= 2100);
+            assertEquals(expected, s.isOpenAt(MONDAY, hour), "時間 " + hour);
+        }
+        assertEquals("1000-2100", s.describe(DayOfWeek.FRIDAY));
+    }
+
+    @Test
+    void testSplitShift() {
+        OpeningSchedule s = OpeningSchedule.builder()
+                .daily(1100, 1400)
+                .daily(1700, 2100)
+                .build();
+
+        assertTrue(s.isOpenAt(MONDAY, 1230));
+        assertFalse(s.isOpenAt(MONDAY, 1500));
+        assertTrue(s.isOpenAt(MONDAY, 1700));
+        assertFalse(s.isOpenAt(MONDAY, 2100));
+        assertEquals("1100-1400, 1700-2100", s.describe(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void testOvernight_spillsIntoNextDay() {
+        OpeningSchedule s = OpeningSchedule.builder()
+                .on(DayOfWeek.SATURDAY, 1800, 200)
+                .on(DayOfWeek.SUNDAY, 1800, 200)
+                .build();
+
+        assertTrue(s.isOpenAt(DayOfWeek.SATURDAY, 2330));
+        assertTrue(s.isOpenAt(DayOfWeek.SUNDAY, 130));
+        assertFalse(s.isOpenAt(DayOfWeek.SUNDAY, 200));
+        // 星期日跨夜延續到星期一凌晨
+        assertTrue(s.isOpenAt(DayOfWeek.MONDAY, 59));
+        assertFalse(s.isOpenAt(DayOfWeek.FRIDAY, 2330));
+    }
+
+    @Test
+    void testHoliday_closedAllDay() {
+        LocalDate holiday = MONDAY.plusWeeks(1);
+        OpeningSchedule s = OpeningSchedule.builder()
+                .daily(1000, 2100)
+                .closedOn(holiday)
+                .build();
+
+        assertTrue(s.isOpenAt(MONDAY, 1300));
+        assertFalse(s.isOpenAt(holiday, 1300));
+        assertEquals("公休", s.describe(holiday.toEpochDay()));
+    }
+
+    // 公休看時段開始的那一天：公休日前一晚的跨夜時段照常到打烊，公休日晚上的跨夜時段隔天凌晨也不營業
+    @Test
+    void testHoliday_overnightFollowsShiftStartDay() {
+        LocalDate holiday = MONDAY.plusWeeks(1);
+        LocalDate before = holiday.minusDays(1);
+        LocalDate after = holiday.plusDays(1);
+        OpeningSchedule s = OpeningSchedule.builder()
+                .daily(1800, 200)
+                .closedOn(holiday)
+                .build();
+
+        assertTrue(s.isOpenAt(before, 2300));
+        assertTrue(s.isOpenAt(holiday, 100));     // 星期日晚上開始的時段
+        assertFalse(s.isOpenAt(holiday, 1900));
+        assertFalse(s.isOpenAt(after, 100));      // 公休日晚上的時段沒有開
+        assertTrue(s.isOpenAt(after, 1900));
+        assertTrue(s.isOpenAt(after.plusDays(1), 100));
+
+        BitSet open = new BitSet();
+        OpeningSchedule.openAmong(new OpeningSchedule[]{s}, holiday.toEpochDay(), 100, open);
+        assertTrue(open.get(0));
+        open.clear();
+        OpeningSchedule.openAmong(new OpeningSchedule[]{s}, after.toEpochDay(), 100, open);
+        assertFalse(open.get(0));
+
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant bar = registry.register("Bar", s, 0, 0);
+        assertEquals(1, registry.openAt(holiday.toEpochDay(), 100).cardinality());
+        assertEquals(0, registry.openAt(after.toEpochDay(), 100).cardinality());
+        assertTrue(bar.isOpenAt(holiday.toEpochDay(), 100));
+    }
+
+    // 連續兩天公休時，第二天凌晨屬於第一天的時段，不營業
+    @Test
+    void testHoliday_consecutiveDays() {
+        LocalDate first = MONDAY.plusWeeks(1);
+        OpeningSchedule s = OpeningSchedule.builder()
+                .daily(1800, 200)
+                .closedOn(first)
+                .closedOn(first.plusDays(1))
+                .build();
+
+        assertTrue(s.isOpenAt(first, 100));
+        assertFalse(s.isOpenAt(first.plusDays(1), 100));
+        assertFalse(s.isOpenAt(first.plusDays(2), 100));
+        assertTrue(s.isOpenAt(first.plusDays(2), 1900));
+    }
+
+    @Test
+    void testInvalidTime_isClosed() {
+        OpeningSchedule s = OpeningSchedule.daily(0, 2400);
+
+        assertTrue(s.isOpenAt(MONDAY, 2359));
+        assertFalse(s.isOpenAt(MONDAY, 2400));
+        assertFalse(s.isOpenAt(MONDAY, 1375));
+        assertThrows(IllegalArgumentException.class, () -> OpeningSchedule.daily(1000, 2500));
+    }
+
+    @Test
+    void testRegistryOpenAt_bulkQuery() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        registry.register("Breakfast", 600, 1100, 0, 0);
+        registry.register("Lunch", 1100, 1400, 0, 0);
+        registry.register("AllDay", 0, 2400, 0, 0);
+
+        BitSet open = registry.openAt(MONDAY.toEpochDay(), 1200);
+
+        assertFalse(open.get(0));
+        assertTrue(open.get(1));
+        assertTrue(open.get(2));
+        assertEquals(2, open.cardinality());
+    }
+
+    @Test
+    void testDeliveryService_usesSchedule() {
+        Restaurant bar = new Restaurant(0, "Bar", OpeningSchedule.builder().daily(1800, 200).build(), 0, 0);
+        DeliveryService service = new DeliveryService();
+
+        assertTrue(service.validate(new Order("001", "Andy", bar, MONDAY, 100, 1, 1)).isAccepted());
+
+        ValidationResult r = service.validate(new Order("002", "Andy", bar, MONDAY, 1200, 1, 1));
+        assertEquals(RejectionReason.CLOSED, r.getReason());
+        assertEquals("目前非 Bar 營業時間 (營業時間: 1800-0200，訂單時間: 1200)。", r.getMessage());
+    }
+
+    // 沒有指定日期的訂單由傳入的 Clock 決定下單日期
+    @Test
+    void testOrderClock_decidesOrderDate() {
+        LocalDate holiday = MONDAY.plusWeeks(1);
+        ZoneId zone = ZoneId.of("Asia/Taipei");
+        Clock onHoliday = Clock.fixed(holiday.atTime(12, 0).atZone(zone).toInstant(), zone);
+        Clock nextDay = Clock.offset(onHoliday, Duration.ofDays(1));
+        Restaurant bar = new Restaurant(0, "Bar",
+                OpeningSchedule.builder().daily(1800, 200).closedOn(holiday).build(), 0, 0);
+        DeliveryService service = new DeliveryService();
+
+        Order early = new Order("001", "Andy", bar, onHoliday, 100, 1, 1);
+        assertEquals(holiday, early.getOrderDate());
+        assertTrue(service.validate(early).isAccepted());
+        assertFalse(service.validate(new Order("002", "Andy", bar, onHoliday, 1900, 1, 1)).isAccepted());
+        assertFalse(service.validate(new Order("003", "Andy", bar, nextDay, 100, 1, 1)).isAccepted());
+    }
+}
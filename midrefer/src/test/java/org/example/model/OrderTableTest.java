@@ -0,0 +1,71 @@
+package org.example.model;
+
+import org.example.service.DeliveryService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderTableTest {
+
+    @Test
+    void testRow_readsSameFieldsAsOrder() {
+        for (boolean offHeap : new boolean[]{false, true}) {
+            RestaurantRegistry restaurants = new RestaurantRegistry();
+            Restaurant kfc = restaurants.register("KFC", 1000, 2100, 0, 0);
+            OrderTable table = new OrderTable(restaurants, 4, offHeap);
+            Order order = new Order("002", "Edward", kfc, 1800, 15, 15);
+
+            OrderTable.Row row = table.row(table.add(order));
+
+            assertEquals("002", row.getOrderId());
+            assertEquals("Edward", row.getCustomerName());
+            assertSame(kfc, row.getRestaurant());
+            assertEquals(1800, row.getOrderHour());
+            assertEquals(15, row.getCustomerX());
+            assertEquals(15, row.getCustomerY());
+            assertEquals(OrderStatus.PENDING, row.getStatus());
+            assertEquals(order.toString(), row.toString());
+        }
+    }
+
+    @Test
+    void testDeliveryService_operatesOnRows() {
+        RestaurantRegistry restaurants = new RestaurantRegistry();
+        Restaurant mcDonalds = restaurants.register("McDonalds", 1000, 2100, 2, 3);
+        Restaurant subway = restaurants.register("Subway", 1000, 2100, 1, 1);
+        OrderTable table = new OrderTable(restaurants, 3, true);
+        table.add("001", "Andy", mcDonalds, 1300, 5, 6);
+        table.add("003", "Walter", subway, 2200, 8, 5);
+        DeliveryService service = new DeliveryService();
+
+        assertTrue(service.tryAcceptOrder(table.row(0)).isAccepted());
+        assertTrue(service.pickupOrder(table.row(0)));
+        assertTrue(service.deliverOrder(table.row(0)));
+        assertEquals(OrderStatus.DELIVERED, table.statusAt(0));
+
+        assertEquals(RejectionReason.CLOSED, service.tryAcceptOrder(table.row(1)).getReason());
+        assertFalse(service.pickupOrder(table.row(1)));
+        assertEquals(OrderStatus.PENDING, table.statusAt(1));
+    }
+
+    @Test
+    void testAdd_fullTableThrows() {
+        RestaurantRegistry restaurants = new RestaurantRegistry();
+        Restaurant mcDonalds = restaurants.register("McDonalds", 1000, 2100, 2, 3);
+        OrderTable table = new OrderTable(restaurants, 1, false);
+        table.add("001", "Andy", mcDonalds, 1300, 5, 6);
+
+        assertThrows(IllegalStateException.class,
+                () -> table.add("002", "Andy", mcDonalds, 1300, 5, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.row(1));
+    }
+
+    @Test
+    void testAdd_unregisteredRestaurantThrows() {
+        OrderTable table = new OrderTable(new RestaurantRegistry(), 1, false);
+        Restaurant unregistered = new Restaurant(Restaurant.UNREGISTERED, "McDonalds", 1000, 2100, 2, 3);
+        Order order = new Order("001", "Andy", unregistered, 1300, 5, 6);
+
+        assertThrows(IllegalArgumentException.class, () -> table.add(order));
+    }
+}
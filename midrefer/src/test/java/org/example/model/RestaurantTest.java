@@ -0,0 +1,50 @@
+package org.example.model;
+
+import org.example.service.DeliveryService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantTest {
+
+    @Test
+    void testRegistry_assignsDenseIds() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, registry.register("R" + i, 1000, 2100, i, i).getId());
+        }
+
+        assertEquals(100, registry.size());
+        assertEquals("R42", registry.get(42).getName());
+        assertNull(registry.get(100));
+        assertNull(registry.get(-1));
+    }
+
+    @Test
+    void testUpdateHours_appliesToAllOrders() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant subway = registry.register("Subway", 1000, 2100, 1, 1);
+        Order late1 = new Order("001", "Walter", subway, 2200, 8, 5);
+        Order late2 = new Order("002", "Jesse", subway, 2230, 2, 2);
+        DeliveryService service = new DeliveryService();
+
+        assertFalse(service.validate(late1).isAccepted());
+
+        // 延長營業時間只改餐廳這一筆
+        subway.updateHours(1000, 2300);
+
+        assertTrue(service.tryAcceptOrder(late1).isAccepted());
+        assertTrue(service.tryAcceptOrder(late2).isAccepted());
+    }
+
+    @Test
+    void testMoveTo_changesDistance() {
+        Restaurant kfc = new Restaurant(0, "KFC", 1000, 2100, 0, 0);
+
+        assertEquals(450, kfc.distanceSquaredTo(15, 15));
+        kfc.moveTo(10, 10);
+        assertEquals(50, kfc.distanceSquaredTo(15, 15));
+        assertEquals(10, kfc.getX());
+        assertEquals(10, kfc.getY());
+    }
+}
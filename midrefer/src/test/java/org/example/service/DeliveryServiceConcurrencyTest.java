@@ -0,0 +1,157 @@
+package org.example.service;
+
+import org.example.exception.BusinessException;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliveryServiceConcurrencyTest {
+
+    // 沒有登錄的餐廳，同一間餐廳的訂單共用一份
+    private static final Restaurant MCDONALDS = new Restaurant(Restaurant.UNREGISTERED, "McDonalds", 1000, 2100, 2, 3);
+
+    private static final int ORDERS = 2_000;
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+
+    private static Order newOrder(int i) {
+        return new Order(String.valueOf(i), "Andy", MCDONALDS, 1300, 5, 6);
+    }
+
+    // --- 單執行緒下的拒絕語意要和原本一樣 ---
+
+    @Test
+    void testAcceptTwice_throws() throws BusinessException {
+        DeliveryService service = new DeliveryService();
+        Order order = newOrder(1);
+
+        service.acceptOrder(order);
+
+        assertThrows(BusinessException.class, () -> service.acceptOrder(order));
+        assertEquals(OrderStatus.ACCEPTED, order.getStatus());
+    }
+
+    @Test
+    void testPickupBeforeAccept_rejected() {
+        DeliveryService service = new DeliveryService();
+        Order order = newOrder(1);
+
+        assertFalse(service.pickupOrder(order));
+        assertFalse(service.deliverOrder(order));
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+    }
+
+    @Test
+    void testCompareAndSetStatus_skipNotAllowed() {
+        Order order = newOrder(1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> order.compareAndSetStatus(OrderStatus.PENDING, OrderStatus.PICKED_UP));
+    }
+
+    // --- 多執行緒壓力測試：每一步只會成功一次，狀態不會跳過也不會倒退 ---
+
+    @Test
+    void testConcurrentTransitions_eachStepExactlyOnce() throws Exception {
+        DeliveryService service = new DeliveryService();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(newOrder(i));
+        }
+
+        // 每張訂單每個目標狀態被成功推進的次數
+        AtomicIntegerArray accepted = new AtomicIntegerArray(ORDERS);
+        AtomicIntegerArray pickedUp = new AtomicIntegerArray(ORDERS);
+        AtomicIntegerArray delivered = new AtomicIntegerArray(ORDERS);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean wentBackwards = new AtomicBoolean(false);
+
+        // 觀察者持續讀取狀態，同一張單看到的 ordinal 只能遞增
+        Thread observer = new Thread(() -> {
+            int[] lastSeen = new int[ORDERS];
+            while (running.get()) {
+                for (int i = 0; i < ORDERS; i++) {
+                    int now = orders.get(i).getStatus().ordinal();
+                    if (now < lastSeen[i]) {
+                        wentBackwards.set(true);
+                    }
+                    lastSeen[i] = now;
+                }
+            }
+        });
+        observer.start();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (int n = 0; n < ORDERS; n++) {
+                        int i = rnd.nextInt(ORDERS);
+                        Order order = orders.get(i);
+                        // 三種操作隨機打亂，模擬 dispatcher 不保證呼叫順序
+                        switch (rnd.nextInt(3)) {
+                            case 0 -> {
+                                try {
+                                    service.acceptOrder(order);
+                                    accepted.incrementAndGet(i);
+                                } catch (BusinessException ignored) {
+                                    // 已經被別的執行緒接單
+                                }
+                            }
+                            case 1 -> {
+                                if (service.pickupOrder(order)) pickedUp.incrementAndGet(i);
+                            }
+                            default -> {
+                                if (service.deliverOrder(order)) delivered.incrementAndGet(i);
+                            }
+                        }
+                    }
+                }
+                // 把自己負責的剩餘訂單依序推完，確保每張單都能走到終點
+                for (int i = 0; i < ORDERS; i++) {
+                    Order order = orders.get(i);
+                    try {
+                        service.acceptOrder(order);
+                        accepted.incrementAndGet(i);
+                    } catch (BusinessException ignored) {
+                        // 已經被接單
+                    }
+                    if (service.pickupOrder(order)) pickedUp.incrementAndGet(i);
+                    if (service.deliverOrder(order)) delivered.incrementAndGet(i);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        running.set(false);
+        observer.join();
+
+        assertFalse(wentBackwards.get(), "訂單狀態出現倒退");
+        for (int i = 0; i < ORDERS; i++) {
+            assertEquals(1, accepted.get(i), "訂單 " + i + " 被接單次數");
+            assertEquals(1, pickedUp.get(i), "訂單 " + i + " 被取餐次數");
+            assertEquals(1, delivered.get(i), "訂單 " + i + " 被送達次數");
+            assertEquals(OrderStatus.DELIVERED, orders.get(i).getStatus());
+        }
+    }
+}
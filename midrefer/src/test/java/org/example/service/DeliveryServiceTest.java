@@ -0,0 +1,139 @@
+package org.example.service;
+
+import org.example.exception.BusinessException;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.RejectionReason;
+import org.example.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliveryServiceTest {
+
+    // 沒有登錄的餐廳，同一間餐廳的訂單共用一份
+    private static final Restaurant MCDONALDS = new Restaurant(Restaurant.UNREGISTERED, "McDonalds", 1000, 2100, 2, 3);
+    private static final Restaurant KFC = new Restaurant(Restaurant.UNREGISTERED, "KFC", 1000, 2100, 0, 0);
+    private static final Restaurant SUBWAY = new Restaurant(Restaurant.UNREGISTERED, "Subway", 1000, 2100, 1, 1);
+    private static final Restaurant MCDONALDS_AT_ORIGIN = new Restaurant(Restaurant.UNREGISTERED, "McDonalds", 1000, 2100, 0, 0);
+
+    // Main 裡的三張訂單：001 正常、002 超出距離、003 非營業時間
+    private static List<Order> mainOrders() {
+        List<Order> orders = new ArrayList<>();
+        orders.add(new Order("001", "Andy", MCDONALDS, 1300, 5, 6));
+        orders.add(new Order("002", "Edward", KFC, 1800, 15, 15));
+        orders.add(new Order("003", "Walter", SUBWAY, 2200, 8, 5));
+        return orders;
+    }
+
+    // --- validate() / tryAcceptOrder() 快速路徑 ---
+
+    @Test
+    void testValidate_acceptedIsShared() {
+        DeliveryService service = new DeliveryService();
+        Order order = mainOrders().get(0);
+
+        assertSame(ValidationResult.ACCEPTED, service.validate(order));
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+    }
+
+    @Test
+    void testValidate_tooFar() {
+        DeliveryService service = new DeliveryService();
+
+        ValidationResult r = service.validate(mainOrders().get(1));
+
+        assertEquals(RejectionReason.TOO_FAR, r.getReason());
+        assertEquals(Math.sqrt(450), r.getDistance(), 1e-9);
+    }
+
+    @Test
+    void testValidate_closed() {
+        DeliveryService service = new DeliveryService();
+
+        ValidationResult r = service.validate(mainOrders().get(2));
+
+        assertEquals(RejectionReason.CLOSED, r.getReason());
+        assertEquals(2200, r.getOrderHour());
+        assertEquals("1000-2100", r.getSchedule().describe(r.getOrderDay()));
+    }
+
+    @Test
+    void testTryAcceptOrder_wrongState() {
+        DeliveryService service = new DeliveryService();
+        Order order = mainOrders().get(0);
+
+        assertTrue(service.tryAcceptOrder(order).isAccepted());
+        ValidationResult again = service.tryAcceptOrder(order);
+
+        assertEquals(RejectionReason.WRONG_STATE, again.getReason());
+        assertEquals("只能接 PENDING 狀態的訂單。", again.getMessage());
+    }
+
+    @Test
+    void testAcceptOrder_throwsSameMessage() {
+        DeliveryService service = new DeliveryService();
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> service.acceptOrder(mainOrders().get(2)));
+
+        assertEquals("目前非 Subway 營業時間 (營業時間: 1000-2100，訂單時間: 2200)。", e.getMessage());
+    }
+
+    // --- acceptOrders() 批次接單 ---
+
+    @Test
+    void testAcceptOrders_perOrderOutcome() {
+        DeliveryService service = new DeliveryService();
+        List<Order> orders = mainOrders();
+
+        List<AcceptOutcome> outcomes = service.acceptOrders(orders);
+
+        assertEquals(3, outcomes.size());
+        assertTrue(outcomes.get(0).isAccepted());
+        assertFalse(outcomes.get(1).isAccepted());
+        assertEquals("餐廳 KFC 與顧客 Edward 距離 21.2 km 超出合理外送距離。",
+                outcomes.get(1).getRejectReason());
+        assertFalse(outcomes.get(2).isAccepted());
+        assertEquals("目前非 Subway 營業時間 (營業時間: 1000-2100，訂單時間: 2200)。",
+                outcomes.get(2).getRejectReason());
+
+        assertEquals(OrderStatus.ACCEPTED, orders.get(0).getStatus());
+        assertEquals(OrderStatus.PENDING, orders.get(1).getStatus());
+        assertEquals(OrderStatus.PENDING, orders.get(2).getStatus());
+    }
+
+    // 略過的警告次數在沒有後續警告時也能由 flushWarnings 寫出
+    @Test
+    void testFlushWarnings_reportsLastBurst() {
+        DeliveryService service = new DeliveryService();
+        Order order = new Order("1", "Andy", MCDONALDS_AT_ORIGIN, 1300, 3, 0);
+        for (int i = 0; i < 15; i++) {
+            assertFalse(service.pickupOrder(order));
+            assertFalse(service.deliverOrder(order));
+        }
+        assertEquals(10, service.flushWarnings());
+        assertEquals(0, service.flushWarnings());
+    }
+
+    @Test
+    void testAcceptOrders_keepsInputOrder() {
+        DeliveryService service = new DeliveryService();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            // 偶數訂單在範圍內，奇數訂單超出距離
+            int customerX = i % 2 == 0 ? 3 : 30;
+            orders.add(new Order(String.valueOf(i), "Andy", MCDONALDS_AT_ORIGIN, 1300, customerX, 0));
+        }
+
+        List<AcceptOutcome> outcomes = service.acceptOrders(orders);
+
+        for (int i = 0; i < orders.size(); i++) {
+            assertSame(orders.get(i), outcomes.get(i).getOrder());
+            assertEquals(i % 2 == 0, outcomes.get(i).isAccepted());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.service;
+
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderRegistryTest {
+
+    // 測試會建立大量訂單，共用同一間餐廳
+    private static final Restaurant MCDONALDS = new Restaurant(0, "McDonalds", 1000, 2100, 2, 3);
+
+    private static Order newOrder(String id) {
+        return new Order(id, "Andy", MCDONALDS, 1300, 5, 6);
+    }
+
+    // --- 基本操作 ---
+
+    @Test
+    void testPutGetRemove() {
+        OrderRegistry registry = new OrderRegistry();
+        Order order = newOrder("1");
+
+        assertNull(registry.put(order));
+        assertSame(order, registry.get(1));
+        assertSame(order, registry.get("1"));
+        assertNull(registry.get(2));
+        assertEquals(1, registry.size());
+
+        Order replacement = newOrder("1");
+        assertSame(order, registry.put(replacement));
+        assertSame(replacement, registry.get("1"));
+        assertEquals(1, registry.size());
+
+        assertSame(replacement, registry.remove(1));
+        assertNull(registry.get(1));
+        assertNull(registry.remove(1));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testParseId() {
+        assertEquals(0, OrderRegistry.parseId("0"));
+        assertEquals(10, OrderRegistry.parseId("10"));
+        assertEquals(-1, OrderRegistry.parseId("01"));
+        assertEquals(-1, OrderRegistry.parseId("001"));
+        assertEquals(-1, OrderRegistry.parseId("00"));
+        assertEquals(Long.MAX_VALUE, OrderRegistry.parseId(String.valueOf(Long.MAX_VALUE)));
+        assertEquals(-1, OrderRegistry.parseId("9223372036854775808"));
+        assertEquals(-1, OrderRegistry.parseId("A1"));
+        assertEquals(-1, OrderRegistry.parseId("-1"));
+        assertEquals(-1, OrderRegistry.parseId(""));
+        assertThrows(IllegalArgumentException.class, () -> new OrderRegistry().put(newOrder("A1")));
+        assertNull(new OrderRegistry().get("A1"));
+        assertThrows(IllegalArgumentException.class, () -> new OrderRegistry().put(newOrder("001")));
+    }
+
+    @Test
+    void testGrowthAndChurn() {
+        OrderRegistry registry = new OrderRegistry();
+        int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            registry.put(newOrder(String.valueOf(i)));
+        }
+        assertEquals(n, registry.size());
+        // 反覆刪除再加入，墓碑累積後會重建
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < n; i += 2) {
+                assertNotNull(registry.remove(i));
+            }
+            for (int i = 0; i < n; i += 2) {
+                registry.put(newOrder(String.valueOf(i)));
+            }
+        }
+        assertEquals(n, registry.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(String.valueOf(i), registry.get(i).getOrderId());
+        }
+        assertNull(registry.get(n));
+    }
+
+    // --- 送達後移除 ---
+
+    @Test
+    void testDeliveredOrdersRemoved() {
+        DeliveryService service = new DeliveryService();
+        OrderRegistry registry = new OrderRegistry();
+        service.addListener(registry);
+        Order a = newOrder("1");
+        Order b = newOrder("2");
+        registry.put(a);
+        registry.put(b);
+
+        assertTrue(service.tryAcceptOrder(a).isAccepted());
+        assertTrue(service.pickupOrder(a));
+        assertTrue(service.deliverOrder(a));
+
+        assertNull(registry.get(1));
+        assertSame(b, registry.get(2));
+        assertEquals(1, registry.size());
+    }
+
+    // 同一個編號已經登記了新的訂單，舊訂單送達時不能把新的移除
+    @Test
+    void testDeliveredStaleOrder_doesNotRemoveReplacement() {
+        DeliveryService service = new DeliveryService();
+        OrderRegistry registry = new OrderRegistry();
+        service.addListener(registry);
+        Order stale = newOrder("7");
+        Order replacement = newOrder("7");
+        registry.put(stale);
+        registry.put(replacement);
+
+        assertTrue(service.tryAcceptOrder(stale).isAccepted());
+        assertTrue(service.pickupOrder(stale));
+        assertTrue(service.deliverOrder(stale));
+
+        assertSame(replacement, registry.get(7));
+        assertEquals(1, registry.size());
+        assertFalse(registry.remove(7, stale));
+        assertTrue(registry.remove(7, replacement));
+        assertNull(registry.get(7));
+    }
+
+    @Test
+    void testRemoveDelivered_sweep() {
+        OrderRegistry registry = new OrderRegistry();
+        for (int i = 0; i < 100; i++) {
+            Order order = newOrder(String.valueOf(i));
+            if (i % 3 == 0) {
+                order = Order.restore(order, OrderStatus.DELIVERED);
+            }
+            registry.put(order);
+        }
+        assertEquals(34, registry.removeDelivered());
+        assertEquals(66, registry.size());
+        assertNull(registry.get(3));
+        assertNotNull(registry.get(4));
+    }
+
+    // --- 寫入的同時查詢 ---
+
+    @Test
+    void testConcurrentReadsDuringWrites() throws Exception {
+        OrderRegistry registry = new OrderRegistry();
+        int stable = 10_000;
+        Order[] kept = new Order[stable];
+        for (int i = 0; i < stable; i++) {
+            kept[i] = newOrder(String.valueOf(i));
+            registry.put(kept[i]);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                while (running.get()) {
+                    for (int i = 0; i < stable; i++) {
+                        if (registry.get(i) != kept[i]) {
+                            failure.compareAndSet(null, "查不到一直存在的訂單 " + i);
+                        }
+                    }
+                    // 會被加入又移除的訂單只能查到 null 或正確的那一張
+                    for (long id = 1_000_000; id < 1_000_100; id++) {
+                        Order found = registry.get(id);
+                        if (found != null && OrderRegistry.parseId(found.getOrderId()) != id) {
+                            failure.compareAndSet(null, "訂單 " + id + " 查到別的訂單");
+                        }
+                    }
+                }
+            });
+            readers[r].start();
+        }
+
+        // 寫入端不斷加入、移除，期間會多次重建
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 10_000; i++) {
+                registry.put(newOrder(String.valueOf(1_000_000 + i)));
+            }
+            for (int i = 0; i < 10_000; i++) {
+                registry.remove(1_000_000 + i);
+            }
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get(), failure.get());
+        assertEquals(stable, registry.size());
+    }
+}
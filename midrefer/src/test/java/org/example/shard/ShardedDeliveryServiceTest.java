@@ -0,0 +1,238 @@
+package org.example.shard;
+
+import org.example.exception.SystemException;
+import org.example.metrics.RestaurantStatusBoard;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.RejectionReason;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.example.service.OrderEventListener;
+import org.example.service.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedDeliveryServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    private static List<Restaurant> register(RestaurantRegistry registry, int count) {
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            restaurants.add(registry.register("R" + i, 1000, 2100, i, i));
+        }
+        return restaurants;
+    }
+
+    // --- 佇列 ---
+
+    @Test
+    void testMpscQueue_noLossAndPerProducerOrder() throws InterruptedException {
+        MpscQueue<long[]> queue = new MpscQueue<>();
+        int producers = 4;
+        int perProducer = 50_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    queue.offer(new long[]{id, i});
+                }
+            });
+            threads[p].start();
+        }
+        long[] lastSeen = {-1, -1, -1, -1};
+        int received = 0;
+        while (received < producers * perProducer) {
+            long[] item = queue.poll();
+            if (item == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertEquals(lastSeen[(int) item[0]] + 1, item[1], "同一個生產者的順序錯亂");
+            lastSeen[(int) item[0]] = item[1];
+            received++;
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    // --- 指令 ---
+
+    @Test
+    void testLifecycleAcrossShards_fromManyThreads() throws Exception {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        List<Restaurant> restaurants = register(registry, 64);
+        DeliveryService service = new DeliveryService();
+        int count = 20_000;
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Restaurant r = restaurants.get(i % restaurants.size());
+            orders.add(new Order(String.valueOf(i), "C", r, MONDAY, 1200, r.getX() + 1, r.getY() + 1));
+        }
+
+        try (ShardedDeliveryService sharded = new ShardedDeliveryService(service, 4)) {
+            CompletableFuture<?>[] delivered = new CompletableFuture<?>[count];
+            Thread[] producers = new Thread[4];
+            for (int p = 0; p < producers.length; p++) {
+                int start = p;
+                producers[p] = new Thread(() -> {
+                    for (int i = start; i < count; i += producers.length) {
+                        Order order = orders.get(i);
+                        // 同一條執行緒依序送出，不等待前一步的結果
+                        sharded.accept(order);
+                        sharded.pickup(order);
+                        delivered[i] = sharded.deliver(order);
+                    }
+                });
+                producers[p].start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            CompletableFuture.allOf(delivered).get(30, TimeUnit.SECONDS);
+            for (int i = 0; i < count; i++) {
+                assertEquals(Boolean.TRUE, delivered[i].get());
+                assertEquals(OrderStatus.DELIVERED, orders.get(i).getStatus());
+            }
+            long total = 0;
+            for (long executed : sharded.executedPerShard()) {
+                assertTrue(executed > 0, "每個分片都應該分到訂單");
+                total += executed;
+            }
+            assertEquals(3L * count, total);
+        }
+    }
+
+    @Test
+    void testSameRestaurant_alwaysSameThread() throws Exception {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        List<Restaurant> restaurants = register(registry, 16);
+        DeliveryService service = new DeliveryService();
+        Map<String, Set<String>> threadsByRestaurant = new ConcurrentHashMap<>();
+        service.addListener(new OrderEventListener() {
+            @Override
+            public void onTransition(OrderView order, OrderStatus from, OrderStatus to) {
+                threadsByRestaurant.computeIfAbsent(order.getRestaurant().getName(), k -> ConcurrentHashMap.newKeySet())
+                        .add(Thread.currentThread().getName());
+            }
+
+            @Override
+            public void onRejected(OrderView order, OrderStatus target, RejectionReason reason) {
+            }
+        });
+
+        try (ShardedDeliveryService sharded = new ShardedDeliveryService(service, 3)) {
+            List<CompletableFuture<Boolean>> last = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                Restaurant r = restaurants.get(i % restaurants.size());
+                Order order = new Order(String.valueOf(i), "C", r, MONDAY, 1200, r.getX(), r.getY());
+                last.add(sharded.accept(order)
+                        .thenCompose(result -> sharded.pickup(order))
+                        .thenCompose(picked -> sharded.deliver(order)));
+                assertEquals(sharded.shardOf(order), sharded.shardOf(
+                        new Order("x", "C", r, MONDAY, 1200, 0, 0)));
+            }
+            CompletableFuture.allOf(last.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(16, threadsByRestaurant.size());
+        threadsByRestaurant.forEach((restaurant, threads) ->
+                assertEquals(1, threads.size(), restaurant + " 的訂單在多條執行緒上處理: " + threads));
+    }
+
+    @Test
+    void testRejections_returnedThroughFuture() throws Exception {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant r = register(registry, 1).get(0);
+        try (ShardedDeliveryService sharded = new ShardedDeliveryService(new DeliveryService(), 2)) {
+            Order tooFar = new Order("1", "C", r, MONDAY, 1200, 50, 50);
+            ValidationResult result = sharded.accept(tooFar).get(5, TimeUnit.SECONDS);
+            assertEquals(RejectionReason.TOO_FAR, result.getReason());
+            assertFalse(sharded.pickup(tooFar).get(5, TimeUnit.SECONDS));
+            assertEquals(OrderStatus.PENDING, tooFar.getStatus());
+        }
+    }
+
+    // create 在分片執行緒上送出 onCreated，排在同一條執行緒接著送出的接單前面
+    @Test
+    void testCreate_countedBeforeAccept() throws Exception {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant r = register(registry, 1).get(0);
+        DeliveryService service = new DeliveryService();
+        RestaurantStatusBoard board = service.enableStatusBoard();
+        try (ShardedDeliveryService sharded = new ShardedDeliveryService(service, 2)) {
+            Order a = new Order("1", "C", r, MONDAY, 1200, r.getX() + 1, r.getY());
+            Order b = new Order("2", "C", r, MONDAY, 1200, r.getX() + 1, r.getY());
+            sharded.create(a);
+            sharded.create(b);
+            sharded.accept(a).get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, board.count(r.getId(), OrderStatus.PENDING));
+            assertEquals(1, board.count(r.getId(), OrderStatus.ACCEPTED));
+        }
+    }
+
+    @Test
+    void testClose_rejectsNewCommands() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant r = register(registry, 1).get(0);
+        ShardedDeliveryService sharded = new ShardedDeliveryService(new DeliveryService(), 2);
+        sharded.close();
+
+        CompletableFuture<ValidationResult> future = sharded.accept(new Order("1", "C", r, MONDAY, 1200, 0, 0));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SystemException.class, e.getCause());
+        assertThrows(IllegalArgumentException.class, () -> new ShardedDeliveryService(new DeliveryService(), 0));
+    }
+
+    // 關閉時還在送出的指令不能永遠停在佇列裡：每個 future 都必須結束，而且狀態和結果一致
+    @Test
+    void testCloseWhileSubmitting_everyFutureCompletes() throws Exception {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        Restaurant r = register(registry, 1).get(0);
+        for (int round = 0; round < 20; round++) {
+            ShardedDeliveryService sharded = new ShardedDeliveryService(new DeliveryService(), 2);
+            List<Order> orders = new ArrayList<>();
+            List<CompletableFuture<ValidationResult>> futures = new ArrayList<>();
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    Order order = new Order(String.valueOf(i), "C", r, MONDAY, 1200, 0, 0);
+                    orders.add(order);
+                    futures.add(sharded.accept(order));
+                }
+            });
+            producer.start();
+            Thread.sleep(round % 3);
+            sharded.close();
+            producer.join();
+
+            for (int i = 0; i < futures.size(); i++) {
+                CompletableFuture<ValidationResult> future = futures.get(i);
+                Order order = orders.get(i);
+                try {
+                    assertTrue(future.get(5, TimeUnit.SECONDS).isAccepted());
+                    assertEquals(OrderStatus.ACCEPTED, order.getStatus());
+                } catch (ExecutionException e) {
+                    assertInstanceOf(SystemException.class, e.getCause());
+                    assertEquals(OrderStatus.PENDING, order.getStatus());
+                }
+            }
+        }
+    }
+}
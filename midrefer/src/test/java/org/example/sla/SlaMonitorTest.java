@@ -0,0 +1,181 @@
+package org.example.sla;
+
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.OrderTable;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlaMonitorTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final Restaurant MCDONALDS = new Restaurant(0, "McDonalds", 1000, 2100, 0, 0);
+    private static final long MINUTE = Duration.ofMinutes(1).toNanos();
+
+    private final long[] now = {0};
+    private final List<String> breaches = new ArrayList<>();
+    private final DeliveryService service = new DeliveryService();
+    private final SlaMonitor monitor = new SlaMonitor(Duration.ofMinutes(15), Duration.ofMinutes(45),
+            Duration.ofSeconds(1), (order, stuckIn, overdue) -> breaches.add(order.getOrderId() + ":" + stuckIn),
+            () -> now[0]);
+
+    {
+        service.addListener(monitor);
+    }
+
+    private static Order newOrder(String id) {
+        return new Order(id, "Andy", MCDONALDS, MONDAY, 1200, 3, 4);
+    }
+
+    private void advanceMinutes(int minutes) {
+        now[0] += minutes * MINUTE;
+        monitor.advance();
+    }
+
+    @Test
+    void testNotPickedUp_breachesAfterPickupDeadline() {
+        Order order = newOrder("1");
+        service.tryAcceptOrder(order);
+        assertEquals(1, monitor.trackedCount());
+
+        advanceMinutes(14);
+        assertTrue(breaches.isEmpty());
+        advanceMinutes(2);
+        assertEquals(List.of("1:ACCEPTED"), breaches);
+        assertEquals(1, monitor.getPickupBreaches());
+        assertEquals(0, monitor.trackedCount());
+    }
+
+    @Test
+    void testPickedUpLate_deliveryDeadlineCountsFromAcceptance() {
+        Order order = newOrder("1");
+        service.tryAcceptOrder(order);
+        advanceMinutes(10);
+        service.pickupOrder(order);
+
+        advanceMinutes(34);   // 接單後 44 分鐘
+        assertTrue(breaches.isEmpty());
+        advanceMinutes(2);    // 接單後 46 分鐘
+        assertEquals(List.of("1:PICKED_UP"), breaches);
+        assertEquals(1, monitor.getDeliveryBreaches());
+    }
+
+    @Test
+    void testDeliveredInTime_noBreach() {
+        Order order = newOrder("1");
+        service.tryAcceptOrder(order);
+        advanceMinutes(5);
+        service.pickupOrder(order);
+        advanceMinutes(20);
+        service.deliverOrder(order);
+
+        advanceMinutes(120);
+        assertTrue(breaches.isEmpty());
+        assertEquals(0, monitor.trackedCount());
+    }
+
+    @Test
+    void testManyOrders_onlyStuckOnesBreach() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Order order = newOrder(String.valueOf(i));
+            orders.add(order);
+            service.tryAcceptOrder(order);
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            if (i % 10 != 0) {
+                service.pickupOrder(orders.get(i));
+            }
+            if (i % 10 > 1) {
+                service.deliverOrder(orders.get(i));
+            }
+        }
+        assertEquals(2_000, monitor.trackedCount());
+        advanceMinutes(60);
+        assertEquals(1_000, monitor.getPickupBreaches());
+        assertEquals(1_000, monitor.getDeliveryBreaches());
+        assertEquals(OrderStatus.ACCEPTED, orders.get(0).getStatus());
+    }
+
+    @Test
+    void testHandlerFailure_doesNotStopOtherBreaches() {
+        List<String> seen = new ArrayList<>();
+        SlaMonitor failing = new SlaMonitor(Duration.ofMinutes(1), Duration.ofMinutes(2), Duration.ofSeconds(1),
+                (order, stuckIn, overdue) -> {
+                    seen.add(order.getOrderId());
+                    throw new IllegalStateException("boom");
+                }, () -> now[0]);
+        DeliveryService other = new DeliveryService();
+        other.addListener(failing);
+        other.tryAcceptOrder(newOrder("1"));
+        other.tryAcceptOrder(newOrder("2"));
+        now[0] += 5 * MINUTE;
+        assertEquals(2, failing.advance());
+        assertEquals(2, seen.size());
+    }
+
+    // 取餐逾時之後才取餐：送達期限仍從接單時間算，不會從取餐時重新起算
+    @Test
+    void testPickupAfterPickupBreach_deliveryDeadlineStillFromAcceptance() {
+        Order order = newOrder("1");
+        service.tryAcceptOrder(order);
+        advanceMinutes(16);
+        assertEquals(List.of("1:ACCEPTED"), breaches);
+
+        advanceMinutes(4);
+        service.pickupOrder(order);           // 接單後 20 分鐘
+        assertEquals(1, monitor.trackedCount());
+        advanceMinutes(24);                   // 接單後 44 分鐘
+        assertEquals(1, breaches.size());
+        advanceMinutes(2);                    // 接單後 46 分鐘
+        assertEquals(List.of("1:ACCEPTED", "1:PICKED_UP"), breaches);
+        assertEquals(0, monitor.trackedCount());
+    }
+
+    @Test
+    void testNeverPickedUp_stopsTrackingAfterDeliveryWindow() {
+        service.tryAcceptOrder(newOrder("1"));
+        advanceMinutes(16);
+        assertEquals(0, monitor.trackedCount());
+        advanceMinutes(60);
+        assertEquals(List.of("1:ACCEPTED"), breaches);
+        assertEquals(0, monitor.getDeliveryBreaches());
+    }
+
+    // OrderTable 每次 row() 都是新的 Row 物件，期限要依訂單編號對應
+    @Test
+    void testOrderTableRows_endToEnd() {
+        RestaurantRegistry restaurants = new RestaurantRegistry();
+        Restaurant restaurant = restaurants.register("McDonalds", 1000, 2100, 0, 0);
+        OrderTable table = new OrderTable(restaurants, 100, false);
+        for (int i = 0; i < 100; i++) {
+            table.add(String.valueOf(i), "Andy", restaurant, MONDAY.toEpochDay(), 1200, 3, 4);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(service.tryAcceptOrder(table.row(i)).isAccepted());
+        }
+        advanceMinutes(5);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(service.pickupOrder(table.row(i)));
+            if (i % 2 == 0) {
+                assertTrue(service.deliverOrder(table.row(i)));
+            }
+        }
+        assertEquals(50, monitor.trackedCount());
+
+        advanceMinutes(60);
+        assertEquals(0, monitor.getPickupBreaches());
+        assertEquals(50, monitor.getDeliveryBreaches());
+        assertTrue(breaches.stream().allMatch(b -> b.endsWith(":PICKED_UP")));
+        assertEquals(0, monitor.trackedCount());
+    }
+}
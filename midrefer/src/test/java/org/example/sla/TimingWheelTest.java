@@ -0,0 +1,117 @@
+package org.example.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1_000;   // 以 1 微秒為一個 tick，方便計算
+
+    // --- 到期時間 ---
+
+    @Test
+    void testRandomDeadlines_fireOnTheirTickAcrossLevels() {
+        long[] firedAt = new long[20_000];
+        long[] now = {0};
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, 0, t -> firedAt[t.getPayload()] = now[0]);
+        Random rnd = new Random(1);
+        long[] deadlines = new long[firedAt.length];
+        for (int i = 0; i < deadlines.length; i++) {
+            // 涵蓋第 0 到第 3 層，包含剛好落在區塊邊界的期限
+            long ticks = switch (i % 4) {
+                case 0 -> 1 + rnd.nextInt(64);
+                case 1 -> 64 + rnd.nextInt(4_096);
+                case 2 -> 4_096 * (1 + rnd.nextInt(64));
+                default -> 1 + rnd.nextInt(300_000);
+            };
+            deadlines[i] = ticks * TICK;
+            wheel.schedule(i, deadlines[i]);
+        }
+        assertEquals(deadlines.length, wheel.size());
+
+        // 每次推進不固定的 tick 數
+        int fired = 0;
+        while (now[0] <= 300_000 * TICK) {
+            now[0] += (1 + rnd.nextInt(100)) * TICK;
+            fired += wheel.advance(now[0]);
+        }
+        assertEquals(deadlines.length, fired);
+        assertEquals(0, wheel.size());
+        for (int i = 0; i < deadlines.length; i++) {
+            assertTrue(firedAt[i] >= deadlines[i], "第 " + i + " 個提早到期");
+        }
+
+        // 逐 tick 推進時必須剛好在期限那一個 tick 到期
+        long[] exact = new long[3];
+        long[] tickNow = {0};
+        TimingWheel<Integer> precise = new TimingWheel<>(TICK, 0, t -> exact[t.getPayload()] = tickNow[0]);
+        long[] exactDeadlines = {63 * TICK, 64 * TICK, 4_096 * TICK + 5 * TICK};
+        for (int i = 0; i < exactDeadlines.length; i++) {
+            precise.schedule(i, exactDeadlines[i]);
+        }
+        while (tickNow[0] < 5_000 * TICK) {
+            tickNow[0] += TICK;
+            precise.advance(tickNow[0]);
+        }
+        assertArrayEquals(exactDeadlines, exact);
+    }
+
+    @Test
+    void testCancel_neverFires() {
+        List<String> fired = new ArrayList<>();
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0, t -> fired.add(t.getPayload()));
+        Timeout<String> a = wheel.schedule("a", 10 * TICK);
+        Timeout<String> b = wheel.schedule("b", 10 * TICK);
+        Timeout<String> c = wheel.schedule("c", 10_000 * TICK);
+
+        assertTrue(b.cancel());
+        assertFalse(b.cancel());
+        assertTrue(c.cancel());
+        assertEquals(1, wheel.size());
+
+        wheel.advance(20_000 * TICK);
+        assertEquals(List.of("a"), fired);
+        assertTrue(a.isExpired());
+        assertFalse(a.cancel());
+        assertTrue(b.isCancelled());
+    }
+
+    @Test
+    void testPastAndFarDeadlines() {
+        List<String> fired = new ArrayList<>();
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0, t -> fired.add(t.getPayload()));
+        wheel.advance(100 * TICK);
+        wheel.schedule("past", 5 * TICK);
+        // 超過四層範圍（64^4 個 tick）
+        long far = (1L << 24) * TICK + 123 * TICK;
+        wheel.schedule("far", far);
+
+        assertEquals(1, wheel.advance(101 * TICK));
+        assertEquals(List.of("past"), fired);
+        assertEquals(0, wheel.advance(far - TICK));
+        assertEquals(1, wheel.advance(far));
+        assertEquals(List.of("past", "far"), fired);
+    }
+
+    @Test
+    void testCallbackMayReschedule() {
+        List<Long> fired = new ArrayList<>();
+        TimingWheel<Long>[] holder = new TimingWheel[1];
+        holder[0] = new TimingWheel<>(TICK, 0, t -> {
+            fired.add(t.getDeadlineNanos());
+            if (fired.size() < 3) {
+                holder[0].schedule(t.getPayload(), t.getDeadlineNanos() + 100 * TICK);
+            }
+        });
+        holder[0].schedule(0L, 100 * TICK);
+        for (long now = 0; now <= 1_000 * TICK; now += 7 * TICK) {
+            holder[0].advance(now);
+        }
+        assertEquals(List.of(100 * TICK, 200 * TICK, 300 * TICK), fired);
+    }
+}
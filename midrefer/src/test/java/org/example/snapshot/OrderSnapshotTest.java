@@ -0,0 +1,260 @@
+package org.example.snapshot;
+
+import org.example.exception.SystemException;
+import org.example.model.OpeningSchedule;
+import org.example.model.Order;
+import org.example.model.OrderStatus;
+import org.example.model.OrderView;
+import org.example.model.Restaurant;
+import org.example.model.RestaurantRegistry;
+import org.example.service.DeliveryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderSnapshotTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @TempDir
+    Path dir;
+
+    private static RestaurantRegistry newRegistry() {
+        RestaurantRegistry registry = new RestaurantRegistry();
+        registry.register("McDonalds", 1000, 2100, 2, 3);
+        registry.register("Noodles", OpeningSchedule.builder()
+                .on(DayOfWeek.MONDAY, 1100, 1400)
+                .on(DayOfWeek.MONDAY, 1700, 200)
+                .closedOn(LocalDate.of(2025, 4, 4))
+                .build(), 10, 10);
+        return registry;
+    }
+
+    private static List<Order> newOrders(RestaurantRegistry registry, int count) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Restaurant r = registry.get(i % 2);
+            orders.add(new Order(String.format("%05d", i), "C" + (i % 7), r, MONDAY, 1300, r.getX() + 1, r.getY() + 1));
+        }
+        return orders;
+    }
+
+    // --- 中途中止後重新載入 ---
+
+    @Test
+    void testKillMidStream_reloadsLastSnapshot() throws Exception {
+        RestaurantRegistry registry = newRegistry();
+        List<Order> orders = newOrders(registry, 1_000);
+        DeliveryService service = new DeliveryService();
+        Path file = dir.resolve("orders.snapshot");
+        OrderSnapshotter snapshotter = new OrderSnapshotter(registry, file, 60_000);
+        service.addListener(snapshotter);
+
+        service.acceptOrders(orders);
+        for (int i = 0; i < 300; i++) service.pickupOrder(orders.get(i));
+        for (int i = 0; i < 100; i++) service.deliverOrder(orders.get(i));
+        assertEquals(900, snapshotter.snapshotNow());
+
+        // 快照之後繼續處理，接著模擬程式被強制結束：不呼叫 close，寫到一半的暫存檔留在磁碟上
+        Map<String, OrderStatus> atSnapshot = new HashMap<>();
+        orders.forEach(o -> atSnapshot.put(o.getOrderId(), o.getStatus()));
+        for (int i = 300; i < 600; i++) service.pickupOrder(orders.get(i));
+        Files.write(dir.resolve("orders.snapshot.tmp"), new byte[]{1, 2, 3});
+
+        OrderSnapshot snapshot = OrderSnapshot.read(file);
+
+        assertEquals(900, snapshot.getOrders().size());
+        for (Order restored : snapshot.getOrders()) {
+            assertEquals(atSnapshot.get(restored.getOrderId()), restored.getStatus(), restored.getOrderId());
+        }
+        Order first = snapshot.getOrders().stream().filter(o -> o.getOrderId().equals("00101")).findFirst().orElseThrow();
+        assertEquals("C3", first.getCustomerName());
+        assertEquals(MONDAY, first.getOrderDate());
+        assertEquals(1300, first.getOrderHour());
+        assertEquals(11, first.getCustomerX());
+
+        // 餐廳 id、營業時段、公休日都還原
+        RestaurantRegistry restoredRegistry = snapshot.getRestaurants();
+        assertEquals(2, restoredRegistry.size());
+        assertSame(restoredRegistry.get(1), first.getRestaurant());
+        OpeningSchedule noodles = restoredRegistry.get(1).getSchedule();
+        assertEquals("1100-1400, 1700-0200", noodles.describe(DayOfWeek.MONDAY));
+        assertTrue(noodles.isOpenAt(DayOfWeek.TUESDAY, 130));
+        assertTrue(noodles.isHoliday(LocalDate.of(2025, 4, 4).toEpochDay()));
+
+        // 還原後的訂單可以繼續流程
+        DeliveryService restarted = new DeliveryService();
+        OrderSnapshotter resumed = new OrderSnapshotter(restoredRegistry, file, 60_000);
+        restarted.addListener(resumed);
+        resumed.trackAll(snapshot.getOrders());
+        for (Order o : snapshot.getOrders()) {
+            if (o.getStatus() == OrderStatus.ACCEPTED) assertTrue(restarted.pickupOrder(o));
+            assertTrue(restarted.deliverOrder(o));
+        }
+        resumed.close();
+        assertEquals(0, OrderSnapshot.read(file).getOrders().size());
+    }
+
+    @Test
+    void testBackgroundSnapshots_whileProcessing() throws Exception {
+        RestaurantRegistry registry = newRegistry();
+        List<Order> orders = newOrders(registry, 20_000);
+        DeliveryService service = new DeliveryService();
+        Path file = dir.resolve("orders.snapshot");
+        OrderSnapshotter snapshotter = new OrderSnapshotter(registry, file, 5);
+        service.addListener(snapshotter);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int from = t * 5_000;
+            futures.add(pool.submit(() -> {
+                for (int i = from; i < from + 5_000; i++) {
+                    Order o = orders.get(i);
+                    service.tryAcceptOrder(o);
+                    if (i % 2 == 0) service.pickupOrder(o);
+                    if (i % 4 == 0) service.deliverOrder(o);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // 中途的快照：每張訂單的狀態只會落後，不會超前
+        Map<String, Order> byId = new HashMap<>();
+        orders.forEach(o -> byId.put(o.getOrderId(), o));
+        for (Order restored : OrderSnapshot.read(file).getOrders()) {
+            OrderStatus status = restored.getStatus();
+            assertTrue(status == OrderStatus.ACCEPTED || status == OrderStatus.PICKED_UP);
+            assertTrue(status.ordinal() <= byId.get(restored.getOrderId()).getStatus().ordinal());
+        }
+
+        // 關閉時寫入最後一份，內容和最終狀態一致
+        snapshotter.close();
+        long live = orders.stream().filter(o -> o.getStatus() != OrderStatus.DELIVERED).count();
+        assertEquals(15_000, live);
+        assertEquals(live, snapshotter.liveCount());
+        List<Order> restored = OrderSnapshot.read(file).getOrders();
+        assertEquals(live, restored.size());
+        for (Order o : restored) {
+            assertEquals(byId.get(o.getOrderId()).getStatus(), o.getStatus());
+        }
+    }
+
+    // --- 未登錄的餐廳與損毀的檔案 ---
+
+    @Test
+    void testUnregisteredRestaurant_isRestoredPerInstance() {
+        Restaurant unregistered = new Restaurant(Restaurant.UNREGISTERED, "KFC", 1000, 2100, 2, 3);
+        Order legacy = Order.restore("001", "Andy", unregistered, MONDAY, 1300, 5, 6, OrderStatus.ACCEPTED);
+        Path file = dir.resolve("orders.snapshot");
+
+        OrderSnapshot.write(file, new RestaurantRegistry(), List.of(legacy));
+        Order restored = OrderSnapshot.read(file).getOrders().get(0);
+
+        assertEquals(Restaurant.UNREGISTERED, restored.getRestaurant().getId());
+        assertEquals("KFC", restored.getRestaurantName());
+        assertEquals(2, restored.getRestaurantX());
+        assertTrue(restored.getRestaurant().isOpenAt(legacy.getOrderDay(), 2059));
+    }
+
+    // 寫入途中另一條執行緒登錄了新餐廳，而訂單引用的正是這間餐廳（例如以餐廳 id 延遲查詢的訂單）
+    @Test
+    void testRestaurantRegisteredDuringWrite_isStoredSeparately() {
+        RestaurantRegistry registry = newRegistry();
+        int lateId = registry.size();
+        Order first = Order.restore(newOrders(registry, 1).get(0), OrderStatus.ACCEPTED);
+        Order second = Order.restore("2", "Bob", registry.get(0), MONDAY, 1200, 1, 1, OrderStatus.PICKED_UP);
+
+        // 第一張訂單被問到餐廳時，另一條執行緒才登錄 Late；第二張訂單依 id 查到的就是它
+        OrderView registering = new DelegatingView(first) {
+            @Override
+            public Restaurant getRestaurant() {
+                if (registry.size() == lateId) {
+                    Thread t = new Thread(() -> registry.register("Late", 900, 1700, 7, 8));
+                    t.start();
+                    try {
+                        t.join();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+                return super.getRestaurant();
+            }
+        };
+        OrderView lookup = new DelegatingView(second) {
+            @Override
+            public Restaurant getRestaurant() {
+                return registry.get(lateId);
+            }
+        };
+        Path file = dir.resolve("orders.snapshot");
+
+        assertEquals(2, OrderSnapshot.write(file, registry, List.of(registering, lookup)));
+        OrderSnapshot snapshot = OrderSnapshot.read(file);
+
+        assertEquals(lateId, snapshot.getRestaurants().size());
+        Order restored = snapshot.getOrders().get(1);
+        assertEquals("Late", restored.getRestaurantName());
+        assertEquals(Restaurant.UNREGISTERED, restored.getRestaurant().getId());
+        assertEquals(7, restored.getRestaurantX());
+        assertEquals(OrderStatus.PICKED_UP, restored.getStatus());
+        assertEquals(first.getRestaurantName(), snapshot.getOrders().get(0).getRestaurantName());
+    }
+
+    // 把所有欄位轉給 Order 的訂單
+    private static class DelegatingView implements OrderView {
+        private final Order order;
+
+        DelegatingView(Order order) {
+            this.order = order;
+        }
+
+        @Override public String getOrderId() { return order.getOrderId(); }
+        @Override public String getCustomerName() { return order.getCustomerName(); }
+        @Override public Restaurant getRestaurant() { return order.getRestaurant(); }
+        @Override public int getOrderHour() { return order.getOrderHour(); }
+        @Override public long getOrderDay() { return order.getOrderDay(); }
+        @Override public int getCustomerX() { return order.getCustomerX(); }
+        @Override public int getCustomerY() { return order.getCustomerY(); }
+        @Override public OrderStatus getStatus() { return order.getStatus(); }
+
+        @Override
+        public boolean compareAndSetStatus(OrderStatus expected, OrderStatus next) {
+            return order.compareAndSetStatus(expected, next);
+        }
+    }
+
+    @Test
+    void testCorruptedFile_isRejected() throws Exception {
+        RestaurantRegistry registry = newRegistry();
+        List<Order> orders = newOrders(registry, 10).stream()
+                .map(o -> Order.restore(o, OrderStatus.ACCEPTED))
+                .toList();
+        Path file = dir.resolve("orders.snapshot");
+        OrderSnapshot.write(file, registry, orders);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x40;
+        Files.write(file, bytes);
+
+        SystemException e = assertThrows(SystemException.class, () -> OrderSnapshot.read(file));
+        assertTrue(e.getMessage().contains("檢查碼不符"));
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridIndexTest {
+
+    private static long dist2(int x1, int y1, int x2, int y2) {
+        long dx = x1 - x2;
+        long dy = y1 - y2;
+        return dx * dx + dy * dy;
+    }
+
+    // 暴力掃描的半徑查詢，當作正確答案
+    private static int[] bruteWithin(int[] xs, int[] ys, boolean[] alive, int x, int y, double r) {
+        return IntStream.range(0, xs.length)
+                .filter(i -> alive[i] && dist2(xs[i], ys[i], x, y) <= r * r)
+                .toArray();
+    }
+
+    @Test
+    void testWithin_matchesBruteForce() {
+        Random rnd = new Random(42);
+        int n = 5_000;
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        boolean[] alive = new boolean[n];
+        GridIndex index = new GridIndex(10);
+        for (int i = 0; i < n; i++) {
+            xs[i] = rnd.nextInt(1000) - 500;
+            ys[i] = rnd.nextInt(1000) - 500;
+            alive[i] = true;
+            index.insert(i, xs[i], ys[i]);
+        }
+
+        for (int q = 0; q < 200; q++) {
+            int x = rnd.nextInt(1000) - 500;
+            int y = rnd.nextInt(1000) - 500;
+            int[] got = index.within(x, y, 35.5);
+            Arrays.sort(got);
+            assertArrayEquals(bruteWithin(xs, ys, alive, x, y, 35.5), got);
+        }
+    }
+
+    @Test
+    void testNearest_matchesBruteForceAfterMovesAndRemoves() {
+        Random rnd = new Random(7);
+        int n = 3_000;
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        boolean[] alive = new boolean[n];
+        GridIndex index = new GridIndex(16);
+        for (int i = 0; i < n; i++) {
+            xs[i] = rnd.nextInt(2000);
+            ys[i] = rnd.nextInt(2000);
+            alive[i] = true;
+            index.insert(i, xs[i], ys[i]);
+        }
+        // 外送員移動、下線
+        for (int i = 0; i < n; i += 3) {
+            xs[i] = rnd.nextInt(2000);
+            ys[i] = rnd.nextInt(2000);
+            index.move(i, xs[i], ys[i]);
+        }
+        for (int i = 1; i < n; i += 5) {
+            alive[i] = false;
+            assertTrue(index.remove(i));
+        }
+        assertFalse(index.remove(1));
+
+        for (int q = 0; q < 200; q++) {
+            int x = rnd.nextInt(2400) - 200;
+            int y = rnd.nextInt(2400) - 200;
+            int[] got = index.nearest(x, y, 10);
+
+            long[] expected = IntStream.range(0, n)
+                    .filter(i -> alive[i])
+                    .mapToLong(i -> dist2(xs[i], ys[i], x, y))
+                    .sorted().limit(10).toArray();
+            assertEquals(10, got.length);
+            for (int i = 0; i < got.length; i++) {
+                // 同距離的點順序不固定，所以比較距離
+                assertEquals(expected[i], dist2(xs[got[i]], ys[got[i]], x, y));
+            }
+        }
+    }
+
+    // 外送員跑遍整個城市後，空的格子要移除，查詢結果仍然正確
+    @Test
+    void testEmptyCells_removedAfterChurn() {
+        Random rnd = new Random(99);
+        int n = 200;
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        GridIndex index = new GridIndex(8);
+        for (int i = 0; i < n; i++) {
+            xs[i] = rnd.nextInt(100);
+            ys[i] = rnd.nextInt(100);
+            index.insert(i, xs[i], ys[i]);
+        }
+        // 到遠處繞一圈再回來，遠處的格子都會空掉
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < n; i++) {
+                index.move(i, rnd.nextInt(100_000) - 50_000, rnd.nextInt(100_000) - 50_000);
+            }
+            for (int i = 0; i < n; i++) {
+                xs[i] = rnd.nextInt(100);
+                ys[i] = rnd.nextInt(100);
+                index.move(i, xs[i], ys[i]);
+            }
+        }
+        long occupied = IntStream.range(0, n)
+                .mapToLong(i -> ((long) Math.floorDiv(xs[i], 8) << 32) | (Math.floorDiv(ys[i], 8) & 0xFFFFFFFFL))
+                .distinct().count();
+        assertEquals(occupied, index.cellCount());
+
+        for (int q = 0; q < 100; q++) {
+            int x = rnd.nextInt(120) - 10;
+            int y = rnd.nextInt(120) - 10;
+            int[] got = index.nearest(x, y, 5);
+            long[] expected = IntStream.range(0, n)
+                    .mapToLong(i -> dist2(xs[i], ys[i], x, y))
+                    .sorted().limit(5).toArray();
+            for (int i = 0; i < got.length; i++) {
+                assertEquals(expected[i], dist2(xs[got[i]], ys[got[i]], x, y));
+            }
+            int[] within = index.within(x, y, 12);
+            Arrays.sort(within);
+            boolean[] alive = new boolean[n];
+            Arrays.fill(alive, true);
+            assertArrayEquals(bruteWithin(xs, ys, alive, x, y, 12), within);
+        }
+
+        for (int i = 0; i < n; i++) {
+            assertTrue(index.remove(i));
+        }
+        assertEquals(0, index.cellCount());
+        assertEquals(0, index.nearest(0, 0, 3).length);
+    }
+
+    @Test
+    void testNearest_fewerPointsThanK() {
+        GridIndex index = new GridIndex(5);
+        index.insert(3, 0, 0);
+        index.insert(8, 100, 100);
+
+        assertArrayEquals(new int[]{3, 8}, index.nearest(1, 1, 5));
+        assertEquals(0, new GridIndex(5).nearest(0, 0, 3).length);
+    }
+
+    // 半徑大到 int 會溢位時仍然找得到所有點
+    @Test
+    void testWithin_hugeRadius() {
+        GridIndex index = new GridIndex(1);
+        index.insert(0, 0, 0);
+        index.insert(1, 10, 10);
+        index.insert(2, Integer.MAX_VALUE, Integer.MIN_VALUE);
+
+        assertArrayEquals(new int[]{0, 1, 2}, sorted(index.within(5, 5, 1e10)));
+        assertArrayEquals(new int[]{0, 1}, sorted(index.within(5, 5, 8)));
+        assertEquals(0, index.within(5, 5, 1).length);
+    }
+
+    // 點很少但相距很遠時，不會一圈一圈探過整個範圍
+    @Test
+    void testNearest_sparsePointsFarApart() {
+        GridIndex index = new GridIndex(1);
+        index.insert(0, 0, 0);
+        index.insert(1, 20_000, 20_000);
+
+        int[] result = assertTimeoutPreemptively(Duration.ofSeconds(1), () -> index.nearest(10_000, 10_000, 2));
+        assertEquals(2, result.length);
+        assertArrayEquals(new int[]{1}, index.nearest(19_000, 19_000, 1));
+        assertArrayEquals(new int[]{0, 1}, index.nearest(-5, -5, 2));
+    }
+
+    private static int[] sorted(int[] ids) {
+        Arrays.sort(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.spatial;
+
+import org.example.model.Order;
+import org.example.model.RejectionReason;
+import org.example.model.Restaurant;
+import org.example.service.DeliveryService;
+import org.example.service.ValidationResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoadDistanceProviderTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    // 餐廳在 (0, 0)，x = 2 有一道牆，只有 y = 6 有缺口
+    private static final List<String> WALL = List.of(
+            "..#.......",
+            "..#.......",
+            "..#.......",
+            "..#.......",
+            "..#.......",
+            "..#.......",
+            "..........",
+            "..#.......");
+
+    // 廣度優先搜尋，當作正確答案
+    private static int bfs(GridRoadMap map, int fromX, int fromY, int toX, int toY) {
+        if (!map.isOpen(fromX, fromY) || !map.isOpen(toX, toY)) {
+            return -1;
+        }
+        int w = map.getWidth();
+        int[] dist = new int[w * map.getHeight()];
+        Arrays.fill(dist, -1);
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        dist[fromY * w + fromX] = 0;
+        queue.add(new int[]{fromX, fromY});
+        int[][] dirs = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        while (!queue.isEmpty()) {
+            int[] p = queue.poll();
+            for (int[] d : dirs) {
+                int nx = p[0] + d[0];
+                int ny = p[1] + d[1];
+                if (map.isOpen(nx, ny) && dist[ny * w + nx] < 0) {
+                    dist[ny * w + nx] = dist[p[1] * w + p[0]] + 1;
+                    queue.add(new int[]{nx, ny});
+                }
+            }
+        }
+        return dist[toY * w + toX];
+    }
+
+    @Test
+    void testDistance_matchesBreadthFirstSearch() {
+        Random rnd = new Random(42);
+        List<String> rows = new ArrayList<>();
+        for (int y = 0; y < 40; y++) {
+            StringBuilder row = new StringBuilder();
+            for (int x = 0; x < 40; x++) {
+                row.append(rnd.nextInt(100) < 30 ? '#' : '.');
+            }
+            rows.add(row.toString());
+        }
+        GridRoadMap map = GridRoadMap.parse(rows, 0, 0);
+        for (int i = 0; i < 2_000; i++) {
+            int fx = rnd.nextInt(40), fy = rnd.nextInt(40), tx = rnd.nextInt(40), ty = rnd.nextInt(40);
+            int expected = bfs(map, fx, fy, tx, ty);
+            int limit = rnd.nextInt(60);
+            assertEquals(expected, map.distance(fx, fy, tx, ty, 1_000), "(" + fx + "," + fy + ")->(" + tx + "," + ty + ")");
+            assertEquals(expected <= limit ? expected : -1, map.distance(fx, fy, tx, ty, limit));
+        }
+    }
+
+    @Test
+    void testLoad_withOrigin(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("city.map");
+        Files.write(file, WALL);
+        GridRoadMap map = GridRoadMap.load(file, -5, -5);
+        assertEquals(10, map.getWidth());
+        assertEquals(8, map.getHeight());
+        assertTrue(map.isOpen(-5, -5));
+        assertFalse(map.isOpen(-3, -5));
+        assertFalse(map.isOpen(5, -5));
+        assertEquals(16, map.distance(-5, -5, -1, -5, 20));   // 繞到 y = 1 的缺口再回來
+    }
+
+    @Test
+    void testParse_rejectsRaggedRows() {
+        assertThrows(IllegalArgumentException.class, () -> GridRoadMap.parse(List.of("...", ".."), 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> GridRoadMap.parse(List.of("", " "), 0, 0));
+    }
+
+    @Test
+    void testCache_evictsLeastRecentlyUsed() {
+        DistanceCache cache = new DistanceCache(16);
+        // 16 段各一格，找兩個落在同一段的鍵
+        long a = 1;
+        long b = 2;
+        while (((b * 0x9E3779B97F4A7C15L) >>> 60) != ((a * 0x9E3779B97F4A7C15L) >>> 60)) {
+            b++;
+        }
+        cache.put(a, 7);
+        assertEquals(7, cache.get(a));
+        cache.put(b, 9);
+        assertEquals(DistanceCache.MISS, cache.get(a));
+        assertEquals(9, cache.get(b));
+
+        DistanceCache large = new DistanceCache(1_024);
+        for (long key = 0; key < 10_000; key++) {
+            large.put(key, (int) key);
+            assertEquals((int) key, large.get(key));
+        }
+        assertTrue(large.size() <= 1_024);
+    }
+
+    @Test
+    void testProvider_cachesByCell() {
+        RoadDistanceProvider provider = new RoadDistanceProvider(GridRoadMap.parse(WALL, 0, 0), 10, 64);
+        Restaurant restaurant = new Restaurant(0, "McDonalds", 1000, 2100, 0, 6);
+        assertEquals(16, provider.distanceSquared(restaurant, 4, 6));
+        assertEquals(16, provider.distanceSquared(restaurant, 4, 6));
+        assertEquals(1, provider.getCacheMisses());
+        assertEquals(1, provider.getCacheHits());
+
+        restaurant.moveTo(0, 0);
+        assertEquals(DistanceProvider.UNREACHABLE, provider.distanceSquared(restaurant, 4, 0));  // 要走 16 步
+        assertEquals(DistanceProvider.UNREACHABLE, provider.distanceSquared(restaurant, 2, 0));  // 在牆上
+        assertEquals(DistanceProvider.UNREACHABLE, provider.distanceSquared(restaurant, 50, 0)); // 地圖外
+        assertEquals(3, provider.getCacheSize());   // 地圖外的查詢不佔快取
+    }
+
+    @Test
+    void testDeliveryService_rejectsOrderBehindWall() {
+        Restaurant restaurant = new Restaurant(0, "McDonalds", 1000, 2100, 0, 0);
+        DeliveryService service = new DeliveryService();
+        Order order = new Order("1", "Andy", restaurant, MONDAY, 1200, 4, 0);
+        assertTrue(service.validate(order).isAccepted());   // 直線距離 4
+
+        service.setDistanceProvider(new RoadDistanceProvider(GridRoadMap.parse(WALL, 0, 0), 10, 64));
+        ValidationResult result = service.validate(order);
+        assertEquals(RejectionReason.TOO_FAR, result.getReason());
+        assertEquals("餐廳 McDonalds 與顧客 Andy 之間沒有合理外送距離內的道路。", result.getMessage());
+
+        Order reachable = new Order("2", "Andy", restaurant, MONDAY, 1200, 1, 5);
+        assertTrue(service.validate(reachable).isAccepted());
+        Order straightLineTooFar = new Order("3", "Andy", restaurant, MONDAY, 1200, 9, 7);
+        assertEquals(RejectionReason.TOO_FAR, service.validate(straightLineTooFar).getReason());
+    }
+}